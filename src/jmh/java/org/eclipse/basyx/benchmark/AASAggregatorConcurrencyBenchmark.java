@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.benchmark;
+
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.basyx.aas.aggregator.AASAggregator;
+import org.eclipse.basyx.aas.aggregator.ConcurrentAASAggregator;
+import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
+import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
+import org.eclipse.basyx.aas.metamodel.api.parts.asset.AssetKind;
+import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
+import org.eclipse.basyx.aas.metamodel.map.parts.Asset;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
+import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the throughput of the {@link ConcurrentAASAggregator} with the
+ * {@link AASAggregator} under concurrent accesses. As the AASAggregator is not
+ * thread-safe, it is accessed behind a single lock, like a server would have
+ * to. <br>
+ * <i>readAAS</i> only reads from all threads, the <i>mixed</i> group reads and
+ * replaces random AASs at the same time.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AASAggregatorConcurrencyBenchmark {
+	/**
+	 * The compared aggregators
+	 */
+	public enum Implementation {
+		/**
+		 * AASAggregator with all accesses serialized by one lock
+		 */
+		SYNCHRONIZED,
+		/**
+		 * ConcurrentAASAggregator
+		 */
+		CONCURRENT
+	}
+
+	@Param({ "SYNCHRONIZED", "CONCURRENT" })
+	public Implementation implementation;
+
+	@Param({ "1000" })
+	public int shells;
+
+	private IAASAggregator aggregator;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		aggregator = implementation == Implementation.CONCURRENT ? new ConcurrentAASAggregator() : new SynchronizedAASAggregator(new AASAggregator());
+		for (int i = 0; i < shells; i++) {
+			aggregator.createAAS(createAAS(i));
+		}
+	}
+
+	@Benchmark
+	@Threads(8)
+	public Object readAAS() {
+		return aggregator.getAAS(getId(randomShell()));
+	}
+
+	@Benchmark
+	@Group("mixed")
+	@GroupThreads(6)
+	public Object mixedRead() {
+		return aggregator.getAAS(getId(randomShell()));
+	}
+
+	@Benchmark
+	@Group("mixed")
+	@GroupThreads(2)
+	public void mixedUpdate() {
+		aggregator.updateAAS(createAAS(randomShell()));
+	}
+
+	private int randomShell() {
+		return ThreadLocalRandom.current().nextInt(shells);
+	}
+
+	private static AssetAdministrationShell createAAS(int i) {
+		return new AssetAdministrationShell("aas" + i, getId(i), new Asset("asset" + i, new Identifier(IdentifierType.CUSTOM, "asset" + i), AssetKind.INSTANCE));
+	}
+
+	private static IIdentifier getId(int i) {
+		return new Identifier(IdentifierType.CUSTOM, "aas" + i);
+	}
+
+	/**
+	 * Serializes all accesses to an aggregator
+	 */
+	private static class SynchronizedAASAggregator implements IAASAggregator {
+		private final IAASAggregator aggregator;
+
+		private SynchronizedAASAggregator(IAASAggregator aggregator) {
+			this.aggregator = aggregator;
+		}
+
+		@Override
+		public synchronized Collection<IAssetAdministrationShell> getAASList() {
+			return aggregator.getAASList();
+		}
+
+		@Override
+		public synchronized IAssetAdministrationShell getAAS(IIdentifier aasId) {
+			return aggregator.getAAS(aasId);
+		}
+
+		@Override
+		public synchronized IModelProvider getAASProvider(IIdentifier aasId) {
+			return aggregator.getAASProvider(aasId);
+		}
+
+		@Override
+		public synchronized void createAAS(AssetAdministrationShell aas) {
+			aggregator.createAAS(aas);
+		}
+
+		@Override
+		public synchronized void updateAAS(AssetAdministrationShell aas) {
+			aggregator.updateAAS(aas);
+		}
+
+		@Override
+		public synchronized void deleteAAS(IIdentifier aasId) {
+			aggregator.deleteAAS(aasId);
+		}
+	}
+}
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.benchmark;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Compares two JMH result files (<i>-rf json</i>) and prints the relative
+ * change of the score and, if recorded with <i>-prof gc</i>, of the allocated
+ * bytes per operation. <br>
+ * Exits with status 1 if the throughput of any benchmark dropped by more than
+ * the threshold (in percent, default 10).<br>
+ * <br>
+ * Usage: BenchmarkComparison &lt;baseline.json&gt; &lt;current.json&gt;
+ * [threshold]
+ *
+ */
+public class BenchmarkComparison {
+	private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+	private static final double DEFAULT_THRESHOLD = 10;
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [threshold]");
+			System.exit(2);
+		}
+
+		Map<String, Result> baseline = readResults(args[0]);
+		Map<String, Result> current = readResults(args[1]);
+		double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+
+		boolean regression = false;
+		System.out.println(String.format("%-100s %15s %15s %9s %12s", "Benchmark", "Baseline", "Current", "Change", "Alloc change"));
+		for (Entry<String, Result> entry : current.entrySet()) {
+			Result base = baseline.get(entry.getKey());
+			Result now = entry.getValue();
+			if (base == null) {
+				System.out.println(String.format("%-100s %15s %15.2f %9s %12s", entry.getKey(), "-", now.score, "new", "-"));
+				continue;
+			}
+
+			double change = getChange(base.score, now.score);
+			String allocationChange = base.allocation != null && now.allocation != null ? String.format("%+.1f%%", getChange(base.allocation, now.allocation)) : "-";
+			boolean isRegression = now.higherIsBetter ? change < -threshold : change > threshold;
+			regression |= isRegression;
+
+			System.out.println(String.format("%-100s %15.2f %15.2f %+8.1f%% %12s%s", entry.getKey(), base.score, now.score, change, allocationChange, isRegression ? "  REGRESSION" : ""));
+		}
+
+		if (regression) {
+			System.exit(1);
+		}
+	}
+
+	private static double getChange(double base, double now) {
+		if (base == 0) {
+			return 0;
+		}
+		return (now - base) / base * 100;
+	}
+
+	private static Map<String, Result> readResults(String file) throws IOException {
+		Map<String, Result> results = new TreeMap<>();
+		try (Reader reader = Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+			JsonArray runs = JsonParser.parseReader(reader).getAsJsonArray();
+			for (JsonElement element : runs) {
+				JsonObject run = element.getAsJsonObject();
+				String mode = run.get("mode").getAsString();
+				JsonObject primary = run.getAsJsonObject("primaryMetric");
+
+				Result result = new Result();
+				result.score = primary.get("score").getAsDouble();
+				// Throughput is the only mode where higher scores are better
+				result.higherIsBetter = "thrpt".equals(mode);
+
+				JsonObject secondary = run.getAsJsonObject("secondaryMetrics");
+				if (secondary != null && secondary.has(ALLOCATION_METRIC)) {
+					result.allocation = secondary.getAsJsonObject(ALLOCATION_METRIC).get("score").getAsDouble();
+				}
+
+				results.put(getKey(run), result);
+			}
+		}
+		return results;
+	}
+
+	private static String getKey(JsonObject run) {
+		StringBuilder key = new StringBuilder(run.get("benchmark").getAsString());
+		if (run.has("params")) {
+			Map<String, String> params = new LinkedHashMap<>();
+			run.getAsJsonObject("params").entrySet().forEach(e -> params.put(e.getKey(), e.getValue().getAsString()));
+			key.append(params);
+		}
+		return key.toString();
+	}
+
+	private static class Result {
+		private double score;
+		private Double allocation;
+		private boolean higherIsBetter;
+	}
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.benchmark;
+
+import java.util.function.Function;
+
+import org.eclipse.basyx.aas.metamodel.api.parts.asset.AssetKind;
+import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
+import org.eclipse.basyx.aas.metamodel.map.descriptor.CustomId;
+import org.eclipse.basyx.aas.metamodel.map.parts.Asset;
+import org.eclipse.basyx.aas.restapi.AASModelProvider;
+import org.eclipse.basyx.aas.restapi.MultiSubmodelProvider;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.Operation;
+import org.eclipse.basyx.submodel.restapi.SubmodelProvider;
+import org.eclipse.basyx.vab.modelprovider.map.VABMapProvider;
+
+/**
+ * Creates the models and provider stacks the benchmarks are executed on
+ *
+ */
+public class BenchmarkModel {
+	public static final String SUBMODEL_ID_SHORT = "benchmarkSubmodel";
+	public static final String OPERATION_ID_SHORT = "add";
+
+	public static final String SUBMODEL_PATH = "/aas/submodels/" + SUBMODEL_ID_SHORT + "/submodel";
+	public static final String ELEMENTS_PATH = SUBMODEL_PATH + "/submodelElements";
+
+	/**
+	 * Backend the submodel is held in
+	 */
+	public enum Backend {
+		MAP, LAMBDA
+	}
+
+	private BenchmarkModel() {
+	}
+
+	/**
+	 * Creates a submodel containing the given number of integer properties and
+	 * one operation
+	 * 
+	 * @param propertyCount
+	 * @return
+	 */
+	public static Submodel createSubmodel(int propertyCount) {
+		Submodel submodel = new Submodel(SUBMODEL_ID_SHORT, new CustomId(SUBMODEL_ID_SHORT));
+		for (int i = 0; i < propertyCount; i++) {
+			submodel.addSubmodelElement(new Property(getPropertyIdShort(i), i));
+		}
+
+		Operation add = new Operation((Function<Object[], Object>) v -> (int) v[0] + (int) v[1]);
+		add.setIdShort(OPERATION_ID_SHORT);
+		submodel.addSubmodelElement(add);
+
+		return submodel;
+	}
+
+	/**
+	 * Creates an AAS provider stack (MultiSubmodelProvider, SubmodelProvider,
+	 * backend) hosting a submodel with the given number of properties
+	 * 
+	 * @param backend
+	 * @param propertyCount
+	 * @return
+	 */
+	public static MultiSubmodelProvider createProvider(Backend backend, int propertyCount) {
+		AssetAdministrationShell shell = new AssetAdministrationShell("benchmarkAAS", new CustomId("benchmarkAAS"), new Asset("benchmarkAsset", new CustomId("benchmarkAsset"), AssetKind.INSTANCE));
+		MultiSubmodelProvider provider = new MultiSubmodelProvider(new AASModelProvider(shell));
+
+		Submodel submodel = createSubmodel(propertyCount);
+		if (backend == Backend.MAP) {
+			provider.addSubmodel(new SubmodelProvider(new VABMapProvider(submodel)));
+		} else {
+			provider.addSubmodel(new SubmodelProvider(submodel));
+		}
+
+		return provider;
+	}
+
+	public static String getPropertyIdShort(int index) {
+		return "prop" + index;
+	}
+
+	public static String getPropertyValuePath(int index) {
+		return ELEMENTS_PATH + "/" + getPropertyIdShort(index) + "/value";
+	}
+
+	public static String getOperationInvokePath() {
+		return ELEMENTS_PATH + "/" + OPERATION_ID_SHORT + "/invoke";
+	}
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.vab.coder.cbor.CBORTools;
+import org.eclipse.basyx.vab.coder.json.serialization.CompactTypeFactory;
+import org.eclipse.basyx.vab.coder.json.serialization.DefaultTypeFactory;
+import org.eclipse.basyx.vab.coder.json.serialization.GSONTools;
+import org.eclipse.basyx.vab.modelprovider.VABPathTools;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of the JSON codec ({@link GSONTools}), the CBOR codec
+ * ({@link CBORTools}) and of the path handling ({@link VABPathTools}) in
+ * isolation
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+	private static final String PATH = "/aas/submodels/benchmarkSubmodel/submodel/submodelElements/collection/prop0/value";
+
+	@Param({ "10", "100", "1000" })
+	public int modelSize;
+
+	private GSONTools tools;
+	private GSONTools compactTools;
+	private Submodel submodel;
+	private String serializedSubmodel;
+	private CBORTools cborTools;
+	private byte[] cborSubmodel;
+
+	@Setup
+	public void setup() {
+		tools = new GSONTools(new DefaultTypeFactory());
+		submodel = BenchmarkModel.createSubmodel(modelSize);
+		serializedSubmodel = tools.serialize(submodel);
+		compactTools = new GSONTools(new CompactTypeFactory());
+		cborTools = new CBORTools();
+		cborSubmodel = cborTools.serialize(submodel);
+	}
+
+	@Benchmark
+	public String serializeSubmodel() {
+		return tools.serialize(submodel);
+	}
+
+	@Benchmark
+	public Object deserializeSubmodel() {
+		return tools.deserialize(serializedSubmodel);
+	}
+
+	@Benchmark
+	public Object deserializeSubmodelCompact() {
+		return compactTools.deserialize(serializedSubmodel);
+	}
+
+	@Benchmark
+	public byte[] serializeSubmodelCBOR() {
+		return cborTools.serialize(submodel);
+	}
+
+	@Benchmark
+	public Object deserializeSubmodelCBOR() {
+		return cborTools.deserialize(cborSubmodel);
+	}
+
+	@Benchmark
+	public String[] splitPath() {
+		return VABPathTools.splitPath(PATH);
+	}
+
+	@Benchmark
+	public String concatenatePaths() {
+		return VABPathTools.concatenatePaths(BenchmarkModel.ELEMENTS_PATH, "collection", "prop0", "value");
+	}
+
+	@Benchmark
+	public String getParentPath() {
+		return VABPathTools.getParentPath(PATH);
+	}
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.basyx.vab.coder.json.provider.JSONProvider;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.protocol.api.IBaSyxConnector;
+
+/**
+ * Connector passing the serialized requests directly to a
+ * {@link JSONProvider}, i.e. the JSON codec without any transport
+ *
+ */
+public class InMemoryConnector implements IBaSyxConnector {
+	private final JSONProvider<IModelProvider> provider;
+
+	public InMemoryConnector(IModelProvider provider) {
+		this.provider = new JSONProvider<>(provider);
+	}
+
+	@Override
+	public String getValue(String path) throws ProviderException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		provider.processBaSysGet(path, outputStream);
+		return toString(outputStream);
+	}
+
+	@Override
+	public String setValue(String path, String newValue) throws ProviderException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		provider.processBaSysSet(path, newValue, outputStream);
+		return toString(outputStream);
+	}
+
+	@Override
+	public String createValue(String path, String newEntity) throws ProviderException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		provider.processBaSysCreate(path, newEntity, outputStream);
+		return toString(outputStream);
+	}
+
+	@Override
+	public String deleteValue(String path) throws ProviderException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		provider.processBaSysDelete(path, "null", outputStream);
+		return toString(outputStream);
+	}
+
+	@Override
+	public String deleteValue(String path, String obj) throws ProviderException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		provider.processBaSysDelete(path, obj, outputStream);
+		return toString(outputStream);
+	}
+
+	@Override
+	public String invokeOperation(String path, String jsonObject) throws ProviderException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		provider.processBaSysInvoke(path, jsonObject, outputStream);
+		return toString(outputStream);
+	}
+
+	@Override
+	public String getEndpointRepresentation(String path) {
+		return "memory://" + path;
+	}
+
+	private static String toString(ByteArrayOutputStream outputStream) {
+		return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+	}
+}
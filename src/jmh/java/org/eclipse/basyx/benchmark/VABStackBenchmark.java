@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.basyx.aas.restapi.MultiSubmodelProvider;
+import org.eclipse.basyx.benchmark.BenchmarkModel.Backend;
+import org.eclipse.basyx.vab.coder.json.connector.JSONConnector;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.protocol.basyx.connector.BaSyxConnector;
+import org.eclipse.basyx.vab.protocol.basyx.server.BaSyxTCPServer;
+import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnector;
+import org.eclipse.basyx.vab.protocol.http.server.BaSyxContext;
+import org.eclipse.basyx.vab.protocol.http.server.BaSyxHTTPServer;
+import org.eclipse.basyx.vab.protocol.http.server.VABHTTPInterface;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of read, update and invoke requests through the
+ * complete VAB stack: backend provider, SubmodelProvider, MultiSubmodelProvider
+ * and, depending on the transport, JSONProvider, the TCP or HTTP server and
+ * the JSONConnector. <br>
+ * Run with <i>-prof gc</i> to additionally measure the allocation rate.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VABStackBenchmark {
+	private static final int TCP_PORT = 6301;
+	private static final int HTTP_PORT = 6302;
+	private static final String HTTP_CONTEXT_PATH = "/benchmark";
+
+	/**
+	 * The layers between the caller and the provider stack
+	 */
+	public enum Transport {
+		/**
+		 * Calls the provider stack directly
+		 */
+		DIRECT,
+		/**
+		 * Adds the JSON codec without any transport
+		 */
+		JSON,
+		/**
+		 * Adds the JSON codec and the BaSyx TCP protocol via loopback
+		 */
+		TCP,
+		/**
+		 * Adds the JSON codec and HTTP via loopback
+		 */
+		HTTP
+	}
+
+	@Param({ "10", "100", "1000" })
+	public int modelSize;
+
+	@Param({ "MAP", "LAMBDA" })
+	public Backend backend;
+
+	@Param({ "DIRECT", "JSON", "TCP", "HTTP" })
+	public Transport transport;
+
+	private IModelProvider client;
+	private BaSyxTCPServer<IModelProvider> tcpServer;
+	private BaSyxHTTPServer httpServer;
+
+	private String readPath;
+	private String updatePath;
+	private int counter;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		MultiSubmodelProvider provider = BenchmarkModel.createProvider(backend, modelSize);
+		readPath = BenchmarkModel.getPropertyValuePath(modelSize / 2);
+		updatePath = BenchmarkModel.getPropertyValuePath(modelSize - 1);
+
+		switch (transport) {
+		case DIRECT:
+			client = provider;
+			break;
+		case JSON:
+			client = new JSONConnector(new InMemoryConnector(provider));
+			break;
+		case TCP:
+			tcpServer = new BaSyxTCPServer<>(provider, TCP_PORT);
+			tcpServer.start();
+			client = new JSONConnector(new BaSyxConnector("localhost", TCP_PORT));
+			break;
+		case HTTP:
+			BaSyxContext context = new BaSyxContext(HTTP_CONTEXT_PATH, "", "localhost", HTTP_PORT);
+			context.addServletMapping("/*", new VABHTTPInterface<IModelProvider>(provider));
+			httpServer = new BaSyxHTTPServer(context);
+			httpServer.start();
+			client = new JSONConnector(new HTTPConnector("http://localhost:" + HTTP_PORT + HTTP_CONTEXT_PATH));
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown transport " + transport);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		if (tcpServer != null) {
+			tcpServer.stop();
+		}
+		if (httpServer != null) {
+			httpServer.shutdown();
+		}
+	}
+
+	@Benchmark
+	public Object readProperty() {
+		return client.getValue(readPath);
+	}
+
+	@Benchmark
+	public Object readSubmodel() {
+		return client.getValue(BenchmarkModel.SUBMODEL_PATH);
+	}
+
+	@Benchmark
+	public void updateProperty() {
+		client.setValue(updatePath, counter++);
+	}
+
+	@Benchmark
+	public Object invokeOperation() {
+		return client.invokeOperation(BenchmarkModel.getOperationInvokePath(), 1, 2);
+	}
+}
@@ -26,11 +26,16 @@ package org.eclipse.basyx.aas.aggregator;
 
 import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
+import org.eclipse.basyx.aas.aggregator.index.SemanticIdIndex;
+import org.eclipse.basyx.aas.aggregator.index.SemanticIdIndexEntry;
+import org.eclipse.basyx.aas.aggregator.index.SemanticIdIndexingSubmodelAggregator;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
 import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
 import org.eclipse.basyx.aas.registration.api.IAASRegistry;
@@ -41,11 +46,13 @@ import org.eclipse.basyx.aas.restapi.api.IAASAPIFactory;
 import org.eclipse.basyx.aas.restapi.vab.VABAASAPIFactory;
 import org.eclipse.basyx.extensions.shared.authorization.internal.NotAuthorizedException;
 import org.eclipse.basyx.submodel.aggregator.SubmodelAggregatorFactory;
+import org.eclipse.basyx.submodel.aggregator.api.ISubmodelAggregator;
 import org.eclipse.basyx.submodel.aggregator.api.ISubmodelAggregatorFactory;
 import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
 import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPIFactory;
 import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.protocol.api.ConnectorFactory;
 import org.eclipse.basyx.vab.protocol.api.IConnectorFactory;
 import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnectorFactory;
 
@@ -56,6 +63,13 @@ import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnectorFactory;
  */
 public class AASAggregator implements IAASAggregator {
 
+	// Shared by all aggregators not given a connector factory, so that connectors
+	// to the same address are reused
+	private static final IConnectorFactory SHARED_CONNECTOR_FACTORY = new HTTPConnectorFactory();
+
+	// Used by all AAS providers of this aggregator for accessing remote submodels
+	protected IConnectorFactory connectorFactory = SHARED_CONNECTOR_FACTORY;
+
 	protected Map<String, MultiSubmodelProvider> aasProviderMap = new LinkedHashMap<>();
 
 	protected IAASRegistry registry;
@@ -67,6 +81,9 @@ public class AASAggregator implements IAASAggregator {
 
 	protected ISubmodelAggregatorFactory submodelAggregatorFactory;
 
+	// Optional index of the semanticIds of all local submodels and their elements
+	protected SemanticIdIndex semanticIdIndex;
+
 	public AASAggregator(IAASAPIFactory aasApiFactory, ISubmodelAggregatorFactory submodelAggregatorFactory) {
 		this.aasApiFactory = aasApiFactory;
 		this.submodelAggregatorFactory = submodelAggregatorFactory;
@@ -77,6 +94,17 @@ public class AASAggregator implements IAASAggregator {
 		this.registry = registry;
 	}
 
+	/**
+	 * Constructs AAS Aggregator using the passed registry and connector factory for
+	 * accessing remote submodels, e.g. one creating HTTPS or authenticating
+	 * connectors. The connectors cached by the factory are closed by
+	 * {@link #close()}.
+	 */
+	public AASAggregator(IAASAPIFactory aasApiFactory, ISubmodelAggregatorFactory submodelAggregatorFactory, IAASRegistry registry, IConnectorFactory connectorFactory) {
+		this(aasApiFactory, submodelAggregatorFactory, registry);
+		this.connectorFactory = connectorFactory;
+	}
+
 	/**
 	 * Constructs AAS Aggregator using the passed registry. This registry is used to
 	 * resolve requests for remote submodels. Additionally takes custom API
@@ -110,6 +138,18 @@ public class AASAggregator implements IAASAggregator {
 		this(new VABAASAPIFactory(), new SubmodelAggregatorFactory(), registry);
 	}
 
+	/**
+	 * Enables an index of the semanticIds of all local submodels and their
+	 * elements, which answers {@link #lookupSemanticId(String)} without searching
+	 * the submodels. Has to be enabled before any AAS is created.
+	 */
+	public void enableSemanticIdIndex() {
+		if (!aasProviderMap.isEmpty()) {
+			throw new IllegalStateException("The semanticId index has to be enabled before AAS are created");
+		}
+		semanticIdIndex = new SemanticIdIndex();
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public Collection<IAssetAdministrationShell> getAASList() {
@@ -159,15 +199,41 @@ public class AASAggregator implements IAASAggregator {
 	}
 
 	private MultiSubmodelProvider createMultiSubmodelProvider(AssetAdministrationShell aas) {
-		IConnectorFactory connectorFactory = new HTTPConnectorFactory();
 		IAASAPI aasApi = aasApiFactory.create(aas);
 		AASModelProvider contentProvider = new AASModelProvider(aasApi);
-		return new MultiSubmodelProvider(contentProvider, registry, connectorFactory, aasApiFactory, submodelAggregatorFactory.create(aas.getIdentification()));
+		return new MultiSubmodelProvider(contentProvider, registry, connectorFactory, aasApiFactory, createSubmodelAggregator(aas.getIdentification()));
+	}
+
+	private ISubmodelAggregator createSubmodelAggregator(IIdentifier aasId) {
+		ISubmodelAggregator smAggregator = submodelAggregatorFactory.create(aasId);
+		if (semanticIdIndex == null) {
+			return smAggregator;
+		}
+
+		// A newly created AAS replaces the submodels of a previous one
+		semanticIdIndex.removeAAS(aasId.getId());
+		return new SemanticIdIndexingSubmodelAggregator(smAggregator, aasId.getId(), semanticIdIndex);
 	}
 
 	@Override
 	public void deleteAAS(IIdentifier aasId) {
 		aasProviderMap.remove(aasId.getId());
+		if (semanticIdIndex != null) {
+			semanticIdIndex.removeAAS(aasId.getId());
+		}
+	}
+
+	@Override
+	public List<SemanticIdIndexEntry> lookupSemanticId(String semanticId) {
+		if (semanticIdIndex == null) {
+			return IAASAggregator.super.lookupSemanticId(semanticId);
+		}
+		return semanticIdIndex.lookup(semanticId);
+	}
+
+	@Override
+	public Set<String> getExistingAASIds(Collection<IIdentifier> aasIds) {
+		return aasIds.stream().map(IIdentifier::getId).filter(aasProviderMap::containsKey).collect(Collectors.toSet());
 	}
 
 	@Override
@@ -180,4 +246,13 @@ public class AASAggregator implements IAASAggregator {
 		return provider;
 	}
 
+	/**
+	 * Closes the connectors cached for accessing remote submodels. The connector
+	 * factory shared by default is left untouched, as other aggregators use it.
+	 */
+	public void close() {
+		if (connectorFactory != SHARED_CONNECTOR_FACTORY && connectorFactory instanceof ConnectorFactory) {
+			((ConnectorFactory) connectorFactory).clear();
+		}
+	}
 }
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.aas.aggregator;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
+import org.eclipse.basyx.aas.registration.api.IAASRegistry;
+import org.eclipse.basyx.aas.restapi.api.IAASAPIFactory;
+import org.eclipse.basyx.aas.restapi.vab.VABAASAPIFactory;
+import org.eclipse.basyx.submodel.aggregator.SubmodelAggregatorFactory;
+import org.eclipse.basyx.submodel.aggregator.api.ISubmodelAggregatorFactory;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
+
+/**
+ * Thread-safe variant of the {@link AASAggregator}.
+ * 
+ * Providers are kept in a concurrent map, thus reads never block. Modifying
+ * operations are serialized per AAS using a fixed set of lock stripes, so that
+ * writers to different AAS do not block each other. An update builds the new
+ * provider first and swaps it in atomically afterwards, i.e. concurrent
+ * readers either see the old or the new provider.
+ * 
+ * Contrary to the {@link AASAggregator}, the order of
+ * {@link #getAASList()} is not the insertion order.
+ *
+ */
+public class ConcurrentAASAggregator extends AASAggregator {
+	public static final int DEFAULT_LOCK_STRIPES = 64;
+
+	private final ReentrantLock[] lockStripes;
+
+	/**
+	 * Constructs a concurrent AAS aggregator with
+	 * {@value #DEFAULT_LOCK_STRIPES} lock stripes
+	 */
+	public ConcurrentAASAggregator(IAASAPIFactory aasApiFactory, ISubmodelAggregatorFactory submodelAggregatorFactory, IAASRegistry registry) {
+		this(aasApiFactory, submodelAggregatorFactory, registry, DEFAULT_LOCK_STRIPES);
+	}
+
+	/**
+	 * Constructs a concurrent AAS aggregator
+	 * 
+	 * @param aasApiFactory
+	 * @param submodelAggregatorFactory
+	 * @param registry
+	 *            used for resolving remote submodels, may be null
+	 * @param lockStripes
+	 *            number of locks the AAS are distributed on
+	 */
+	public ConcurrentAASAggregator(IAASAPIFactory aasApiFactory, ISubmodelAggregatorFactory submodelAggregatorFactory, IAASRegistry registry, int lockStripes) {
+		super(aasApiFactory, submodelAggregatorFactory, registry);
+		if (lockStripes <= 0) {
+			throw new IllegalArgumentException("At least one lock stripe is required, but was " + lockStripes);
+		}
+
+		this.aasProviderMap = new ConcurrentHashMap<>();
+		this.lockStripes = new ReentrantLock[lockStripes];
+		for (int i = 0; i < lockStripes; i++) {
+			this.lockStripes[i] = new ReentrantLock();
+		}
+	}
+
+	public ConcurrentAASAggregator(IAASAPIFactory aasApiFactory, ISubmodelAggregatorFactory submodelAggregatorFactory) {
+		this(aasApiFactory, submodelAggregatorFactory, null);
+	}
+
+	public ConcurrentAASAggregator(IAASRegistry registry) {
+		this(new VABAASAPIFactory(), new SubmodelAggregatorFactory(), registry);
+	}
+
+	public ConcurrentAASAggregator() {
+		this(new VABAASAPIFactory(), new SubmodelAggregatorFactory());
+	}
+
+	@Override
+	public void createAAS(AssetAdministrationShell aas) {
+		ReentrantLock lock = getLock(aas.getIdentification().getId());
+		lock.lock();
+		try {
+			super.createAAS(aas);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void updateAAS(AssetAdministrationShell aas) {
+		ReentrantLock lock = getLock(aas.getIdentification().getId());
+		lock.lock();
+		try {
+			// Builds the new provider and replaces the old one with a single put
+			super.updateAAS(aas);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void deleteAAS(IIdentifier aasId) {
+		ReentrantLock lock = getLock(aasId.getId());
+		lock.lock();
+		try {
+			super.deleteAAS(aasId);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the lock serializing the modifications of an AAS. The lock is
+	 * reentrant, so subclasses may hold it while calling the modifying operations.
+	 * 
+	 * @param aasId
+	 * @return the lock stripe of the AAS
+	 */
+	protected ReentrantLock getLock(String aasId) {
+		return lockStripes[Math.floorMod(aasId.hashCode(), lockStripes.length)];
+	}
+}
@@ -25,10 +25,17 @@
 package org.eclipse.basyx.aas.aggregator.api;
 
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.eclipse.basyx.aas.aggregator.index.SemanticIdIndex;
+import org.eclipse.basyx.aas.aggregator.index.SemanticIdIndexEntry;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
 import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
 import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
 import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
 
@@ -90,4 +97,55 @@ public interface IAASAggregator {
 	 */
 	public void deleteAAS(IIdentifier aasId);
 
+	/**
+	 * Checks which of the given Asset Administration Shells exist at the endpoint.
+	 * Implementations should answer this with as few requests as possible
+	 * 
+	 * @param aasIds
+	 *            the IDs of the AASs to check
+	 * @return the IDs (as String) of the AASs that exist
+	 */
+	public default Set<String> getExistingAASIds(Collection<IIdentifier> aasIds) {
+		Set<String> existing = new HashSet<>();
+		for (IIdentifier aasId : aasIds) {
+			try {
+				getAAS(aasId);
+				existing.add(aasId.getId());
+			} catch (ResourceNotFoundException e) {
+				// AAS does not exist
+			}
+		}
+		return existing;
+	}
+
+	/**
+	 * Creates multiple new Asset Administration Shells at the endpoint.
+	 * Implementations should answer this with as few requests as possible
+	 * 
+	 * @param shells
+	 *            the AASs to be created
+	 */
+	public default void createAASList(Collection<AssetAdministrationShell> shells) {
+		shells.forEach(this::createAAS);
+	}
+
+	/**
+	 * Looks up all submodels and submodel elements with the given semanticId
+	 * 
+	 * @param semanticId
+	 *            a key value of the semanticId
+	 * @return the locations of the submodels and submodel elements
+	 */
+	@SuppressWarnings("unchecked")
+	public default List<SemanticIdIndexEntry> lookupSemanticId(String semanticId) {
+		// Without an index, all submodels have to be searched
+		SemanticIdIndex index = new SemanticIdIndex();
+		for (IAssetAdministrationShell aas : getAASList()) {
+			String aasId = aas.getIdentification().getId();
+			Collection<Map<String, Object>> submodels = (Collection<Map<String, Object>>) getAASProvider(aas.getIdentification()).getValue("/aas/submodels");
+			submodels.forEach(sm -> index.indexSubmodel(aasId, Submodel.createAsFacade(sm)));
+		}
+		return index.lookup(semanticId);
+	}
+
 }
@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.aas.aggregator.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
+import org.eclipse.basyx.submodel.metamodel.api.reference.IKey;
+import org.eclipse.basyx.submodel.metamodel.api.reference.IReference;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElementCollection;
+import org.eclipse.basyx.vab.modelprovider.VABPathTools;
+
+/**
+ * Index mapping the semanticIds of submodels and their elements to their
+ * locations. All key values of a semanticId are indexed. Elements nested in
+ * SubmodelElementCollections are indexed with their full idShort path.
+ * <br>
+ * Lookups are lock-free, changes are serialized.
+ */
+public class SemanticIdIndex {
+	private final Map<String, Set<SemanticIdIndexEntry>> entriesBySemanticId = new ConcurrentHashMap<>();
+
+	// Reverse index to remove the entries of changed elements:
+	// aasId -> submodelId -> idShortPath -> semanticIds
+	private final Map<String, Map<String, Map<String, Set<String>>>> semanticIdsByLocation = new HashMap<>();
+
+	/**
+	 * Returns the locations of all submodels and submodel elements with the given
+	 * semanticId
+	 * 
+	 * @param semanticId
+	 *            a key value of the semanticId
+	 * @return the locations
+	 */
+	public List<SemanticIdIndexEntry> lookup(String semanticId) {
+		Set<SemanticIdIndexEntry> entries = entriesBySemanticId.get(semanticId);
+		if (entries == null) {
+			return Collections.emptyList();
+		}
+		return new ArrayList<>(entries);
+	}
+
+	/**
+	 * Indexes a submodel and all of its elements, replacing the entries of a
+	 * previous version of the submodel
+	 */
+	public synchronized void indexSubmodel(String aasId, ISubmodel submodel) {
+		String submodelId = submodel.getIdentification().getId();
+		removeSubmodel(aasId, submodelId);
+		add(aasId, submodelId, "", submodel.getSemanticId());
+		for (ISubmodelElement element : submodel.getSubmodelElements().values()) {
+			addElement(aasId, submodelId, element.getIdShort(), element);
+		}
+	}
+
+	/**
+	 * Indexes a submodel element and its nested elements, replacing the entries of
+	 * a previous element at the same idShort path
+	 */
+	public synchronized void indexElement(String aasId, String submodelId, String idShortPath, ISubmodelElement element) {
+		idShortPath = VABPathTools.stripSlashes(idShortPath);
+		removeElement(aasId, submodelId, idShortPath);
+		addElement(aasId, submodelId, idShortPath, element);
+	}
+
+	/**
+	 * Removes the entries of a submodel element and its nested elements
+	 */
+	public synchronized void removeElement(String aasId, String submodelId, String idShortPath) {
+		Map<String, Set<String>> paths = getPaths(aasId, submodelId);
+		if (paths == null) {
+			return;
+		}
+
+		String path = VABPathTools.stripSlashes(idShortPath);
+		String childPrefix = path + "/";
+		paths.entrySet().removeIf(e -> {
+			if (!e.getKey().equals(path) && !e.getKey().startsWith(childPrefix)) {
+				return false;
+			}
+			removeEntries(new SemanticIdIndexEntry(aasId, submodelId, e.getKey()), e.getValue());
+			return true;
+		});
+	}
+
+	/**
+	 * Removes the entries of a submodel and all of its elements
+	 */
+	public synchronized void removeSubmodel(String aasId, String submodelId) {
+		Map<String, Map<String, Set<String>>> submodels = semanticIdsByLocation.get(aasId);
+		if (submodels == null) {
+			return;
+		}
+
+		Map<String, Set<String>> paths = submodels.remove(submodelId);
+		if (paths != null) {
+			paths.forEach((path, semanticIds) -> removeEntries(new SemanticIdIndexEntry(aasId, submodelId, path), semanticIds));
+		}
+	}
+
+	/**
+	 * Removes the entries of all submodels of an AAS
+	 */
+	public synchronized void removeAAS(String aasId) {
+		Map<String, Map<String, Set<String>>> submodels = semanticIdsByLocation.get(aasId);
+		if (submodels != null) {
+			new ArrayList<>(submodels.keySet()).forEach(submodelId -> removeSubmodel(aasId, submodelId));
+			semanticIdsByLocation.remove(aasId);
+		}
+	}
+
+	private void addElement(String aasId, String submodelId, String idShortPath, ISubmodelElement element) {
+		add(aasId, submodelId, idShortPath, element.getSemanticId());
+		if (element instanceof ISubmodelElementCollection) {
+			for (ISubmodelElement child : ((ISubmodelElementCollection) element).getSubmodelElements().values()) {
+				addElement(aasId, submodelId, idShortPath + "/" + child.getIdShort(), child);
+			}
+		}
+	}
+
+	private void add(String aasId, String submodelId, String idShortPath, IReference semanticId) {
+		Set<String> keyValues = getKeyValues(semanticId);
+		if (keyValues.isEmpty()) {
+			return;
+		}
+
+		semanticIdsByLocation.computeIfAbsent(aasId, id -> new HashMap<>()).computeIfAbsent(submodelId, id -> new HashMap<>()).put(idShortPath, keyValues);
+		SemanticIdIndexEntry entry = new SemanticIdIndexEntry(aasId, submodelId, idShortPath);
+		for (String keyValue : keyValues) {
+			entriesBySemanticId.computeIfAbsent(keyValue, k -> ConcurrentHashMap.newKeySet()).add(entry);
+		}
+	}
+
+	private void removeEntries(SemanticIdIndexEntry entry, Collection<String> semanticIds) {
+		for (String semanticId : semanticIds) {
+			entriesBySemanticId.computeIfPresent(semanticId, (k, entries) -> {
+				entries.remove(entry);
+				return entries.isEmpty() ? null : entries;
+			});
+		}
+	}
+
+	private Map<String, Set<String>> getPaths(String aasId, String submodelId) {
+		Map<String, Map<String, Set<String>>> submodels = semanticIdsByLocation.get(aasId);
+		return submodels == null ? null : submodels.get(submodelId);
+	}
+
+	private static Set<String> getKeyValues(IReference reference) {
+		if (reference == null || reference.getKeys() == null) {
+			return new HashSet<>();
+		}
+
+		Set<String> keyValues = new LinkedHashSet<>();
+		for (IKey key : reference.getKeys()) {
+			if (key.getValue() != null) {
+				keyValues.add(key.getValue());
+			}
+		}
+		return keyValues;
+	}
+}
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.aas.aggregator.index;
+
+import java.util.Map;
+
+import org.eclipse.basyx.vab.model.VABModelMap;
+
+/**
+ * Location of a submodel or submodel element with a given semanticId
+ */
+public class SemanticIdIndexEntry extends VABModelMap<Object> {
+	public static final String AASID = "aasId";
+	public static final String SUBMODELID = "submodelId";
+	public static final String IDSHORTPATH = "idShortPath";
+
+	private SemanticIdIndexEntry() {
+	}
+
+	/**
+	 * Creates an entry
+	 * 
+	 * @param aasId
+	 *            the id of the AAS containing the submodel
+	 * @param submodelId
+	 *            the id of the submodel
+	 * @param idShortPath
+	 *            the idShort path of the element inside the submodel; empty for
+	 *            the submodel itself
+	 */
+	public SemanticIdIndexEntry(String aasId, String submodelId, String idShortPath) {
+		put(AASID, aasId);
+		put(SUBMODELID, submodelId);
+		put(IDSHORTPATH, idShortPath);
+	}
+
+	/**
+	 * Creates a SemanticIdIndexEntry object from a map
+	 * 
+	 * @param obj
+	 *            a SemanticIdIndexEntry object as raw map
+	 * @return a SemanticIdIndexEntry object, that behaves like a facade for the
+	 *         given map
+	 */
+	public static SemanticIdIndexEntry createAsFacade(Map<String, Object> obj) {
+		if (obj == null) {
+			return null;
+		}
+
+		SemanticIdIndexEntry facade = new SemanticIdIndexEntry();
+		facade.setMap(obj);
+		return facade;
+	}
+
+	public String getAASId() {
+		return (String) get(AASID);
+	}
+
+	public String getSubmodelId() {
+		return (String) get(SUBMODELID);
+	}
+
+	public String getIdShortPath() {
+		return (String) get(IDSHORTPATH);
+	}
+}
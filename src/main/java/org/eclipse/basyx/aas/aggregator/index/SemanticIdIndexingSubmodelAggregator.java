@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.aas.aggregator.index;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.eclipse.basyx.submodel.aggregator.api.ISubmodelAggregator;
+import org.eclipse.basyx.submodel.aggregator.observing.ISubmodelAggregatorObserverV2;
+import org.eclipse.basyx.submodel.aggregator.observing.ObservableSubmodelAggregatorV2;
+import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
+import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.observing.ISubmodelAPIObserverV2;
+import org.eclipse.basyx.submodel.restapi.observing.ObservableSubmodelAPIV2;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+
+/**
+ * Submodel aggregator of a single AAS that keeps a {@link SemanticIdIndex} up
+ * to date. Changes of submodels are observed on the aggregator, changes of
+ * submodel elements on the submodel APIs returned by it.
+ */
+public class SemanticIdIndexingSubmodelAggregator extends ObservableSubmodelAggregatorV2 {
+	private final String aasId;
+	private final SemanticIdIndex index;
+
+	public SemanticIdIndexingSubmodelAggregator(ISubmodelAggregator aggregator, String aasId, SemanticIdIndex index) {
+		super(aggregator, "aas-server");
+		this.aasId = aasId;
+		this.index = index;
+		addObserver(new SubmodelObserver());
+	}
+
+	@Override
+	public void createSubmodel(ISubmodelAPI submodelAPI) {
+		super.createSubmodel(submodelAPI);
+		index.indexSubmodel(aasId, submodelAPI.getSubmodel());
+	}
+
+	@Override
+	public ISubmodelAPI getSubmodelAPIById(IIdentifier submodelIdentifier) throws ResourceNotFoundException {
+		return observe(super.getSubmodelAPIById(submodelIdentifier));
+	}
+
+	@Override
+	public ISubmodelAPI getSubmodelAPIByIdShort(String submodelIdShort) throws ResourceNotFoundException {
+		return observe(super.getSubmodelAPIByIdShort(submodelIdShort));
+	}
+
+	private ISubmodelAPI observe(ISubmodelAPI submodelAPI) {
+		ObservableSubmodelAPIV2 observedAPI = new ObservableSubmodelAPIV2(submodelAPI, getAasServerId());
+		observedAPI.addObserver(new ElementObserver(submodelAPI));
+		return observedAPI;
+	}
+
+	private class SubmodelObserver implements ISubmodelAggregatorObserverV2 {
+		@Override
+		public void submodelCreated(String shellId, ISubmodel submodel, String repoId) {
+			index.indexSubmodel(aasId, submodel);
+		}
+
+		@Override
+		public void submodelUpdated(String shellId, ISubmodel submodel, String repoId) {
+			index.indexSubmodel(aasId, submodel);
+		}
+
+		@Override
+		public void submodelDeleted(String shellId, ISubmodel submodel, String repoId) {
+			index.removeSubmodel(aasId, submodel.getIdentification().getId());
+		}
+	}
+
+	private class ElementObserver implements ISubmodelAPIObserverV2 {
+		private final ISubmodelAPI submodelAPI;
+
+		private ElementObserver(ISubmodelAPI submodelAPI) {
+			this.submodelAPI = submodelAPI;
+		}
+
+		@Override
+		public void elementAdded(String idShortPath, Object newValue, String shellId, String submodelId, String repoId) {
+			index.indexElement(aasId, submodelId, idShortPath, (ISubmodelElement) newValue);
+		}
+
+		@Override
+		public void elementDeleted(String idShortPath, ISubmodelElement submodelElement, String shellId, String submodelId, String repoId) {
+			index.removeElement(aasId, submodelId, idShortPath);
+		}
+
+		@Override
+		public void elementUpdated(String idShortPath, ISubmodelElement submodelElement, String shellId, String submodelId, String repoId) {
+			index.indexElement(aasId, submodelId, idShortPath, submodelElement);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void elementValue(String idShortPath, Object value, String shellId, String submodelId, String repoId) {
+			// Only the value of a collection, i.e. its elements, can contain semanticIds
+			if (value != null && !(value instanceof Map<?, ?>) && !(value instanceof Collection<?>)) {
+				return;
+			}
+			ISubmodelElement element = submodelAPI.getSubmodelElement(idShortPath);
+			if (element instanceof Map<?, ?> && SubmodelElementCollection.isSubmodelElementCollection((Map<String, Object>) element)) {
+				index.indexElement(aasId, submodelId, idShortPath, SubmodelElementCollection.createAsFacade((Map<String, Object>) element));
+			}
+		}
+	}
+}
@@ -27,8 +27,10 @@
 package org.eclipse.basyx.aas.aggregator.observing;
 
 import java.util.Collection;
+import java.util.List;
 
 import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
+import org.eclipse.basyx.aas.aggregator.index.SemanticIdIndexEntry;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
 import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
 import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
@@ -57,6 +59,11 @@ public class ObservableAASAggregator extends Observable<IAASAggregatorObserver>
 		return aasAggregator.getAASList();
 	}
 
+	@Override
+	public List<SemanticIdIndexEntry> lookupSemanticId(String semanticId) {
+		return aasAggregator.lookupSemanticId(semanticId);
+	}
+
 	@Override
 	public IAssetAdministrationShell getAAS(IIdentifier aasId) throws ResourceNotFoundException {
 		return aasAggregator.getAAS(aasId);
@@ -24,19 +24,28 @@
  ******************************************************************************/
 package org.eclipse.basyx.aas.aggregator.proxy;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.eclipse.basyx.aas.aggregator.AASAggregatorAPIHelper;
 import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
+import org.eclipse.basyx.aas.aggregator.index.SemanticIdIndexEntry;
+import org.eclipse.basyx.aas.aggregator.restapi.AASAggregatorProvider;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
 import org.eclipse.basyx.aas.metamodel.connected.ConnectedAssetAdministrationShell;
 import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
 import org.eclipse.basyx.aas.registration.proxy.AASRegistryProxy;
 import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
 import org.eclipse.basyx.vab.coder.json.connector.JSONConnector;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
 import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
+import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
 import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnector;
 import org.slf4j.Logger;
@@ -115,6 +124,51 @@ public class AASAggregatorProxy implements IAASAggregator {
 		logger.info("AAS with Id " + aas.getIdentification().getId() + " created");
 	}
 
+	/**
+	 * Creates all given AAS with a single request. Falls back to creating them one
+	 * by one if the aggregator does not support this
+	 */
+	@Override
+	public void createAASList(Collection<AssetAdministrationShell> shells) {
+		try {
+			provider.setValue(AASAggregatorAPIHelper.getAggregatorPath(), new ArrayList<>(shells));
+			logger.info(shells.size() + " AAS created");
+		} catch (MalformedRequestException e) {
+			// Aggregators of older versions reject a PUT on the aggregator path
+			shells.forEach(this::createAAS);
+		}
+	}
+
+	/**
+	 * Checks each AAS with a request for its entry. Contrary to retrieving the
+	 * whole AAS list, only the requested AAS are transferred and the result does
+	 * not depend on the list being filtered, e.g. by authorization.
+	 */
+	@Override
+	public Set<String> getExistingAASIds(Collection<IIdentifier> aasIds) {
+		Set<String> existing = new HashSet<>();
+		for (IIdentifier aasId : aasIds) {
+			try {
+				provider.getValue(AASAggregatorAPIHelper.getAASEntryPath(aasId));
+				existing.add(aasId.getId());
+			} catch (ResourceNotFoundException e) {
+				// AAS does not exist
+			}
+		}
+		return existing;
+	}
+
+	/**
+	 * Looks up the semanticId using the query endpoint of the aggregator, so that
+	 * no submodel is transferred
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public List<SemanticIdIndexEntry> lookupSemanticId(String semanticId) {
+		Collection<Map<String, Object>> entries = (Collection<Map<String, Object>>) provider.getValue(AASAggregatorAPIHelper.getAggregatorPath() + "?" + AASAggregatorProvider.SEMANTICID + "=" + VABPathTools.encodePathElement(semanticId));
+		return entries.stream().map(SemanticIdIndexEntry::createAsFacade).collect(Collectors.toList());
+	}
+
 	@Override
 	public void updateAAS(AssetAdministrationShell aas) {
 		provider.setValue(AASAggregatorAPIHelper.getAASEntryPath(aas.getIdentification()), aas);
@@ -24,7 +24,10 @@
  ******************************************************************************/
 package org.eclipse.basyx.aas.aggregator.restapi;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
@@ -51,6 +54,7 @@ public class AASAggregatorProvider implements IModelProvider {
 	protected IAASAggregator aggregator;
 
 	public static final String PREFIX = "shells";
+	public static final String SEMANTICID = "semanticId";
 
 	public AASAggregatorProvider(IAASAggregator aggregator) {
 		this.aggregator = aggregator;
@@ -113,6 +117,8 @@ public class AASAggregatorProvider implements IModelProvider {
 
 		if (path.isEmpty()) { // Return all AAS if path is empty
 			return aggregator.getAASList();
+		} else if (path.startsWith("?")) { // Query for the locations of a semanticId
+			return aggregator.lookupSemanticId(getSemanticIdParameter(path));
 		} else {
 			String[] splitted = VABPathTools.splitPath(path);
 			if (splitted.length == 1) { // A specific AAS was requested
@@ -128,6 +134,24 @@ public class AASAggregatorProvider implements IModelProvider {
 		}
 	}
 
+	/**
+	 * Extracts the semanticId from <code>?semanticId=...</code>. The value is
+	 * encoded exactly once, also when the query has been received via HTTP.
+	 */
+	private String getSemanticIdParameter(String query) {
+		for (String parameter : query.substring(1).split("&")) {
+			String[] keyValue = parameter.split("=", 2);
+			if (keyValue.length == 2 && keyValue[0].equals(SEMANTICID)) {
+				try {
+					return VABPathTools.decodePathElement(keyValue[1]);
+				} catch (IllegalArgumentException e) {
+					throw new MalformedRequestException("Invalid encoding of " + SEMANTICID + " '" + keyValue[1] + "'");
+				}
+			}
+		}
+		throw new MalformedRequestException("Query " + query + " is not supported by aggregator. Expected ?" + SEMANTICID + "=...");
+	}
+
 	@Override
 	public void setValue(String path, Object newValue) throws ProviderException {
 		path = stripPrefix(path);
@@ -156,8 +180,11 @@ public class AASAggregatorProvider implements IModelProvider {
 				IIdentifier identifier = new Identifier(IdentifierType.CUSTOM, id);
 				aggregator.getAASProvider(identifier).setValue(restPath, newValue);
 			}
+		} else if (newValue instanceof Collection<?>) { // Bulk creation of AAS
+			List<AssetAdministrationShell> shells = ((Collection<?>) newValue).stream().map(this::createAASFromMap).collect(Collectors.toList());
+			aggregator.createAASList(shells);
 		} else {
-			throw new MalformedRequestException("Set with empty path is not supported by aggregator");
+			throw new MalformedRequestException("Set with empty path is only supported by aggregator for a list of AAS");
 		}
 	}
 
@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.aas.aggregator.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Assigns keys to named nodes by consistent hashing. Each node is placed on
+ * the ring multiple times (virtual nodes) to spread the keys evenly. When a
+ * node is added, only the keys now assigned to it change their node.<br>
+ * This class is not thread-safe.
+ *
+ * @param <T>
+ *            the type of the nodes
+ */
+public class ConsistentHashRing<T> {
+	public static final int DEFAULT_VIRTUAL_NODES = 128;
+
+	private final int virtualNodes;
+	private final TreeMap<Long, String> ring = new TreeMap<>();
+	private final Map<String, T> nodes = new LinkedHashMap<>();
+
+	/**
+	 * Creates an empty ring with {@value #DEFAULT_VIRTUAL_NODES} virtual nodes
+	 * per node
+	 */
+	public ConsistentHashRing() {
+		this(DEFAULT_VIRTUAL_NODES);
+	}
+
+	/**
+	 * Creates an empty ring
+	 * 
+	 * @param virtualNodes
+	 *            number of positions of each node on the ring
+	 */
+	public ConsistentHashRing(int virtualNodes) {
+		if (virtualNodes <= 0) {
+			throw new IllegalArgumentException("At least one virtual node is required, but was " + virtualNodes);
+		}
+		this.virtualNodes = virtualNodes;
+	}
+
+	/**
+	 * Adds a node to the ring
+	 * 
+	 * @param name
+	 *            the unique name of the node; the positions on the ring only
+	 *            depend on the name
+	 * @param node
+	 */
+	public void add(String name, T node) {
+		if (nodes.containsKey(name)) {
+			throw new IllegalArgumentException("Node " + name + " is already contained in the ring");
+		}
+
+		nodes.put(name, node);
+		for (int i = 0; i < virtualNodes; i++) {
+			// On the unlikely collision, the position stays with the existing node
+			ring.putIfAbsent(hash(name + "#" + i), name);
+		}
+	}
+
+	/**
+	 * Returns the name of the node a key is assigned to
+	 * 
+	 * @param key
+	 * @return the name of the node
+	 */
+	public String getNodeName(String key) {
+		if (ring.isEmpty()) {
+			throw new IllegalStateException("The ring does not contain any nodes");
+		}
+
+		// The first position clockwise from the key, wrapping around at the end
+		SortedMap<Long, String> tail = ring.tailMap(hash(key));
+		return tail.isEmpty() ? ring.firstEntry().getValue() : tail.get(tail.firstKey());
+	}
+
+	/**
+	 * Returns the node a key is assigned to
+	 * 
+	 * @param key
+	 * @return the node
+	 */
+	public T get(String key) {
+		return nodes.get(getNodeName(key));
+	}
+
+	/**
+	 * Creates a copy of the ring that can be changed without affecting this ring
+	 * 
+	 * @return the copy
+	 */
+	public ConsistentHashRing<T> copy() {
+		ConsistentHashRing<T> copy = new ConsistentHashRing<>(virtualNodes);
+		copy.ring.putAll(ring);
+		copy.nodes.putAll(nodes);
+		return copy;
+	}
+
+	/**
+	 * Returns all nodes by their names
+	 */
+	public Map<String, T> getNodes() {
+		return Collections.unmodifiableMap(nodes);
+	}
+
+	private static long hash(String key) {
+		byte[] digest;
+		try {
+			digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+		} catch (NoSuchAlgorithmException e) {
+			// MD5 is required to be supported by every Java platform
+			throw new IllegalStateException(e);
+		}
+
+		long hash = 0;
+		for (int i = 0; i < 8; i++) {
+			hash = (hash << 8) | (digest[i] & 0xFF);
+		}
+		return hash;
+	}
+}
@@ -0,0 +1,450 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.aas.aggregator.sharding;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
+import org.eclipse.basyx.aas.aggregator.index.SemanticIdIndexEntry;
+import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
+import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
+import org.eclipse.basyx.submodel.metamodel.api.reference.IKey;
+import org.eclipse.basyx.submodel.metamodel.api.reference.IReference;
+import org.eclipse.basyx.submodel.metamodel.connected.ConnectedElement;
+import org.eclipse.basyx.submodel.metamodel.facade.SubmodelElementMapCollectionConverter;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.modelprovider.VABPathTools;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Spreads one logical AAS repository across several AAS aggregators, e.g.
+ * {@link org.eclipse.basyx.aas.aggregator.proxy.AASAggregatorProxy proxies}
+ * of different servers. Each AAS, including its Submodels, is stored on the
+ * shard its id is assigned to by a {@link ConsistentHashRing}.<br>
+ * Calls for a single AAS are routed to its shard. Calls spanning all AASs are
+ * sent to the shards in parallel and their results are merged in the order
+ * the shards answer.<br>
+ * Wrapped into an
+ * {@link org.eclipse.basyx.aas.aggregator.restapi.AASAggregatorProvider}, it
+ * acts as a gateway in front of the shards.
+ */
+public class ShardedAASAggregator implements IAASAggregator, AutoCloseable {
+	private static Logger logger = LoggerFactory.getLogger(ShardedAASAggregator.class);
+
+	// Replaced by a changed copy when a shard is added
+	private ConsistentHashRing<IAASAggregator> ring;
+
+	// Routing is read-locked, switching the ring and registering moves write-locked
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	// Creations are read-locked, rebalancing is write-locked for its whole duration. New
+	// AASs would otherwise be created on the shard assigned by the replaced ring.
+	private final ReadWriteLock creationLock = new ReentrantReadWriteLock();
+
+	// Routed calls for AASs that are being moved wait until the move is complete
+	private final Map<String, CountDownLatch> movingAAS = new ConcurrentHashMap<>();
+
+	private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+		Thread thread = new Thread(r, "aas-aggregator-shard");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Creates a sharded aggregator with
+	 * {@value ConsistentHashRing#DEFAULT_VIRTUAL_NODES} virtual nodes per shard
+	 * 
+	 * @param shards
+	 *            the aggregators by their unique names
+	 */
+	public ShardedAASAggregator(Map<String, IAASAggregator> shards) {
+		this(shards, ConsistentHashRing.DEFAULT_VIRTUAL_NODES);
+	}
+
+	/**
+	 * Creates a sharded aggregator
+	 * 
+	 * @param shards
+	 *            the aggregators by their unique names; the assignment of AASs
+	 *            only depends on the names, thus they have to be stable across
+	 *            restarts
+	 * @param virtualNodes
+	 *            number of positions of each shard on the hash ring
+	 */
+	public ShardedAASAggregator(Map<String, IAASAggregator> shards, int virtualNodes) {
+		ring = new ConsistentHashRing<>(virtualNodes);
+		shards.forEach(ring::add);
+	}
+
+	@Override
+	public Collection<IAssetAdministrationShell> getAASList() {
+		// While an AAS is moved, it is contained in its old and its new shard
+		Map<String, IAssetAdministrationShell> shells = new LinkedHashMap<>();
+		scatterGather(shard -> shard.getAASList(), list -> list.forEach(aas -> shells.putIfAbsent(aas.getIdentification().getId(), toLocalCopy(aas))));
+		return new ArrayList<>(shells.values());
+	}
+
+	@Override
+	public IAssetAdministrationShell getAAS(IIdentifier aasId) {
+		return toLocalCopy(route(aasId, shard -> shard.getAAS(aasId)));
+	}
+
+	@Override
+	public IModelProvider getAASProvider(IIdentifier aasId) {
+		return route(aasId, shard -> shard.getAASProvider(aasId));
+	}
+
+	@Override
+	public void createAAS(AssetAdministrationShell aas) {
+		creationLock.readLock().lock();
+		try {
+			route(aas.getIdentification(), shard -> {
+				shard.createAAS(aas);
+				return null;
+			});
+		} finally {
+			creationLock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public void updateAAS(AssetAdministrationShell aas) {
+		route(aas.getIdentification(), shard -> {
+			shard.updateAAS(aas);
+			return null;
+		});
+	}
+
+	@Override
+	public void deleteAAS(IIdentifier aasId) {
+		route(aasId, shard -> {
+			shard.deleteAAS(aasId);
+			return null;
+		});
+	}
+
+	@Override
+	public Set<String> getExistingAASIds(Collection<IIdentifier> aasIds) {
+		Set<String> existing = new HashSet<>();
+		lock.readLock().lock();
+		try {
+			Map<IAASAggregator, List<IIdentifier>> idsByShard = groupByShard(aasIds, id -> id);
+			scatterGather(idsByShard, (shard, ids) -> shard.getExistingAASIds(ids), existing::addAll);
+		} finally {
+			lock.readLock().unlock();
+		}
+		return existing;
+	}
+
+	@Override
+	public void createAASList(Collection<AssetAdministrationShell> shells) {
+		creationLock.readLock().lock();
+		lock.readLock().lock();
+		try {
+			Map<IAASAggregator, List<AssetAdministrationShell>> shellsByShard = groupByShard(shells, AssetAdministrationShell::getIdentification);
+			scatterGather(shellsByShard, (shard, list) -> {
+				shard.createAASList(list);
+				return null;
+			}, result -> {
+			});
+		} finally {
+			lock.readLock().unlock();
+			creationLock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public List<SemanticIdIndexEntry> lookupSemanticId(String semanticId) {
+		List<SemanticIdIndexEntry> entries = new ArrayList<>();
+		scatterGather(shard -> shard.lookupSemanticId(semanticId), entries::addAll);
+		return entries;
+	}
+
+	/**
+	 * Adds a shard and moves the AASs now assigned to it from the other shards.
+	 * Only calls for the moved AASs and creations of AASs wait until the AASs
+	 * are moved.
+	 * 
+	 * @param name
+	 *            the unique name of the shard
+	 * @param shard
+	 * @return the number of moved AASs
+	 */
+	public int addShard(String name, IAASAggregator shard) {
+		creationLock.writeLock().lock();
+		try {
+			ConsistentHashRing<IAASAggregator> changedRing = ring.copy();
+			changedRing.add(name, shard);
+			return rebalance(changedRing);
+		} finally {
+			creationLock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Moves all AASs that are not stored on the shard they are assigned to, e.g.
+	 * after a previous rebalancing was interrupted. Only calls for the moved AASs
+	 * and creations of AASs wait until the AASs are moved.
+	 * 
+	 * @return the number of moved AASs
+	 */
+	public int rebalance() {
+		creationLock.writeLock().lock();
+		try {
+			return rebalance(ring);
+		} finally {
+			creationLock.writeLock().unlock();
+		}
+	}
+
+	private int rebalance(ConsistentHashRing<IAASAggregator> targetRing) {
+		List<Move> moves = planMoves(targetRing);
+
+		// Waits for running calls, afterwards calls for the moved AASs wait for the moves
+		CountDownLatch moved = new CountDownLatch(1);
+		lock.writeLock().lock();
+		try {
+			moves.forEach(move -> movingAAS.put(move.aasId.getId(), moved));
+		} finally {
+			lock.writeLock().unlock();
+		}
+
+		try {
+			for (Move move : moves) {
+				logger.info("Moving AAS " + move.aasId.getId() + " from shard " + move.sourceName + " to " + move.targetName);
+				copy(move.aasId, move.source, move.target);
+			}
+
+			lock.writeLock().lock();
+			try {
+				ring = targetRing;
+				// Only deleted after all copies are complete, thus an interrupted rebalancing is repeated
+				moves.forEach(move -> move.source.deleteAAS(move.aasId));
+			} finally {
+				lock.writeLock().unlock();
+			}
+		} finally {
+			moves.forEach(move -> movingAAS.remove(move.aasId.getId()));
+			moved.countDown();
+		}
+		return moves.size();
+	}
+
+	private List<Move> planMoves(ConsistentHashRing<IAASAggregator> targetRing) {
+		List<Move> moves = new ArrayList<>();
+		lock.readLock().lock();
+		try {
+			for (Map.Entry<String, IAASAggregator> shard : targetRing.getNodes().entrySet()) {
+				for (IAssetAdministrationShell aas : shard.getValue().getAASList()) {
+					IIdentifier aasId = aas.getIdentification();
+					String target = targetRing.getNodeName(aasId.getId());
+					if (!target.equals(shard.getKey())) {
+						moves.add(new Move(aasId, shard.getKey(), shard.getValue(), target, targetRing.get(aasId.getId())));
+					}
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		return moves;
+	}
+
+	/**
+	 * Returns the name of the shard an AAS is assigned to
+	 * 
+	 * @param aasId
+	 * @return the name of the shard
+	 */
+	public String getShardName(IIdentifier aasId) {
+		lock.readLock().lock();
+		try {
+			return ring.getNodeName(aasId.getId());
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Stops the threads used for accessing the shards in parallel
+	 */
+	@Override
+	public void close() {
+		executor.shutdownNow();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void copy(IIdentifier aasId, IAASAggregator source, IAASAggregator target) {
+		IModelProvider sourceProvider = source.getAASProvider(aasId);
+		AssetAdministrationShell aas = AssetAdministrationShell.createAsFacade((Map<String, Object>) sourceProvider.getValue("/aas"));
+		Collection<Map<String, Object>> smMaps = (Collection<Map<String, Object>>) sourceProvider.getValue("/aas/submodels");
+		List<Submodel> submodels = smMaps.stream().map(SubmodelElementMapCollectionConverter::mapToSM).collect(Collectors.toList());
+
+		// The references to the moved Submodels are added again when they are created
+		Set<String> smIds = submodels.stream().map(sm -> sm.getIdentification().getId()).collect(Collectors.toSet());
+		aas.setSubmodelReferences(aas.getSubmodelReferences().stream().filter(ref -> !smIds.contains(getLastKeyValue(ref))).collect(Collectors.toList()));
+
+		// Replaces the partial copy of an interrupted rebalancing
+		if (!target.getExistingAASIds(Collections.singleton(aasId)).isEmpty()) {
+			target.deleteAAS(aasId);
+		}
+
+		target.createAAS(aas);
+		IModelProvider targetProvider = target.getAASProvider(aasId);
+		for (Submodel submodel : submodels) {
+			String path = VABPathTools.concatenatePaths("/aas/submodels", submodel.getIdShort());
+			targetProvider.setValue(path, SubmodelElementMapCollectionConverter.smToMap(submodel));
+		}
+	}
+
+	private static String getLastKeyValue(IReference reference) {
+		List<IKey> keys = reference.getKeys();
+		return keys.isEmpty() ? null : keys.get(keys.size() - 1).getValue();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static IAssetAdministrationShell toLocalCopy(IAssetAdministrationShell aas) {
+		// Connected AASs of proxies can not be serialized when served by a gateway
+		if (aas instanceof ConnectedElement) {
+			return AssetAdministrationShell.createAsFacade((Map<String, Object>) ((ConnectedElement) aas).getElem());
+		}
+		return aas;
+	}
+
+	private <R> R route(IIdentifier aasId, Function<IAASAggregator, R> call) {
+		while (true) {
+			CountDownLatch moved;
+			lock.readLock().lock();
+			try {
+				moved = movingAAS.get(aasId.getId());
+				if (moved == null) {
+					return call.apply(ring.get(aasId.getId()));
+				}
+			} finally {
+				lock.readLock().unlock();
+			}
+			awaitMove(moved);
+		}
+	}
+
+	private static void awaitMove(CountDownLatch moved) {
+		try {
+			moved.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ProviderException(e);
+		}
+	}
+
+	private <E> Map<IAASAggregator, List<E>> groupByShard(Collection<E> elements, Function<E, IIdentifier> getId) {
+		Map<IAASAggregator, List<E>> grouped = new LinkedHashMap<>();
+		for (E element : elements) {
+			grouped.computeIfAbsent(ring.get(getId.apply(element).getId()), shard -> new ArrayList<>()).add(element);
+		}
+		return grouped;
+	}
+
+	private <R> void scatterGather(Function<IAASAggregator, R> call, Consumer<R> merger) {
+		lock.readLock().lock();
+		try {
+			Map<IAASAggregator, Void> shards = new LinkedHashMap<>();
+			ring.getNodes().values().forEach(shard -> shards.put(shard, null));
+			scatterGather(shards, (shard, unused) -> call.apply(shard), merger);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private <A, R> void scatterGather(Map<IAASAggregator, A> arguments, ShardCall<A, R> call, Consumer<R> merger) {
+		CompletionService<R> completionService = new ExecutorCompletionService<>(executor);
+		List<Future<R>> futures = new ArrayList<>();
+		for (Map.Entry<IAASAggregator, A> entry : arguments.entrySet()) {
+			Callable<R> task = () -> call.apply(entry.getKey(), entry.getValue());
+			futures.add(completionService.submit(task));
+		}
+
+		try {
+			// Merges each result as soon as its shard answered
+			for (int i = 0; i < futures.size(); i++) {
+				merger.accept(completionService.take().get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ProviderException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new ProviderException(e.getCause());
+		} finally {
+			futures.forEach(future -> future.cancel(true));
+		}
+	}
+
+	private static class Move {
+		private final IIdentifier aasId;
+		private final String sourceName;
+		private final IAASAggregator source;
+		private final String targetName;
+		private final IAASAggregator target;
+
+		private Move(IIdentifier aasId, String sourceName, IAASAggregator source, String targetName, IAASAggregator target) {
+			this.aasId = aasId;
+			this.sourceName = sourceName;
+			this.source = source;
+			this.targetName = targetName;
+			this.target = target;
+		}
+	}
+
+	@FunctionalInterface
+	private interface ShardCall<A, R> {
+		R apply(IAASAggregator shard, A argument) throws Exception;
+	}
+}
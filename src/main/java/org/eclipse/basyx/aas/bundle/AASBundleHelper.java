@@ -24,13 +24,23 @@
  ******************************************************************************/
 package org.eclipse.basyx.aas.bundle;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
 import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
+import org.eclipse.basyx.aas.metamodel.map.descriptor.AASDescriptor;
 import org.eclipse.basyx.aas.registration.api.IAASRegistry;
 import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
 import org.eclipse.basyx.submodel.metamodel.map.Submodel;
 import org.eclipse.basyx.submodel.restapi.SubmodelProvider;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
@@ -56,6 +66,10 @@ public class AASBundleHelper {
 	 * in the given AASBundles exist in the AASAggregator.<br>
 	 * Adds missing ones to the Aggregator.<br>
 	 * If a given object already exists in the Aggregator it will NOT be replaced.
+	 * <br>
+	 * All SMs are integrated on the calling thread, see
+	 * {@link #integrate(IAASAggregator, Collection, int)} for integrating them in
+	 * parallel.
 	 * 
 	 * @param aggregator
 	 *            the Aggregator to be populated
@@ -64,46 +78,123 @@ public class AASBundleHelper {
 	 * @return true if an AAS/SM was uploaded; false otherwise
 	 */
 	public static boolean integrate(IAASAggregator aggregator, Collection<AASBundle> bundles) {
+		return integrate(aggregator, bundles, 1);
+	}
+
+	/**
+	 * Checks (by ID) if all AASs/SMs contained<br>
+	 * in the given AASBundles exist in the AASAggregator.<br>
+	 * Adds missing ones to the Aggregator.<br>
+	 * If a given object already exists in the Aggregator it will NOT be replaced.
+	 * <br>
+	 * The AASs are checked and created in bulk, the SMs of up to
+	 * <i>concurrency</i> bundles are integrated in parallel. As the SMs are
+	 * integrated on worker threads, thread bound state (e.g. a security context)
+	 * is only available to the aggregator if <i>concurrency</i> is 1.
+	 * 
+	 * @param aggregator
+	 *            the Aggregator to be populated
+	 * @param bundles
+	 *            the AASBundles
+	 * @param concurrency
+	 *            the maximum number of bundles integrated in parallel
+	 * @return true if an AAS/SM was uploaded; false otherwise
+	 */
+	public static boolean integrate(IAASAggregator aggregator, Collection<AASBundle> bundles, int concurrency) {
 
 		if (aggregator == null || bundles == null) {
 			throw new RuntimeException("'aggregator' and 'bundles' must not be null.");
 		}
 
-		boolean objectUploaded = false;
+		if (concurrency <= 0) {
+			throw new IllegalArgumentException("Concurrency has to be positive, but was " + concurrency);
+		}
+
+		boolean aasUploaded = integrateAAS(aggregator, bundles);
+
+		if (concurrency == 1 || bundles.size() <= 1) {
+			boolean smUploaded = false;
+			for (AASBundle bundle : bundles) {
+				smUploaded |= integrateSubmodels(aggregator, bundle);
+			}
+			return aasUploaded || smUploaded;
+		}
+
+		return integrateSubmodelsInParallel(aggregator, bundles, concurrency) || aasUploaded;
+	}
+
+	private static boolean integrateAAS(IAASAggregator aggregator, Collection<AASBundle> bundles) {
+		List<IIdentifier> aasIds = bundles.stream().map(b -> b.getAAS().getIdentification()).collect(Collectors.toList());
+		Set<String> existingIds = aggregator.getExistingAASIds(aasIds);
 
+		List<AssetAdministrationShell> missing = new ArrayList<>();
 		for (AASBundle bundle : bundles) {
 			IAssetAdministrationShell aas = bundle.getAAS();
+			if (existingIds.contains(aas.getIdentification().getId())) {
+				// AAS exists on server -> no further action required
+				continue;
+			}
+
+			// AAS does not exist and needs to be pushed to the server
+			// Cast Interface to concrete class
+			if (aas instanceof AssetAdministrationShell) {
+				missing.add((AssetAdministrationShell) aas);
+			} else {
+				throw new RuntimeException("aas Objects in bundles need to be instance of 'AssetAdministrationShell'");
+			}
+		}
+
+		if (missing.isEmpty()) {
+			return false;
+		}
 
+		aggregator.createAASList(missing);
+		return true;
+	}
+
+	private static boolean integrateSubmodelsInParallel(IAASAggregator aggregator, Collection<AASBundle> bundles, int concurrency) {
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(concurrency, bundles.size()));
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (AASBundle bundle : bundles) {
+				results.add(executor.submit(() -> integrateSubmodels(aggregator, bundle)));
+			}
+
+			boolean smUploaded = false;
+			for (Future<Boolean> result : results) {
+				smUploaded |= result.get();
+			}
+			return smUploaded;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ProviderException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new ProviderException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static boolean integrateSubmodels(IAASAggregator aggregator, AASBundle bundle) {
+		boolean objectUploaded = false;
+
+		IModelProvider provider = aggregator.getAASProvider(bundle.getAAS().getIdentification());
+		for (ISubmodel sm : bundle.getSubmodels()) {
 			try {
-				aggregator.getAAS(aas.getIdentification());
-				// If no ResourceNotFoundException occurs, AAS exists on server
+				provider.getValue("/aas/submodels/" + sm.getIdShort() + "/" + SubmodelProvider.SUBMODEL);
+				// If no ResourceNotFoundException occurs, SM exists on server
 				// -> no further action required
 			} catch (ResourceNotFoundException e) {
 				// AAS does not exist and needs to be pushed to the server
-				// Cast Interface to concrete class
-				if (aas instanceof AssetAdministrationShell) {
-					aggregator.createAAS((AssetAdministrationShell) aas);
+				// Check if ISubmodel is a concrete Submodel
+				if (sm instanceof Submodel) {
+					provider.setValue("/aas/submodels/" + sm.getIdShort(), sm);
 					objectUploaded = true;
 				} else {
-					throw new RuntimeException("aas Objects in bundles need to be instance of 'AssetAdministrationShell'");
-				}
-			}
-
-			IModelProvider provider = aggregator.getAASProvider(aas.getIdentification());
-			for (ISubmodel sm : bundle.getSubmodels()) {
-				try {
-					provider.getValue("/aas/submodels/" + sm.getIdShort() + "/" + SubmodelProvider.SUBMODEL);
-					// If no ResourceNotFoundException occurs, SM exists on server
-					// -> no further action required
-				} catch (ResourceNotFoundException e) {
-					// AAS does not exist and needs to be pushed to the server
-					// Check if ISubmodel is a concrete Submodel
-					if (sm instanceof Submodel) {
-						provider.setValue("/aas/submodels/" + sm.getIdShort(), sm);
-						objectUploaded = true;
-					} else {
-						throw new RuntimeException("sm Objects in bundles need to be instance of 'Submodel'");
-					}
+					throw new RuntimeException("sm Objects in bundles need to be instance of 'Submodel'");
 				}
 			}
 		}
@@ -111,7 +202,8 @@ public class AASBundleHelper {
 	}
 
 	/**
-	 * Registers a given set of bundles with the registry
+	 * Registers a given set of bundles with the registry using a single bulk
+	 * registration
 	 * 
 	 * @param registry
 	 *            the registry to register with
@@ -121,7 +213,8 @@ public class AASBundleHelper {
 	 *            the aggregator path, e.g. <i>http://localhost:4000/shells</i>
 	 */
 	public static void register(IAASRegistry registry, Collection<AASBundle> bundles, String aasAggregatorPath) {
-		bundles.stream().map(b -> AASBundleDescriptorFactory.createAASDescriptor(b, aasAggregatorPath)).forEach(registry::register);
+		List<AASDescriptor> descriptors = bundles.stream().map(b -> AASBundleDescriptorFactory.createAASDescriptor(b, aasAggregatorPath)).collect(Collectors.toList());
+		registry.register(descriptors);
 	}
 
 	/**
@@ -43,6 +43,7 @@ import org.eclipse.basyx.submodel.metamodel.map.parts.ConceptDescription;
 import org.eclipse.basyx.submodel.metamodel.map.reference.Reference;
 import org.eclipse.basyx.vab.coder.json.serialization.DefaultTypeFactory;
 import org.eclipse.basyx.vab.coder.json.serialization.GSONTools;
+import org.eclipse.basyx.vab.coder.json.serialization.GSONToolsFactory;
 
 /**
  * This class can be used to parse JSON to Metamodel Objects
@@ -61,7 +62,21 @@ public class JSONToMetamodelConverter {
 	 *            the JSON content to be parsed
 	 */
 	public JSONToMetamodelConverter(String jsonContent) {
-		Map<String, Object> root = createRoot(jsonContent);
+		this(jsonContent, new DefaultTypeFactory());
+	}
+
+	/**
+	 * Initializes the parser with JSON given as a String. The factory controls
+	 * the maps and collections backing the parsed metamodel objects, e.g.
+	 * {@link org.eclipse.basyx.vab.coder.json.serialization.CompactTypeFactory} for large environments.
+	 * 
+	 * @param jsonContent
+	 *            the JSON content to be parsed
+	 * @param factory
+	 *            for the deserialized maps and collections
+	 */
+	public JSONToMetamodelConverter(String jsonContent, GSONToolsFactory factory) {
+		Map<String, Object> root = createRoot(jsonContent, factory);
 
 		List<IAsset> assets = createAssets(root);
 
@@ -95,8 +110,8 @@ public class JSONToMetamodelConverter {
 	}
 
 	@SuppressWarnings("unchecked")
-	private Map<String, Object> createRoot(String jsonContent) {
-		return (Map<String, Object>) new GSONTools(new DefaultTypeFactory()).deserialize(jsonContent);
+	private Map<String, Object> createRoot(String jsonContent, GSONToolsFactory factory) {
+		return (Map<String, Object>) new GSONTools(factory).deserialize(jsonContent);
 	}
 
 	/**
@@ -24,6 +24,7 @@
  ******************************************************************************/
 package org.eclipse.basyx.aas.registration.api;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.eclipse.basyx.aas.metamodel.map.descriptor.AASDescriptor;
@@ -44,6 +45,16 @@ public interface IAASRegistry {
 	 */
 	public void register(AASDescriptor deviceAASDescriptor) throws ProviderException;
 
+	/**
+	 * Register multiple AAS descriptors in registry, delete old registrations.
+	 * Implementations should answer this with as few requests as possible
+	 */
+	public default void register(Collection<AASDescriptor> deviceAASDescriptors) throws ProviderException {
+		for (AASDescriptor descriptor : deviceAASDescriptors) {
+			register(descriptor);
+		}
+	}
+
 	/**
 	 * Register SM descriptor in registry, delete old registration
 	 */
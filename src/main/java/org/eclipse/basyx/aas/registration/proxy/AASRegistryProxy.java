@@ -24,18 +24,25 @@
  ******************************************************************************/
 package org.eclipse.basyx.aas.registration.proxy;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.eclipse.basyx.aas.metamodel.map.descriptor.AASDescriptor;
 import org.eclipse.basyx.aas.metamodel.map.descriptor.SubmodelDescriptor;
 import org.eclipse.basyx.aas.registration.AASRegistryAPIHelper;
 import org.eclipse.basyx.aas.registration.api.IAASRegistry;
+import org.eclipse.basyx.aas.registration.replication.AASRegistryReplica;
+import org.eclipse.basyx.aas.registration.replication.IAASRegistryChangeSource;
+import org.eclipse.basyx.aas.registration.replication.RegistryChanges;
 import org.eclipse.basyx.aas.registration.restapi.AASRegistryModelProvider;
 import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
 import org.eclipse.basyx.vab.coder.json.connector.JSONConnector;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
@@ -49,7 +56,9 @@ import org.eclipse.basyx.vab.registry.proxy.VABRegistryProxy;
  * @author kuhn, schnicke
  *
  */
-public class AASRegistryProxy extends VABRegistryProxy implements IAASRegistry {
+public class AASRegistryProxy extends VABRegistryProxy implements IAASRegistry, IAASRegistryChangeSource {
+	private List<IModelProvider> readReplicas = Collections.emptyList();
+	private AtomicInteger nextReadReplica = new AtomicInteger();
 
 	/**
 	 * Constructor for an AAS registry proxy based on a HTTP connection
@@ -61,6 +70,21 @@ public class AASRegistryProxy extends VABRegistryProxy implements IAASRegistry {
 		this(getJSONConnectorWithProtocol(registryUrl));
 	}
 
+	/**
+	 * Constructor for an AAS registry proxy based on a HTTP connection that
+	 * distributes the lookups round-robin over read replicas, see
+	 * {@link AASRegistryReplica}. Changes are sent to the primary registry.
+	 *
+	 * @param registryUrl
+	 *            The endpoint of the primary registry with a HTTP-REST interface
+	 * @param readReplicaUrls
+	 *            The endpoints of the read replicas with a HTTP-REST interface
+	 */
+	public AASRegistryProxy(String registryUrl, List<String> readReplicaUrls) {
+		this(registryUrl);
+		this.readReplicas = readReplicaUrls.stream().map(url -> createProxy(getJSONConnectorWithProtocol(url))).collect(Collectors.toList());
+	}
+
 	private static JSONConnector getJSONConnectorWithProtocol(String registryUrl) {
 		if (isHTTPSUrl(registryUrl)) {
 			return new JSONConnector(new HTTPSConnector(harmonizeURL(registryUrl)));
@@ -91,6 +115,20 @@ public class AASRegistryProxy extends VABRegistryProxy implements IAASRegistry {
 		super(createProxy(provider));
 	}
 
+	/**
+	 * Constructor for an AAS registry proxy based on its model provider that
+	 * distributes the lookups round-robin over read replicas
+	 *
+	 * @param provider
+	 *            A model provider for the primary registry
+	 * @param readReplicaProviders
+	 *            Model providers for the read replicas
+	 */
+	public AASRegistryProxy(IModelProvider provider, List<IModelProvider> readReplicaProviders) throws ProviderException {
+		this(provider);
+		this.readReplicas = readReplicaProviders.stream().map(AASRegistryProxy::createProxy).collect(Collectors.toList());
+	}
+
 	private static VABElementProxy createProxy(IModelProvider provider) {
 		return new VABElementProxy("", provider);
 	}
@@ -116,6 +154,28 @@ public class AASRegistryProxy extends VABRegistryProxy implements IAASRegistry {
 		}
 	}
 
+	/**
+	 * Register multiple AAS descriptors with a single request. Falls back to
+	 * registering them one by one if the registry does not support this
+	 */
+	@Override
+	public void register(Collection<AASDescriptor> deviceAASDescriptors) throws ProviderException {
+		try {
+			provider.setValue(AASRegistryAPIHelper.getRegistryPath(), new ArrayList<>(deviceAASDescriptors));
+		} catch (MalformedRequestException e) {
+			// Registries of older versions reject a PUT on the registry path
+			for (AASDescriptor descriptor : deviceAASDescriptors) {
+				register(descriptor);
+			}
+		} catch (Exception e) {
+			if (e instanceof ProviderException) {
+				throw (ProviderException) e;
+			} else {
+				throw new ProviderException(e);
+			}
+		}
+	}
+
 	/**
 	 * Delete AAS descriptor from registry
 	 */
@@ -131,7 +191,7 @@ public class AASRegistryProxy extends VABRegistryProxy implements IAASRegistry {
 	@SuppressWarnings("unchecked")
 	public AASDescriptor lookupAAS(IIdentifier aasIdentifier) throws ProviderException {
 		try {
-			Object result = provider.getValue(AASRegistryAPIHelper.getAASPath(aasIdentifier));
+			Object result = read(AASRegistryAPIHelper.getAASPath(aasIdentifier));
 			return new AASDescriptor((Map<String, Object>) result);
 		} catch (Exception e) {
 			if (e instanceof ProviderException) {
@@ -146,7 +206,7 @@ public class AASRegistryProxy extends VABRegistryProxy implements IAASRegistry {
 	@Override
 	public List<AASDescriptor> lookupAll() throws ProviderException {
 		try {
-			Object result = provider.getValue(AASRegistryAPIHelper.getRegistryPath());
+			Object result = read(AASRegistryAPIHelper.getRegistryPath());
 			Collection<?> descriptors = (Collection<?>) result;
 			return descriptors.stream().map(x -> new AASDescriptor((Map<String, Object>) x)).collect(Collectors.toList());
 		} catch (Exception e) {
@@ -158,6 +218,39 @@ public class AASRegistryProxy extends VABRegistryProxy implements IAASRegistry {
 		}
 	}
 
+	@SuppressWarnings("unchecked")
+	@Override
+	public RegistryChanges getChangesSince(long sequence) throws ProviderException {
+		try {
+			Object result = provider.getValue(AASRegistryAPIHelper.getRegistryPath() + "?" + AASRegistryModelProvider.CHANGESSINCE + "=" + sequence);
+			return RegistryChanges.createAsFacade((Map<String, Object>) result);
+		} catch (Exception e) {
+			if (e instanceof ProviderException) {
+				throw (ProviderException) e;
+			} else {
+				throw new ProviderException(e);
+			}
+		}
+	}
+
+	/**
+	 * Reads from the next read replica. As replicas may lag behind, be
+	 * unavailable or not be synchronized yet, which they signal by rejecting
+	 * the read, failed reads are repeated on the primary registry.
+	 */
+	private Object read(String path) {
+		if (readReplicas.isEmpty()) {
+			return provider.getValue(path);
+		}
+
+		IModelProvider replica = readReplicas.get(Math.floorMod(nextReadReplica.getAndIncrement(), readReplicas.size()));
+		try {
+			return replica.getValue(path);
+		} catch (ProviderException e) {
+			return provider.getValue(path);
+		}
+	}
+
 	@Override
 	public void register(IIdentifier aas, SubmodelDescriptor smDescriptor) throws ProviderException {
 		try {
@@ -190,7 +283,7 @@ public class AASRegistryProxy extends VABRegistryProxy implements IAASRegistry {
 	@Override
 	public List<SubmodelDescriptor> lookupSubmodels(IIdentifier aasId) throws ProviderException {
 		try {
-			Object result = provider.getValue(AASRegistryAPIHelper.getSubmodelListOfAASPath(aasId));
+			Object result = read(AASRegistryAPIHelper.getSubmodelListOfAASPath(aasId));
 			Collection<?> descriptors = (Collection<?>) result;
 			return descriptors.stream().map(x -> new SubmodelDescriptor((Map<String, Object>) x)).collect(Collectors.toList());
 		} catch (Exception e) {
@@ -206,7 +299,7 @@ public class AASRegistryProxy extends VABRegistryProxy implements IAASRegistry {
 	@Override
 	public SubmodelDescriptor lookupSubmodel(IIdentifier aasId, IIdentifier smId) throws ProviderException {
 		try {
-			Object result = provider.getValue(AASRegistryAPIHelper.getSubmodelAccessPath(aasId, smId));
+			Object result = read(AASRegistryAPIHelper.getSubmodelAccessPath(aasId, smId));
 			return new SubmodelDescriptor((Map<String, Object>) result);
 		} catch (Exception e) {
 			if (e instanceof ProviderException) {
@@ -0,0 +1,246 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.aas.registration.replication;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.basyx.aas.metamodel.map.descriptor.AASDescriptor;
+import org.eclipse.basyx.aas.metamodel.map.descriptor.CustomId;
+import org.eclipse.basyx.aas.metamodel.map.descriptor.SubmodelDescriptor;
+import org.eclipse.basyx.aas.registration.api.IAASRegistry;
+import org.eclipse.basyx.aas.registration.memory.AASRegistry;
+import org.eclipse.basyx.aas.registration.memory.MapRegistryHandler;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.exception.provider.ServiceUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Read replica of a registry. Lookups are answered from a local in-memory copy
+ * that is kept up to date by tailing the changes of the primary, see
+ * {@link ReplicatingAASRegistry}. Changes are forwarded to the primary and
+ * synchronized immediately afterwards, thus they are visible on this replica
+ * as soon as the call returns.<br>
+ * The replica is eventually consistent: changes made through other instances
+ * become visible with the next synchronization. Before the first
+ * synchronization, lookups are rejected as the service is unavailable instead
+ * of answering from the empty copy.
+ */
+public class AASRegistryReplica implements IAASRegistry, AutoCloseable {
+	private static Logger logger = LoggerFactory.getLogger(AASRegistryReplica.class);
+
+	private final IAASRegistry primary;
+	private final IAASRegistryChangeSource changeSource;
+	private final IAASRegistry replica = new AASRegistry(new MapRegistryHandler(new ConcurrentHashMap<>()));
+
+	// Initially, a snapshot is requested
+	private long sequence = -1;
+
+	private ScheduledExecutorService scheduler;
+
+	/**
+	 * Creates a replica of an in-process primary
+	 * 
+	 * @param primary
+	 *            the primary registry
+	 */
+	public AASRegistryReplica(ReplicatingAASRegistry primary) {
+		this(primary, primary);
+	}
+
+	/**
+	 * Creates a replica of an arbitrary primary, e.g. a remote one accessed via
+	 * an AASRegistryProxy
+	 * 
+	 * @param primary
+	 *            the registry changes are forwarded to
+	 * @param changeSource
+	 *            the change source of the primary
+	 */
+	public AASRegistryReplica(IAASRegistry primary, IAASRegistryChangeSource changeSource) {
+		this.primary = primary;
+		this.changeSource = changeSource;
+	}
+
+	/**
+	 * Starts synchronizing with the given period
+	 * 
+	 * @param period
+	 *            the time between two synchronizations
+	 * @param unit
+	 *            the unit of the period
+	 */
+	public synchronized void start(long period, TimeUnit unit) {
+		if (scheduler != null) {
+			throw new IllegalStateException("The replication is already started");
+		}
+
+		scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "aas-registry-replica");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleWithFixedDelay(this::trySync, 0, period, unit);
+	}
+
+	/**
+	 * Fetches and applies the changes of the primary made since the last
+	 * synchronization
+	 */
+	public void sync() throws ProviderException {
+		synchronized (replica) {
+			RegistryChanges changes = changeSource.getChangesSince(sequence);
+			if (changes.isSnapshot()) {
+				applySnapshot(changes.getDescriptors());
+			} else {
+				changes.getChanges().forEach(this::applyChange);
+			}
+			sequence = changes.getSequence();
+		}
+	}
+
+	/**
+	 * Returns the sequence number of the last change applied to this replica
+	 * 
+	 * @return the sequence number; negative before the first synchronization
+	 */
+	public long getSequence() {
+		synchronized (replica) {
+			return sequence;
+		}
+	}
+
+	private void trySync() {
+		try {
+			sync();
+		} catch (Exception e) {
+			// Keep serving the current state, the next synchronization catches up
+			logger.error("Could not synchronize registry replica", e);
+		}
+	}
+
+	private void applySnapshot(List<AASDescriptor> descriptors) {
+		Set<String> snapshotIds = descriptors.stream().map(d -> d.getIdentifier().getId()).collect(Collectors.toSet());
+		for (AASDescriptor descriptor : replica.lookupAll()) {
+			if (!snapshotIds.contains(descriptor.getIdentifier().getId())) {
+				replica.delete(descriptor.getIdentifier());
+			}
+		}
+		descriptors.forEach(replica::register);
+	}
+
+	private void applyChange(RegistryChange change) {
+		if (!change.isDeletion()) {
+			replica.register(change.getDescriptor());
+			return;
+		}
+
+		try {
+			replica.delete(new CustomId(change.getAASId()));
+		} catch (ResourceNotFoundException e) {
+			// Already removed by a snapshot
+		}
+	}
+
+	@Override
+	public void register(AASDescriptor deviceAASDescriptor) throws ProviderException {
+		primary.register(deviceAASDescriptor);
+		sync();
+	}
+
+	@Override
+	public void register(Collection<AASDescriptor> deviceAASDescriptors) throws ProviderException {
+		primary.register(deviceAASDescriptors);
+		sync();
+	}
+
+	@Override
+	public void register(IIdentifier aas, SubmodelDescriptor smDescriptor) throws ProviderException {
+		primary.register(aas, smDescriptor);
+		sync();
+	}
+
+	@Override
+	public void delete(IIdentifier aasId) throws ProviderException {
+		primary.delete(aasId);
+		sync();
+	}
+
+	@Override
+	public void delete(IIdentifier aasId, IIdentifier smId) throws ProviderException {
+		primary.delete(aasId, smId);
+		sync();
+	}
+
+	@Override
+	public AASDescriptor lookupAAS(IIdentifier aasId) throws ProviderException {
+		checkSynchronized();
+		return replica.lookupAAS(aasId);
+	}
+
+	@Override
+	public List<AASDescriptor> lookupAll() throws ProviderException {
+		checkSynchronized();
+		return replica.lookupAll();
+	}
+
+	@Override
+	public List<SubmodelDescriptor> lookupSubmodels(IIdentifier aasId) throws ProviderException {
+		checkSynchronized();
+		return replica.lookupSubmodels(aasId);
+	}
+
+	@Override
+	public SubmodelDescriptor lookupSubmodel(IIdentifier aasId, IIdentifier smId) throws ProviderException {
+		checkSynchronized();
+		return replica.lookupSubmodel(aasId, smId);
+	}
+
+	private void checkSynchronized() {
+		if (getSequence() < 0) {
+			throw new ServiceUnavailableException("The registry replica is not synchronized yet");
+		}
+	}
+
+	/**
+	 * Stops the periodic synchronization
+	 */
+	@Override
+	public synchronized void close() {
+		if (scheduler != null) {
+			scheduler.shutdown();
+			scheduler = null;
+		}
+	}
+}
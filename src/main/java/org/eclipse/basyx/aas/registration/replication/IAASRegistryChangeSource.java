@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.aas.registration.replication;
+
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+
+/**
+ * Source of the ordered changes of a registry that are tailed by its replicas
+ */
+public interface IAASRegistryChangeSource {
+
+	/**
+	 * Retrieves the changes following the given sequence number
+	 * 
+	 * @param sequence
+	 *            the sequence number returned by a previous call; any other
+	 *            number, e.g. a negative one, requests a snapshot
+	 * @return the changes, or a snapshot of all descriptors if the changes since
+	 *         the sequence number are not known anymore or it belongs to a
+	 *         previous run of the primary
+	 */
+	public RegistryChanges getChangesSince(long sequence) throws ProviderException;
+}
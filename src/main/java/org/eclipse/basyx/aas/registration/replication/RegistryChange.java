@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.aas.registration.replication;
+
+import java.util.Map;
+
+import org.eclipse.basyx.aas.metamodel.map.descriptor.AASDescriptor;
+import org.eclipse.basyx.vab.model.VABModelMap;
+
+/**
+ * A single change of a registry. Changes of submodel descriptors are recorded
+ * as registration of the complete, updated AAS descriptor.
+ */
+public class RegistryChange extends VABModelMap<Object> {
+	public static final String SEQUENCE = "sequence";
+	public static final String TYPE = "type";
+	public static final String AASID = "aasId";
+	public static final String DESCRIPTOR = "descriptor";
+
+	public static final String REGISTER = "register";
+	public static final String DELETE = "delete";
+
+	private RegistryChange() {
+	}
+
+	private RegistryChange(long sequence, String type, String aasId, AASDescriptor descriptor) {
+		put(SEQUENCE, sequence);
+		put(TYPE, type);
+		put(AASID, aasId);
+		put(DESCRIPTOR, descriptor);
+	}
+
+	public static RegistryChange createRegistration(long sequence, AASDescriptor descriptor) {
+		return new RegistryChange(sequence, REGISTER, descriptor.getIdentifier().getId(), descriptor);
+	}
+
+	public static RegistryChange createDeletion(long sequence, String aasId) {
+		return new RegistryChange(sequence, DELETE, aasId, null);
+	}
+
+	/**
+	 * Creates a RegistryChange object from a map
+	 * 
+	 * @param obj
+	 *            a RegistryChange object as raw map
+	 * @return a RegistryChange object, that behaves like a facade for the given
+	 *         map
+	 */
+	public static RegistryChange createAsFacade(Map<String, Object> obj) {
+		if (obj == null) {
+			return null;
+		}
+
+		RegistryChange facade = new RegistryChange();
+		facade.setMap(obj);
+		return facade;
+	}
+
+	public long getSequence() {
+		return ((Number) get(SEQUENCE)).longValue();
+	}
+
+	public boolean isDeletion() {
+		return DELETE.equals(get(TYPE));
+	}
+
+	public String getAASId() {
+		return (String) get(AASID);
+	}
+
+	/**
+	 * Returns the registered descriptor
+	 * 
+	 * @return the descriptor; null for deletions
+	 */
+	@SuppressWarnings("unchecked")
+	public AASDescriptor getDescriptor() {
+		Object descriptor = get(DESCRIPTOR);
+		if (descriptor == null || descriptor instanceof AASDescriptor) {
+			return (AASDescriptor) descriptor;
+		}
+		return new AASDescriptor((Map<String, Object>) descriptor);
+	}
+}
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.aas.registration.replication;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.eclipse.basyx.aas.metamodel.map.descriptor.AASDescriptor;
+
+/**
+ * Bounded, ordered log of the changes of a registry. Every change gets the
+ * next sequence number. Only the latest changes are kept, thus the changes
+ * following an older sequence number can not be determined anymore.<br>
+ * The sequence numbers of a log start at a random epoch in their upper bits.
+ * Thus, after the primary restarted, the sequence numbers of replicas that
+ * followed the previous log are not accepted and lead to a snapshot instead of
+ * changes of a different history.<br>
+ * Not thread-safe, the registry appending the changes has to synchronize the
+ * accesses.
+ */
+public class RegistryChangeLog {
+	public static final int DEFAULT_CAPACITY = 10000;
+
+	private final int capacity;
+	private final Deque<RegistryChange> changes = new ArrayDeque<>();
+
+	private static final int EPOCH_SHIFT = 32;
+
+	private long sequence;
+
+	// Oldest sequence number the following changes are completely known for
+	private long oldestSequence;
+
+	public RegistryChangeLog() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param capacity
+	 *            maximum number of changes kept
+	 */
+	public RegistryChangeLog(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("The capacity has to be positive, but was " + capacity);
+		}
+		this.capacity = capacity;
+
+		long epoch = ThreadLocalRandom.current().nextInt(1, Integer.MAX_VALUE);
+		this.sequence = epoch << EPOCH_SHIFT;
+		this.oldestSequence = sequence;
+	}
+
+	public void appendRegistration(AASDescriptor descriptor) {
+		append(RegistryChange.createRegistration(++sequence, descriptor));
+	}
+
+	public void appendDeletion(String aasId) {
+		append(RegistryChange.createDeletion(++sequence, aasId));
+	}
+
+	public long getSequence() {
+		return sequence;
+	}
+
+	/**
+	 * Collects the changes following the given sequence number
+	 * 
+	 * @param since
+	 *            the sequence number of a previous call
+	 * @return the ordered changes, or null if they are not known completely or
+	 *         the sequence number belongs to another log
+	 */
+	public List<RegistryChange> getChangesSince(long since) {
+		if (since < oldestSequence || since > sequence) {
+			return null;
+		}
+
+		List<RegistryChange> result = new ArrayList<>((int) (sequence - since));
+		for (RegistryChange change : changes) {
+			if (change.getSequence() > since) {
+				result.add(change);
+			}
+		}
+		return result;
+	}
+
+	private void append(RegistryChange change) {
+		changes.addLast(change);
+		if (changes.size() > capacity) {
+			oldestSequence = changes.removeFirst().getSequence();
+		}
+	}
+}
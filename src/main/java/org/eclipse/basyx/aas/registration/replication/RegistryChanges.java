@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.aas.registration.replication;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.eclipse.basyx.aas.metamodel.map.descriptor.AASDescriptor;
+import org.eclipse.basyx.vab.model.VABModelMap;
+
+/**
+ * The changes of a registry following a sequence number, as returned by
+ * <code>api/v1/registry?changesSince=&lt;sequence&gt;</code>. If the changes
+ * are not known anymore, a snapshot of all descriptors is contained instead.
+ */
+public class RegistryChanges extends VABModelMap<Object> {
+	public static final String SEQUENCE = "sequence";
+	public static final String SNAPSHOT = "snapshot";
+	public static final String CHANGES = "changes";
+	public static final String DESCRIPTORS = "descriptors";
+
+	private RegistryChanges() {
+	}
+
+	/**
+	 * Creates the changes following a sequence number
+	 * 
+	 * @param sequence
+	 *            the sequence number of the last change
+	 * @param changes
+	 *            the ordered changes
+	 */
+	public static RegistryChanges createChanges(long sequence, List<RegistryChange> changes) {
+		RegistryChanges result = new RegistryChanges();
+		result.put(SEQUENCE, sequence);
+		result.put(SNAPSHOT, false);
+		result.put(CHANGES, changes);
+		return result;
+	}
+
+	/**
+	 * Creates a snapshot replacing the content of a replica
+	 * 
+	 * @param sequence
+	 *            the sequence number of the last change contained in the
+	 *            snapshot
+	 * @param descriptors
+	 *            all descriptors of the registry
+	 */
+	public static RegistryChanges createSnapshot(long sequence, List<AASDescriptor> descriptors) {
+		RegistryChanges result = new RegistryChanges();
+		result.put(SEQUENCE, sequence);
+		result.put(SNAPSHOT, true);
+		result.put(DESCRIPTORS, descriptors);
+		return result;
+	}
+
+	/**
+	 * Creates a RegistryChanges object from a map
+	 * 
+	 * @param obj
+	 *            a RegistryChanges object as raw map
+	 * @return a RegistryChanges object, that behaves like a facade for the given
+	 *         map
+	 */
+	public static RegistryChanges createAsFacade(Map<String, Object> obj) {
+		if (obj == null) {
+			return null;
+		}
+
+		RegistryChanges facade = new RegistryChanges();
+		facade.setMap(obj);
+		return facade;
+	}
+
+	/**
+	 * Returns the sequence number to pass for the next changes
+	 * 
+	 * @return the sequence number
+	 */
+	public long getSequence() {
+		return ((Number) get(SEQUENCE)).longValue();
+	}
+
+	public boolean isSnapshot() {
+		return Boolean.TRUE.equals(get(SNAPSHOT));
+	}
+
+	/**
+	 * Returns the ordered changes
+	 * 
+	 * @return the changes; null for a snapshot
+	 */
+	@SuppressWarnings("unchecked")
+	public List<RegistryChange> getChanges() {
+		Collection<Map<String, Object>> changes = (Collection<Map<String, Object>>) get(CHANGES);
+		if (changes == null) {
+			return null;
+		}
+		return changes.stream().map(RegistryChange::createAsFacade).collect(Collectors.toList());
+	}
+
+	/**
+	 * Returns all descriptors of the snapshot
+	 * 
+	 * @return the descriptors; null if this is not a snapshot
+	 */
+	@SuppressWarnings("unchecked")
+	public List<AASDescriptor> getDescriptors() {
+		Collection<Map<String, Object>> descriptors = (Collection<Map<String, Object>>) get(DESCRIPTORS);
+		if (descriptors == null) {
+			return null;
+		}
+		return descriptors.stream().map(d -> d instanceof AASDescriptor ? (AASDescriptor) d : new AASDescriptor(d)).collect(Collectors.toList());
+	}
+}
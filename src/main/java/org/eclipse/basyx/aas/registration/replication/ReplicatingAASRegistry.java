@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.aas.registration.replication;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.eclipse.basyx.aas.metamodel.map.descriptor.AASDescriptor;
+import org.eclipse.basyx.aas.metamodel.map.descriptor.SubmodelDescriptor;
+import org.eclipse.basyx.aas.registration.api.IAASRegistry;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+
+/**
+ * Primary of a replicated registry. Appends every change of the decorated
+ * registry to a {@link RegistryChangeLog} that is tailed by
+ * {@link AASRegistryReplica}s, either in-process or via
+ * <code>api/v1/registry?changesSince=&lt;sequence&gt;</code>.<br>
+ * The changes are applied and appended under the same lock to keep the log in
+ * the order of the changes.
+ */
+public class ReplicatingAASRegistry implements IAASRegistry, IAASRegistryChangeSource {
+	private IAASRegistry registry;
+	private RegistryChangeLog changeLog;
+
+	public ReplicatingAASRegistry(IAASRegistry registry) {
+		this(registry, new RegistryChangeLog());
+	}
+
+	public ReplicatingAASRegistry(IAASRegistry registry, RegistryChangeLog changeLog) {
+		this.registry = registry;
+		this.changeLog = changeLog;
+	}
+
+	@Override
+	public synchronized void register(AASDescriptor deviceAASDescriptor) throws ProviderException {
+		registry.register(deviceAASDescriptor);
+		appendRegistration(deviceAASDescriptor.getIdentifier());
+	}
+
+	@Override
+	public synchronized void register(Collection<AASDescriptor> deviceAASDescriptors) throws ProviderException {
+		registry.register(deviceAASDescriptors);
+		deviceAASDescriptors.forEach(d -> appendRegistration(d.getIdentifier()));
+	}
+
+	@Override
+	public synchronized void register(IIdentifier aas, SubmodelDescriptor smDescriptor) throws ProviderException {
+		registry.register(aas, smDescriptor);
+		appendRegistration(aas);
+	}
+
+	@Override
+	public synchronized void delete(IIdentifier aasId) throws ProviderException {
+		registry.delete(aasId);
+		changeLog.appendDeletion(aasId.getId());
+	}
+
+	@Override
+	public synchronized void delete(IIdentifier aasId, IIdentifier smId) throws ProviderException {
+		registry.delete(aasId, smId);
+		appendRegistration(aasId);
+	}
+
+	@Override
+	public AASDescriptor lookupAAS(IIdentifier aasId) throws ProviderException {
+		return registry.lookupAAS(aasId);
+	}
+
+	@Override
+	public List<AASDescriptor> lookupAll() throws ProviderException {
+		return registry.lookupAll();
+	}
+
+	@Override
+	public List<SubmodelDescriptor> lookupSubmodels(IIdentifier aasId) throws ProviderException {
+		return registry.lookupSubmodels(aasId);
+	}
+
+	@Override
+	public SubmodelDescriptor lookupSubmodel(IIdentifier aasId, IIdentifier smId) throws ProviderException {
+		return registry.lookupSubmodel(aasId, smId);
+	}
+
+	@Override
+	public synchronized RegistryChanges getChangesSince(long sequence) {
+		List<RegistryChange> changes = changeLog.getChangesSince(sequence);
+		if (changes != null) {
+			return RegistryChanges.createChanges(changeLog.getSequence(), changes);
+		}
+
+		List<AASDescriptor> descriptors = registry.lookupAll().stream().map(ReplicatingAASRegistry::copy).collect(Collectors.toList());
+		return RegistryChanges.createSnapshot(changeLog.getSequence(), descriptors);
+	}
+
+	private void appendRegistration(IIdentifier aasId) {
+		// Log the descriptor as stored by the registry, which might be modified
+		// in place by later changes
+		changeLog.appendRegistration(copy(registry.lookupAAS(aasId)));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static AASDescriptor copy(AASDescriptor descriptor) {
+		return new AASDescriptor((Map<String, Object>) copyValue(descriptor));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Object copyValue(Object value) {
+		if (value instanceof Map<?, ?>) {
+			Map<String, Object> copy = new LinkedHashMap<>();
+			for (Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+				copy.put(entry.getKey(), copyValue(entry.getValue()));
+			}
+			return copy;
+		} else if (value instanceof Set<?>) {
+			return ((Set<Object>) value).stream().map(ReplicatingAASRegistry::copyValue).collect(Collectors.toCollection(HashSet::new));
+		} else if (value instanceof Collection<?>) {
+			return ((Collection<Object>) value).stream().map(ReplicatingAASRegistry::copyValue).collect(Collectors.toCollection(ArrayList::new));
+		}
+		return value;
+	}
+}
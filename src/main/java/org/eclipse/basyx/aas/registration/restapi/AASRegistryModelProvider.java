@@ -27,13 +27,18 @@ package org.eclipse.basyx.aas.registration.restapi;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.eclipse.basyx.aas.metamodel.map.descriptor.AASDescriptor;
 import org.eclipse.basyx.aas.metamodel.map.descriptor.ModelUrn;
 import org.eclipse.basyx.aas.metamodel.map.descriptor.SubmodelDescriptor;
 import org.eclipse.basyx.aas.registration.api.IAASRegistry;
 import org.eclipse.basyx.aas.registration.memory.InMemoryRegistry;
+import org.eclipse.basyx.aas.registration.replication.IAASRegistryChangeSource;
+import org.eclipse.basyx.aas.registration.replication.RegistryChanges;
+import org.eclipse.basyx.aas.registration.replication.ReplicatingAASRegistry;
 import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
 import org.eclipse.basyx.submodel.metamodel.map.modeltype.ModelType;
 import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
@@ -51,12 +56,28 @@ import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
 public class AASRegistryModelProvider implements IModelProvider {
 
 	IAASRegistry registry;
+	IAASRegistryChangeSource changeSource;
 
 	public static final String PREFIX = "api/v1/registry";
 	public static final String SUBMODELS = "submodels";
+	public static final String CHANGESSINCE = "changesSince";
 
+	/**
+	 * Creates a provider for the registry. If the registry is a change source,
+	 * e.g. a {@link ReplicatingAASRegistry}, its changes are provided as well.
+	 */
 	public AASRegistryModelProvider(IAASRegistry registry) {
+		this(registry, registry instanceof IAASRegistryChangeSource ? (IAASRegistryChangeSource) registry : null);
+	}
+
+	/**
+	 * Creates a provider for the registry that also provides the changes of the
+	 * given source to replicas via
+	 * <code>api/v1/registry?changesSince=&lt;sequence&gt;</code>
+	 */
+	public AASRegistryModelProvider(IAASRegistry registry, IAASRegistryChangeSource changeSource) {
 		this.registry = registry;
+		this.changeSource = changeSource;
 	}
 
 	public AASRegistryModelProvider() {
@@ -194,6 +215,11 @@ public class AASRegistryModelProvider implements IModelProvider {
 
 	@Override
 	public Object getValue(String path) throws ProviderException {
+		String query = stripPrefix(path);
+		if (query.startsWith("?")) {
+			return getChanges(query.substring(1));
+		}
+
 		String[] splitted = preparePath(path);
 
 		if (isRequestForAllAASDescriptors(splitted)) {
@@ -209,6 +235,24 @@ public class AASRegistryModelProvider implements IModelProvider {
 		throw new MalformedRequestException(createInvalidPathMessage(path));
 	}
 
+	private RegistryChanges getChanges(String query) {
+		if (changeSource == null) {
+			throw new MalformedRequestException("This registry does not provide its changes");
+		}
+
+		for (String parameter : query.split("&")) {
+			String[] keyValue = parameter.split("=", 2);
+			if (keyValue.length == 2 && keyValue[0].equals(CHANGESSINCE)) {
+				try {
+					return changeSource.getChangesSince(Long.parseLong(keyValue[1]));
+				} catch (NumberFormatException e) {
+					throw new MalformedRequestException("Invalid value '" + keyValue[1] + "' for parameter '" + CHANGESSINCE + "'");
+				}
+			}
+		}
+		throw new MalformedRequestException("The parameter '" + CHANGESSINCE + "' is missing in " + query);
+	}
+
 	private String createInvalidPathMessage(String path) {
 		return "Given path '" + path + "' contains more than three path elements and is therefore invalid.";
 	}
@@ -253,6 +297,11 @@ public class AASRegistryModelProvider implements IModelProvider {
 	public void setValue(String path, Object newValue) throws ProviderException {
 		String[] splitted = preparePath(path);
 
+		if (isRequestForAllAASDescriptors(splitted) && newValue instanceof Collection<?>) {
+			registerAASDescriptors((Collection<?>) newValue);
+			return;
+		}
+
 		if (!isValidSetPath(splitted)) {
 			throw new MalformedRequestException("Set with empty path is not supported by registry");
 		}
@@ -273,6 +322,11 @@ public class AASRegistryModelProvider implements IModelProvider {
 		registry.register(identifier, smDesc);
 	}
 
+	private void registerAASDescriptors(Collection<?> newValues) {
+		List<AASDescriptor> descriptors = newValues.stream().map(this::createAASDescriptorFromMap).collect(Collectors.toList());
+		registry.register(descriptors);
+	}
+
 	private void registerAASDescriptor(Object newValue, String[] splitted) {
 		AASDescriptor desc = createAASDescriptorFromMap(newValue);
 
@@ -29,12 +29,14 @@ package org.eclipse.basyx.extensions.aas.aggregator.aasxupload;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
+import org.eclipse.basyx.aas.aggregator.index.SemanticIdIndexEntry;
 import org.eclipse.basyx.aas.bundle.AASBundle;
 import org.eclipse.basyx.aas.bundle.AASBundleHelper;
 import org.eclipse.basyx.aas.factory.aasx.AASXToMetamodelConverter;
@@ -121,6 +123,11 @@ public class AASAggregatorAASXUpload implements IAASAggregatorAASXUpload {
 		return aggregator.getAASList();
 	}
 
+	@Override
+	public List<SemanticIdIndexEntry> lookupSemanticId(String semanticId) {
+		return aggregator.lookupSemanticId(semanticId);
+	}
+
 	@Override
 	public IAssetAdministrationShell getAAS(IIdentifier aasId) throws ResourceNotFoundException {
 		return aggregator.getAAS(aasId);
@@ -145,4 +152,14 @@ public class AASAggregatorAASXUpload implements IAASAggregatorAASXUpload {
 	public void deleteAAS(IIdentifier aasId) {
 		aggregator.deleteAAS(aasId);
 	}
+
+	@Override
+	public Set<String> getExistingAASIds(Collection<IIdentifier> aasIds) {
+		return aggregator.getExistingAASIds(aasIds);
+	}
+
+	@Override
+	public void createAASList(Collection<AssetAdministrationShell> shells) {
+		aggregator.createAASList(shells);
+	}
 }
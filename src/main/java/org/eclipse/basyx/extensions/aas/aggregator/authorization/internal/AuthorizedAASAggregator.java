@@ -25,8 +25,6 @@
 package org.eclipse.basyx.extensions.aas.aggregator.authorization.internal;
 
 import java.util.Collection;
-import java.util.Objects;
-import java.util.stream.Collectors;
 import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
 import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
@@ -36,11 +34,8 @@ import org.eclipse.basyx.extensions.shared.authorization.internal.ISubjectInform
 import org.eclipse.basyx.extensions.shared.authorization.internal.InhibitException;
 import org.eclipse.basyx.extensions.shared.authorization.internal.NotAuthorizedException;
 import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
-import org.eclipse.basyx.submodel.metamodel.api.qualifier.IIdentifiable;
 import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * An aggregator implementation that authorizes invocations before forwarding
@@ -53,8 +48,6 @@ public class AuthorizedAASAggregator<SubjectInformationType> implements IAASAggr
 	public static final String READ_AUTHORITY = SCOPE_AUTHORITY_PREFIX + AASAggregatorScopes.READ_SCOPE;
 	public static final String WRITE_AUTHORITY = SCOPE_AUTHORITY_PREFIX + AASAggregatorScopes.WRITE_SCOPE;
 
-	private static final Logger logger = LoggerFactory.getLogger(AuthorizedAASAggregator.class);
-
 	protected final IAASAggregator decoratedAasAggregator;
 	protected final IAASAggregatorAuthorizer<SubjectInformationType> aasAggregatorAuthorizer;
 	protected final ISubjectInformationProvider<SubjectInformationType> subjectInformationProvider;
@@ -80,20 +73,9 @@ public class AuthorizedAASAggregator<SubjectInformationType> implements IAASAggr
 	}
 
 	protected Collection<IAssetAdministrationShell> authorizeGetAASList() throws InhibitException {
-		return getAASIdentifierList().stream().map(identifier -> {
-			try {
-				return authorizeGetAAS(identifier);
-			} catch (final InhibitException e) {
-				// log and leave out aas if authorization was unsuccessful
-				logger.info(e.getMessage(), e);
-				return null;
-			}
-		}).filter(Objects::nonNull).collect(Collectors.toList());
-	}
-
-	private Collection<IIdentifier> getAASIdentifierList() throws InhibitException {
-		final Collection<IAssetAdministrationShell> authorizedAASList = aasAggregatorAuthorizer.authorizeGetAASList(subjectInformationProvider.get(), decoratedAasAggregator::getAASList);
-		return authorizedAASList.stream().map(IIdentifiable::getIdentification).collect(Collectors.toList());
+		final SubjectInformationType subjectInformation = subjectInformationProvider.get();
+		final Collection<IAssetAdministrationShell> aasList = aasAggregatorAuthorizer.authorizeGetAASList(subjectInformation, decoratedAasAggregator::getAASList);
+		return aasAggregatorAuthorizer.authorizeGetAASListEntries(subjectInformation, aasList);
 	}
 
 	@Override
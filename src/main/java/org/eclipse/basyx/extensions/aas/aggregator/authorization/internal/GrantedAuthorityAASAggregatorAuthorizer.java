@@ -53,6 +53,12 @@ public class GrantedAuthorityAASAggregatorAuthorizer<SubjectInformationType> imp
 		return aasListSupplier.get();
 	}
 
+	@Override
+	public Collection<IAssetAdministrationShell> authorizeGetAASListEntries(final SubjectInformationType subjectInformation, final Collection<IAssetAdministrationShell> aasList) {
+		// the read authority has already been checked for the whole list
+		return aasList;
+	}
+
 	@Override
 	public IAssetAdministrationShell authorizeGetAAS(final SubjectInformationType subjectInformation, final IIdentifier aasId, final Supplier<IAssetAdministrationShell> aasSupplier) throws InhibitException {
 		GrantedAuthorityHelper.checkAuthority(grantedAuthorityAuthenticator, subjectInformation, AuthorizedAASAggregator.READ_AUTHORITY);
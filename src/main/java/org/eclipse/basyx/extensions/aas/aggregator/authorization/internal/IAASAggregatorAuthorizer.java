@@ -24,6 +24,7 @@
  ******************************************************************************/
 package org.eclipse.basyx.extensions.aas.aggregator.authorization.internal;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.function.Supplier;
 import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
@@ -32,6 +33,7 @@ import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
 import org.eclipse.basyx.extensions.shared.authorization.internal.InhibitException;
 import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.slf4j.LoggerFactory;
 
 /**
  * Interface for the authorization points used in
@@ -67,6 +69,35 @@ public interface IAASAggregatorAuthorizer<SubjectInformationType> {
 	 */
 	public Collection<IAssetAdministrationShell> authorizeGetAASList(SubjectInformationType subjectInformation, Supplier<Collection<IAssetAdministrationShell>> aasListSupplier) throws InhibitException;
 
+	/**
+	 * Checks authorization for each entry of an already loaded AAS list as
+	 * returned by {@link #authorizeGetAASList(Object, Supplier)}. Entries the
+	 * requester is not authorized to read are left out.
+	 * <p>
+	 * The default implementation evaluates
+	 * {@link #authorizeGetAAS(Object, IIdentifier, Supplier)} for every entry
+	 * without fetching the AAS again. Implementations may override it to
+	 * evaluate the whole list at once.
+	 *
+	 * @param subjectInformation
+	 *            information of the requester.
+	 * @param aasList
+	 *            the already loaded collection of AASes.
+	 * @return the authorized subset of the AASes
+	 */
+	public default Collection<IAssetAdministrationShell> authorizeGetAASListEntries(SubjectInformationType subjectInformation, Collection<IAssetAdministrationShell> aasList) {
+		final Collection<IAssetAdministrationShell> authorizedAASList = new ArrayList<>(aasList.size());
+		for (final IAssetAdministrationShell aas : aasList) {
+			try {
+				authorizedAASList.add(authorizeGetAAS(subjectInformation, aas.getIdentification(), () -> aas));
+			} catch (final InhibitException e) {
+				// log and leave out aas if authorization was unsuccessful
+				LoggerFactory.getLogger(IAASAggregatorAuthorizer.class).info(e.getMessage(), e);
+			}
+		}
+		return authorizedAASList;
+	}
+
 	/**
 	 * Checks authorization for {@link IAASAggregator#getAASProvider(IIdentifier)}.
 	 *
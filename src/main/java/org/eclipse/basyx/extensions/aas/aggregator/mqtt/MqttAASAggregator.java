@@ -25,8 +25,10 @@
 package org.eclipse.basyx.extensions.aas.aggregator.mqtt;
 
 import java.util.Collection;
+import java.util.List;
 
 import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
+import org.eclipse.basyx.aas.aggregator.index.SemanticIdIndexEntry;
 import org.eclipse.basyx.aas.aggregator.observing.ObservableAASAggregator;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
 import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
@@ -139,6 +141,11 @@ public class MqttAASAggregator implements IAASAggregator {
 		return observedAASAggregator.getAASList();
 	}
 
+	@Override
+	public List<SemanticIdIndexEntry> lookupSemanticId(String semanticId) {
+		return observedAASAggregator.lookupSemanticId(semanticId);
+	}
+
 	@Override
 	public IAssetAdministrationShell getAAS(IIdentifier shellId) throws ResourceNotFoundException {
 		return observedAASAggregator.getAAS(shellId);
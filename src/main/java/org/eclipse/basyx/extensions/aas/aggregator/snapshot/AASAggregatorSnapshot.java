@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.aas.aggregator.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
+import org.eclipse.basyx.aas.bundle.AASBundle;
+import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
+import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
+import org.eclipse.basyx.aas.restapi.MultiSubmodelProvider;
+import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
+import org.eclipse.basyx.submodel.metamodel.facade.SubmodelElementMapCollectionConverter;
+import org.eclipse.basyx.vab.coder.cbor.CBORTools;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+
+/**
+ * Binary snapshot of the AASs and Submodels contained in an aggregator. <br>
+ * The file starts with an index of all AAS ids, followed by one CBOR encoded
+ * entry per AAS containing the AAS and its local Submodels. A loaded snapshot
+ * is memory-mapped and only the index is read eagerly, so single entries can
+ * be decoded on demand, e.g. by {@link SnapshotAASAggregator}.
+ */
+public class AASAggregatorSnapshot {
+	private static final int MAGIC = 0x42535853; // "BSXS"
+	private static final int VERSION = 1;
+
+	private static final String AAS = "aas";
+	private static final String SUBMODELS = "submodels";
+
+	private static final CBORTools cborTools = new CBORTools();
+
+	private final Map<String, Entry> index;
+	private final ByteBuffer buffer;
+
+	private static class Entry {
+		private final int offset;
+		private final int length;
+
+		private Entry(int offset, int length) {
+			this.offset = offset;
+			this.length = length;
+		}
+	}
+
+	private AASAggregatorSnapshot(Map<String, Entry> index, ByteBuffer buffer) {
+		this.index = index;
+		this.buffer = buffer;
+	}
+
+	/**
+	 * Memory-maps a snapshot file and reads its index
+	 * 
+	 * @param file
+	 *            the snapshot file
+	 * @return the loaded snapshot
+	 * @throws IOException
+	 *             if the file can not be read or is no valid snapshot
+	 */
+	public static AASAggregatorSnapshot load(Path file) throws IOException {
+		ByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Snapshot " + file + " exceeds the maximum size of 2 GB");
+			}
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		if (buffer.remaining() < 12 || buffer.getInt() != MAGIC) {
+			throw new IOException(file + " is no AAS aggregator snapshot");
+		}
+
+		int version = buffer.getInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported snapshot version " + version + " in " + file);
+		}
+
+		int count = buffer.getInt();
+		Map<String, Entry> index = new LinkedHashMap<>();
+		for (int i = 0; i < count; i++) {
+			byte[] id = new byte[buffer.getInt()];
+			buffer.get(id);
+			index.put(new String(id, StandardCharsets.UTF_8), new Entry(buffer.getInt(), buffer.getInt()));
+		}
+
+		return new AASAggregatorSnapshot(index, buffer.asReadOnlyBuffer());
+	}
+
+	/**
+	 * Writes the content of an aggregator to a snapshot file. The file is
+	 * replaced atomically, so a concurrently loaded snapshot stays valid.
+	 * 
+	 * @param aggregator
+	 *            the aggregator to take the snapshot of
+	 * @param file
+	 *            the snapshot file
+	 * @throws IOException
+	 *             if the file can not be written
+	 */
+	public static void write(IAASAggregator aggregator, Path file) throws IOException {
+		Map<String, byte[]> entries;
+		if (aggregator instanceof SnapshotAASAggregator) {
+			entries = ((SnapshotAASAggregator) aggregator).encodeEntries();
+		} else {
+			entries = new LinkedHashMap<>();
+			for (IAssetAdministrationShell aas : aggregator.getAASList()) {
+				entries.put(aas.getIdentification().getId(), encodeEntry(aggregator, aas));
+			}
+		}
+		write(entries, file);
+	}
+
+	private static void write(Map<String, byte[]> entries, Path file) throws IOException {
+		Map<String, byte[]> encodedIds = new LinkedHashMap<>();
+		int headerSize = 12;
+		for (String id : entries.keySet()) {
+			byte[] encodedId = id.getBytes(StandardCharsets.UTF_8);
+			encodedIds.put(id, encodedId);
+			headerSize += 12 + encodedId.length;
+		}
+
+		Path absolute = file.toAbsolutePath();
+		Path tmpFile = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(entries.size());
+
+			long offset = headerSize;
+			for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+				byte[] encodedId = encodedIds.get(entry.getKey());
+				out.writeInt(encodedId.length);
+				out.write(encodedId);
+				out.writeInt((int) offset);
+				out.writeInt(entry.getValue().length);
+				offset += entry.getValue().length;
+				if (offset > Integer.MAX_VALUE) {
+					throw new IOException("Snapshot exceeds the maximum size of 2 GB");
+				}
+			}
+
+			for (byte[] data : entries.values()) {
+				out.write(data);
+			}
+		} catch (IOException e) {
+			Files.deleteIfExists(tmpFile);
+			throw e;
+		}
+		Files.move(tmpFile, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	static byte[] encodeEntry(IAASAggregator aggregator, IAssetAdministrationShell aas) {
+		Map<String, Object> entry = new LinkedHashMap<>();
+		entry.put(AAS, aas);
+		entry.put(SUBMODELS, getLocalSubmodels(aggregator.getAASProvider(aas.getIdentification())));
+		return cborTools.serialize(entry);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Collection<?> getLocalSubmodels(IModelProvider provider) {
+		if (provider instanceof MultiSubmodelProvider) {
+			// Avoids including remote Submodels resolved via the registry
+			return ((MultiSubmodelProvider) provider).getSmAggregator().getSubmodelList();
+		}
+		return (Collection<Object>) provider.getValue("/aas/submodels");
+	}
+
+	/**
+	 * Returns the ids of all AASs contained in the snapshot
+	 * 
+	 * @return the AAS ids in the order they were written
+	 */
+	public Set<String> getAASIds() {
+		return Collections.unmodifiableSet(index.keySet());
+	}
+
+	/**
+	 * Decodes the AAS with the given id and its Submodels
+	 * 
+	 * @param aasId
+	 *            the id of the AAS
+	 * @return the AAS and its Submodels
+	 * @throws ResourceNotFoundException
+	 *             if the snapshot does not contain the AAS
+	 */
+	@SuppressWarnings("unchecked")
+	public AASBundle read(String aasId) throws ResourceNotFoundException {
+		Map<String, Object> entry = (Map<String, Object>) cborTools.deserialize(readRaw(aasId));
+
+		AssetAdministrationShell aas = AssetAdministrationShell.createAsFacade((Map<String, Object>) entry.get(AAS));
+		Collection<Map<String, Object>> smMaps = (Collection<Map<String, Object>>) entry.get(SUBMODELS);
+		Set<ISubmodel> submodels = smMaps.stream().map(SubmodelElementMapCollectionConverter::mapToSM).collect(Collectors.toCollection(LinkedHashSet::new));
+		return new AASBundle(aas, submodels);
+	}
+
+	/**
+	 * Returns the still encoded entry of an AAS
+	 */
+	byte[] readRaw(String aasId) throws ResourceNotFoundException {
+		Entry entry = index.get(aasId);
+		if (entry == null) {
+			throw new ResourceNotFoundException("AAS with Id " + aasId + " is not contained in the snapshot");
+		}
+
+		// Duplicate to keep concurrent reads independent of each other
+		ByteBuffer view = buffer.duplicate();
+		view.position(entry.offset);
+		byte[] data = new byte[entry.length];
+		view.get(data);
+		return data;
+	}
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.aas.aggregator.snapshot;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes snapshots of an aggregator periodically and a final one when it is
+ * closed, e.g. on server shutdown.
+ */
+public class AASAggregatorSnapshotWriter implements AutoCloseable {
+	private static Logger logger = LoggerFactory.getLogger(AASAggregatorSnapshotWriter.class);
+
+	private final IAASAggregator aggregator;
+	private final Path file;
+	private ScheduledExecutorService scheduler;
+
+	public AASAggregatorSnapshotWriter(IAASAggregator aggregator, Path file) {
+		this.aggregator = aggregator;
+		this.file = file;
+	}
+
+	/**
+	 * Starts writing a snapshot with the given period
+	 * 
+	 * @param period
+	 *            the time between two snapshots
+	 * @param unit
+	 *            the unit of the period
+	 */
+	public synchronized void start(long period, TimeUnit unit) {
+		if (scheduler != null) {
+			throw new IllegalStateException("Periodic snapshots are already started");
+		}
+
+		scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "aas-snapshot-writer");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleWithFixedDelay(this::tryWriteSnapshot, period, period, unit);
+	}
+
+	/**
+	 * Writes a snapshot immediately
+	 * 
+	 * @throws IOException
+	 *             if the snapshot can not be written
+	 */
+	public synchronized void writeSnapshot() throws IOException {
+		long start = System.currentTimeMillis();
+		AASAggregatorSnapshot.write(aggregator, file);
+		logger.debug("Wrote snapshot " + file + " in " + (System.currentTimeMillis() - start) + "ms");
+	}
+
+	private void tryWriteSnapshot() {
+		try {
+			writeSnapshot();
+		} catch (Exception e) {
+			// Keep the periodic snapshots running, the previous snapshot stays valid
+			logger.error("Could not write snapshot " + file, e);
+		}
+	}
+
+	/**
+	 * Stops the periodic snapshots and writes a final one
+	 */
+	@Override
+	public void close() throws IOException {
+		synchronized (this) {
+			if (scheduler != null) {
+				scheduler.shutdown();
+				scheduler = null;
+			}
+		}
+		writeSnapshot();
+	}
+}
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.aas.aggregator.snapshot;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.basyx.aas.aggregator.ConcurrentAASAggregator;
+import org.eclipse.basyx.aas.aggregator.index.SemanticIdIndexEntry;
+import org.eclipse.basyx.aas.bundle.AASBundle;
+import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
+import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
+import org.eclipse.basyx.aas.registration.api.IAASRegistry;
+import org.eclipse.basyx.aas.restapi.MultiSubmodelProvider;
+import org.eclipse.basyx.aas.restapi.api.IAASAPIFactory;
+import org.eclipse.basyx.aas.restapi.vab.VABAASAPIFactory;
+import org.eclipse.basyx.submodel.aggregator.SubmodelAggregatorFactory;
+import org.eclipse.basyx.submodel.aggregator.api.ISubmodelAggregatorFactory;
+import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+
+/**
+ * Aggregator that is initialized from an {@link AASAggregatorSnapshot}. The
+ * providers of the contained AASs are only rebuilt on first access, so the
+ * aggregator is available directly after loading the snapshot index.
+ */
+public class SnapshotAASAggregator extends ConcurrentAASAggregator {
+
+	// AASs of the snapshot whose providers have not been built yet
+	private final Map<String, AASAggregatorSnapshot> pending = new ConcurrentHashMap<>();
+
+	public SnapshotAASAggregator(AASAggregatorSnapshot snapshot) {
+		this(new VABAASAPIFactory(), new SubmodelAggregatorFactory(), null, snapshot);
+	}
+
+	public SnapshotAASAggregator(IAASRegistry registry, AASAggregatorSnapshot snapshot) {
+		this(new VABAASAPIFactory(), new SubmodelAggregatorFactory(), registry, snapshot);
+	}
+
+	public SnapshotAASAggregator(IAASAPIFactory aasApiFactory, ISubmodelAggregatorFactory submodelAggregatorFactory, IAASRegistry registry, AASAggregatorSnapshot snapshot) {
+		super(aasApiFactory, submodelAggregatorFactory, registry);
+		for (String aasId : snapshot.getAASIds()) {
+			pending.put(aasId, snapshot);
+		}
+	}
+
+	@Override
+	public Collection<IAssetAdministrationShell> getAASList() {
+		pending.keySet().forEach(this::materialize);
+		return super.getAASList();
+	}
+
+	@Override
+	public IModelProvider getAASProvider(IIdentifier aasId) {
+		materialize(aasId.getId());
+		return super.getAASProvider(aasId);
+	}
+
+	@Override
+	public List<SemanticIdIndexEntry> lookupSemanticId(String semanticId) {
+		// The Submodels of an AAS are only indexed when its provider is built
+		pending.keySet().forEach(this::materialize);
+		return super.lookupSemanticId(semanticId);
+	}
+
+	@Override
+	public Set<String> getExistingAASIds(Collection<IIdentifier> aasIds) {
+		Set<String> existing = super.getExistingAASIds(aasIds);
+		aasIds.stream().map(IIdentifier::getId).filter(pending::containsKey).forEach(existing::add);
+		return existing;
+	}
+
+	@Override
+	public void createAAS(AssetAdministrationShell aas) {
+		pending.remove(aas.getIdentification().getId());
+		super.createAAS(aas);
+	}
+
+	@Override
+	public void updateAAS(AssetAdministrationShell aas) {
+		materialize(aas.getIdentification().getId());
+		super.updateAAS(aas);
+	}
+
+	@Override
+	public void deleteAAS(IIdentifier aasId) {
+		pending.remove(aasId.getId());
+		super.deleteAAS(aasId);
+	}
+
+	/**
+	 * Encodes the content of this aggregator as snapshot entries. Entries that
+	 * have not been accessed yet are copied from the snapshot without decoding.
+	 */
+	Map<String, byte[]> encodeEntries() {
+		Map<String, byte[]> entries = new LinkedHashMap<>();
+		for (Map.Entry<String, AASAggregatorSnapshot> entry : pending.entrySet()) {
+			entries.put(entry.getKey(), entry.getValue().readRaw(entry.getKey()));
+		}
+		for (IAssetAdministrationShell aas : super.getAASList()) {
+			entries.put(aas.getIdentification().getId(), AASAggregatorSnapshot.encodeEntry(this, aas));
+		}
+		return entries;
+	}
+
+	private void materialize(String aasId) {
+		AASAggregatorSnapshot snapshot = pending.get(aasId);
+		if (snapshot == null) {
+			return;
+		}
+
+		// Decoded without holding a lock. Concurrent first accesses may decode the
+		// same AAS, but only one of them restores it.
+		AASBundle bundle = snapshot.read(aasId);
+
+		// The lock of the AAS is also held by the modifying operations, thus an AAS
+		// replaced or deleted in the meantime is not restored anymore. It stays
+		// pending until restored, so concurrent accesses wait for the lock.
+		ReentrantLock lock = getLock(aasId);
+		lock.lock();
+		try {
+			if (pending.containsKey(aasId)) {
+				restore(bundle);
+				pending.remove(aasId);
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void restore(AASBundle bundle) {
+		AssetAdministrationShell aas = (AssetAdministrationShell) bundle.getAAS();
+		super.createAAS(aas);
+
+		// The AAS already references its Submodels, so they are only added to the
+		// Submodel aggregator
+		MultiSubmodelProvider provider = (MultiSubmodelProvider) super.getAASProvider(aas.getIdentification());
+		for (ISubmodel submodel : bundle.getSubmodels()) {
+			provider.getSmAggregator().createSubmodel((Submodel) submodel);
+		}
+	}
+}
@@ -38,7 +38,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 public class AuthenticationContextProvider implements ISubjectInformationProvider<Authentication> {
 	@Override
 	public Authentication get() {
-		return getAuthentication().orElse(null);
+		return AuthorizationRequestContext.memoize(AuthenticationContextProvider.class, () -> getAuthentication().orElse(null));
 	}
 
 	public static Optional<Authentication> getAuthentication() {
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.shared.authorization.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Request-scoped memo for authorization results like the subject information,
+ * its roles and rule decisions. As a request traverses several authorized
+ * decorators, e.g. AAS aggregator, submodel aggregator and submodel API, these
+ * are computed only once per request.<br>
+ * The context is bound to the current thread between
+ * {@link #enterRequestContext()} and closing the returned handler, see
+ * {@link AuthorizationRequestContextFilter}. Outside of a request context,
+ * nothing is memoized.
+ */
+public class AuthorizationRequestContext {
+	private static final ThreadLocal<AuthorizationRequestContext> currentContext = new ThreadLocal<>();
+
+	private final Map<Object, Object> memo = new HashMap<>();
+	private int depth = 0;
+
+	private AuthorizationRequestContext() {
+	}
+
+	public static class AuthorizationRequestContextHandler implements AutoCloseable {
+		private boolean closed = false;
+
+		@Override
+		public void close() {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			leaveRequestContext();
+		}
+	}
+
+	/**
+	 * Binds a request context to the current thread. Nested calls share the
+	 * context of the outermost call.
+	 * 
+	 * @return the handler to close at the end of the request
+	 */
+	public static AuthorizationRequestContextHandler enterRequestContext() {
+		AuthorizationRequestContext context = currentContext.get();
+		if (context == null) {
+			context = new AuthorizationRequestContext();
+			currentContext.set(context);
+		}
+		context.depth++;
+		return new AuthorizationRequestContextHandler();
+	}
+
+	private static void leaveRequestContext() {
+		final AuthorizationRequestContext context = currentContext.get();
+		if (context != null && --context.depth == 0) {
+			currentContext.remove();
+		}
+	}
+
+	public static boolean isInRequestContext() {
+		return currentContext.get() != null;
+	}
+
+	/**
+	 * Returns the memoized value for the key or computes and memoizes it if the
+	 * current thread is in a request context
+	 * 
+	 * @param key
+	 *            identifies the value within the request, has to implement
+	 *            equals and hashCode
+	 * @param supplier
+	 *            computes the value, may return null
+	 * @return the value
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T memoize(final Object key, final Supplier<T> supplier) {
+		final AuthorizationRequestContext context = currentContext.get();
+		if (context == null) {
+			return supplier.get();
+		}
+
+		if (context.memo.containsKey(key)) {
+			return (T) context.memo.get(key);
+		}
+
+		final T value = supplier.get();
+		context.memo.put(key, value);
+		return value;
+	}
+
+	/**
+	 * Drops all memoized values of the current request, e.g. if the
+	 * authentication of the current thread changes
+	 */
+	public static void invalidate() {
+		final AuthorizationRequestContext context = currentContext.get();
+		if (context != null) {
+			context.memo.clear();
+		}
+	}
+}
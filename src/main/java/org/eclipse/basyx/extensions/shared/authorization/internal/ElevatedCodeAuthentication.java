@@ -98,6 +98,7 @@ public class ElevatedCodeAuthentication extends AbstractAuthenticationToken {
 		final SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
 		securityContext.setAuthentication(new ElevatedCodeAuthentication());
 		SecurityContextHolder.setContext(securityContext);
+		AuthorizationRequestContext.invalidate();
 	}
 
 	private static void unsetElevatedCodeAuthentication() {
@@ -106,5 +107,6 @@ public class ElevatedCodeAuthentication extends AbstractAuthenticationToken {
 			SecurityContextHolder.setContext(previousSecurityContext.get());
 			previousSecurityContext.remove();
 		}
+		AuthorizationRequestContext.invalidate();
 	}
 }
@@ -41,7 +41,7 @@ import org.springframework.security.oauth2.server.resource.authentication.JwtAut
 public class JWTAuthenticationContextProvider implements ISubjectInformationProvider<Jwt> {
 	@Override
 	public Jwt get() {
-		return getAuthentication().map(AbstractOAuth2TokenAuthenticationToken::getToken).orElse(null);
+		return AuthorizationRequestContext.memoize(JWTAuthenticationContextProvider.class, () -> getAuthentication().map(AbstractOAuth2TokenAuthenticationToken::getToken).orElse(null));
 	}
 
 	private Optional<JwtAuthenticationToken> getAuthentication() {
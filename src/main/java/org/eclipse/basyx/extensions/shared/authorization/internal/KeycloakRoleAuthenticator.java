@@ -24,8 +24,11 @@
  ******************************************************************************/
 package org.eclipse.basyx.extensions.shared.authorization.internal;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -35,24 +38,63 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 
 /**
  * Implementation for a role authenticator that reads from the security context
  * {@link SecurityContextHolder} and parses it according to an access token
- * (JSON Web Token) as handed out by Keycloak.
+ * (JSON Web Token) as handed out by Keycloak. The roles are memoized per
+ * request and cached across requests until the token expires.
  *
  * @author wege
  */
 public class KeycloakRoleAuthenticator implements IRoleAuthenticator<Jwt> {
 	private static final Logger logger = LoggerFactory.getLogger(KeycloakRoleAuthenticator.class);
+	private static final int ROLE_CACHE_CAPACITY = 1000;
+
+	// The roles only depend on the token, thus the cache is shared by all
+	// instances. Only tokens identifiable by id, issuer and expiry are cached.
+	private static final Map<List<Object>, List<String>> roleCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<List<Object>, List<String>> eldest) {
+			return size() > ROLE_CACHE_CAPACITY;
+		}
+	});
 
 	public KeycloakRoleAuthenticator() {
 	}
 
 	@Override
 	public List<String> getRoles(Jwt subjectInformation) {
-		return Optional.ofNullable(subjectInformation).map(info -> new JwtAuthenticationToken(subjectInformation)).map(this::jwtStr2roles).orElse(new ArrayList<>(Collections.singletonList("anonymous")));
+		if (subjectInformation == null) {
+			return new ArrayList<>(Collections.singletonList("anonymous"));
+		}
+		return AuthorizationRequestContext.memoize(Arrays.asList(KeycloakRoleAuthenticator.class, subjectInformation), () -> getCachedRoles(subjectInformation));
+	}
+
+	private List<String> getCachedRoles(final Jwt jwt) {
+		final Optional<List<Object>> cacheKey = getCacheKey(jwt);
+		if (cacheKey.isEmpty()) {
+			return jwtStr2roles(new JwtAuthenticationToken(jwt));
+		}
+
+		List<String> roles = roleCache.get(cacheKey.get());
+		if (roles == null) {
+			roles = Collections.unmodifiableList(jwtStr2roles(new JwtAuthenticationToken(jwt)));
+			roleCache.put(cacheKey.get(), roles);
+		}
+		return new ArrayList<>(roles);
+	}
+
+	private Optional<List<Object>> getCacheKey(final Jwt jwt) {
+		final Instant expiresAt = jwt.getExpiresAt();
+		if (jwt.getId() == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+			return Optional.empty();
+		}
+		return Optional.of(Arrays.asList(jwt.getId(), jwt.getClaimAsString(JwtClaimNames.ISS), expiresAt));
 	}
 
 	private List<String> jwtStr2roles(JwtAuthenticationToken token) {
@@ -24,6 +24,7 @@
  ******************************************************************************/
 package org.eclipse.basyx.extensions.shared.authorization.internal;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -37,8 +38,10 @@ public class SimpleRbacHelper {
 
 	public static <SubjectInformationType> void checkRule(final IRbacRuleChecker rbacRuleChecker, final IRoleAuthenticator<SubjectInformationType> roleAuthenticator, final SubjectInformationType subjectInformation, final String action,
 			final TargetInformation targetInformation) throws SimpleRbacInhibitException {
-		final List<String> roles = roleAuthenticator.getRoles(subjectInformation);
-		if (!rbacRuleChecker.checkRbacRuleIsSatisfied(roles, action, targetInformation)) {
+		// The same roles and decisions are requested by every authorized layer of a request
+		final List<String> roles = AuthorizationRequestContext.memoize(Arrays.asList(roleAuthenticator, subjectInformation), () -> roleAuthenticator.getRoles(subjectInformation));
+		final boolean isSatisfied = AuthorizationRequestContext.memoize(Arrays.asList(rbacRuleChecker, roles, action, targetInformation), () -> rbacRuleChecker.checkRbacRuleIsSatisfied(roles, action, targetInformation));
+		if (!isSatisfied) {
 			throw new SimpleRbacInhibitException(roles, action, targetInformation);
 		}
 	}
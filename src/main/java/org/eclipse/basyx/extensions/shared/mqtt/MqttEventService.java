@@ -24,6 +24,7 @@
  ******************************************************************************/
 package org.eclipse.basyx.extensions.shared.mqtt;
 
+import org.eclipse.basyx.vab.metrics.BaSyxMetrics;
 import org.eclipse.paho.client.mqttv3.MqttClient;
 import org.eclipse.paho.client.mqttv3.MqttClientPersistence;
 import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
@@ -138,6 +139,7 @@ public class MqttEventService {
 		if (this.qos != 1) {
 			msg.setQos(this.qos);
 		}
+		long start = BaSyxMetrics.start();
 		try {
 			logger.debug("Send MQTT message to " + topic + ": " + payload);
 			mqttClient.publish(topic, msg);
@@ -145,6 +147,8 @@ public class MqttEventService {
 			logger.error("Could not persist mqtt message", e);
 		} catch (MqttException e) {
 			logger.error("Could not send mqtt message", e);
+		} finally {
+			BaSyxMetrics.recordDuration(BaSyxMetrics.MQTT_PUBLISH, "qos" + msg.getQos(), start);
 		}
 	}
 
@@ -25,9 +25,7 @@
 package org.eclipse.basyx.extensions.submodel.aggregator.authorization.internal;
 
 import java.util.Collection;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
 import org.eclipse.basyx.aas.metamodel.map.descriptor.ModelUrn;
 import org.eclipse.basyx.extensions.shared.authorization.internal.ElevatedCodeAuthentication;
@@ -48,8 +46,6 @@ import org.eclipse.basyx.submodel.metamodel.map.reference.Key;
 import org.eclipse.basyx.submodel.metamodel.map.reference.Reference;
 import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
 import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * Implementation variant for the SubmodelAggregator that authorized each access
@@ -61,8 +57,6 @@ public class AuthorizedSubmodelAggregator<SubjectInformationType> implements ISu
 	public static final String READ_AUTHORITY = SCOPE_AUTHORITY_PREFIX + SubmodelAggregatorScopes.READ_SCOPE;
 	public static final String WRITE_AUTHORITY = SCOPE_AUTHORITY_PREFIX + SubmodelAggregatorScopes.WRITE_SCOPE;
 
-	private static final Logger logger = LoggerFactory.getLogger(AuthorizedSubmodelAggregator.class);
-
 	protected final IAssetAdministrationShell aas;
 	protected final ISubmodelAggregator decoratedSubmodelAggregator;
 	protected final ISubmodelAggregatorAuthorizer<SubjectInformationType> submodelAggregatorAuthorizer;
@@ -95,20 +89,9 @@ public class AuthorizedSubmodelAggregator<SubjectInformationType> implements ISu
 	}
 
 	protected Collection<ISubmodel> authorizeGetSubmodelList() throws InhibitException {
-		return getSubmodelIdentifierList().stream().map(smId -> {
-			try {
-				return authorizeGetSubmodel(smId);
-			} catch (final InhibitException e) {
-				// log and leave out submodel if authorization was unsuccessful
-				logger.info(e.getMessage(), e);
-				return null;
-			}
-		}).filter(Objects::nonNull).collect(Collectors.toList());
-	}
-
-	private Collection<IIdentifier> getSubmodelIdentifierList() throws InhibitException {
-		final Collection<ISubmodel> authorizedSubmodelList = submodelAggregatorAuthorizer.authorizeGetSubmodelList(subjectInformationProvider.get(), aas, decoratedSubmodelAggregator::getSubmodelList);
-		return authorizedSubmodelList.stream().map(IIdentifiable::getIdentification).collect(Collectors.toList());
+		final SubjectInformationType subjectInformation = subjectInformationProvider.get();
+		final Collection<ISubmodel> smList = submodelAggregatorAuthorizer.authorizeGetSubmodelList(subjectInformation, aas, decoratedSubmodelAggregator::getSubmodelList);
+		return submodelAggregatorAuthorizer.authorizeGetSubmodelListEntries(subjectInformation, aas, smList);
 	}
 
 	@Override
@@ -54,6 +54,12 @@ public class GrantedAuthoritySubmodelAggregatorAuthorizer<SubjectInformationType
 		return smListSupplier.get();
 	}
 
+	@Override
+	public Collection<ISubmodel> authorizeGetSubmodelListEntries(final SubjectInformationType subjectInformation, final IAssetAdministrationShell aas, final Collection<ISubmodel> smList) {
+		// the read authority has already been checked for the whole list
+		return smList;
+	}
+
 	@Override
 	public ISubmodel authorizeGetSubmodel(final SubjectInformationType subjectInformation, final IAssetAdministrationShell aas, final IIdentifier smId, final IReference smSemanticId, final Supplier<ISubmodel> smSupplier)
 			throws InhibitException {
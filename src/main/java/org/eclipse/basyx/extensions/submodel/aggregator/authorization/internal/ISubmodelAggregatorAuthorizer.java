@@ -24,9 +24,12 @@
  ******************************************************************************/
 package org.eclipse.basyx.extensions.submodel.aggregator.authorization.internal;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.function.Supplier;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
+import org.eclipse.basyx.extensions.shared.authorization.internal.ElevatedCodeAuthentication;
+import org.eclipse.basyx.extensions.shared.authorization.internal.ElevatedCodeAuthentication.ElevatedCodeAuthenticationAreaHandler;
 import org.eclipse.basyx.extensions.shared.authorization.internal.InhibitException;
 import org.eclipse.basyx.submodel.aggregator.api.ISubmodelAggregator;
 import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
@@ -34,6 +37,7 @@ import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
 import org.eclipse.basyx.submodel.metamodel.api.reference.IReference;
 import org.eclipse.basyx.submodel.metamodel.map.Submodel;
 import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.slf4j.LoggerFactory;
 
 /**
  * Interface for the authorization points used in
@@ -58,6 +62,45 @@ public interface ISubmodelAggregatorAuthorizer<SubjectInformationType> {
 	 */
 	public Collection<ISubmodel> authorizeGetSubmodelList(final SubjectInformationType subjectInformation, final IAssetAdministrationShell aas, final Supplier<Collection<ISubmodel>> smListSupplier) throws InhibitException;
 
+	/**
+	 * Checks authorization for each entry of an already loaded submodel list as
+	 * returned by {@link #authorizeGetSubmodelList(Object, IAssetAdministrationShell, Supplier)}.
+	 * Entries the requester is not authorized to read are left out.
+	 * <p>
+	 * The default implementation evaluates
+	 * {@link #authorizeGetSubmodel(Object, IAssetAdministrationShell, IIdentifier, IReference, Supplier)}
+	 * for every entry without fetching the submodel again. Implementations may
+	 * override it to evaluate the whole list at once.
+	 *
+	 * @param subjectInformation
+	 *            information of the requester.
+	 * @param aas
+	 *            the aas the submodels belong to as passed in the constructor of
+	 *            {@link AuthorizedSubmodelAggregator}, may be null.
+	 * @param smList
+	 *            the already loaded collection of submodels.
+	 * @return the authorized subset of the submodels.
+	 */
+	public default Collection<ISubmodel> authorizeGetSubmodelListEntries(final SubjectInformationType subjectInformation, final IAssetAdministrationShell aas, final Collection<ISubmodel> smList) {
+		final Collection<ISubmodel> authorizedSmList = new ArrayList<>(smList.size());
+		for (final ISubmodel sm : smList) {
+			final IIdentifier smId;
+			final IReference smSemanticId;
+			try (final ElevatedCodeAuthenticationAreaHandler ignored = ElevatedCodeAuthentication.enterElevatedCodeAuthenticationArea()) {
+				smId = sm.getIdentification();
+				smSemanticId = sm.getSemanticId();
+			}
+
+			try {
+				authorizedSmList.add(authorizeGetSubmodel(subjectInformation, aas, smId, smSemanticId, () -> sm));
+			} catch (final InhibitException e) {
+				// log and leave out submodel if authorization was unsuccessful
+				LoggerFactory.getLogger(ISubmodelAggregatorAuthorizer.class).info(e.getMessage(), e);
+			}
+		}
+		return authorizedSmList;
+	}
+
 	/**
 	 * Checks authorization for
 	 * {@link ISubmodelAggregator#getSubmodel(IIdentifier)}.
@@ -9,6 +9,7 @@ import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOperation;
 import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelValueDelta;
 
 /**
  * Implementation variant for the SubmodelAggregator that authorized each access
@@ -111,4 +112,16 @@ public class AuthorizedSubmodelAPI implements ISubmodelAPI {
 		authorizer.throwExceptionInCaseOfInsufficientAuthorization(WRITE_AUTHORITY);
 		decoratedSubmodelAPI.uploadSubmodelElementFile(idShortPath, fileStream);
 	}
+
+	@Override
+	public Object getSubmodelElementHistory(String idShortPath, long from, long to, int buckets) {
+		authorizer.throwExceptionInCaseOfInsufficientAuthorization(READ_AUTHORITY);
+		return decoratedSubmodelAPI.getSubmodelElementHistory(idShortPath, from, to, buckets);
+	}
+
+	@Override
+	public SubmodelValueDelta getSubmodelValuesSince(long version) {
+		authorizer.throwExceptionInCaseOfInsufficientAuthorization(READ_AUTHORITY);
+		return decoratedSubmodelAPI.getSubmodelValuesSince(version);
+	}
 }
@@ -42,6 +42,7 @@ import org.eclipse.basyx.submodel.metamodel.api.reference.IReference;
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOperation;
 import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelValueDelta;
 import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -368,6 +369,47 @@ public class AuthorizedSubmodelAPI<SubjectInformationType> implements ISubmodelA
 		}
 	}
 
+	@Override
+	public Object getSubmodelElementHistory(String idShortPath, long from, long to, int buckets) {
+		if (ElevatedCodeAuthentication.isCodeAuthentication()) {
+			return decoratedSubmodelAPI.getSubmodelElementHistory(idShortPath, from, to, buckets);
+		}
+
+		try {
+			return authorizeGetSubmodelElementHistory(idShortPath, from, to, buckets);
+		} catch (final InhibitException e) {
+			throw new NotAuthorizedException(e);
+		}
+	}
+
+	protected Object authorizeGetSubmodelElementHistory(final String smElIdShortPath, final long from, final long to, final int buckets) throws InhibitException {
+		final IIdentifier smId = getSmIdUnsecured();
+		final IReference smSemanticId = getSmSemanticIdUnsecured();
+		// the history is a view on the element value, thus the same authorization applies
+		return submodelAPIAuthorizer.authorizeGetSubmodelElementValue(subjectInformationProvider.get(), aas, smId, smSemanticId, smElIdShortPath, () -> decoratedSubmodelAPI.getSubmodelElementHistory(smElIdShortPath, from, to, buckets));
+	}
+
+	@Override
+	public SubmodelValueDelta getSubmodelValuesSince(long version) {
+		if (ElevatedCodeAuthentication.isCodeAuthentication()) {
+			return decoratedSubmodelAPI.getSubmodelValuesSince(version);
+		}
+
+		try {
+			return authorizeGetSubmodelValuesSince(version);
+		} catch (final InhibitException e) {
+			throw new NotAuthorizedException(e);
+		}
+	}
+
+	protected SubmodelValueDelta authorizeGetSubmodelValuesSince(final long version) throws InhibitException {
+		final IIdentifier smId = getSmIdUnsecured();
+		final IReference smSemanticId = getSmSemanticIdUnsecured();
+		// the delta is a view on the values of the whole submodel, thus the same authorization as for the submodel applies
+		submodelAPIAuthorizer.authorizeGetSubmodel(subjectInformationProvider.get(), aas, smId, smSemanticId, () -> null);
+		return decoratedSubmodelAPI.getSubmodelValuesSince(version);
+	}
+
 	private IIdentifier getSmIdUnsecured() throws ResourceNotFoundException {
 		final ISubmodel sm = decoratedSubmodelAPI.getSubmodel();
 
@@ -0,0 +1,284 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.submodel.delegation;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.exception.provider.ServiceUnavailableException;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.protocol.api.ConnectorFactory;
+
+/**
+ * Loads the values of delegated properties. Concurrent reads of the same URL
+ * share a single remote request, values can be cached for a maximum age, and
+ * the values of multiple URLs can be fetched grouped by their host.
+ */
+class DelegatedValueLoader {
+	// Maximum time in milliseconds a read waits for a value fetched by another thread
+	static final long DEFAULT_WAIT_TIMEOUT = 30000;
+
+	// Number of prefetches that may query the same host at the same time
+	private static final int MAX_PREFETCHES_PER_HOST = 2;
+
+	// Number of prefetches running in parallel over all hosts
+	private static final int MAX_PREFETCH_THREADS = 32;
+
+	private static final ExecutorService hostExecutor = createHostExecutor();
+
+	// Limits the prefetches per host, so that a slow host can not occupy all prefetch threads
+	private static final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+	private final ConnectorFactory connectorProvider;
+	private final long waitTimeout;
+
+	private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+	private final Map<String, CachedValue> cache = new ConcurrentHashMap<>();
+
+	// Values fetched ahead of a read, each is consumed by the next read of its URL
+	private final Map<String, CompletableFuture<Object>> prefetched = new ConcurrentHashMap<>();
+
+	private static class CachedValue {
+		private final Object value;
+		private final long timestamp;
+
+		private CachedValue(Object value, long timestamp) {
+			this.value = value;
+			this.timestamp = timestamp;
+		}
+	}
+
+	DelegatedValueLoader(ConnectorFactory connectorProvider) {
+		this(connectorProvider, DEFAULT_WAIT_TIMEOUT);
+	}
+
+	/**
+	 * @param waitTimeout
+	 *            maximum time in milliseconds a read waits for a value that is
+	 *            fetched by another thread
+	 */
+	DelegatedValueLoader(ConnectorFactory connectorProvider, long waitTimeout) {
+		this.connectorProvider = connectorProvider;
+		this.waitTimeout = waitTimeout;
+	}
+
+	private static ExecutorService createHostExecutor() {
+		// Prefetches are never queued, a rejected prefetch is loaded by the read itself
+		return new ThreadPoolExecutor(0, MAX_PREFETCH_THREADS, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+			Thread thread = new Thread(r, "delegation-prefetch");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Returns the value of a delegated property
+	 * 
+	 * @param delegatedTo
+	 *            the URL the property is delegated to
+	 * @param maxAge
+	 *            maximum age in milliseconds of a cached value that may be
+	 *            returned; 0 disables caching
+	 */
+	Object getValue(String delegatedTo, long maxAge) {
+		CompletableFuture<Object> prefetchedValue = prefetched.remove(delegatedTo);
+		if (prefetchedValue != null) {
+			return await(prefetchedValue);
+		}
+
+		Object cached = getCachedValue(delegatedTo, maxAge);
+		if (cached != null) {
+			return cached;
+		}
+
+		return load(delegatedTo, () -> connectorProvider.create(createAddressFromURL(toURL(delegatedTo))));
+	}
+
+	/**
+	 * Fetches the values of the given URLs grouped by host while the read is
+	 * executed, so that the delegated properties read by it do not query their
+	 * hosts one after another. Hosts that are already queried by other
+	 * prefetches are not prefetched; their values are loaded by the read.
+	 * 
+	 * @param maxAges
+	 *            the URLs to fetch with the maximum age of their cached values
+	 * @param read
+	 *            the read accessing the delegated properties
+	 * @return the result of the read
+	 */
+	<T> T readWithPrefetch(Map<String, Long> maxAges, Supplier<T> read) {
+		Map<String, List<String>> urlsByAddress = new LinkedHashMap<>();
+		for (Map.Entry<String, Long> entry : maxAges.entrySet()) {
+			if (getCachedValue(entry.getKey(), entry.getValue()) == null) {
+				urlsByAddress.computeIfAbsent(createAddressFromURL(toURL(entry.getKey())), a -> new ArrayList<>()).add(entry.getKey());
+			}
+		}
+
+		Map<String, CompletableFuture<Object>> batch = new LinkedHashMap<>();
+		for (Map.Entry<String, List<String>> entry : urlsByAddress.entrySet()) {
+			Map<String, CompletableFuture<Object>> hostBatch = new LinkedHashMap<>();
+			for (String url : entry.getValue()) {
+				CompletableFuture<Object> future = new CompletableFuture<>();
+				if (prefetched.putIfAbsent(url, future) == null) {
+					hostBatch.put(url, future);
+				}
+			}
+			if (hostBatch.isEmpty()) {
+				continue;
+			}
+
+			if (startPrefetch(entry.getKey(), hostBatch)) {
+				batch.putAll(hostBatch);
+			} else {
+				hostBatch.forEach(prefetched::remove);
+			}
+		}
+
+		try {
+			return read.get();
+		} finally {
+			// Values not consumed by the read must not be returned to later reads
+			batch.forEach(prefetched::remove);
+		}
+	}
+
+	private boolean startPrefetch(String address, Map<String, CompletableFuture<Object>> hostBatch) {
+		Semaphore permits = hostPermits.computeIfAbsent(address, a -> new Semaphore(MAX_PREFETCHES_PER_HOST));
+		if (!permits.tryAcquire()) {
+			return false;
+		}
+
+		try {
+			hostExecutor.execute(() -> {
+				try {
+					fetchFromHost(address, hostBatch);
+				} finally {
+					permits.release();
+				}
+			});
+			return true;
+		} catch (RejectedExecutionException e) {
+			permits.release();
+			return false;
+		}
+	}
+
+	private void fetchFromHost(String address, Map<String, CompletableFuture<Object>> hostBatch) {
+		IModelProvider connector;
+		try {
+			connector = connectorProvider.create(address);
+		} catch (RuntimeException e) {
+			hostBatch.values().forEach(f -> f.completeExceptionally(e));
+			return;
+		}
+
+		// All values of a host are fetched using the same connector
+		for (Map.Entry<String, CompletableFuture<Object>> entry : hostBatch.entrySet()) {
+			try {
+				entry.getValue().complete(load(entry.getKey(), () -> connector));
+			} catch (RuntimeException e) {
+				entry.getValue().completeExceptionally(e);
+			}
+		}
+	}
+
+	private Object getCachedValue(String delegatedTo, long maxAge) {
+		if (maxAge <= 0) {
+			return null;
+		}
+
+		CachedValue cached = cache.get(delegatedTo);
+		if (cached == null || System.currentTimeMillis() - cached.timestamp > maxAge) {
+			return null;
+		}
+		return cached.value;
+	}
+
+	private Object load(String delegatedTo, Supplier<IModelProvider> connector) {
+		CompletableFuture<Object> future = new CompletableFuture<>();
+		CompletableFuture<Object> running = inFlight.putIfAbsent(delegatedTo, future);
+		if (running != null) {
+			// Share the result of the request that is already in flight
+			return await(running);
+		}
+
+		try {
+			Object value = connector.get().getValue(toURL(delegatedTo).getPath());
+			cache.put(delegatedTo, new CachedValue(value, System.currentTimeMillis()));
+			future.complete(value);
+			return value;
+		} catch (RuntimeException e) {
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(delegatedTo, future);
+		}
+	}
+
+	private Object await(CompletableFuture<Object> future) {
+		try {
+			return future.get(waitTimeout, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			throw new ServiceUnavailableException("Delegated value was not loaded within " + waitTimeout + " ms");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ProviderException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new ProviderException(e.getCause());
+		}
+	}
+
+	private static URL toURL(String delegatedTo) {
+		try {
+			return new URL(delegatedTo);
+		} catch (MalformedURLException e) {
+			throw new ProviderException(e);
+		}
+	}
+
+	private static String createAddressFromURL(URL url) {
+		return url.getProtocol() + "://" + url.getHost() + ":"
+				+ (url.getPort() != -1 ? Integer.toString(url.getPort()) : "");
+	}
+}
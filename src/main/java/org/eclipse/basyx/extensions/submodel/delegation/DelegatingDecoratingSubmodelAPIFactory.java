@@ -27,6 +27,7 @@ package org.eclipse.basyx.extensions.submodel.delegation;
 import org.eclipse.basyx.submodel.metamodel.map.Submodel;
 import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
 import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPIFactory;
+import org.eclipse.basyx.vab.protocol.api.ConnectorFactory;
 import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnectorFactory;
 
 /**
@@ -38,12 +39,24 @@ import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnectorFactory;
 public class DelegatingDecoratingSubmodelAPIFactory implements ISubmodelAPIFactory {
 	private ISubmodelAPIFactory submodelAPIFactory;
 
+	// Shared by all created APIs so that connectors to the same address are reused
+	private ConnectorFactory connectorFactory;
+
 	public DelegatingDecoratingSubmodelAPIFactory(ISubmodelAPIFactory submodelAPIFactory) {
+		this(submodelAPIFactory, new HTTPConnectorFactory());
+	}
+
+	/**
+	 * @param connectorFactory
+	 *            used by all created APIs for accessing the delegation targets
+	 */
+	public DelegatingDecoratingSubmodelAPIFactory(ISubmodelAPIFactory submodelAPIFactory, ConnectorFactory connectorFactory) {
 		this.submodelAPIFactory = submodelAPIFactory;
+		this.connectorFactory = connectorFactory;
 	}
 
 	@Override
 	public ISubmodelAPI getSubmodelAPI(Submodel submodel) {
-		return new DelegatingSubmodelAPI(submodelAPIFactory.create(submodel), new PropertyDelegationManager(new HTTPConnectorFactory()));
+		return new DelegatingSubmodelAPI(submodelAPIFactory.create(submodel), new PropertyDelegationManager(connectorFactory));
 	}
 }
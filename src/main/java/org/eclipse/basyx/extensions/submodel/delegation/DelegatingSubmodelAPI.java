@@ -27,7 +27,10 @@ package org.eclipse.basyx.extensions.submodel.delegation;
 import java.io.File;
 import java.io.InputStream;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
 import org.eclipse.basyx.submodel.metamodel.api.qualifier.qualifiable.IConstraint;
@@ -36,7 +39,11 @@ import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOpera
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElement;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
 import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelElementPage;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelElementQuery;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelValueDelta;
 import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 
 /**
  * Implementation variant for the SubmodelAPI which handles the Submodels
@@ -49,6 +56,9 @@ public class DelegatingSubmodelAPI implements ISubmodelAPI {
 	private ISubmodelAPI decoratedSubmodelAPI;
 	private PropertyDelegationManager delegationProvider;
 
+	// Delegation URLs of the delegated properties mapped by their idShort paths
+	private Map<String, String> delegationUrls = new ConcurrentHashMap<>();
+
 	public DelegatingSubmodelAPI(ISubmodelAPI decoratedSubmodelAPI, PropertyDelegationManager delegationManager) {
 		this.delegationProvider = delegationManager;
 		this.decoratedSubmodelAPI = decoratedSubmodelAPI;
@@ -58,29 +68,32 @@ public class DelegatingSubmodelAPI implements ISubmodelAPI {
 
 	@Override
 	public ISubmodel getSubmodel() {
-		return decoratedSubmodelAPI.getSubmodel();
+		return delegationProvider.readWithPrefetch(delegationUrls.values(), decoratedSubmodelAPI::getSubmodel);
 	}
 
 	@Override
 	public void addSubmodelElement(ISubmodelElement elem) {
 		delegationProvider.handleSubmodelElement((SubmodelElement) elem);
 		decoratedSubmodelAPI.addSubmodelElement(elem);
+		addDelegationUrls(elem.getIdShort(), elem);
 	}
 
 	@Override
 	public void addSubmodelElement(String idShortPath, ISubmodelElement elem) {
 		delegationProvider.handleSubmodelElement((SubmodelElement) elem);
 		decoratedSubmodelAPI.addSubmodelElement(idShortPath, elem);
+		addDelegationUrls(idShortPath, elem);
 	}
 
 	@Override
 	public ISubmodelElement getSubmodelElement(String idShortPath) {
-		return decoratedSubmodelAPI.getSubmodelElement(idShortPath);
+		return delegationProvider.readWithPrefetch(getDelegationUrls(idShortPath), () -> decoratedSubmodelAPI.getSubmodelElement(idShortPath));
 	}
 
 	@Override
 	public void deleteSubmodelElement(String idShortPath) {
 		decoratedSubmodelAPI.deleteSubmodelElement(idShortPath);
+		delegationUrls.keySet().removeIf(path -> isSameOrChildPath(path, idShortPath));
 	}
 
 	@Override
@@ -90,7 +103,12 @@ public class DelegatingSubmodelAPI implements ISubmodelAPI {
 
 	@Override
 	public Collection<ISubmodelElement> getSubmodelElements() {
-		return decoratedSubmodelAPI.getSubmodelElements();
+		return delegationProvider.readWithPrefetch(delegationUrls.values(), decoratedSubmodelAPI::getSubmodelElements);
+	}
+
+	@Override
+	public SubmodelElementPage getSubmodelElements(SubmodelElementQuery query) {
+		return delegationProvider.readWithPrefetch(delegationUrls.values(), () -> decoratedSubmodelAPI.getSubmodelElements(query));
 	}
 
 	@Override
@@ -101,7 +119,7 @@ public class DelegatingSubmodelAPI implements ISubmodelAPI {
 
 	@Override
 	public Object getSubmodelElementValue(String idShortPath) {
-		return decoratedSubmodelAPI.getSubmodelElementValue(idShortPath);
+		return delegationProvider.readWithPrefetch(getDelegationUrls(idShortPath), () -> decoratedSubmodelAPI.getSubmodelElementValue(idShortPath));
 	}
 
 	@Override
@@ -124,6 +142,22 @@ public class DelegatingSubmodelAPI implements ISubmodelAPI {
 		delegationProvider.handleSubmodel(submodel);
 
 		submodel.getSubmodelElements().values().stream().forEach(decoratedSubmodelAPI::addSubmodelElement);
+		submodel.getSubmodelElements().values().stream().forEach(elem -> addDelegationUrls(elem.getIdShort(), elem));
+	}
+
+	private void addDelegationUrls(String idShortPath, ISubmodelElement elem) {
+		String path = VABPathTools.stripSlashes(idShortPath);
+		delegationUrls.keySet().removeIf(p -> isSameOrChildPath(p, path));
+		delegationUrls.putAll(PropertyDelegationManager.getDelegationUrls(elem, path));
+	}
+
+	private Collection<String> getDelegationUrls(String idShortPath) {
+		String path = VABPathTools.stripSlashes(idShortPath);
+		return delegationUrls.entrySet().stream().filter(e -> isSameOrChildPath(e.getKey(), path)).map(Map.Entry::getValue).collect(Collectors.toList());
+	}
+
+	private static boolean isSameOrChildPath(String path, String parentPath) {
+		return path.equals(parentPath) || path.startsWith(parentPath + "/");
 	}
 	
 	private void handleUpdateSubmodelElementValueRequest(SubmodelElement submodelElement) {
@@ -150,4 +184,14 @@ public class DelegatingSubmodelAPI implements ISubmodelAPI {
 	public void uploadSubmodelElementFile(String idShortPath, InputStream fileStream) {
 		decoratedSubmodelAPI.uploadSubmodelElementFile(idShortPath, fileStream);
 	}
+
+	@Override
+	public Object getSubmodelElementHistory(String idShortPath, long from, long to, int buckets) {
+		return decoratedSubmodelAPI.getSubmodelElementHistory(idShortPath, from, to, buckets);
+	}
+
+	@Override
+	public SubmodelValueDelta getSubmodelValuesSince(long version) {
+		return decoratedSubmodelAPI.getSubmodelValuesSince(version);
+	}
 }
@@ -24,23 +24,26 @@
  ******************************************************************************/
 package org.eclipse.basyx.extensions.submodel.delegation;
 
-import java.net.MalformedURLException;
-import java.net.URL;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
 import org.eclipse.basyx.submodel.metamodel.api.qualifier.qualifiable.IConstraint;
 import org.eclipse.basyx.submodel.metamodel.api.qualifier.qualifiable.IQualifier;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
 import org.eclipse.basyx.submodel.metamodel.map.qualifier.qualifiable.Qualifier;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElement;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.AASLambdaPropertyHelper;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.valuetype.ValueType;
-import org.eclipse.basyx.vab.exception.provider.ProviderException;
-import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
 import org.eclipse.basyx.vab.protocol.api.ConnectorFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Checks and manages Property with delegation
@@ -48,9 +51,15 @@ import org.eclipse.basyx.vab.protocol.api.ConnectorFactory;
  * @author danish
  */
 public class PropertyDelegationManager {
+	private static Logger logger = LoggerFactory.getLogger(PropertyDelegationManager.class);
+
 	private static final String DELEGATION_TYPE = "delegatedTo";
+	private static final String DELEGATION_MAX_AGE_TYPE = "delegationMaxAge";
+
+	private DelegatedValueLoader valueLoader;
 
-	private ConnectorFactory connectorProvider;
+	// Maximum cache age of the values of all configured delegation URLs
+	private Map<String, Long> maxAges = new ConcurrentHashMap<>();
 
 	/**
 	 * Initializes the connectorProvider, which is used for communicating
@@ -59,7 +68,20 @@ public class PropertyDelegationManager {
 	 * @param connectorProvider
 	 */
 	public PropertyDelegationManager(ConnectorFactory connectorProvider) {
-		this.connectorProvider = connectorProvider;
+		this(connectorProvider, DelegatedValueLoader.DEFAULT_WAIT_TIMEOUT);
+	}
+
+	/**
+	 * Initializes the connectorProvider, which is used for communicating with the
+	 * delegated endpoint
+	 * 
+	 * @param connectorProvider
+	 * @param waitTimeout
+	 *            maximum time in milliseconds a read waits for a delegated value
+	 *            that is fetched by another request
+	 */
+	public PropertyDelegationManager(ConnectorFactory connectorProvider, long waitTimeout) {
+		this.valueLoader = new DelegatedValueLoader(connectorProvider, waitTimeout);
 	}
 
 	/**
@@ -99,6 +121,79 @@ public class PropertyDelegationManager {
 		return qualifier;
 	}
 	
+	/**
+	 * Creates a qualifier that allows to return cached values of a delegated
+	 * property up to the given age instead of querying the delegation endpoint
+	 * on every read
+	 * 
+	 * @param maxAgeMillis
+	 *            - maximum age of a returned value in milliseconds
+	 */
+	public static IQualifier createDelegationMaxAgeQualifier(long maxAgeMillis) {
+		Qualifier qualifier = new Qualifier(DELEGATION_MAX_AGE_TYPE, ValueType.Int64);
+		qualifier.setValue(maxAgeMillis);
+
+		return qualifier;
+	}
+
+	/**
+	 * Checks if the provided qualifier is of delegationMaxAge type
+	 * 
+	 * @param iConstraint
+	 * @return
+	 */
+	public static boolean isDelegationMaxAgeQualifier(IConstraint iConstraint) {
+		return iConstraint instanceof Qualifier && ((Qualifier) iConstraint).getType().equals(DELEGATION_MAX_AGE_TYPE);
+	}
+
+	/**
+	 * Collects the delegation URLs of the delegated properties contained in the
+	 * given submodel element
+	 * 
+	 * @param submodelElement
+	 * @param idShortPath
+	 *            - the idShort path of the submodel element
+	 * @return the delegation URLs mapped by the idShort paths of their properties
+	 */
+	public static Map<String, String> getDelegationUrls(ISubmodelElement submodelElement, String idShortPath) {
+		Map<String, String> delegationUrls = new LinkedHashMap<>();
+		collectDelegationUrls(submodelElement, idShortPath, delegationUrls);
+		return delegationUrls;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void collectDelegationUrls(ISubmodelElement submodelElement, String idShortPath, Map<String, String> delegationUrls) {
+		Map<String, Object> map = (Map<String, Object>) submodelElement;
+		if (Property.isProperty(map)) {
+			getDelegationQualifier(submodelElement).ifPresent(q -> delegationUrls.put(idShortPath, q.getValue().toString()));
+		} else if (SubmodelElementCollection.isSubmodelElementCollection(map)) {
+			for (ISubmodelElement child : SubmodelElementCollection.createAsFacade(map).getSubmodelElements().values()) {
+				collectDelegationUrls(child, idShortPath + "/" + child.getIdShort(), delegationUrls);
+			}
+		}
+	}
+
+	/**
+	 * Executes a read of delegated properties. The values of the given delegation
+	 * URLs are fetched grouped by their host in parallel to the read, so that a
+	 * read of multiple delegated properties only waits once for every host.
+	 * 
+	 * @param delegationUrls
+	 *            - the delegation URLs of the properties accessed by the read
+	 * @param read
+	 *            - the read to execute
+	 * @return the result of the read
+	 */
+	public <T> T readWithPrefetch(Collection<String> delegationUrls, Supplier<T> read) {
+		if (delegationUrls.size() < 2) {
+			return read.get();
+		}
+
+		Map<String, Long> urlMaxAges = new LinkedHashMap<>();
+		delegationUrls.forEach(url -> urlMaxAges.put(url, maxAges.getOrDefault(url, 0L)));
+		return valueLoader.readWithPrefetch(urlMaxAges, read);
+	}
+
 	/**
 	 * Checks if the provided qualifier is of delegatedTo type
 	 * 
@@ -115,35 +210,44 @@ public class PropertyDelegationManager {
 	}
 
 	private void handleProperty(Property property) {
-		Collection<IConstraint> qualifiers = property.getQualifiers();
-		Optional<IConstraint> optionalConstraint = qualifiers.stream().filter(PropertyDelegationManager::isDelegationQualifier).findAny();
+		Optional<Qualifier> optionalConstraint = getDelegationQualifier(property);
 
 		if (optionalConstraint.isEmpty())
 			return;
 
-		Qualifier delegationQualifier = (Qualifier) optionalConstraint.get();
+		Qualifier delegationQualifier = optionalConstraint.get();
 		configureDelegationProperty(property, delegationQualifier);
 	}
 
+	private static Optional<Qualifier> getDelegationQualifier(ISubmodelElement submodelElement) {
+		Collection<IConstraint> qualifiers = submodelElement.getQualifiers();
+		return qualifiers.stream().filter(PropertyDelegationManager::isDelegationQualifier).map(Qualifier.class::cast).findAny();
+	}
+
 	private void configureDelegationProperty(SubmodelElement submodelElement, IConstraint iConstraint) {
 		String delegatedTo = ((Qualifier) iConstraint).getValue().toString();
+		long maxAge = getMaxAge(submodelElement);
+		maxAges.put(delegatedTo, maxAge);
 
-		AASLambdaPropertyHelper.setLambdaValue((Property) submodelElement, () -> getPropertyValue(delegatedTo), null);
+		AASLambdaPropertyHelper.setLambdaValue((Property) submodelElement, () -> valueLoader.getValue(delegatedTo, maxAge), null);
 	}
 
-	private Object getPropertyValue(String delegatedTo) {
-		try {
-			URL url = new URL(delegatedTo);
-			String address = createAddressFromURL(url);
-			IModelProvider connector = connectorProvider.create(address);
-			return connector.getValue(url.getPath());
-		} catch (MalformedURLException e) {
-			throw new ProviderException(e);
+	private long getMaxAge(SubmodelElement submodelElement) {
+		Optional<IConstraint> maxAgeQualifier = submodelElement.getQualifiers().stream().filter(PropertyDelegationManager::isDelegationMaxAgeQualifier).findAny();
+		if (maxAgeQualifier.isEmpty()) {
+			return 0;
+		}
+
+		Object maxAge = ((Qualifier) maxAgeQualifier.get()).getValue();
+		if (maxAge instanceof Number) {
+			return ((Number) maxAge).longValue();
 		}
-	}
 
-	private String createAddressFromURL(URL url) {
-		return url.getProtocol() + "://" + url.getHost() + ":"
-				+ (url.getPort() != -1 ? Integer.toString(url.getPort()) : "");
+		try {
+			return Long.parseLong(String.valueOf(maxAge).trim());
+		} catch (NumberFormatException e) {
+			logger.warn("Invalid " + DELEGATION_MAX_AGE_TYPE + " '" + maxAge + "' of " + submodelElement.getIdShort() + ", values are not cached");
+			return 0;
+		}
 	}
 }
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.submodel.delta;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOperation;
+import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelElementPage;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelElementQuery;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelValueDelta;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.modelprovider.VABPathTools;
+
+/**
+ * Implementation variant for the SubmodelAPI that versions the submodel and
+ * records its changes in a {@link SubmodelChangeLog}. This allows mirrors to
+ * only fetch the values that changed since their last synchronization.<br>
+ * Only changes made through this API are tracked, e.g. values changed by
+ * operations or lambda-backed values are not detected.
+ */
+public class ChangeTrackingSubmodelAPI implements ISubmodelAPI {
+	private ISubmodelAPI decoratedSubmodelAPI;
+	private SubmodelChangeLog changeLog;
+
+	public ChangeTrackingSubmodelAPI(ISubmodelAPI decoratedSubmodelAPI) {
+		this(decoratedSubmodelAPI, new SubmodelChangeLog());
+	}
+
+	public ChangeTrackingSubmodelAPI(ISubmodelAPI decoratedSubmodelAPI, SubmodelChangeLog changeLog) {
+		this.decoratedSubmodelAPI = decoratedSubmodelAPI;
+		this.changeLog = changeLog;
+	}
+
+	@Override
+	public ISubmodel getSubmodel() {
+		return decoratedSubmodelAPI.getSubmodel();
+	}
+
+	@Override
+	public void addSubmodelElement(ISubmodelElement elem) {
+		decoratedSubmodelAPI.addSubmodelElement(elem);
+		changeLog.recordUpdate(elem.getIdShort());
+	}
+
+	@Override
+	public void addSubmodelElement(String idShortPath, ISubmodelElement elem) {
+		decoratedSubmodelAPI.addSubmodelElement(idShortPath, elem);
+		changeLog.recordUpdate(VABPathTools.stripSlashes(idShortPath));
+	}
+
+	@Override
+	public ISubmodelElement getSubmodelElement(String idShortPath) {
+		return decoratedSubmodelAPI.getSubmodelElement(idShortPath);
+	}
+
+	@Override
+	public void deleteSubmodelElement(String idShortPath) {
+		decoratedSubmodelAPI.deleteSubmodelElement(idShortPath);
+		changeLog.recordDeletion(VABPathTools.stripSlashes(idShortPath));
+	}
+
+	@Override
+	public Collection<IOperation> getOperations() {
+		return decoratedSubmodelAPI.getOperations();
+	}
+
+	@Override
+	public Collection<ISubmodelElement> getSubmodelElements() {
+		return decoratedSubmodelAPI.getSubmodelElements();
+	}
+
+	@Override
+	public SubmodelElementPage getSubmodelElements(SubmodelElementQuery query) {
+		return decoratedSubmodelAPI.getSubmodelElements(query);
+	}
+
+	@Override
+	public void updateSubmodelElement(String idShortPath, Object newValue) {
+		decoratedSubmodelAPI.updateSubmodelElement(idShortPath, newValue);
+		changeLog.recordUpdate(VABPathTools.stripSlashes(idShortPath));
+	}
+
+	@Override
+	public Object getSubmodelElementValue(String idShortPath) {
+		return decoratedSubmodelAPI.getSubmodelElementValue(idShortPath);
+	}
+
+	@Override
+	public Object invokeOperation(String idShortPath, Object... params) {
+		return decoratedSubmodelAPI.invokeOperation(idShortPath, params);
+	}
+
+	@Override
+	public Object invokeAsync(String idShortPath, Object... params) {
+		return decoratedSubmodelAPI.invokeAsync(idShortPath, params);
+	}
+
+	@Override
+	public Object getOperationResult(String idShort, String requestId) {
+		return decoratedSubmodelAPI.getOperationResult(idShort, requestId);
+	}
+
+	@Override
+	public File getSubmodelElementFile(String idShortPath) {
+		return decoratedSubmodelAPI.getSubmodelElementFile(idShortPath);
+	}
+
+	@Override
+	public void uploadSubmodelElementFile(String idShortPath, InputStream fileStream) {
+		decoratedSubmodelAPI.uploadSubmodelElementFile(idShortPath, fileStream);
+		changeLog.recordUpdate(VABPathTools.stripSlashes(idShortPath));
+	}
+
+	@Override
+	public Object getSubmodelElementHistory(String idShortPath, long from, long to, int buckets) {
+		return decoratedSubmodelAPI.getSubmodelElementHistory(idShortPath, from, to, buckets);
+	}
+
+	@Override
+	public SubmodelValueDelta getSubmodelValuesSince(long version) {
+		SubmodelChangeLog.Changes changes = changeLog.getChangesSince(version);
+		if (changes == null) {
+			// The version is read before the values, thus a concurrent change is
+			// at worst delivered twice
+			long currentVersion = changeLog.getVersion();
+			return SubmodelValueDelta.createFullResync(currentVersion, decoratedSubmodelAPI.getSubmodel().getValues());
+		}
+
+		Map<String, Object> changed = new LinkedHashMap<>();
+		List<String> deleted = new ArrayList<>(changes.getDeleted());
+		for (String idShortPath : changes.getUpdated()) {
+			try {
+				changed.put(idShortPath, decoratedSubmodelAPI.getSubmodelElementValue(idShortPath));
+			} catch (ResourceNotFoundException e) {
+				// Deleted concurrently, the deletion is contained in the next delta
+			}
+		}
+		return SubmodelValueDelta.createDelta(changes.getVersion(), changed, deleted);
+	}
+}
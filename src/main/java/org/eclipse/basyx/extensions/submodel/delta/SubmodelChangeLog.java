@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.submodel.delta;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bounded log of the changes of a submodel. Every change increments the
+ * version of the submodel. Only the latest changes are kept, thus the changes
+ * since an older version can not be determined anymore.<br>
+ * The versions of a log start at a random epoch in their upper bits. Thus, a
+ * version obtained from another log, e.g. before the submodel was replaced or
+ * the server restarted, is not accepted and leads to a full resync instead of
+ * a delta against a different history.
+ */
+public class SubmodelChangeLog {
+	public static final int DEFAULT_CAPACITY = 1000;
+
+	private final int capacity;
+	private final Deque<Change> changes = new ArrayDeque<>();
+
+	private static final int EPOCH_SHIFT = 32;
+
+	private long version;
+
+	// Oldest version the changes are completely known for
+	private long oldestVersion;
+
+	public SubmodelChangeLog() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param capacity
+	 *            maximum number of changes kept
+	 */
+	public SubmodelChangeLog(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("The capacity has to be positive, but was " + capacity);
+		}
+		this.capacity = capacity;
+
+		long epoch = ThreadLocalRandom.current().nextInt(1, Integer.MAX_VALUE);
+		this.version = epoch << EPOCH_SHIFT;
+		this.oldestVersion = version;
+	}
+
+	/**
+	 * Records that an element was added or updated
+	 * 
+	 * @return the new version
+	 */
+	public synchronized long recordUpdate(String idShortPath) {
+		return record(idShortPath, false);
+	}
+
+	/**
+	 * Records that an element was deleted
+	 * 
+	 * @return the new version
+	 */
+	public synchronized long recordDeletion(String idShortPath) {
+		return record(idShortPath, true);
+	}
+
+	public synchronized long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Collects the changes since the given version. Multiple changes of the same
+	 * element are merged and the deletion of a collection covers the changes of
+	 * its children.
+	 * 
+	 * @param since
+	 *            the version of a previous call
+	 * @return the changes, or null if they are not known completely or the
+	 *         version belongs to another log
+	 */
+	public synchronized Changes getChangesSince(long since) {
+		if (since < oldestVersion || since > version) {
+			return null;
+		}
+
+		Set<String> updated = new LinkedHashSet<>();
+		Set<String> deleted = new LinkedHashSet<>();
+		for (Change change : changes) {
+			if (change.version <= since) {
+				continue;
+			}
+
+			if (change.deletion) {
+				updated.removeIf(p -> isSelfOrChild(p, change.idShortPath));
+				deleted.removeIf(p -> isSelfOrChild(p, change.idShortPath));
+				deleted.add(change.idShortPath);
+			} else {
+				deleted.remove(change.idShortPath);
+				updated.add(change.idShortPath);
+			}
+		}
+		return new Changes(version, updated, deleted);
+	}
+
+	private long record(String idShortPath, boolean deletion) {
+		version++;
+		changes.addLast(new Change(version, idShortPath, deletion));
+		if (changes.size() > capacity) {
+			oldestVersion = changes.removeFirst().version;
+		}
+		return version;
+	}
+
+	private static boolean isSelfOrChild(String path, String parentPath) {
+		return path.equals(parentPath) || path.startsWith(parentPath + "/");
+	}
+
+	private static class Change {
+		private final long version;
+		private final String idShortPath;
+		private final boolean deletion;
+
+		private Change(long version, String idShortPath, boolean deletion) {
+			this.version = version;
+			this.idShortPath = idShortPath;
+			this.deletion = deletion;
+		}
+	}
+
+	/**
+	 * The merged changes since a version
+	 */
+	public static class Changes {
+		private final long version;
+		private final Set<String> updated;
+		private final Set<String> deleted;
+
+		private Changes(long version, Set<String> updated, Set<String> deleted) {
+			this.version = version;
+			this.updated = updated;
+			this.deleted = deleted;
+		}
+
+		/**
+		 * @return the version the changes lead to
+		 */
+		public long getVersion() {
+			return version;
+		}
+
+		/**
+		 * @return the idShort paths of the added or updated elements
+		 */
+		public Set<String> getUpdated() {
+			return Collections.unmodifiableSet(updated);
+		}
+
+		/**
+		 * @return the idShort paths of the deleted elements
+		 */
+		public Set<String> getDeleted() {
+			return Collections.unmodifiableSet(deleted);
+		}
+	}
+}
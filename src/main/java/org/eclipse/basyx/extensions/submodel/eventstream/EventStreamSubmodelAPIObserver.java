@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.submodel.eventstream;
+
+import org.eclipse.basyx.extensions.submodel.eventstream.SubmodelChangeEvent.Type;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
+import org.eclipse.basyx.submodel.restapi.observing.ISubmodelAPIObserverV2;
+
+/**
+ * Observer publishing the changes of an ObservableSubmodelAPIV2 to a
+ * {@link SubmodelEventBroker}
+ * 
+ */
+public class EventStreamSubmodelAPIObserver implements ISubmodelAPIObserverV2 {
+	private final SubmodelEventBroker broker;
+
+	public EventStreamSubmodelAPIObserver(SubmodelEventBroker broker) {
+		this.broker = broker;
+	}
+
+	@Override
+	public void elementAdded(String idShortPath, Object newValue, String aasId, String submodelId, String repoId) {
+		broker.publish(new SubmodelChangeEvent(Type.ADDED, submodelId, idShortPath, newValue));
+	}
+
+	@Override
+	public void elementDeleted(String idShortPath, ISubmodelElement submodelElement, String aasId, String submodelId, String repoId) {
+		broker.publish(new SubmodelChangeEvent(Type.DELETED, submodelId, idShortPath, null));
+	}
+
+	@Override
+	public void elementUpdated(String idShortPath, ISubmodelElement submodelElement, String aasId, String submodelId, String repoId) {
+		broker.publish(new SubmodelChangeEvent(Type.UPDATED, submodelId, idShortPath, submodelElement));
+	}
+
+	@Override
+	public void elementValue(String idShortPath, Object value, String aasId, String submodelId, String repoId) {
+		broker.publish(new SubmodelChangeEvent(Type.VALUE, submodelId, idShortPath, value));
+	}
+}
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.submodel.eventstream;
+
+import java.util.function.Predicate;
+
+import org.eclipse.basyx.extensions.shared.authorization.internal.InhibitException;
+
+/**
+ * Authorizes the subscriptions of a {@link SubmodelEventStreamServlet}. The
+ * subscription is checked once when the client connects, the returned filter
+ * is applied to every event before it is buffered for the subscriber.
+ *
+ * @param <SubjectInformationType>
+ *            type of the subject information
+ */
+public interface ISubmodelEventStreamAuthorizer<SubjectInformationType> {
+	/**
+	 * Checks authorization for subscribing to the changes of a submodel.
+	 *
+	 * @param subjectInformation
+	 *            information of the requester.
+	 * @param submodelId
+	 *            id of the submodel.
+	 * @param pathPrefix
+	 *            idShortPath prefix of the observed elements, empty for the
+	 *            whole submodel.
+	 * @return the filter deciding which events are delivered to the subscriber.
+	 *         It is called on the publishing thread.
+	 * @throws InhibitException
+	 *             if authorization failed
+	 */
+	public Predicate<SubmodelChangeEvent> authorizeSubscribe(final SubjectInformationType subjectInformation, final String submodelId, final String pathPrefix) throws InhibitException;
+}
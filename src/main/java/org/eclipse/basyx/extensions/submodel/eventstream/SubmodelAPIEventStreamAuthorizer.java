@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.submodel.eventstream;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.eclipse.basyx.extensions.shared.authorization.internal.InhibitException;
+import org.eclipse.basyx.extensions.submodel.authorization.internal.ISubmodelAPIAuthorizer;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
+import org.eclipse.basyx.submodel.metamodel.api.reference.IReference;
+import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
+
+/**
+ * Implementation of {@link ISubmodelEventStreamAuthorizer} applying the read
+ * permissions of an {@link ISubmodelAPIAuthorizer}. A subscription requires
+ * the permission to get the submodel or, if restricted to a path, the element
+ * at this path. An event is only delivered if the subscriber may get the value
+ * of the changed element.
+ *
+ * @param <SubjectInformationType>
+ *            type of the subject information
+ */
+public class SubmodelAPIEventStreamAuthorizer<SubjectInformationType> implements ISubmodelEventStreamAuthorizer<SubjectInformationType> {
+	protected final ISubmodelAPIAuthorizer<SubjectInformationType> submodelAPIAuthorizer;
+	protected final Function<String, IReference> semanticIdResolver;
+
+	/**
+	 * @param submodelAPIAuthorizer
+	 *            the read permissions are checked with
+	 * @param semanticIdResolver
+	 *            returns the semanticId of the submodel with the given id, as
+	 *            rules may be restricted to semanticIds
+	 */
+	public SubmodelAPIEventStreamAuthorizer(final ISubmodelAPIAuthorizer<SubjectInformationType> submodelAPIAuthorizer, final Function<String, IReference> semanticIdResolver) {
+		this.submodelAPIAuthorizer = submodelAPIAuthorizer;
+		this.semanticIdResolver = semanticIdResolver;
+	}
+
+	@Override
+	public Predicate<SubmodelChangeEvent> authorizeSubscribe(final SubjectInformationType subjectInformation, final String submodelId, final String pathPrefix) throws InhibitException {
+		final IIdentifier smId = new Identifier(IdentifierType.CUSTOM, submodelId);
+		final IReference smSemanticId = semanticIdResolver.apply(submodelId);
+
+		if (pathPrefix == null || pathPrefix.isEmpty()) {
+			submodelAPIAuthorizer.authorizeGetSubmodel(subjectInformation, null, smId, smSemanticId, () -> null);
+		} else {
+			submodelAPIAuthorizer.authorizeGetSubmodelElement(subjectInformation, null, smId, smSemanticId, pathPrefix, () -> null);
+		}
+
+		return event -> {
+			try {
+				submodelAPIAuthorizer.authorizeGetSubmodelElementValue(subjectInformation, null, smId, smSemanticId, event.getIdShortPath(), () -> null);
+				return true;
+			} catch (final InhibitException e) {
+				return false;
+			}
+		};
+	}
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.submodel.eventstream;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Change of a SubmodelElement as streamed to subscribers
+ * 
+ */
+public class SubmodelChangeEvent {
+	public static final String TYPE = "type";
+	public static final String SUBMODEL_ID = "submodelId";
+	public static final String IDSHORTPATH = "idShortPath";
+	public static final String VALUE = "value";
+	public static final String TIMESTAMP = "timestamp";
+
+	public enum Type {
+		ADDED, UPDATED, DELETED, VALUE, OVERFLOW;
+
+		public String getName() {
+			return name().toLowerCase();
+		}
+	}
+
+	private final Type type;
+	private final String submodelId;
+	private final String idShortPath;
+	private final Object value;
+	private final long timestamp;
+
+	public SubmodelChangeEvent(Type type, String submodelId, String idShortPath, Object value) {
+		this(type, submodelId, idShortPath, value, System.currentTimeMillis());
+	}
+
+	public SubmodelChangeEvent(Type type, String submodelId, String idShortPath, Object value, long timestamp) {
+		this.type = type;
+		this.submodelId = submodelId;
+		this.idShortPath = idShortPath;
+		this.value = value;
+		this.timestamp = timestamp;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public String getSubmodelId() {
+		return submodelId;
+	}
+
+	public String getIdShortPath() {
+		return idShortPath;
+	}
+
+	public Object getValue() {
+		return value;
+	}
+
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	/**
+	 * Indicates if a later event of the same element supersedes this event. Only
+	 * the latest value and state of an element are of interest, while additions
+	 * and deletions have to be delivered.
+	 */
+	public boolean isConflatable() {
+		return type == Type.VALUE || type == Type.UPDATED;
+	}
+
+	/**
+	 * Returns the map representation that is sent to the subscribers
+	 */
+	public Map<String, Object> toMap() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put(TYPE, type.getName());
+		map.put(SUBMODEL_ID, submodelId);
+		map.put(IDSHORTPATH, idShortPath);
+		map.put(VALUE, value);
+		map.put(TIMESTAMP, timestamp);
+		return map;
+	}
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.submodel.eventstream;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+/**
+ * Distributes submodel change events to the subscriptions they match. Shared
+ * between the {@link EventStreamSubmodelAPIObserver}s publishing the events and
+ * the {@link SubmodelEventStreamServlet} delivering them.
+ * 
+ */
+public class SubmodelEventBroker {
+	public static final int DEFAULT_CAPACITY = 1024;
+
+	private final List<SubmodelEventSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Subscribes to the changes of a submodel with the default buffer capacity
+	 */
+	public SubmodelEventSubscription subscribe(String submodelId, String pathPrefix) {
+		return subscribe(submodelId, pathPrefix, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Subscribes to the changes of a submodel
+	 * 
+	 * @param submodelId
+	 *            id of the submodel
+	 * @param pathPrefix
+	 *            idShortPath prefix of the elements; null or empty for all
+	 * @param capacity
+	 *            maximum number of buffered events
+	 * @return the subscription to drain the events from
+	 */
+	public SubmodelEventSubscription subscribe(String submodelId, String pathPrefix, int capacity) {
+		return subscribe(submodelId, pathPrefix, capacity, event -> true);
+	}
+
+	/**
+	 * Subscribes to the changes of a submodel that pass a filter
+	 * 
+	 * @param submodelId
+	 *            id of the submodel
+	 * @param pathPrefix
+	 *            idShortPath prefix of the elements; null or empty for all
+	 * @param capacity
+	 *            maximum number of buffered events
+	 * @param filter
+	 *            decides which of the matching events are delivered, e.g. by
+	 *            the permissions of the subscriber
+	 * @return the subscription to drain the events from
+	 */
+	public SubmodelEventSubscription subscribe(String submodelId, String pathPrefix, int capacity, Predicate<SubmodelChangeEvent> filter) {
+		SubmodelEventSubscription subscription = new SubmodelEventSubscription(submodelId, pathPrefix, capacity, filter);
+		subscriptions.add(subscription);
+		return subscription;
+	}
+
+	public void unsubscribe(SubmodelEventSubscription subscription) {
+		subscriptions.remove(subscription);
+	}
+
+	public void publish(SubmodelChangeEvent event) {
+		for (SubmodelEventSubscription subscription : subscriptions) {
+			if (subscription.matches(event)) {
+				subscription.offer(event);
+			}
+		}
+	}
+
+	public int getSubscriptionCount() {
+		return subscriptions.size();
+	}
+}
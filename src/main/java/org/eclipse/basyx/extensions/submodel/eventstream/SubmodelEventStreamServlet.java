@@ -0,0 +1,346 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.submodel.eventstream;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.basyx.extensions.shared.authorization.internal.ISubjectInformationProvider;
+import org.eclipse.basyx.extensions.shared.authorization.internal.InhibitException;
+import org.eclipse.basyx.vab.modelprovider.VABPathTools;
+import org.eclipse.basyx.vab.protocol.http.server.BasysHTTPServlet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Streams the changes of a submodel as Server-Sent Events. Clients subscribe
+ * with <i>GET {mapping}/{encoded submodelId}?path={idShortPath prefix}</i> and
+ * receive <i>added</i>, <i>updated</i>, <i>deleted</i> and <i>value</i> events
+ * with a JSON payload. <br>
+ * <br>
+ * Requests are handled asynchronously, so subscribers do not occupy a server
+ * thread. Pending events are flushed periodically; value updates of the same
+ * element within a flush interval are conflated. If a subscriber falls behind
+ * by more than the buffer capacity, it receives an <i>overflow</i> event and
+ * should re-read the submodel. <br>
+ * <br>
+ * Events are written with non-blocking I/O, so a slow subscriber does not
+ * delay the others. A subscriber that does not accept data within the write
+ * timeout is disconnected. <br>
+ * <br>
+ * If an {@link ISubmodelEventStreamAuthorizer} is set, subscriptions it
+ * rejects are answered with 403 and every subscriber only receives the events
+ * the authorizer lets pass for its subject.
+ * 
+ */
+public class SubmodelEventStreamServlet extends BasysHTTPServlet {
+	private static final long serialVersionUID = 1L;
+	private static Logger logger = LoggerFactory.getLogger(SubmodelEventStreamServlet.class);
+
+	public static final String MEDIA_TYPE = "text/event-stream";
+	public static final String PATH_PARAMETER = "path";
+	public static final long DEFAULT_FLUSH_INTERVAL = 100;
+	public static final long DEFAULT_HEARTBEAT_INTERVAL = 15000;
+	public static final long DEFAULT_WRITE_TIMEOUT = 30000;
+
+	private final transient SubmodelEventBroker broker;
+	private final int capacity;
+	private final long flushIntervalMillis;
+	private final long heartbeatIntervalMillis;
+	private final long writeTimeoutMillis;
+
+	private transient SubscriptionAuthorizer subscriptionAuthorizer = (submodelId, pathPrefix) -> event -> true;
+
+	private final transient Set<EventStream> streams = ConcurrentHashMap.newKeySet();
+	private transient ScheduledExecutorService scheduler;
+
+	public SubmodelEventStreamServlet(SubmodelEventBroker broker) {
+		this(broker, SubmodelEventBroker.DEFAULT_CAPACITY, DEFAULT_FLUSH_INTERVAL, DEFAULT_HEARTBEAT_INTERVAL);
+	}
+
+	/**
+	 * @param broker
+	 *            the events are taken from
+	 * @param capacity
+	 *            maximum number of pending events per subscriber
+	 * @param flushIntervalMillis
+	 *            interval in which pending events are sent to the subscribers
+	 * @param heartbeatIntervalMillis
+	 *            idle time after which a comment is sent to keep the connection
+	 *            open
+	 */
+	public SubmodelEventStreamServlet(SubmodelEventBroker broker, int capacity, long flushIntervalMillis, long heartbeatIntervalMillis) {
+		this(broker, capacity, flushIntervalMillis, heartbeatIntervalMillis, DEFAULT_WRITE_TIMEOUT);
+	}
+
+	/**
+	 * @param broker
+	 *            the events are taken from
+	 * @param capacity
+	 *            maximum number of pending events per subscriber
+	 * @param flushIntervalMillis
+	 *            interval in which pending events are sent to the subscribers
+	 * @param heartbeatIntervalMillis
+	 *            idle time after which a comment is sent to keep the connection
+	 *            open
+	 * @param writeTimeoutMillis
+	 *            time after which a subscriber that does not accept written
+	 *            data is disconnected
+	 */
+	public SubmodelEventStreamServlet(SubmodelEventBroker broker, int capacity, long flushIntervalMillis, long heartbeatIntervalMillis, long writeTimeoutMillis) {
+		this.broker = broker;
+		this.capacity = capacity;
+		this.flushIntervalMillis = flushIntervalMillis;
+		this.heartbeatIntervalMillis = heartbeatIntervalMillis;
+		this.writeTimeoutMillis = writeTimeoutMillis;
+	}
+
+	/**
+	 * Authorizes the subscriptions for the subject of the subscribing request.
+	 * The subject is determined once per subscription, while its events are
+	 * filtered on the publishing thread.
+	 * 
+	 * @param authorizer
+	 *            checks the subscriptions and filters their events
+	 * @param subjectInformationProvider
+	 *            provides the subject of the current request
+	 */
+	public <SubjectInformationType> void setAuthorizer(ISubmodelEventStreamAuthorizer<SubjectInformationType> authorizer, ISubjectInformationProvider<SubjectInformationType> subjectInformationProvider) {
+		this.subscriptionAuthorizer = (submodelId, pathPrefix) -> authorizer.authorizeSubscribe(subjectInformationProvider.get(), submodelId, pathPrefix);
+	}
+
+	@Override
+	public void init() throws ServletException {
+		super.init();
+		scheduler = Executors.newSingleThreadScheduledExecutor(r -> createDaemon(r, "eventstream-flush"));
+		scheduler.scheduleWithFixedDelay(this::flushAll, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void destroy() {
+		scheduler.shutdownNow();
+		streams.forEach(EventStream::close);
+		super.destroy();
+	}
+
+	private static Thread createDaemon(Runnable r, String name) {
+		Thread thread = new Thread(r, name);
+		thread.setDaemon(true);
+		return thread;
+	}
+
+	@Override
+	protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+		String submodelId = extractSubmodelId(req);
+		if (submodelId.isEmpty()) {
+			resp.setStatus(400);
+			return;
+		}
+
+		String pathPrefix = req.getParameter(PATH_PARAMETER);
+		Predicate<SubmodelChangeEvent> filter;
+		try {
+			filter = subscriptionAuthorizer.authorize(submodelId, pathPrefix == null ? "" : VABPathTools.stripSlashes(pathPrefix));
+		} catch (InhibitException e) {
+			logger.debug("Rejected subscription to submodel '{}': {}", submodelId, e.getMessage());
+			resp.setStatus(403);
+			return;
+		}
+
+		resp.setStatus(200);
+		resp.setContentType(MEDIA_TYPE);
+		resp.setCharacterEncoding("UTF-8");
+		resp.setHeader("Cache-Control", "no-cache");
+		resp.flushBuffer();
+
+		AsyncContext async = req.startAsync();
+		async.setTimeout(0);
+
+		ServletOutputStream out = resp.getOutputStream();
+		EventStream stream = new EventStream(broker.subscribe(submodelId, pathPrefix, capacity, filter), async, out);
+		async.addListener(stream);
+		streams.add(stream);
+		out.setWriteListener(stream);
+		logger.debug("Subscribed to submodel '{}'", submodelId);
+	}
+
+	@Override
+	protected void doPatch(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+		resp.setStatus(405);
+	}
+
+	/**
+	 * Extracts the submodel id from the raw URI, so that encoded slashes are kept
+	 * inside the id
+	 */
+	private String extractSubmodelId(HttpServletRequest req) {
+		String prefix = req.getContextPath() + req.getServletPath();
+		String encodedId = VABPathTools.stripSlashes(req.getRequestURI().substring(prefix.length()));
+		return VABPathTools.decodePathElement(encodedId);
+	}
+
+	private void flushAll() {
+		long now = System.currentTimeMillis();
+		for (EventStream stream : streams) {
+			if (stream.isDue(now) && stream.writing.compareAndSet(false, true)) {
+				stream.flush(now);
+			}
+		}
+	}
+
+	public int getSubscriberCount() {
+		return streams.size();
+	}
+
+	/**
+	 * Binds an {@link ISubmodelEventStreamAuthorizer} to its subject information
+	 * provider
+	 */
+	private interface SubscriptionAuthorizer {
+		Predicate<SubmodelChangeEvent> authorize(String submodelId, String pathPrefix) throws InhibitException;
+	}
+
+	/**
+	 * Connection of a single subscriber
+	 */
+	private class EventStream implements AsyncListener, WriteListener {
+		private final SubmodelEventSubscription subscription;
+		private final AsyncContext async;
+		private final ServletOutputStream out;
+		private final AtomicBoolean writing = new AtomicBoolean(false);
+		private final AtomicBoolean closed = new AtomicBoolean(false);
+		private volatile long lastWrite = System.currentTimeMillis();
+		private long eventId = 0;
+
+		private EventStream(SubmodelEventSubscription subscription, AsyncContext async, ServletOutputStream out) {
+			this.subscription = subscription;
+			this.async = async;
+			this.out = out;
+		}
+
+		private boolean isDue(long now) {
+			return subscription.hasPending() || now - lastWrite >= heartbeatIntervalMillis;
+		}
+
+		private void flush(long now) {
+			try {
+				if (!out.isReady()) {
+					// The previous write is still pending. Events stay in the subscription
+					// buffer and are sent by onWritePossible
+					if (now - lastWrite >= writeTimeoutMillis) {
+						logger.debug("Dropping slow subscriber of submodel '{}'", subscription.getSubmodelId());
+						close();
+					}
+					return;
+				}
+
+				List<SubmodelChangeEvent> events = subscription.drain();
+				StringBuilder builder = new StringBuilder();
+				if (events.isEmpty()) {
+					builder.append(": keepalive\n\n");
+				}
+				for (SubmodelChangeEvent event : events) {
+					builder.append(format(event));
+				}
+				out.write(builder.toString().getBytes(StandardCharsets.UTF_8));
+				if (out.isReady()) {
+					out.flush();
+				}
+				lastWrite = now;
+			} catch (IOException | IllegalStateException e) {
+				// The client has disconnected
+				logger.debug("Closing event stream of submodel '{}'", subscription.getSubmodelId());
+				close();
+			} finally {
+				writing.set(false);
+			}
+		}
+
+		private String format(SubmodelChangeEvent event) {
+			return "id: " + (eventId++) + "\nevent: " + event.getType().getName() + "\ndata: " + serializer.serialize(event.toMap()) + "\n\n";
+		}
+
+		private void close() {
+			if (!closed.compareAndSet(false, true)) {
+				return;
+			}
+			broker.unsubscribe(subscription);
+			streams.remove(this);
+			try {
+				async.complete();
+			} catch (IllegalStateException e) {
+				// Already completed by the container
+			}
+		}
+
+		@Override
+		public void onWritePossible() {
+			if (subscription.hasPending() && writing.compareAndSet(false, true)) {
+				flush(System.currentTimeMillis());
+			}
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			close();
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			close();
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			close();
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			close();
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+		}
+	}
+}
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.submodel.eventstream;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.eclipse.basyx.extensions.submodel.eventstream.SubmodelChangeEvent.Type;
+import org.eclipse.basyx.vab.modelprovider.VABPathTools;
+
+/**
+ * Subscription to the changes of a submodel, optionally restricted to an
+ * idShortPath prefix. Pending events are kept in a bounded buffer. Value and
+ * update events of the same element are conflated, i.e. only the latest one is
+ * delivered. If the buffer overflows, the oldest events are dropped and an
+ * {@link Type#OVERFLOW} event tells the subscriber to resynchronize. An
+ * optional filter restricts the events to those the subscriber may receive.
+ * 
+ */
+public class SubmodelEventSubscription {
+	private final String submodelId;
+	private final String pathPrefix;
+	private final int capacity;
+	private final Predicate<SubmodelChangeEvent> filter;
+
+	// Keyed by element for conflatable events, otherwise by sequence number
+	private final LinkedHashMap<String, SubmodelChangeEvent> pending = new LinkedHashMap<>();
+	private long sequence = 0;
+	private long dropped = 0;
+	private long conflated = 0;
+
+	/**
+	 * @param submodelId
+	 *            id of the observed submodel
+	 * @param pathPrefix
+	 *            idShortPath prefix of the observed elements; null or empty for
+	 *            the whole submodel
+	 * @param capacity
+	 *            maximum number of pending events
+	 */
+	public SubmodelEventSubscription(String submodelId, String pathPrefix, int capacity) {
+		this(submodelId, pathPrefix, capacity, event -> true);
+	}
+
+	/**
+	 * @param submodelId
+	 *            id of the observed submodel
+	 * @param pathPrefix
+	 *            idShortPath prefix of the observed elements; null or empty for
+	 *            the whole submodel
+	 * @param capacity
+	 *            maximum number of pending events
+	 * @param filter
+	 *            decides which of the matching events are delivered
+	 */
+	public SubmodelEventSubscription(String submodelId, String pathPrefix, int capacity, Predicate<SubmodelChangeEvent> filter) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("The capacity has to be at least 1");
+		}
+		this.submodelId = submodelId;
+		this.pathPrefix = pathPrefix == null ? "" : VABPathTools.stripSlashes(pathPrefix);
+		this.capacity = capacity;
+		this.filter = filter;
+	}
+
+	/**
+	 * Checks if the event belongs to this subscription
+	 */
+	public boolean matches(SubmodelChangeEvent event) {
+		if (!submodelId.equals(event.getSubmodelId())) {
+			return false;
+		}
+		if (!pathPrefix.isEmpty()) {
+			String path = VABPathTools.stripSlashes(event.getIdShortPath());
+			if (!path.equals(pathPrefix) && !path.startsWith(pathPrefix + "/")) {
+				return false;
+			}
+		}
+		return filter.test(event);
+	}
+
+	/**
+	 * Adds an event to the buffer
+	 */
+	public synchronized void offer(SubmodelChangeEvent event) {
+		String key;
+		if (event.isConflatable()) {
+			key = event.getType() + ":" + event.getIdShortPath();
+			// Move to the end to keep the order relative to other events of the element
+			if (pending.remove(key) != null) {
+				conflated++;
+			}
+		} else {
+			key = Long.toString(sequence++);
+		}
+
+		pending.put(key, event);
+
+		if (pending.size() > capacity) {
+			Iterator<String> oldest = pending.keySet().iterator();
+			oldest.next();
+			oldest.remove();
+			dropped++;
+		}
+	}
+
+	/**
+	 * Removes and returns all pending events. If events were dropped since the
+	 * last call, an overflow event carrying their number is prepended.
+	 */
+	public synchronized List<SubmodelChangeEvent> drain() {
+		List<SubmodelChangeEvent> events = new ArrayList<>(pending.size() + 1);
+		if (dropped > 0) {
+			events.add(new SubmodelChangeEvent(Type.OVERFLOW, submodelId, pathPrefix, dropped));
+			dropped = 0;
+		}
+		events.addAll(pending.values());
+		pending.clear();
+		return events;
+	}
+
+	public synchronized boolean hasPending() {
+		return !pending.isEmpty() || dropped > 0;
+	}
+
+	/**
+	 * Returns the number of events that were replaced by a later event of the same
+	 * element
+	 */
+	public synchronized long getConflatedCount() {
+		return conflated;
+	}
+
+	public String getSubmodelId() {
+		return submodelId;
+	}
+
+	public String getPathPrefix() {
+		return pathPrefix;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.submodel.history;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPIFactory;
+
+/**
+ * API provider for constructing a new SubmodelAPI that records the value
+ * history of Properties carrying a history qualifier. If a sampling interval
+ * is given, the created APIs share one thread sampling the values of their
+ * historized Properties.
+ */
+public class HistorizingDecoratingSubmodelAPIFactory implements ISubmodelAPIFactory {
+	private ISubmodelAPIFactory submodelAPIFactory;
+	private ScheduledExecutorService sampler;
+	private long samplingIntervalMillis;
+
+	public HistorizingDecoratingSubmodelAPIFactory(ISubmodelAPIFactory submodelAPIFactory) {
+		this.submodelAPIFactory = submodelAPIFactory;
+	}
+
+	/**
+	 * @param submodelAPIFactory
+	 * @param samplingIntervalMillis
+	 *            interval in which the values of the historized Properties are
+	 *            sampled
+	 */
+	public HistorizingDecoratingSubmodelAPIFactory(ISubmodelAPIFactory submodelAPIFactory, long samplingIntervalMillis) {
+		this(submodelAPIFactory);
+		this.samplingIntervalMillis = samplingIntervalMillis;
+		this.sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "history-sampler");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@Override
+	public ISubmodelAPI getSubmodelAPI(Submodel submodel) {
+		if (sampler == null) {
+			return new HistorizingSubmodelAPI(submodelAPIFactory.create(submodel));
+		}
+		return new HistorizingSubmodelAPI(submodelAPIFactory.create(submodel), sampler, samplingIntervalMillis);
+	}
+
+	/**
+	 * Stops sampling the values of all created APIs
+	 */
+	public void close() {
+		if (sampler != null) {
+			sampler.shutdownNow();
+		}
+	}
+}
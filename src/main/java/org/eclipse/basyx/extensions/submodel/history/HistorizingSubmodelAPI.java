@@ -0,0 +1,295 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.submodel.history;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
+import org.eclipse.basyx.submodel.metamodel.api.qualifier.qualifiable.IConstraint;
+import org.eclipse.basyx.submodel.metamodel.api.qualifier.qualifiable.IQualifier;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOperation;
+import org.eclipse.basyx.submodel.metamodel.map.qualifier.qualifiable.Qualifier;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.valuetype.ValueType;
+import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelElementPage;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelElementQuery;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelValueDelta;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implementation variant for the SubmodelAPI that records the value history of
+ * Properties carrying a history qualifier. Every numeric value set through
+ * {@link #updateSubmodelElement(String, Object)} is added to the bounded
+ * history of the respective Property. <br>
+ * <br>
+ * Values of lambda, delegated or otherwise dynamic Properties change without
+ * such a write. They are recorded by sampling the current values of all
+ * historized Properties, either periodically on a given executor or on each
+ * call of {@link #sampleValues()}.
+ */
+public class HistorizingSubmodelAPI implements ISubmodelAPI {
+	private static Logger logger = LoggerFactory.getLogger(HistorizingSubmodelAPI.class);
+	private static final String HISTORY_TYPE = "history";
+
+	private ISubmodelAPI decoratedSubmodelAPI;
+	private Map<String, PropertyValueHistory> histories = new ConcurrentHashMap<>();
+	private ScheduledFuture<?> sampling;
+
+	/**
+	 * Only records the values written through this API
+	 */
+	public HistorizingSubmodelAPI(ISubmodelAPI decoratedSubmodelAPI) {
+		this.decoratedSubmodelAPI = decoratedSubmodelAPI;
+
+		decoratedSubmodelAPI.getSubmodel().getSubmodelElements().values().forEach(e -> handleSubmodelElement(e.getIdShort(), e));
+	}
+
+	/**
+	 * Additionally samples the values of the historized Properties periodically
+	 * 
+	 * @param decoratedSubmodelAPI
+	 * @param sampler
+	 *            executor running the sampling, may be shared between APIs
+	 * @param samplingIntervalMillis
+	 *            interval in which the values are sampled
+	 */
+	public HistorizingSubmodelAPI(ISubmodelAPI decoratedSubmodelAPI, ScheduledExecutorService sampler, long samplingIntervalMillis) {
+		this(decoratedSubmodelAPI);
+		sampling = sampler.scheduleWithFixedDelay(this::sampleValues, samplingIntervalMillis, samplingIntervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Records the current numeric values of all historized Properties
+	 */
+	public void sampleValues() {
+		long timestamp = System.currentTimeMillis();
+		histories.forEach((idShortPath, history) -> {
+			try {
+				toDouble(decoratedSubmodelAPI.getSubmodelElementValue(idShortPath)).ifPresent(v -> history.add(timestamp, v));
+			} catch (RuntimeException e) {
+				// Keeps sampling the other Properties, e.g. if a delegation target is unavailable
+				logger.debug("Could not sample the value of '" + idShortPath + "'", e);
+			}
+		});
+	}
+
+	/**
+	 * Stops the periodic sampling, if any
+	 */
+	public void close() {
+		if (sampling != null) {
+			sampling.cancel(false);
+		}
+	}
+
+	/**
+	 * Creates a qualifier enabling the value history of a Property
+	 * 
+	 * @param capacity
+	 *            maximum number of samples kept for the Property
+	 */
+	public static IQualifier createHistoryQualifier(int capacity) {
+		Qualifier qualifier = new Qualifier(HISTORY_TYPE, ValueType.Int32);
+		qualifier.setValue(Integer.toString(capacity));
+
+		return qualifier;
+	}
+
+	/**
+	 * Checks if the provided qualifier is of history type
+	 * 
+	 * @param iConstraint
+	 * @return
+	 */
+	public static boolean isHistoryQualifier(IConstraint iConstraint) {
+		return iConstraint instanceof Qualifier && HISTORY_TYPE.equals(((Qualifier) iConstraint).getType());
+	}
+
+	@Override
+	public ISubmodel getSubmodel() {
+		return decoratedSubmodelAPI.getSubmodel();
+	}
+
+	@Override
+	public void addSubmodelElement(ISubmodelElement elem) {
+		decoratedSubmodelAPI.addSubmodelElement(elem);
+		handleSubmodelElement(elem.getIdShort(), elem);
+	}
+
+	@Override
+	public void addSubmodelElement(String idShortPath, ISubmodelElement elem) {
+		decoratedSubmodelAPI.addSubmodelElement(idShortPath, elem);
+		handleSubmodelElement(idShortPath, elem);
+	}
+
+	@Override
+	public ISubmodelElement getSubmodelElement(String idShortPath) {
+		return decoratedSubmodelAPI.getSubmodelElement(idShortPath);
+	}
+
+	@Override
+	public void deleteSubmodelElement(String idShortPath) {
+		decoratedSubmodelAPI.deleteSubmodelElement(idShortPath);
+
+		String childPrefix = idShortPath + "/";
+		histories.keySet().removeIf(p -> p.equals(idShortPath) || p.startsWith(childPrefix));
+	}
+
+	@Override
+	public Collection<IOperation> getOperations() {
+		return decoratedSubmodelAPI.getOperations();
+	}
+
+	@Override
+	public Collection<ISubmodelElement> getSubmodelElements() {
+		return decoratedSubmodelAPI.getSubmodelElements();
+	}
+
+	@Override
+	public SubmodelElementPage getSubmodelElements(SubmodelElementQuery query) {
+		return decoratedSubmodelAPI.getSubmodelElements(query);
+	}
+
+	@Override
+	public void updateSubmodelElement(String idShortPath, Object newValue) {
+		decoratedSubmodelAPI.updateSubmodelElement(idShortPath, newValue);
+
+		PropertyValueHistory history = histories.get(idShortPath);
+		if (history == null) {
+			return;
+		}
+
+		Optional<Double> numericValue = toDouble(newValue);
+		numericValue.ifPresent(v -> history.add(System.currentTimeMillis(), v));
+	}
+
+	@Override
+	public Object getSubmodelElementValue(String idShortPath) {
+		return decoratedSubmodelAPI.getSubmodelElementValue(idShortPath);
+	}
+
+	@Override
+	public Object invokeOperation(String idShortPath, Object... params) {
+		return decoratedSubmodelAPI.invokeOperation(idShortPath, params);
+	}
+
+	@Override
+	public Object invokeAsync(String idShortPath, Object... params) {
+		return decoratedSubmodelAPI.invokeAsync(idShortPath, params);
+	}
+
+	@Override
+	public Object getOperationResult(String idShort, String requestId) {
+		return decoratedSubmodelAPI.getOperationResult(idShort, requestId);
+	}
+
+	@Override
+	public File getSubmodelElementFile(String idShortPath) {
+		return decoratedSubmodelAPI.getSubmodelElementFile(idShortPath);
+	}
+
+	@Override
+	public void uploadSubmodelElementFile(String idShortPath, InputStream fileStream) {
+		decoratedSubmodelAPI.uploadSubmodelElementFile(idShortPath, fileStream);
+	}
+
+	@Override
+	public Object getSubmodelElementHistory(String idShortPath, long from, long to, int buckets) {
+		PropertyValueHistory history = histories.get(idShortPath);
+		if (history == null) {
+			throw new ResourceNotFoundException("No value history is recorded for '" + idShortPath + "'");
+		}
+
+		if (buckets < 0) {
+			throw new MalformedRequestException("The bucket count must not be negative, but was " + buckets);
+		} else if (buckets == 0) {
+			return history.getRange(from, to);
+		} else {
+			return history.getAggregates(from, to, buckets);
+		}
+	}
+
+	@Override
+	public SubmodelValueDelta getSubmodelValuesSince(long version) {
+		return decoratedSubmodelAPI.getSubmodelValuesSince(version);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void handleSubmodelElement(String idShortPath, ISubmodelElement element) {
+		if (Property.isProperty((Map<String, Object>) element)) {
+			handleProperty(idShortPath, element);
+		} else if (SubmodelElementCollection.isSubmodelElementCollection((Map<String, Object>) element)) {
+			SubmodelElementCollection smc = SubmodelElementCollection.createAsFacade((Map<String, Object>) element);
+			smc.getSubmodelElements().values().forEach(e -> handleSubmodelElement(idShortPath + "/" + e.getIdShort(), e));
+		}
+	}
+
+	private void handleProperty(String idShortPath, ISubmodelElement property) {
+		Optional<IConstraint> optionalConstraint = property.getQualifiers().stream().filter(HistorizingSubmodelAPI::isHistoryQualifier).findAny();
+
+		if (optionalConstraint.isEmpty()) {
+			histories.remove(idShortPath);
+			return;
+		}
+
+		int capacity = getCapacity((Qualifier) optionalConstraint.get());
+		histories.put(idShortPath, new PropertyValueHistory(capacity));
+	}
+
+	private int getCapacity(Qualifier historyQualifier) {
+		try {
+			return Integer.parseInt(historyQualifier.getValue().toString());
+		} catch (NumberFormatException | NullPointerException e) {
+			throw new MalformedRequestException("The history qualifier needs the capacity as value, but was '" + historyQualifier.getValue() + "'");
+		}
+	}
+
+	private Optional<Double> toDouble(Object value) {
+		if (value instanceof Number) {
+			return Optional.of(((Number) value).doubleValue());
+		} else if (value instanceof String) {
+			try {
+				return Optional.of(Double.parseDouble((String) value));
+			} catch (NumberFormatException e) {
+				return Optional.empty();
+			}
+		}
+		return Optional.empty();
+	}
+}
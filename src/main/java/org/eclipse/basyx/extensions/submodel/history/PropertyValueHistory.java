@@ -0,0 +1,238 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.submodel.history;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded ring buffer holding the most recent numeric values of a single
+ * Property together with their timestamps. Samples are kept in primitive
+ * arrays, so recording a value does not allocate.
+ */
+public class PropertyValueHistory {
+	public static final String TIMESTAMPS = "timestamps";
+	public static final String VALUES = "values";
+	public static final String MIN = "min";
+	public static final String MAX = "max";
+	public static final String AVERAGE = "average";
+	public static final String COUNT = "count";
+
+	private final long[] timestamps;
+	private final double[] values;
+
+	// Index the next sample is written to
+	private int head = 0;
+	private int size = 0;
+
+	/**
+	 * Creates an empty history
+	 * 
+	 * @param capacity
+	 *            maximum number of samples kept, older samples are overwritten
+	 */
+	public PropertyValueHistory(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity of a value history has to be positive, but was " + capacity);
+		}
+		timestamps = new long[capacity];
+		values = new double[capacity];
+	}
+
+	/**
+	 * Records a new sample. If the history is full, the oldest sample is
+	 * overwritten.
+	 * 
+	 * @param timestamp
+	 *            of the sample in milliseconds since epoch
+	 * @param value
+	 *            of the sample
+	 */
+	public synchronized void add(long timestamp, double value) {
+		timestamps[head] = timestamp;
+		values[head] = value;
+		head = (head + 1) % getCapacity();
+		if (size < getCapacity()) {
+			size++;
+		}
+	}
+
+	public int getCapacity() {
+		return timestamps.length;
+	}
+
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * Returns all samples with a timestamp in [from, to] in chronological order
+	 * 
+	 * @param from
+	 *            lower timestamp bound, inclusive
+	 * @param to
+	 *            upper timestamp bound, inclusive
+	 * @return Map containing {@value #TIMESTAMPS} as long[] and {@value #VALUES}
+	 *         as double[]
+	 */
+	public synchronized Map<String, Object> getRange(long from, long to) {
+		int count = 0;
+		for (int i = 0; i < size; i++) {
+			if (isInRange(timestamps[toIndex(i)], from, to)) {
+				count++;
+			}
+		}
+
+		long[] rangeTimestamps = new long[count];
+		double[] rangeValues = new double[count];
+		int j = 0;
+		for (int i = 0; i < size; i++) {
+			int index = toIndex(i);
+			if (isInRange(timestamps[index], from, to)) {
+				rangeTimestamps[j] = timestamps[index];
+				rangeValues[j] = values[index];
+				j++;
+			}
+		}
+
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put(TIMESTAMPS, rangeTimestamps);
+		result.put(VALUES, rangeValues);
+		return result;
+	}
+
+	/**
+	 * Downsamples all samples with a timestamp in [from, to] into equally sized
+	 * time buckets. Buckets without samples are left out.
+	 * 
+	 * @param from
+	 *            lower timestamp bound, inclusive
+	 * @param to
+	 *            upper timestamp bound, inclusive
+	 * @param bucketCount
+	 *            maximum number of buckets
+	 * @return Map containing the bucket start times as {@value #TIMESTAMPS} and
+	 *         {@value #MIN}, {@value #MAX}, {@value #AVERAGE} and {@value #COUNT}
+	 *         per bucket as primitive arrays
+	 */
+	public synchronized Map<String, Object> getAggregates(long from, long to, int bucketCount) {
+		if (bucketCount <= 0) {
+			throw new IllegalArgumentException("Bucket count has to be positive, but was " + bucketCount);
+		}
+
+		// Narrow the requested range to the samples actually contained
+		long first = Long.MAX_VALUE;
+		long last = Long.MIN_VALUE;
+		for (int i = 0; i < size; i++) {
+			long timestamp = timestamps[toIndex(i)];
+			if (isInRange(timestamp, from, to)) {
+				first = Math.min(first, timestamp);
+				last = Math.max(last, timestamp);
+			}
+		}
+
+		if (first > last) {
+			return createAggregateMap(new long[0], new double[0], new double[0], new double[0], new int[0]);
+		}
+
+		long bucketWidth = Math.max(1, (last - first) / bucketCount + 1);
+
+		double[] mins = new double[bucketCount];
+		double[] maxs = new double[bucketCount];
+		double[] sums = new double[bucketCount];
+		int[] counts = new int[bucketCount];
+		for (int i = 0; i < size; i++) {
+			int index = toIndex(i);
+			long timestamp = timestamps[index];
+			if (!isInRange(timestamp, first, last)) {
+				continue;
+			}
+
+			int bucket = (int) ((timestamp - first) / bucketWidth);
+			double value = values[index];
+			if (counts[bucket] == 0) {
+				mins[bucket] = value;
+				maxs[bucket] = value;
+			} else {
+				mins[bucket] = Math.min(mins[bucket], value);
+				maxs[bucket] = Math.max(maxs[bucket], value);
+			}
+			sums[bucket] += value;
+			counts[bucket]++;
+		}
+
+		return compactAggregates(first, bucketWidth, mins, maxs, sums, counts);
+	}
+
+	private Map<String, Object> compactAggregates(long first, long bucketWidth, double[] mins, double[] maxs, double[] sums, int[] counts) {
+		int nonEmpty = 0;
+		for (int count : counts) {
+			if (count > 0) {
+				nonEmpty++;
+			}
+		}
+
+		long[] bucketStarts = new long[nonEmpty];
+		double[] bucketMins = new double[nonEmpty];
+		double[] bucketMaxs = new double[nonEmpty];
+		double[] bucketAverages = new double[nonEmpty];
+		int[] bucketCounts = new int[nonEmpty];
+		int j = 0;
+		for (int i = 0; i < counts.length; i++) {
+			if (counts[i] == 0) {
+				continue;
+			}
+			bucketStarts[j] = first + i * bucketWidth;
+			bucketMins[j] = mins[i];
+			bucketMaxs[j] = maxs[i];
+			bucketAverages[j] = sums[i] / counts[i];
+			bucketCounts[j] = counts[i];
+			j++;
+		}
+
+		return createAggregateMap(bucketStarts, bucketMins, bucketMaxs, bucketAverages, bucketCounts);
+	}
+
+	private Map<String, Object> createAggregateMap(long[] bucketStarts, double[] mins, double[] maxs, double[] averages, int[] counts) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put(TIMESTAMPS, bucketStarts);
+		result.put(MIN, mins);
+		result.put(MAX, maxs);
+		result.put(AVERAGE, averages);
+		result.put(COUNT, counts);
+		return result;
+	}
+
+	/**
+	 * Maps the n-th oldest sample to its index in the ring buffer
+	 */
+	private int toIndex(int n) {
+		return (head - size + n + getCapacity()) % getCapacity();
+	}
+
+	private boolean isInRange(long timestamp, long from, long to) {
+		return timestamp >= from && timestamp <= to;
+	}
+}
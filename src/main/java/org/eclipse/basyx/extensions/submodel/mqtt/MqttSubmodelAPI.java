@@ -33,6 +33,9 @@ import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOperation;
 import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelElementPage;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelElementQuery;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelValueDelta;
 import org.eclipse.basyx.submodel.restapi.observing.ObservableSubmodelAPI;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 import org.eclipse.paho.client.mqttv3.MqttClient;
@@ -182,6 +185,11 @@ public class MqttSubmodelAPI implements ISubmodelAPI {
 		return observedAPI.getSubmodelElements();
 	}
 
+	@Override
+	public SubmodelElementPage getSubmodelElements(SubmodelElementQuery query) {
+		return observedAPI.getSubmodelElements(query);
+	}
+
 	@Override
 	public void updateSubmodelElement(String idShortPath, Object newValue) {
 		observedAPI.updateSubmodelElement(idShortPath, newValue);
@@ -221,4 +229,14 @@ public class MqttSubmodelAPI implements ISubmodelAPI {
 	public void uploadSubmodelElementFile(String idShortPath, InputStream fileStream) {
 		observedAPI.uploadSubmodelElementFile(idShortPath, fileStream);
 	}
+
+	@Override
+	public Object getSubmodelElementHistory(String idShortPath, long from, long to, int buckets) {
+		return observedAPI.getSubmodelElementHistory(idShortPath, from, to, buckets);
+	}
+
+	@Override
+	public SubmodelValueDelta getSubmodelValuesSince(long version) {
+		return observedAPI.getSubmodelValuesSince(version);
+	}
 }
@@ -0,0 +1,392 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.submodel.mqtt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.vab.coder.json.serialization.DefaultTypeFactory;
+import org.eclipse.basyx.vab.coder.json.serialization.GSONTools;
+import org.eclipse.basyx.vab.modelprovider.VABPathTools;
+import org.eclipse.paho.client.mqttv3.IMqttDeliveryToken;
+import org.eclipse.paho.client.mqttv3.IMqttMessageListener;
+import org.eclipse.paho.client.mqttv3.MqttCallbackExtended;
+import org.eclipse.paho.client.mqttv3.MqttClient;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.eclipse.paho.client.mqttv3.MqttMessage;
+import org.eclipse.paho.client.mqttv3.MqttTopic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Inbound counterpart of the MQTT extension. Subscribes to topic filters,
+ * maps the topics of received messages to idShort paths and writes their
+ * payloads as values to an {@link ISubmodelAPI}.<br>
+ * Messages are not applied on the MQTT callback thread. Instead, the latest
+ * payload per idShort path is buffered and a dedicated thread applies the
+ * buffered values in batches using
+ * {@link ISubmodelAPI#updateSubmodelElements(Map)}. Values that are
+ * overwritten before they are applied are conflated, i.e. only the most recent
+ * one is written.<br>
+ * The bridge registers itself as callback of the mqtt client to subscribe
+ * again after the client reconnected automatically.
+ */
+public class MqttSubmodelIngestionBridge implements IMqttMessageListener, AutoCloseable {
+	private static Logger logger = LoggerFactory.getLogger(MqttSubmodelIngestionBridge.class);
+
+	private final ISubmodelAPI submodelAPI;
+	private final MqttClient mqttClient;
+	private final Map<String, Function<String, String>> topicMappings = new LinkedHashMap<>();
+	private final GSONTools gsonTools = new GSONTools(new DefaultTypeFactory());
+	private Function<byte[], Object> payloadDecoder = this::decodeJsonPayload;
+	private int qos = 1;
+
+	// Latest undecoded payload per idShort path, guarded by the lock
+	private final Object lock = new Object();
+	private Map<String, byte[]> pending = new LinkedHashMap<>();
+	private boolean applying = false;
+	private boolean running = false;
+	private volatile Thread worker;
+
+	private final AtomicLong receivedCount = new AtomicLong();
+	private final AtomicLong appliedCount = new AtomicLong();
+
+	/**
+	 * Creates a bridge writing to the given SubmodelAPI
+	 * 
+	 * @param submodelAPI
+	 *            the SubmodelAPI the received values are written to
+	 * @param client
+	 *            the mqtt client used for subscribing; it is connected on
+	 *            {@link #start()} if required
+	 */
+	public MqttSubmodelIngestionBridge(ISubmodelAPI submodelAPI, MqttClient client) {
+		this.submodelAPI = submodelAPI;
+		this.mqttClient = client;
+	}
+
+	/**
+	 * Maps the topics matching a filter to an idShort path. The topic levels
+	 * matched by the wildcards of the filter are appended to the idShort path,
+	 * e.g. for the filter <i>plant/+/temperature</i> and the path
+	 * <i>Temperatures</i>, the topic <i>plant/m1/temperature</i> is mapped to
+	 * <i>Temperatures/m1</i>. Without wildcards, the topic is mapped to the path
+	 * as is.
+	 * 
+	 * @param topicFilter
+	 *            the topic filter to subscribe to
+	 * @param idShortPath
+	 *            the idShort path the matched topic levels are appended to
+	 */
+	public void addTopicMapping(String topicFilter, String idShortPath) {
+		String path = VABPathTools.stripSlashes(idShortPath);
+		addTopicMapping(topicFilter, topic -> appendWildcardLevels(path, topicFilter, topic));
+	}
+
+	/**
+	 * Maps the topics matching a filter to idShort paths using a custom mapping
+	 * 
+	 * @param topicFilter
+	 *            the topic filter to subscribe to
+	 * @param mapping
+	 *            maps a received topic to the idShort path of its value; may
+	 *            return null to ignore the topic
+	 */
+	public synchronized void addTopicMapping(String topicFilter, Function<String, String> mapping) {
+		if (worker != null) {
+			throw new IllegalStateException("Topic mappings have to be added before the bridge is started");
+		}
+		MqttTopic.validate(topicFilter, true);
+		topicMappings.put(topicFilter, mapping);
+	}
+
+	/**
+	 * Sets the decoder for received payloads. By default, payloads are decoded
+	 * as JSON values and fall back to plain strings.
+	 * 
+	 * @param payloadDecoder
+	 *            converts a payload to the value written to the submodel
+	 */
+	public synchronized void setPayloadDecoder(Function<byte[], Object> payloadDecoder) {
+		this.payloadDecoder = payloadDecoder;
+	}
+
+	/**
+	 * Sets the QoS of the subscriptions
+	 * 
+	 * @param qos
+	 */
+	public synchronized void setQoS(int qos) {
+		if (qos < 0 || qos > 2) {
+			throw new IllegalArgumentException("Invalid QoS: " + qos);
+		}
+		this.qos = qos;
+	}
+
+	/**
+	 * Starts the thread applying the values and subscribes to all mapped topic
+	 * filters
+	 * 
+	 * @throws MqttException
+	 */
+	public synchronized void start() throws MqttException {
+		if (worker != null) {
+			throw new IllegalStateException("The bridge is already started");
+		}
+
+		running = true;
+		worker = new Thread(this::applyPendingValues, "mqtt-submodel-ingestion");
+		worker.setDaemon(true);
+		worker.start();
+
+		mqttClient.setCallback(new ResubscribingCallback());
+		if (!mqttClient.isConnected()) {
+			mqttClient.connect();
+		}
+		subscribe();
+	}
+
+	private void subscribe() throws MqttException {
+		for (String topicFilter : topicMappings.keySet()) {
+			mqttClient.subscribe(topicFilter, qos, this);
+		}
+	}
+
+	@Override
+	public void messageArrived(String topic, MqttMessage message) {
+		byte[] payload = message.getPayload();
+		if (payload.length == 0) {
+			// Empty payloads only clear retained messages
+			return;
+		}
+
+		String idShortPath = mapTopic(topic);
+		if (idShortPath == null) {
+			logger.debug("No idShort path mapped for topic " + topic);
+			return;
+		}
+
+		receivedCount.incrementAndGet();
+		synchronized (lock) {
+			pending.put(idShortPath, payload);
+			lock.notifyAll();
+		}
+	}
+
+	/**
+	 * Blocks until all values received before this call have been applied
+	 * 
+	 * @throws InterruptedException
+	 */
+	public void flush() throws InterruptedException {
+		synchronized (lock) {
+			while (worker != null && (!pending.isEmpty() || applying)) {
+				lock.wait();
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of received values that were mapped to an idShort path
+	 */
+	public long getReceivedCount() {
+		return receivedCount.get();
+	}
+
+	/**
+	 * Returns the number of values written to the submodel. The difference to
+	 * {@link #getReceivedCount()} are the conflated and pending values.
+	 */
+	public long getAppliedCount() {
+		return appliedCount.get();
+	}
+
+	/**
+	 * Unsubscribes from all topic filters and stops the bridge after the pending
+	 * values have been applied. The mqtt client itself is not disconnected. If
+	 * the calling thread is interrupted while waiting, the remaining values are
+	 * applied in the background.
+	 */
+	@Override
+	public synchronized void close() {
+		if (worker == null) {
+			return;
+		}
+
+		mqttClient.setCallback(null);
+		try {
+			if (mqttClient.isConnected()) {
+				mqttClient.unsubscribe(topicMappings.keySet().toArray(new String[0]));
+			}
+		} catch (MqttException e) {
+			logger.error("Could not unsubscribe from topics", e);
+		}
+
+		synchronized (lock) {
+			running = false;
+			lock.notifyAll();
+		}
+		try {
+			worker.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		worker = null;
+	}
+
+	private String mapTopic(String topic) {
+		for (Map.Entry<String, Function<String, String>> mapping : topicMappings.entrySet()) {
+			if (MqttTopic.isMatched(mapping.getKey(), topic)) {
+				return mapping.getValue().apply(topic);
+			}
+		}
+		return null;
+	}
+
+	private void applyPendingValues() {
+		while (true) {
+			Map<String, byte[]> batch;
+			synchronized (lock) {
+				while (pending.isEmpty() && running) {
+					try {
+						lock.wait();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+				}
+				if (pending.isEmpty()) {
+					return;
+				}
+
+				// Swap the buffer, values arriving meanwhile are conflated for the next batch
+				batch = pending;
+				pending = new LinkedHashMap<>();
+				applying = true;
+			}
+
+			try {
+				applyBatch(batch);
+			} finally {
+				synchronized (lock) {
+					applying = false;
+					lock.notifyAll();
+				}
+			}
+		}
+	}
+
+	private void applyBatch(Map<String, byte[]> batch) {
+		Map<String, Object> values = new LinkedHashMap<>();
+		for (Map.Entry<String, byte[]> entry : batch.entrySet()) {
+			try {
+				values.put(entry.getKey(), payloadDecoder.apply(entry.getValue()));
+			} catch (RuntimeException e) {
+				logger.warn("Could not decode value for " + entry.getKey() + ": " + e.getMessage());
+			}
+		}
+
+		try {
+			submodelAPI.updateSubmodelElements(values);
+			appliedCount.addAndGet(values.size());
+		} catch (Exception e) {
+			// A single unknown or malformed value must not stop the ingestion, thus the
+			// values are applied one by one. Values already applied are written again.
+			values.forEach(this::applyValue);
+		}
+	}
+
+	private void applyValue(String idShortPath, Object value) {
+		try {
+			submodelAPI.updateSubmodelElement(idShortPath, value);
+			appliedCount.incrementAndGet();
+		} catch (Exception e) {
+			logger.warn("Could not apply value for " + idShortPath + ": " + e.getMessage());
+		}
+	}
+
+	private static String appendWildcardLevels(String idShortPath, String topicFilter, String topic) {
+		String[] filterLevels = topicFilter.split("/", -1);
+		String[] topicLevels = topic.split("/", -1);
+
+		StringBuilder path = new StringBuilder(idShortPath);
+		for (int i = 0; i < filterLevels.length; i++) {
+			if (filterLevels[i].equals(MqttTopic.SINGLE_LEVEL_WILDCARD)) {
+				path.append("/").append(topicLevels[i]);
+			} else if (filterLevels[i].equals(MqttTopic.MULTI_LEVEL_WILDCARD)) {
+				for (int j = i; j < topicLevels.length; j++) {
+					path.append("/").append(topicLevels[j]);
+				}
+			}
+		}
+		return VABPathTools.stripSlashes(path.toString());
+	}
+
+	private Object decodeJsonPayload(byte[] payload) {
+		String str = new String(payload, StandardCharsets.UTF_8);
+		try {
+			return gsonTools.deserialize(str);
+		} catch (RuntimeException e) {
+			return str;
+		}
+	}
+
+	/**
+	 * Subscribes again after an automatic reconnect, since the broker may have
+	 * discarded the subscriptions of the previous session
+	 */
+	private class ResubscribingCallback implements MqttCallbackExtended {
+		@Override
+		public void connectComplete(boolean reconnect, String serverURI) {
+			if (!reconnect) {
+				return;
+			}
+
+			try {
+				subscribe();
+			} catch (MqttException e) {
+				logger.error("Could not subscribe again after reconnecting to " + serverURI, e);
+			}
+		}
+
+		@Override
+		public void connectionLost(Throwable cause) {
+			logger.warn("Lost connection to mqtt broker: " + cause.getMessage());
+		}
+
+		@Override
+		public void messageArrived(String topic, MqttMessage message) {
+			// Messages are passed to the listeners of the subscriptions
+		}
+
+		@Override
+		public void deliveryComplete(IMqttDeliveryToken token) {
+		}
+	}
+}
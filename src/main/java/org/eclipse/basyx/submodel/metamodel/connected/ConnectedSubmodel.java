@@ -52,6 +52,8 @@ import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElement;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
 import org.eclipse.basyx.submodel.restapi.MultiSubmodelElementProvider;
 import org.eclipse.basyx.submodel.restapi.SubmodelProvider;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelElementPage;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelElementQuery;
 import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 
@@ -176,6 +178,21 @@ public class ConnectedSubmodel extends ConnectedElement implements ISubmodel {
 		return ConnectedSubmodelElementFactory.getConnectedSubmodelElements(getProxy(), MultiSubmodelElementProvider.ELEMENTS, MultiSubmodelElementProvider.ELEMENTS);
 	}
 
+	/**
+	 * Retrieves a page of the submodel elements matching the given query. The
+	 * query is evaluated by the server, so that only the requested elements are
+	 * transferred.
+	 * 
+	 * @param query
+	 *            the pagination, filters and projection of the elements
+	 * @return the page containing local copies of the elements
+	 */
+	@SuppressWarnings("unchecked")
+	public SubmodelElementPage getSubmodelElements(SubmodelElementQuery query) {
+		Map<String, Object> page = (Map<String, Object>) getProxy().getValue(MultiSubmodelElementProvider.ELEMENTS + query.toQueryString());
+		return SubmodelElementPage.createAsFacade(page);
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public Map<String, Object> getValues() {
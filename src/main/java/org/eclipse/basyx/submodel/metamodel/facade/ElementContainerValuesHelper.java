@@ -58,6 +58,17 @@ public class ElementContainerValuesHelper {
 		return (Map<String, Object>) handleValue(elements.values());
 	}
 
+	/**
+	 * Gets the Values of the given SubmodelElements
+	 * 
+	 * @param elements
+	 *            the SubmodelElements to get the values from.
+	 * @return A Map mapping idShort to the value of the SubmodelElement
+	 */
+	public static Map<String, Object> getSubmodelElementValues(Collection<ISubmodelElement> elements) {
+		return handleValueCollection(elements);
+	}
+
 	@SuppressWarnings("unchecked")
 	private static Object handleValue(Object value) {
 		// Check if it is a collection but not a LangStrings (is internally also a
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.submodel.metamodel.facade;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.eclipse.basyx.submodel.metamodel.facade.submodelelement.SubmodelElementFacadeFactory;
+
+/**
+ * {@literal Map<IdShort, SMElement>} that creates the facade of a contained
+ * SubmodelElement on first access instead of on construction. Thus, only the
+ * accessed parts of deeply nested SubmodelElementCollections are wrapped.<br>
+ * Accessing all values, e.g. by iterating over them, creates the facades of
+ * all direct children, but not of their children.<br>
+ * Since reading may replace the contained value, the accessors are
+ * synchronized. Thus, concurrent reads of a shared map always return the
+ * facade.
+ */
+class LazySubmodelElementMap extends LinkedHashMap<String, Object> {
+	private static final long serialVersionUID = 1L;
+
+	// IdShorts of the elements that are still contained as plain map
+	private final Set<String> unwrapped = new HashSet<>();
+
+	/**
+	 * Adds an element whose facade is created on first access
+	 */
+	synchronized void putUnwrapped(String idShort, Map<String, Object> smElement) {
+		super.put(idShort, smElement);
+		unwrapped.add(idShort);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Object wrap(String idShort) {
+		Object smElement = super.get(idShort);
+		if (unwrapped.remove(idShort) && smElement != null) {
+			smElement = SubmodelElementFacadeFactory.createSubmodelElement((Map<String, Object>) smElement);
+			super.put(idShort, smElement);
+		}
+		return smElement;
+	}
+
+	private void wrapAll() {
+		if (unwrapped.isEmpty()) {
+			return;
+		}
+
+		for (String idShort : unwrapped.toArray(new String[unwrapped.size()])) {
+			wrap(idShort);
+		}
+	}
+
+	@Override
+	public synchronized Object get(Object key) {
+		if (unwrapped.contains(key)) {
+			return wrap((String) key);
+		}
+		return super.get(key);
+	}
+
+	@Override
+	public synchronized Object getOrDefault(Object key, Object defaultValue) {
+		return containsKey(key) ? get(key) : defaultValue;
+	}
+
+	@Override
+	public synchronized Object put(String key, Object value) {
+		Object previous = get(key);
+		super.put(key, value);
+		return previous;
+	}
+
+	@Override
+	public synchronized void putAll(Map<? extends String, ? extends Object> m) {
+		for (Map.Entry<? extends String, ? extends Object> entry : m.entrySet()) {
+			put(entry.getKey(), entry.getValue());
+		}
+	}
+
+	@Override
+	public synchronized Object remove(Object key) {
+		Object previous = get(key);
+		super.remove(key);
+		return previous;
+	}
+
+	@Override
+	public synchronized void clear() {
+		unwrapped.clear();
+		super.clear();
+	}
+
+	@Override
+	public synchronized boolean containsValue(Object value) {
+		wrapAll();
+		return super.containsValue(value);
+	}
+
+	@Override
+	public synchronized Collection<Object> values() {
+		wrapAll();
+		return super.values();
+	}
+
+	@Override
+	public synchronized Set<Map.Entry<String, Object>> entrySet() {
+		wrapAll();
+		return super.entrySet();
+	}
+
+	@Override
+	public synchronized void forEach(BiConsumer<? super String, ? super Object> action) {
+		wrapAll();
+		super.forEach(action);
+	}
+
+	@Override
+	public synchronized void replaceAll(BiFunction<? super String, ? super Object, ? extends Object> function) {
+		wrapAll();
+		super.replaceAll(function);
+	}
+
+	@Override
+	public synchronized Object putIfAbsent(String key, Object value) {
+		wrapAll();
+		return super.putIfAbsent(key, value);
+	}
+
+	@Override
+	public synchronized Object computeIfAbsent(String key, Function<? super String, ? extends Object> mappingFunction) {
+		wrapAll();
+		return super.computeIfAbsent(key, mappingFunction);
+	}
+
+	@Override
+	public synchronized Object computeIfPresent(String key, BiFunction<? super String, ? super Object, ? extends Object> remappingFunction) {
+		wrapAll();
+		return super.computeIfPresent(key, remappingFunction);
+	}
+
+	@Override
+	public synchronized Object compute(String key, BiFunction<? super String, ? super Object, ? extends Object> remappingFunction) {
+		wrapAll();
+		return super.compute(key, remappingFunction);
+	}
+
+	@Override
+	public synchronized Object merge(String key, Object value, BiFunction<? super Object, ? super Object, ? extends Object> remappingFunction) {
+		wrapAll();
+		return super.merge(key, value, remappingFunction);
+	}
+
+	@Override
+	public synchronized Object clone() {
+		wrapAll();
+		return super.clone();
+	}
+}
@@ -198,7 +198,8 @@ public class SubmodelElementMapCollectionConverter {
 		}
 
 		// SubmodelElemets can be given as Map, Set or List
-		// If it is a Set or List, convert it to a Map first
+		// If it is a Set or List, convert it to a Map whose facades are created on
+		// first access
 		if (smElements instanceof Collection<?>) {
 			Collection<Object> smElementsSet = (Collection<Object>) smElements;
 			for (Object o : smElementsSet) {
@@ -211,6 +212,13 @@ public class SubmodelElementMapCollectionConverter {
 
 				smElementsMap.put(id, smElement);
 			}
+
+			LazySubmodelElementMap lazyMap = new LazySubmodelElementMap();
+			smElementsMap.forEach((id, smElement) -> lazyMap.putUnwrapped(id, (Map<String, Object>) smElement));
+			return lazyMap;
+		} else if (smElements instanceof LazySubmodelElementMap) {
+			// Facades are already created on access
+			return (Map<String, Object>) smElements;
 		} else if (smElements instanceof Map<?, ?>) {
 			if (isDuplicateIdShortPresentInSubmodelElements((Map<String, Object>) smElements)) {
 				throw new IdShortDuplicationException(smElementsMap);
@@ -24,9 +24,12 @@
  ******************************************************************************/
 package org.eclipse.basyx.submodel.metamodel.facade.submodelelement;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
 
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
+import org.eclipse.basyx.submodel.metamodel.map.modeltype.ModelType;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.Capability;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.Blob;
@@ -49,6 +52,25 @@ import org.eclipse.basyx.submodel.metamodel.map.submodelelement.relationship.Rel
  */
 public class SubmodelElementFacadeFactory {
 
+	// Dispatches by model type name, so that only a single lookup is required
+	private static final Map<String, Function<Map<String, Object>, ISubmodelElement>> FACADE_FACTORIES = new HashMap<>();
+
+	static {
+		FACADE_FACTORIES.put(Property.MODELTYPE, Property::createAsFacade);
+		FACADE_FACTORIES.put(Blob.MODELTYPE, Blob::createAsFacade);
+		FACADE_FACTORIES.put(File.MODELTYPE, File::createAsFacade);
+		FACADE_FACTORIES.put(SubmodelElementCollection.MODELTYPE, SubmodelElementCollection::createAsFacade);
+		FACADE_FACTORIES.put(MultiLanguageProperty.MODELTYPE, MultiLanguageProperty::createAsFacade);
+		FACADE_FACTORIES.put(Entity.MODELTYPE, Entity::createAsFacade);
+		FACADE_FACTORIES.put(Range.MODELTYPE, Range::createAsFacade);
+		FACADE_FACTORIES.put(ReferenceElement.MODELTYPE, ReferenceElement::createAsFacade);
+		FACADE_FACTORIES.put(RelationshipElement.MODELTYPE, RelationshipElement::createAsFacade);
+		FACADE_FACTORIES.put(AnnotatedRelationshipElement.MODELTYPE, AnnotatedRelationshipElement::createAsFacade);
+		FACADE_FACTORIES.put(Operation.MODELTYPE, Operation::createAsFacade);
+		FACADE_FACTORIES.put(BasicEvent.MODELTYPE, BasicEvent::createAsFacade);
+		FACADE_FACTORIES.put(Capability.MODELTYPE, Capability::createAsFacade);
+	}
+
 	/**
 	 * Takes a Map and creates the corresponding SubmodelElement as facade
 	 * 
@@ -56,7 +78,21 @@ public class SubmodelElementFacadeFactory {
 	 *            a Map containing the information of a SubmodelElement
 	 * @return the actual of the given SubmodelElement map created as facade
 	 */
+	@SuppressWarnings("unchecked")
 	public static ISubmodelElement createSubmodelElement(Map<String, Object> submodelElement) {
+		Object modelType = submodelElement.get(ModelType.MODELTYPE);
+		if (modelType instanceof Map<?, ?>) {
+			Function<Map<String, Object>, ISubmodelElement> factory = FACADE_FACTORIES.get(((Map<String, Object>) modelType).get(ModelType.NAME));
+			if (factory != null) {
+				return factory.apply(submodelElement);
+			}
+		}
+
+		// Elements without (known) model type are recognized by their attributes
+		return createSubmodelElementByAttributes(submodelElement);
+	}
+
+	private static ISubmodelElement createSubmodelElementByAttributes(Map<String, Object> submodelElement) {
 		if (Property.isProperty(submodelElement)) {
 			return Property.createAsFacade(submodelElement);
 		} else if (Blob.isBlob(submodelElement)) {
@@ -30,12 +30,15 @@ import java.util.stream.Collectors;
 
 import org.eclipse.basyx.submodel.metamodel.facade.SubmodelElementMapCollectionConverter;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelElementPage;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelElementQuery;
 import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
 import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.protocol.api.IConnectorFactory;
 
 /**
  * Provider that handles container properties. Container properties can contain
@@ -54,11 +57,25 @@ public class MultiSubmodelElementProvider implements IModelProvider {
 	// Assumed to be a map that maps idShorts to the submodel elements
 	private IModelProvider modelProvider;
 
+	private IConnectorFactory delegationConnectorFactory;
+
 	/**
 	 * Constructor based on a model provider that contains the container property
 	 */
 	public MultiSubmodelElementProvider(IModelProvider provider) {
+		this(provider, OperationProvider.DEFAULT_DELEGATION_CONNECTOR_FACTORY);
+	}
+
+	/**
+	 * Constructor based on a model provider that contains the container property
+	 * 
+	 * @param provider
+	 * @param delegationConnectorFactory
+	 *            used for invoking delegated operations
+	 */
+	public MultiSubmodelElementProvider(IModelProvider provider, IConnectorFactory delegationConnectorFactory) {
 		this.modelProvider = provider;
+		this.delegationConnectorFactory = delegationConnectorFactory;
 	}
 
 	/**
@@ -74,6 +91,16 @@ public class MultiSubmodelElementProvider implements IModelProvider {
 		return all.entrySet().stream().map(e -> (Map<String, Object>) getSingleElement(ELEMENTS + "/" + e.getKey())).collect(Collectors.toList());
 	}
 
+	/**
+	 * Evaluates the query on the stored elements, so that only the elements of
+	 * the requested page are fed through their providers
+	 */
+	@SuppressWarnings("unchecked")
+	protected SubmodelElementPage getElementsPage(SubmodelElementQuery query) {
+		Map<String, Map<String, Object>> all = (Map<String, Map<String, Object>>) modelProvider.getValue("");
+		return query.evaluate(all, idShort -> (Map<String, Object>) getSingleElement(ELEMENTS + "/" + idShort));
+	}
+
 	/**
 	 * Single elements can be directly accessed in maps => return a proxy
 	 */
@@ -91,7 +118,7 @@ public class MultiSubmodelElementProvider implements IModelProvider {
 
 		if (qualifier.equals(ELEMENTS)) {
 			String subPath = VABPathTools.buildPath(pathElements, 2);
-			return new SubmodelElementProvider(elementProxy).getValue(subPath);
+			return new SubmodelElementProvider(elementProxy, delegationConnectorFactory).getValue(subPath);
 		} else {
 			throw new MalformedRequestException("Given path '" + path + "' does not start with /submodelElements");
 		}
@@ -102,6 +129,11 @@ public class MultiSubmodelElementProvider implements IModelProvider {
 		String[] pathElements = VABPathTools.splitPath(path);
 		String qualifier = pathElements[0];
 
+		if (pathElements.length == 1 && qualifier.startsWith(ELEMENTS + "?")) {
+			// returns the elements matching the query
+			return getElementsPage(SubmodelElementQuery.fromQueryString(qualifier.substring(ELEMENTS.length())));
+		}
+
 		if (!qualifier.equals(ELEMENTS)) {
 			// No other qualifier in a submodel element container can be directly accessed
 			throw new MalformedRequestException("Given path '" + path + "' does not start with /submodelElements");
@@ -128,7 +160,7 @@ public class MultiSubmodelElementProvider implements IModelProvider {
 		IModelProvider elementProxy = getElementProxy(pathElements);
 		String subPath = VABPathTools.buildPath(pathElements, 2);
 
-		new SubmodelElementProvider(elementProxy).setValue(subPath, newValue);
+		new SubmodelElementProvider(elementProxy, delegationConnectorFactory).setValue(subPath, newValue);
 	}
 
 	@Override
@@ -158,7 +190,7 @@ public class MultiSubmodelElementProvider implements IModelProvider {
 			}
 		} else {
 			IModelProvider elementProxy = getElementProxy(pathElements);
-			new SubmodelElementProvider(elementProxy).createValue(subPath, newEntity);
+			new SubmodelElementProvider(elementProxy, delegationConnectorFactory).createValue(subPath, newEntity);
 		}
 	}
 
@@ -176,7 +208,7 @@ public class MultiSubmodelElementProvider implements IModelProvider {
 		// If the first Element is a Collection, use its Provider
 		if (pathElements.length > 2) {
 			IModelProvider elementProxy = getElementProxy(pathElements);
-			elementProvider = new SubmodelElementProvider(elementProxy);
+			elementProvider = new SubmodelElementProvider(elementProxy, delegationConnectorFactory);
 			subPath = VABPathTools.buildPath(pathElements, 2);
 		} else {
 			elementProvider = modelProvider;
@@ -203,6 +235,6 @@ public class MultiSubmodelElementProvider implements IModelProvider {
 		}
 
 		IModelProvider elementProxy = getElementProxy(pathElements);
-		return new SubmodelElementProvider(elementProxy).invokeOperation(subPath, parameters);
+		return new SubmodelElementProvider(elementProxy, delegationConnectorFactory).invokeOperation(subPath, parameters);
 	}
 }
@@ -27,6 +27,7 @@ package org.eclipse.basyx.submodel.restapi;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -41,12 +42,15 @@ import org.eclipse.basyx.submodel.restapi.operation.AsyncOperationHandler;
 import org.eclipse.basyx.submodel.restapi.operation.CallbackResponse;
 import org.eclipse.basyx.submodel.restapi.operation.DelegatedInvocationManager;
 import org.eclipse.basyx.submodel.restapi.operation.ExecutionState;
+import org.eclipse.basyx.submodel.restapi.operation.InvocationAdmissionManager;
 import org.eclipse.basyx.submodel.restapi.operation.InvocationRequest;
 import org.eclipse.basyx.submodel.restapi.operation.InvocationResponse;
+import org.eclipse.basyx.submodel.restapi.operation.OperationBulkhead;
 import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.protocol.api.IConnectorFactory;
 import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnectorFactory;
 
 /**
@@ -60,11 +64,24 @@ public class OperationProvider implements IModelProvider {
 	public static final String INVOCATION_LIST = "invocationList";
 	public String operationId;
 
+	// Shared by all instances that are not given a connector factory, since an
+	// OperationProvider is created per request
+	public static final IConnectorFactory DEFAULT_DELEGATION_CONNECTOR_FACTORY = new HTTPConnectorFactory();
+
 	private IModelProvider modelProvider;
 	private DelegatedInvocationManager invocationHelper;
 
 	public OperationProvider(IModelProvider modelProvider) {
-		this(modelProvider, new DelegatedInvocationManager(new HTTPConnectorFactory()));
+		this(modelProvider, DEFAULT_DELEGATION_CONNECTOR_FACTORY);
+	}
+
+	/**
+	 * @param modelProvider
+	 * @param delegationConnectorFactory
+	 *            used for invoking delegated operations
+	 */
+	public OperationProvider(IModelProvider modelProvider, IConnectorFactory delegationConnectorFactory) {
+		this(modelProvider, new DelegatedInvocationManager(delegationConnectorFactory));
 	}
 
 	public OperationProvider(IModelProvider modelProvider, DelegatedInvocationManager invocationHelper) {
@@ -126,7 +143,7 @@ public class OperationProvider implements IModelProvider {
 		Operation op = Operation.createAsFacade((Map<String, Object>) childElement);
 
 		if (DelegatedInvocationManager.isDelegatingOperation(op)) {
-			return invocationHelper.invokeDelegatedOperation(op, parameters);
+			return InvocationAdmissionManager.invoke(op, () -> invocationHelper.invokeDelegatedOperation(op, parameters));
 		} else {
 			InvocationRequest request = getInvocationRequest(parameters, op);
 
@@ -145,7 +162,8 @@ public class OperationProvider implements IModelProvider {
 	private CallbackResponse handleAsyncRequestInvokation(Operation operation, InvocationRequest request) {
 		Collection<IOperationVariable> outputVars = copyOutputVariables(operation);
 
-		AsyncOperationHandler.invokeAsync(operation, operationId, request, outputVars);
+		List<OperationBulkhead> admitted = InvocationAdmissionManager.admit(operation);
+		AsyncOperationHandler.invokeAsync(operation, operationId, request, outputVars, admitted);
 
 		// Request id has to be returned for caller to be able to retrieve result
 		// => Use callback response and leave url empty
@@ -154,7 +172,7 @@ public class OperationProvider implements IModelProvider {
 
 	private InvocationResponse handleSyncRequestInvokation(Operation operation, InvocationRequest request) {
 		SubmodelElement[] inputVariables = getSumbodelElementsFromInvocationRequest(request);
-		SubmodelElement[] submodelElementsResult = operation.invoke(inputVariables);
+		SubmodelElement[] submodelElementsResult = InvocationAdmissionManager.invoke(operation, () -> operation.invoke(inputVariables));
 
 		return createInvocationResponseFromSubmodelElementsResult(request, submodelElementsResult);
 	}
@@ -174,7 +192,9 @@ public class OperationProvider implements IModelProvider {
 
 		String requestId = UUID.randomUUID().toString();
 
-		AsyncOperationHandler.invokeAsync(operation, operationId, requestId, unwrappedParameters, outputVars, 10000);
+		int timeout = InvocationAdmissionManager.getTimeout(operation);
+		List<OperationBulkhead> admitted = InvocationAdmissionManager.admit(operation);
+		AsyncOperationHandler.invokeAsync(operation, operationId, requestId, unwrappedParameters, outputVars, timeout, admitted);
 		// Request id has to be returned for caller to be able to retrieve result
 		// => Use callback response and leave url empty
 		return new CallbackResponse(requestId, "");
@@ -183,7 +203,7 @@ public class OperationProvider implements IModelProvider {
 	private Object handleSyncParameterInvokation(Operation operation, Object[] parameters) {
 		Object[] unwrappedParameters = unwrapDirectParameters(parameters);
 
-		Object directResult = operation.invokeSimple(unwrappedParameters);
+		Object directResult = InvocationAdmissionManager.invoke(operation, () -> operation.invokeSimple(unwrappedParameters));
 
 		return directResult;
 	}
@@ -35,6 +35,7 @@ import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
 import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.protocol.api.IConnectorFactory;
 
 /**
  * Handles access to SubmodelElementCollections.
@@ -44,9 +45,20 @@ import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
 public class SubmodelElementCollectionProvider implements IModelProvider {
 
 	private IModelProvider proxy;
+	private IConnectorFactory delegationConnectorFactory;
 
 	public SubmodelElementCollectionProvider(IModelProvider proxy) {
+		this(proxy, OperationProvider.DEFAULT_DELEGATION_CONNECTOR_FACTORY);
+	}
+
+	/**
+	 * @param proxy
+	 * @param delegationConnectorFactory
+	 *            used for invoking delegated operations within the collection
+	 */
+	public SubmodelElementCollectionProvider(IModelProvider proxy, IConnectorFactory delegationConnectorFactory) {
 		this.proxy = proxy;
+		this.delegationConnectorFactory = delegationConnectorFactory;
 	}
 
 	/**
@@ -62,7 +74,7 @@ public class SubmodelElementCollectionProvider implements IModelProvider {
 
 		// Wrap the property with idShort into a SubmodelElementProvider and return that
 		// provider
-		return new SubmodelElementProvider(defaultProvider);
+		return new SubmodelElementProvider(defaultProvider, delegationConnectorFactory);
 	}
 
 	@Override
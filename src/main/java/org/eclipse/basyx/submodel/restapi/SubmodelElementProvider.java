@@ -36,6 +36,7 @@ import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.protocol.api.IConnectorFactory;
 
 /**
  * Handles a SubmodelElement according to AAS meta model
@@ -51,8 +52,17 @@ public class SubmodelElementProvider implements IModelProvider {
 	private boolean specializedProvider = false;
 
 	public SubmodelElementProvider(IModelProvider proxy) {
+		this(proxy, OperationProvider.DEFAULT_DELEGATION_CONNECTOR_FACTORY);
+	}
+
+	/**
+	 * @param proxy
+	 * @param delegationConnectorFactory
+	 *            used for invoking delegated operations
+	 */
+	public SubmodelElementProvider(IModelProvider proxy, IConnectorFactory delegationConnectorFactory) {
 		IModelProvider unchangedProxy = proxy;
-		this.proxy = getElementProvider(proxy);
+		this.proxy = getElementProvider(proxy, delegationConnectorFactory);
 		// if the returned element provider is the same, no specialized provider exists
 		specializedProvider = unchangedProxy != this.proxy;
 	}
@@ -66,13 +76,21 @@ public class SubmodelElementProvider implements IModelProvider {
 	 * @return either the unchanged Provider or the Provider nested into a
 	 *         specialized ElementProvider
 	 */
-	@SuppressWarnings("unchecked")
 	public static IModelProvider getElementProvider(IModelProvider proxy) {
+		return getElementProvider(proxy, OperationProvider.DEFAULT_DELEGATION_CONNECTOR_FACTORY);
+	}
+
+	/**
+	 * Like {@link #getElementProvider(IModelProvider)}, but passes the connector
+	 * factory for delegated operations to the specialized providers
+	 */
+	@SuppressWarnings("unchecked")
+	public static IModelProvider getElementProvider(IModelProvider proxy, IConnectorFactory delegationConnectorFactory) {
 		Map<String, Object> elementMap = (Map<String, Object>) proxy.getValue("");
 		if (Operation.isOperation(elementMap)) {
-			return new OperationProvider(proxy);
+			return new OperationProvider(proxy, delegationConnectorFactory);
 		} else if (SubmodelElementCollection.isSubmodelElementCollection(elementMap)) {
-			return new SubmodelElementCollectionProvider(proxy);
+			return new SubmodelElementCollectionProvider(proxy, delegationConnectorFactory);
 		} else if (Property.isProperty(elementMap)) {
 			return new PropertyProvider(proxy);
 		} else {
@@ -45,6 +45,9 @@ import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.prop
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.valuetype.ValueTypeHelper;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.Operation;
 import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelElementPage;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelElementQuery;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelValueDelta;
 import org.eclipse.basyx.submodel.restapi.vab.VABSubmodelAPI;
 import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
@@ -74,6 +77,11 @@ public class SubmodelProvider implements IModelProvider {
 	public static final String SUBMODEL = "submodel";
 	public static final String FILE = "File";
 	public static final String UPLOAD = "upload";
+	public static final String HISTORY = "history";
+	public static final String HISTORY_FROM = "from";
+	public static final String HISTORY_TO = "to";
+	public static final String HISTORY_BUCKETS = "buckets";
+	public static final String SINCE = "since";
 
 	ISubmodelAPI submodelAPI;
 
@@ -140,8 +148,12 @@ public class SubmodelProvider implements IModelProvider {
 
 		if (isRequestForAllSubmodelElementValues(splitted)) {
 			return getSubmodelProviderValues();
+		} else if (isSubmodelValuesDeltaRequest(splitted)) {
+			return handleSubmodelValuesDelta(splitted[0]);
 		} else if (isSubmodelElementsRequest(splitted)) {
 			return submodelAPI.getSubmodelElements();
+		} else if (isSubmodelElementsQuery(splitted)) {
+			return handleSubmodelElementsQuery(splitted[0]);
 		} else if (isSpecificSubmodelElementRequest(splitted)) {
 			// Remove initial "/submodelElements"
 			path = removeSMElementPrefix(path);
@@ -344,6 +356,14 @@ public class SubmodelProvider implements IModelProvider {
 		return splitted[splitted.length - 1].equals(FILE);
 	}
 
+	private boolean endsWithHistory(String[] splitted) {
+		if (splitted.length < 3) {
+			return false;
+		}
+		String last = splitted[splitted.length - 1];
+		return last.equals(HISTORY) || last.startsWith(HISTORY + "?");
+	}
+
 	private boolean endsWithFileUpload(String[] splitted) {
 		return splitted[splitted.length - 1].equals(UPLOAD);
 	}
@@ -415,6 +435,9 @@ public class SubmodelProvider implements IModelProvider {
 			return handleInvocationListPath(splitted);
 		} else if (endsWithFile(splitted)) {
 			return handleFile(splitted);
+		} else if (endsWithHistory(splitted) && isProperty(getHistoryElementPath(path))) {
+			// Elements with the idShort history inside collections are returned as usual
+			return handleHistory(path);
 		} else {
 			return submodelAPI.getSubmodelElement(path);
 		}
@@ -425,6 +448,64 @@ public class SubmodelProvider implements IModelProvider {
 		return submodelAPI.getSubmodelElementValue(idShortPath);
 	}
 
+	/**
+	 * Handles <code>.../history?from=...&amp;to=...&amp;buckets=...</code>. All
+	 * parameters are optional; without buckets the raw samples are returned.
+	 */
+	private Object handleHistory(String path) {
+		String query = "";
+		int queryStart = path.indexOf('?');
+		if (queryStart >= 0) {
+			query = path.substring(queryStart + 1);
+		}
+		String idShortPath = getHistoryElementPath(path);
+
+		long from = Long.MIN_VALUE;
+		long to = Long.MAX_VALUE;
+		int buckets = 0;
+		for (String parameter : query.split("&")) {
+			String[] keyValue = parameter.split("=", 2);
+			if (keyValue.length != 2) {
+				continue;
+			}
+			try {
+				switch (keyValue[0]) {
+				case HISTORY_FROM:
+					from = Long.parseLong(keyValue[1]);
+					break;
+				case HISTORY_TO:
+					to = Long.parseLong(keyValue[1]);
+					break;
+				case HISTORY_BUCKETS:
+					buckets = Integer.parseInt(keyValue[1]);
+					break;
+				default:
+					break;
+				}
+			} catch (NumberFormatException e) {
+				throw new MalformedRequestException("Invalid value '" + keyValue[1] + "' for history parameter '" + keyValue[0] + "'");
+			}
+		}
+
+		return submodelAPI.getSubmodelElementHistory(idShortPath, from, to, buckets);
+	}
+
+	/**
+	 * Returns the idShort path of the element whose history is requested by
+	 * <code>.../history?...</code>
+	 */
+	private String getHistoryElementPath(String path) {
+		int queryStart = path.indexOf('?');
+		if (queryStart >= 0) {
+			path = path.substring(0, queryStart);
+		}
+		return VABPathTools.stripSlashes(VABPathTools.getParentPath(VABPathTools.stripSlashes(path)));
+	}
+
+	private boolean isProperty(String idShortPath) {
+		return Property.MODELTYPE.equals(submodelAPI.getSubmodelElement(idShortPath).getModelType());
+	}
+
 	private Object handleInvocationListPath(String[] splitted) {
 		List<String> idShorts = getIdShorts(splitted);
 
@@ -438,6 +519,58 @@ public class SubmodelProvider implements IModelProvider {
 		return splitted.length == 1 && splitted[0].equals(VALUES);
 	}
 
+	private boolean isSubmodelValuesDeltaRequest(String[] splitted) {
+		return splitted.length == 1 && splitted[0].startsWith(VALUES + "?");
+	}
+
+	/**
+	 * Handles <code>values?since=...</code>, returning only the values changed
+	 * since the given version or all values if a full resync is necessary.
+	 */
+	private Object handleSubmodelValuesDelta(String path) {
+		String query = path.substring(VALUES.length() + 1);
+		Long since = null;
+		for (String parameter : query.split("&")) {
+			String[] keyValue = parameter.split("=", 2);
+			if (keyValue.length != 2 || !keyValue[0].equals(SINCE)) {
+				continue;
+			}
+			try {
+				since = Long.parseLong(keyValue[1]);
+			} catch (NumberFormatException e) {
+				throw new MalformedRequestException("Invalid value '" + keyValue[1] + "' for parameter '" + SINCE + "'");
+			}
+		}
+		if (since == null) {
+			throw new MalformedRequestException("The parameter '" + SINCE + "' is missing in " + path);
+		}
+
+		SubmodelValueDelta delta = submodelAPI.getSubmodelValuesSince(since);
+		if (delta.isFullResync()) {
+			prepareValuesForSerialization(delta.getValues());
+		} else {
+			prepareValuesForSerialization(delta.getChanged());
+		}
+		return delta;
+	}
+
+	private boolean isSubmodelElementsQuery(String[] splitted) {
+		return splitted.length == 1 && splitted[0].startsWith(MultiSubmodelElementProvider.ELEMENTS + "?");
+	}
+
+	/**
+	 * Handles <code>submodelElements?limit=...&amp;cursor=...</code>, see
+	 * {@link SubmodelElementQuery} for the supported parameters.
+	 */
+	private Object handleSubmodelElementsQuery(String path) {
+		SubmodelElementQuery query = SubmodelElementQuery.fromQueryString(path.substring(MultiSubmodelElementProvider.ELEMENTS.length()));
+		SubmodelElementPage page = submodelAPI.getSubmodelElements(query);
+		if (query.isValueOnly()) {
+			prepareValuesForSerialization(page.getValues());
+		}
+		return page;
+	}
+
 	private boolean isSubmodelElementsRequest(String[] splitted) {
 		return splitted.length == 1 && splitted[0].equals(MultiSubmodelElementProvider.ELEMENTS);
 	}
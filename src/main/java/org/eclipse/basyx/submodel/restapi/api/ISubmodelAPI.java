@@ -27,6 +27,8 @@ package org.eclipse.basyx.submodel.restapi.api;
 import java.io.File;
 import java.io.InputStream;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.apache.commons.lang3.NotImplementedException;
 import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
@@ -107,6 +109,18 @@ public interface ISubmodelAPI {
 	 */
 	public void updateSubmodelElement(String idShortPath, Object newValue);
 
+	/**
+	 * Updates the values of multiple submodelElements. Implementations may apply
+	 * all values at once. If updating one of the values fails, the other values
+	 * may or may not have been updated.
+	 * 
+	 * @param values
+	 *            the new values by the idShort paths of their submodelElements
+	 */
+	default void updateSubmodelElements(Map<String, Object> values) {
+		values.forEach(this::updateSubmodelElement);
+	}
+
 	/**
 	 * Retrieves the value of a submodelElement
 	 * 
@@ -149,6 +163,20 @@ public interface ISubmodelAPI {
 	 */
 	public Object getOperationResult(String idShort, String requestId);
 
+	/**
+	 * Retrieves a page of the submodelElements matching the given query
+	 * 
+	 * @param query
+	 *            the pagination, filters and projection of the elements
+	 * @return the page
+	 */
+	@SuppressWarnings("unchecked")
+	default SubmodelElementPage getSubmodelElements(SubmodelElementQuery query) {
+		Map<String, Map<String, Object>> elements = new LinkedHashMap<>();
+		getSubmodelElements().forEach(e -> elements.put(e.getIdShort(), (Map<String, Object>) e));
+		return query.evaluate(elements, elements::get);
+	}
+
 	default public File getSubmodelElementFile(String idShortPath) {
 		throw new NotImplementedException();
 	}
@@ -157,4 +185,35 @@ public interface ISubmodelAPI {
 		throw new NotImplementedException();
 	}
 
+	/**
+	 * Retrieves the recorded value history of a Property
+	 * 
+	 * @param idShortPath
+	 *            the idShort path to the Property
+	 * @param from
+	 *            lower timestamp bound in milliseconds since epoch, inclusive
+	 * @param to
+	 *            upper timestamp bound in milliseconds since epoch, inclusive
+	 * @param buckets
+	 *            number of time buckets the samples are downsampled to; 0
+	 *            returns the raw samples
+	 * @return the value history
+	 */
+	default Object getSubmodelElementHistory(String idShortPath, long from, long to, int buckets) {
+		throw new NotImplementedException();
+	}
+
+	/**
+	 * Retrieves the values that changed since the given version of the submodel
+	 * 
+	 * @param version
+	 *            the version returned by a previous call; any other version,
+	 *            e.g. 0, requests all values
+	 * @return the changed values, or all values if the changes since the version
+	 *         are not known anymore or the version belongs to another history
+	 */
+	default SubmodelValueDelta getSubmodelValuesSince(long version) {
+		throw new NotImplementedException();
+	}
+
 }
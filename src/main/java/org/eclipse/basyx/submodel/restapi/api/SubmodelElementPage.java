@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.submodel.restapi.api;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
+import org.eclipse.basyx.submodel.metamodel.facade.submodelelement.SubmodelElementFacadeFactory;
+import org.eclipse.basyx.vab.model.VABModelMap;
+
+/**
+ * A page of submodel elements as returned for a {@link SubmodelElementQuery}
+ */
+public class SubmodelElementPage extends VABModelMap<Object> {
+	public static final String RESULT = "result";
+	public static final String CURSOR = "cursor";
+
+	private SubmodelElementPage() {
+	}
+
+	/**
+	 * Creates a page
+	 * 
+	 * @param result
+	 *            the elements of the page, or their values mapped by idShort for
+	 *            value-only queries
+	 * @param cursor
+	 *            the cursor of the next page, null if this is the last page
+	 */
+	public SubmodelElementPage(Object result, String cursor) {
+		put(RESULT, result);
+		put(CURSOR, cursor);
+	}
+
+	/**
+	 * Creates a SubmodelElementPage object from a map
+	 * 
+	 * @param obj
+	 *            a SubmodelElementPage object as raw map
+	 * @return a SubmodelElementPage object, that behaves like a facade for the
+	 *         given map
+	 */
+	public static SubmodelElementPage createAsFacade(Map<String, Object> obj) {
+		if (obj == null) {
+			return null;
+		}
+
+		SubmodelElementPage facade = new SubmodelElementPage();
+		facade.setMap(obj);
+		return facade;
+	}
+
+	/**
+	 * Returns the elements of the page
+	 * 
+	 * @return the elements; empty for pages of value-only queries
+	 */
+	@SuppressWarnings("unchecked")
+	public Collection<ISubmodelElement> getElements() {
+		Object result = get(RESULT);
+		if (!(result instanceof Collection<?>)) {
+			return Collections.emptyList();
+		}
+		return ((Collection<Map<String, Object>>) result).stream().map(SubmodelElementFacadeFactory::createSubmodelElement).collect(Collectors.toList());
+	}
+
+	/**
+	 * Returns the values of the elements of a value-only query
+	 * 
+	 * @return the values mapped by idShort; null for pages of other queries
+	 */
+	@SuppressWarnings("unchecked")
+	public Map<String, Object> getValues() {
+		Object result = get(RESULT);
+		return result instanceof Map<?, ?> ? (Map<String, Object>) result : null;
+	}
+
+	/**
+	 * Returns the cursor to pass to the query for the next page
+	 * 
+	 * @return the cursor, null if this is the last page
+	 */
+	public String getCursor() {
+		return (String) get(CURSOR);
+	}
+
+	public boolean hasMore() {
+		return getCursor() != null;
+	}
+}
@@ -0,0 +1,394 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.submodel.restapi.api;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.eclipse.basyx.submodel.metamodel.api.reference.IKey;
+import org.eclipse.basyx.submodel.metamodel.api.reference.IReference;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
+import org.eclipse.basyx.submodel.metamodel.facade.ElementContainerValuesHelper;
+import org.eclipse.basyx.submodel.metamodel.facade.submodelelement.SubmodelElementFacadeFactory;
+import org.eclipse.basyx.submodel.metamodel.map.qualifier.HasSemantics;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+
+/**
+ * Query for a page of the submodel elements of a submodel. Filters are
+ * evaluated on the top level elements in the order of the submodel.
+ * <br>
+ * In the REST API, the query is given by the parameters of
+ * <code>/submodel/submodelElements?limit=...&amp;cursor=...&amp;depth=...&amp;content=value&amp;idShort=...&amp;semanticId=...</code>
+ */
+public class SubmodelElementQuery {
+	public static final String LIMIT = "limit";
+	public static final String CURSOR = "cursor";
+	public static final String DEPTH = "depth";
+	public static final String CONTENT = "content";
+	public static final String CONTENT_VALUE = "value";
+	public static final String IDSHORT = "idShort";
+	public static final String SEMANTICID = "semanticId";
+
+	// idShorts cannot contain this character
+	private static final String CURSOR_SEPARATOR = "\n";
+
+	private int limit;
+	private String cursor;
+	private int depth;
+	private boolean valueOnly;
+	private String idShortPrefix;
+	private String semanticId;
+
+	/**
+	 * Creates a query returning all elements with full metadata
+	 */
+	public SubmodelElementQuery() {
+	}
+
+	/**
+	 * Creates a query from the parameters of a request path, e.g.
+	 * <code>limit=10&amp;cursor=...</code>. The values are URL encoded as by
+	 * {@link #toQueryString()}. Unknown parameters are ignored.
+	 * 
+	 * @param queryString
+	 *            the parameters, with or without leading <code>?</code>
+	 * @return the query
+	 */
+	public static SubmodelElementQuery fromQueryString(String queryString) {
+		SubmodelElementQuery query = new SubmodelElementQuery();
+		if (queryString.startsWith("?")) {
+			queryString = queryString.substring(1);
+		}
+
+		for (String parameter : queryString.split("&")) {
+			String[] keyValue = parameter.split("=", 2);
+			if (keyValue.length != 2) {
+				continue;
+			}
+			String value = decode(keyValue[1]);
+			try {
+				switch (keyValue[0]) {
+				case LIMIT:
+					query.setLimit(Integer.parseInt(value));
+					break;
+				case CURSOR:
+					query.setCursor(value);
+					break;
+				case DEPTH:
+					query.setDepth(Integer.parseInt(value));
+					break;
+				case CONTENT:
+					query.setValueOnly(value.equals(CONTENT_VALUE));
+					break;
+				case IDSHORT:
+					query.setIdShortPrefix(value);
+					break;
+				case SEMANTICID:
+					query.setSemanticId(value);
+					break;
+				default:
+					break;
+				}
+			} catch (NumberFormatException e) {
+				throw new MalformedRequestException("Invalid value '" + value + "' for query parameter '" + keyValue[0] + "'");
+			}
+		}
+		return query;
+	}
+
+	/**
+	 * Returns the parameters of this query as they are appended to a request
+	 * path
+	 * 
+	 * @return the parameters with leading <code>?</code> or an empty string if no
+	 *         parameter is set
+	 */
+	public String toQueryString() {
+		StringJoiner joiner = new StringJoiner("&", "?", "");
+		joiner.setEmptyValue("");
+		if (limit > 0) {
+			joiner.add(LIMIT + "=" + limit);
+		}
+		if (cursor != null) {
+			joiner.add(CURSOR + "=" + encode(cursor));
+		}
+		if (depth > 0) {
+			joiner.add(DEPTH + "=" + depth);
+		}
+		if (valueOnly) {
+			joiner.add(CONTENT + "=" + CONTENT_VALUE);
+		}
+		if (idShortPrefix != null) {
+			joiner.add(IDSHORT + "=" + encode(idShortPrefix));
+		}
+		if (semanticId != null) {
+			joiner.add(SEMANTICID + "=" + encode(semanticId));
+		}
+		return joiner.toString();
+	}
+
+	/**
+	 * Evaluates the query on the given elements
+	 * 
+	 * @param elements
+	 *            the elements of the submodel mapped by their idShorts. The
+	 *            filters are evaluated on these maps.
+	 * @param resolve
+	 *            resolves the element with the given idShort as it is returned.
+	 *            It is only called for the elements of the page.
+	 * @return the page
+	 */
+	public SubmodelElementPage evaluate(Map<String, Map<String, Object>> elements, Function<String, Map<String, Object>> resolve) {
+		List<String> idShorts = new ArrayList<>(elements.keySet());
+		int start = cursor == null ? 0 : getCursorPosition(idShorts);
+
+		List<Map<String, Object>> page = new ArrayList<>();
+		String lastIdShort = null;
+		String nextCursor = null;
+		for (int i = start; i < idShorts.size(); i++) {
+			String idShort = idShorts.get(i);
+			if (!matches(idShort, elements.get(idShort))) {
+				continue;
+			}
+			if (limit > 0 && page.size() == limit) {
+				nextCursor = encodeCursor(i, lastIdShort, idShort);
+				break;
+			}
+			page.add(limitDepth(resolve.apply(idShort), depth));
+			lastIdShort = idShort;
+		}
+
+		if (valueOnly) {
+			Collection<ISubmodelElement> facades = page.stream().map(SubmodelElementFacadeFactory::createSubmodelElement).collect(Collectors.toList());
+			return new SubmodelElementPage(ElementContainerValuesHelper.getSubmodelElementValues(facades), nextCursor);
+		} else {
+			return new SubmodelElementPage(page, nextCursor);
+		}
+	}
+
+	/**
+	 * Returns the position at which the page of the cursor starts. The page
+	 * resumes after the last element of the previous page. If that element has
+	 * been deleted in between, it resumes at the element following it at that
+	 * time or, if that one has been deleted as well, at the position following
+	 * both.
+	 */
+	private int getCursorPosition(List<String> idShorts) {
+		String[] parts = decodeCursor(cursor);
+		int lastIndex = idShorts.indexOf(parts[1]);
+		if (lastIndex >= 0) {
+			return lastIndex + 1;
+		}
+		int nextIndex = idShorts.indexOf(parts[2]);
+		if (nextIndex >= 0) {
+			return nextIndex;
+		}
+		try {
+			// Both deleted elements preceded the element following the former position
+			return Math.max(0, Math.min(Integer.parseInt(parts[0]) - 1, idShorts.size()));
+		} catch (NumberFormatException e) {
+			throw new MalformedRequestException("Invalid cursor '" + cursor + "'");
+		}
+	}
+
+	private boolean matches(String idShort, Map<String, Object> element) {
+		if (idShortPrefix != null && !idShort.startsWith(idShortPrefix)) {
+			return false;
+		}
+		if (semanticId != null) {
+			IReference reference = HasSemantics.createAsFacade(element).getSemanticId();
+			if (reference == null || reference.getKeys() == null) {
+				return false;
+			}
+			return reference.getKeys().stream().map(IKey::getValue).anyMatch(semanticId::equals);
+		}
+		return true;
+	}
+
+	/**
+	 * Copies the element and leaves out the elements of collections nested deeper
+	 * than the given depth. The element itself is at depth 1.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> limitDepth(Map<String, Object> element, int depth) {
+		if (depth <= 0 || !SubmodelElementCollection.isSubmodelElementCollection(element)) {
+			return element;
+		}
+
+		Map<String, Object> copy = new LinkedHashMap<>(element);
+		Object value = element.get(Property.VALUE);
+		if (value instanceof Map<?, ?>) {
+			Map<String, Object> children = new LinkedHashMap<>();
+			if (depth > 1) {
+				((Map<String, Map<String, Object>>) value).forEach((idShort, child) -> children.put(idShort, limitDepth(child, depth - 1)));
+			}
+			copy.put(Property.VALUE, children);
+		} else if (value instanceof Collection<?>) {
+			List<Map<String, Object>> children = new ArrayList<>();
+			if (depth > 1) {
+				((Collection<Map<String, Object>>) value).forEach(child -> children.add(limitDepth(child, depth - 1)));
+			}
+			copy.put(Property.VALUE, children);
+		}
+		return copy;
+	}
+
+	/**
+	 * Encodes the position of the next element together with the idShorts of the
+	 * last returned and the next element
+	 */
+	private static String encodeCursor(int position, String lastIdShort, String nextIdShort) {
+		String cursor = position + CURSOR_SEPARATOR + lastIdShort + CURSOR_SEPARATOR + nextIdShort;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String[] decodeCursor(String cursor) {
+		String[] parts;
+		try {
+			parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(CURSOR_SEPARATOR, -1);
+		} catch (IllegalArgumentException e) {
+			throw new MalformedRequestException("Invalid cursor '" + cursor + "'");
+		}
+		if (parts.length != 3) {
+			throw new MalformedRequestException("Invalid cursor '" + cursor + "'");
+		}
+		return parts;
+	}
+
+	private static String encode(String value) {
+		try {
+			return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String decode(String value) {
+		try {
+			return URLDecoder.decode(value, StandardCharsets.UTF_8.name());
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		} catch (IllegalArgumentException e) {
+			throw new MalformedRequestException("Invalid encoding of query parameter value '" + value + "'");
+		}
+	}
+
+	public int getLimit() {
+		return limit;
+	}
+
+	/**
+	 * @param limit
+	 *            maximum number of elements of a page; 0 returns all elements
+	 */
+	public void setLimit(int limit) {
+		if (limit < 0) {
+			throw new MalformedRequestException("The limit must not be negative, but was " + limit);
+		}
+		this.limit = limit;
+	}
+
+	public String getCursor() {
+		return cursor;
+	}
+
+	/**
+	 * @param cursor
+	 *            the cursor of the previous page, see
+	 *            {@link SubmodelElementPage#getCursor()}; null returns the first
+	 *            page
+	 */
+	public void setCursor(String cursor) {
+		this.cursor = cursor;
+	}
+
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * @param depth
+	 *            number of returned levels of nested collections, the top level
+	 *            elements being level 1; 0 returns all levels
+	 */
+	public void setDepth(int depth) {
+		if (depth < 0) {
+			throw new MalformedRequestException("The depth must not be negative, but was " + depth);
+		}
+		this.depth = depth;
+	}
+
+	public boolean isValueOnly() {
+		return valueOnly;
+	}
+
+	/**
+	 * @param valueOnly
+	 *            if true, only the values of the elements are returned mapped by
+	 *            their idShorts
+	 */
+	public void setValueOnly(boolean valueOnly) {
+		this.valueOnly = valueOnly;
+	}
+
+	public String getIdShortPrefix() {
+		return idShortPrefix;
+	}
+
+	/**
+	 * @param idShortPrefix
+	 *            only elements with an idShort starting with this prefix are
+	 *            returned
+	 */
+	public void setIdShortPrefix(String idShortPrefix) {
+		this.idShortPrefix = idShortPrefix;
+	}
+
+	public String getSemanticId() {
+		return semanticId;
+	}
+
+	/**
+	 * @param semanticId
+	 *            only elements with a semanticId containing a key with this
+	 *            value are returned
+	 */
+	public void setSemanticId(String semanticId) {
+		this.semanticId = semanticId;
+	}
+}
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.submodel.restapi.api;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.eclipse.basyx.vab.model.VABModelMap;
+
+/**
+ * The changes of the submodel values since a given version, as returned by
+ * <code>.../submodel/values?since=&lt;version&gt;</code>. If the changes can not
+ * be determined anymore, a full resync is signaled and all values are
+ * contained instead. Versions are opaque tokens that are only valid for the
+ * history they were obtained from; <code>since=0</code> always requests a full
+ * resync.
+ */
+public class SubmodelValueDelta extends VABModelMap<Object> {
+	public static final String VERSION = "version";
+	public static final String FULLRESYNC = "fullResync";
+	public static final String CHANGED = "changed";
+	public static final String DELETED = "deleted";
+	public static final String VALUES = "values";
+
+	private SubmodelValueDelta() {
+	}
+
+	/**
+	 * Creates a delta containing the changed and deleted elements
+	 * 
+	 * @param version
+	 *            the version of the submodel the delta leads to
+	 * @param changed
+	 *            the current values of the added or updated elements, mapped by
+	 *            their idShort path
+	 * @param deleted
+	 *            the idShort paths of the deleted elements
+	 */
+	public static SubmodelValueDelta createDelta(long version, Map<String, Object> changed, Collection<String> deleted) {
+		SubmodelValueDelta delta = new SubmodelValueDelta();
+		delta.put(VERSION, version);
+		delta.put(FULLRESYNC, false);
+		delta.put(CHANGED, changed);
+		delta.put(DELETED, deleted);
+		return delta;
+	}
+
+	/**
+	 * Creates a delta signaling a full resync
+	 * 
+	 * @param version
+	 *            the version of the submodel the values belong to
+	 * @param values
+	 *            all values of the submodel as returned by
+	 *            <code>.../submodel/values</code>
+	 */
+	public static SubmodelValueDelta createFullResync(long version, Map<String, Object> values) {
+		SubmodelValueDelta delta = new SubmodelValueDelta();
+		delta.put(VERSION, version);
+		delta.put(FULLRESYNC, true);
+		delta.put(VALUES, values);
+		return delta;
+	}
+
+	/**
+	 * Creates a SubmodelValueDelta object from a map
+	 * 
+	 * @param obj
+	 *            a SubmodelValueDelta object as raw map
+	 * @return a SubmodelValueDelta object, that behaves like a facade for the
+	 *         given map
+	 */
+	public static SubmodelValueDelta createAsFacade(Map<String, Object> obj) {
+		if (obj == null) {
+			return null;
+		}
+
+		SubmodelValueDelta facade = new SubmodelValueDelta();
+		facade.setMap(obj);
+		return facade;
+	}
+
+	/**
+	 * Returns the version to pass as <code>since</code> for the next delta
+	 * 
+	 * @return the version
+	 */
+	public long getVersion() {
+		return ((Number) get(VERSION)).longValue();
+	}
+
+	public boolean isFullResync() {
+		return Boolean.TRUE.equals(get(FULLRESYNC));
+	}
+
+	/**
+	 * Returns the values of the added or updated elements
+	 * 
+	 * @return the values mapped by idShort path; null for a full resync
+	 */
+	@SuppressWarnings("unchecked")
+	public Map<String, Object> getChanged() {
+		return (Map<String, Object>) get(CHANGED);
+	}
+
+	/**
+	 * Returns the idShort paths of the deleted elements
+	 * 
+	 * @return the idShort paths; null for a full resync
+	 */
+	@SuppressWarnings("unchecked")
+	public Collection<String> getDeleted() {
+		return (Collection<String>) get(DELETED);
+	}
+
+	/**
+	 * Returns all values of the submodel
+	 * 
+	 * @return the values; null if this is not a full resync
+	 */
+	@SuppressWarnings("unchecked")
+	public Map<String, Object> getValues() {
+		return (Map<String, Object>) get(VALUES);
+	}
+}
@@ -0,0 +1,291 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.submodel.restapi.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.IOUtils;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Content-addressed store for uploaded files that can be shared by multiple
+ * Submodel APIs. <br>
+ * Each file is stored once as a blob named by the SHA-256 hash of its content,
+ * which is computed while the upload is streamed to disk. Thus, identical files
+ * uploaded to different submodels only occupy space once.<br>
+ * <br>
+ * Blobs are reference counted. Blobs without references, including blobs left
+ * over from previous runs, are removed by {@link #collectGarbage()}. Files
+ * reference their blob by a value created with {@link #toFileValue(String)},
+ * thus the references can be restored from the submodels after a restart.
+ *
+ */
+public class ContentAddressedFileStore {
+	private static Logger logger = LoggerFactory.getLogger(ContentAddressedFileStore.class);
+
+	/**
+	 * Prefix of File values referencing a blob of a store
+	 */
+	public static final String BLOB_REFERENCE_PREFIX = "blob:";
+
+	private static final String HASH_ALGORITHM = "SHA-256";
+	private static final String BLOB_DIRECTORY = "blobs";
+	private static final String TMP_DIRECTORY = "tmp";
+	private static final Pattern BLOB_ID_PATTERN = Pattern.compile("[0-9a-f]{64}(\\.[A-Za-z0-9]+)?");
+
+	private final Path blobDirectory;
+	private final Path tmpDirectory;
+
+	// Guarded by this
+	private final Map<String, Integer> referenceCounts = new HashMap<>();
+
+	/**
+	 * Creates a store keeping its blobs in the given directory. Blobs already
+	 * present are kept until the next garbage collection, unless they are
+	 * retained before.
+	 * 
+	 * @param rootDirectory
+	 */
+	public ContentAddressedFileStore(Path rootDirectory) {
+		this.blobDirectory = rootDirectory.resolve(BLOB_DIRECTORY);
+		this.tmpDirectory = rootDirectory.resolve(TMP_DIRECTORY);
+		try {
+			Files.createDirectories(blobDirectory);
+			Files.createDirectories(tmpDirectory);
+		} catch (IOException e) {
+			throw new ProviderException("Could not create file store in " + rootDirectory, e);
+		}
+	}
+
+	/**
+	 * Creates a store in a new temporary directory
+	 */
+	public ContentAddressedFileStore() {
+		this(createTempDirectory());
+	}
+
+	private static Path createTempDirectory() {
+		try {
+			return Files.createTempDirectory("basyx-filestore");
+		} catch (IOException e) {
+			throw new ProviderException("Could not create file store", e);
+		}
+	}
+
+	/**
+	 * Stores the content and adds a reference to the resulting blob. The stream
+	 * is consumed and closed.
+	 * 
+	 * @param content
+	 * @param extension
+	 *            file extension including the dot, e.g. ".pdf", or an empty
+	 *            string
+	 * @return the id of the blob
+	 */
+	public String store(InputStream content, String extension) {
+		Path tmpFile = null;
+		try {
+			tmpFile = Files.createTempFile(tmpDirectory, "upload", null);
+
+			MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+			try (InputStream in = new DigestInputStream(content, digest); OutputStream out = Files.newOutputStream(tmpFile)) {
+				IOUtils.copy(in, out);
+			}
+
+			String blobId = toHex(digest.digest()) + sanitizeExtension(extension);
+			synchronized (this) {
+				moveToBlob(tmpFile, getBlobPath(blobId));
+				referenceCounts.merge(blobId, 1, Integer::sum);
+			}
+			return blobId;
+		} catch (IOException | NoSuchAlgorithmException e) {
+			throw new ProviderException("Could not store file", e);
+		} finally {
+			deleteQuietly(tmpFile);
+		}
+	}
+
+	private static void moveToBlob(Path tmpFile, Path blobPath) throws IOException {
+		if (Files.exists(blobPath)) {
+			// Same content has already been stored
+			return;
+		}
+
+		Files.createDirectories(blobPath.getParent());
+		try {
+			Files.move(tmpFile, blobPath, StandardCopyOption.ATOMIC_MOVE);
+		} catch (FileAlreadyExistsException e) {
+			// Same content has already been stored
+		}
+	}
+
+	/**
+	 * Adds a reference to an existing blob, e.g. when restoring a submodel that
+	 * references it after a restart
+	 * 
+	 * @param blobId
+	 */
+	public synchronized void retain(String blobId) {
+		if (!Files.exists(getBlobPath(blobId))) {
+			throw new ResourceNotFoundException("Blob " + blobId + " does not exist");
+		}
+		referenceCounts.merge(blobId, 1, Integer::sum);
+	}
+
+	/**
+	 * Removes a reference to a blob. Blobs without references are deleted by the
+	 * next garbage collection.
+	 * 
+	 * @param blobId
+	 */
+	public synchronized void release(String blobId) {
+		referenceCounts.computeIfPresent(blobId, (id, count) -> count > 1 ? count - 1 : null);
+	}
+
+	/**
+	 * Returns the number of references to a blob
+	 * 
+	 * @param blobId
+	 * @return
+	 */
+	public synchronized int getReferenceCount(String blobId) {
+		return referenceCounts.getOrDefault(blobId, 0);
+	}
+
+	/**
+	 * Returns the file containing the blob's content
+	 * 
+	 * @param blobId
+	 * @return
+	 */
+	public File getFile(String blobId) {
+		Path blobPath = getBlobPath(blobId);
+		if (!Files.exists(blobPath)) {
+			throw new ResourceNotFoundException("Blob " + blobId + " does not exist");
+		}
+		return blobPath.toFile();
+	}
+
+	/**
+	 * Deletes all blobs without references
+	 * 
+	 * @return the number of deleted blobs
+	 */
+	public synchronized int collectGarbage() {
+		int deleted = 0;
+		try (DirectoryStream<Path> prefixes = Files.newDirectoryStream(blobDirectory)) {
+			for (Path prefix : prefixes) {
+				try (DirectoryStream<Path> blobs = Files.newDirectoryStream(prefix)) {
+					for (Path blob : blobs) {
+						if (!referenceCounts.containsKey(blob.getFileName().toString())) {
+							Files.deleteIfExists(blob);
+							deleted++;
+						}
+					}
+				}
+			}
+		} catch (IOException e) {
+			throw new ProviderException("Could not collect garbage", e);
+		}
+		return deleted;
+	}
+
+	/**
+	 * Returns the File value referencing a blob
+	 * 
+	 * @param blobId
+	 * @return
+	 */
+	public static String toFileValue(String blobId) {
+		return BLOB_REFERENCE_PREFIX + blobId;
+	}
+
+	/**
+	 * Returns the blob referenced by a File value
+	 * 
+	 * @param fileValue
+	 * @return the id of the blob, or null if the value does not reference a blob
+	 */
+	public static String getBlobId(String fileValue) {
+		if (fileValue == null || !fileValue.startsWith(BLOB_REFERENCE_PREFIX)) {
+			return null;
+		}
+
+		String blobId = fileValue.substring(BLOB_REFERENCE_PREFIX.length());
+		return BLOB_ID_PATTERN.matcher(blobId).matches() ? blobId : null;
+	}
+
+	private Path getBlobPath(String blobId) {
+		if (!BLOB_ID_PATTERN.matcher(blobId).matches()) {
+			throw new MalformedRequestException("Invalid blob id " + blobId);
+		}
+		// Two character prefix directories keep the directory sizes small
+		return blobDirectory.resolve(blobId.substring(0, 2)).resolve(blobId);
+	}
+
+	private static String sanitizeExtension(String extension) {
+		if (extension == null || !extension.matches("\\.[A-Za-z0-9]+")) {
+			return "";
+		}
+		return extension;
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder builder = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			builder.append(String.format("%02x", b));
+		}
+		return builder.toString();
+	}
+
+	private static void deleteQuietly(Path path) {
+		if (path == null) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(path);
+		} catch (IOException e) {
+			logger.warn("Could not delete temporary file " + path, e);
+		}
+	}
+}
@@ -33,6 +33,9 @@ import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOperation;
 import org.eclipse.basyx.submodel.observer.Observable;
 import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelElementPage;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelElementQuery;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelValueDelta;
 
 /**
  * Implementation of {@link ISubmodelAPI} that calls back registered
@@ -87,6 +90,11 @@ public class ObservableSubmodelAPI extends Observable<ISubmodelAPIObserver> impl
 		return submodelAPI.getSubmodelElements();
 	}
 
+	@Override
+	public SubmodelElementPage getSubmodelElements(SubmodelElementQuery query) {
+		return submodelAPI.getSubmodelElements(query);
+	}
+
 	@Override
 	public void updateSubmodelElement(String idShortPath, Object newValue) {
 		submodelAPI.updateSubmodelElement(idShortPath, newValue);
@@ -123,4 +131,14 @@ public class ObservableSubmodelAPI extends Observable<ISubmodelAPIObserver> impl
 		submodelAPI.uploadSubmodelElementFile(idShortPath, fileStream);
 	}
 
+	@Override
+	public Object getSubmodelElementHistory(String idShortPath, long from, long to, int buckets) {
+		return submodelAPI.getSubmodelElementHistory(idShortPath, from, to, buckets);
+	}
+
+	@Override
+	public SubmodelValueDelta getSubmodelValuesSince(long version) {
+		return submodelAPI.getSubmodelValuesSince(version);
+	}
+
 }
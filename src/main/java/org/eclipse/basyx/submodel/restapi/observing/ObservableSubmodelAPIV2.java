@@ -36,6 +36,9 @@ import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOperation;
 import org.eclipse.basyx.submodel.observer.Observable;
 import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelElementPage;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelElementQuery;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelValueDelta;
 import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
 
 /**
@@ -114,6 +117,11 @@ public class ObservableSubmodelAPIV2 extends Observable<ISubmodelAPIObserverV2>
 		return submodelAPI.getSubmodelElements();
 	}
 
+	@Override
+	public SubmodelElementPage getSubmodelElements(SubmodelElementQuery query) {
+		return submodelAPI.getSubmodelElements(query);
+	}
+
 	@Override
 	public void updateSubmodelElement(String idShortPath, Object newValue) {
 		submodelAPI.updateSubmodelElement(idShortPath, newValue);
@@ -173,4 +181,14 @@ public class ObservableSubmodelAPIV2 extends Observable<ISubmodelAPIObserverV2>
 		submodelAPI.uploadSubmodelElementFile(idShortPath, fileStream);
 	}
 
+	@Override
+	public Object getSubmodelElementHistory(String idShortPath, long from, long to, int buckets) {
+		return submodelAPI.getSubmodelElementHistory(idShortPath, from, to, buckets);
+	}
+
+	@Override
+	public SubmodelValueDelta getSubmodelValuesSince(long version) {
+		return submodelAPI.getSubmodelValuesSince(version);
+	}
+
 }
\ No newline at end of file
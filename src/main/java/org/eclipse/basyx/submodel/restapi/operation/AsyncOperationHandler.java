@@ -26,9 +26,13 @@ package org.eclipse.basyx.submodel.restapi.operation;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -49,36 +53,68 @@ public class AsyncOperationHandler {
 	private static Map<String, String> responseOperationMap = new LinkedHashMap<>();
 	private static ScheduledThreadPoolExecutor delayer = new ScheduledThreadPoolExecutor(0);
 
+	// Invocations admitted to bulkheads may wait for a running slot, so they must
+	// not block the common pool. The number of threads is bounded by the bulkheads.
+	private static ExecutorService bulkheadExecutor = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "basyx-operation-bulkhead");
+		thread.setDaemon(true);
+		return thread;
+	});
+
 	/**
 	 * Invokes an Operation with an invocation request
 	 */
 	public static void invokeAsync(Operation operation, String operationId, InvocationRequest request, Collection<IOperationVariable> outputArguments) {
+		invokeAsync(operation, operationId, request, outputArguments, Collections.emptyList());
+	}
+
+	/**
+	 * Invokes an Operation with an invocation request that has been admitted to
+	 * the given bulkheads by the {@link InvocationAdmissionManager}
+	 */
+	public static void invokeAsync(Operation operation, String operationId, InvocationRequest request, Collection<IOperationVariable> outputArguments, List<OperationBulkhead> admitted) {
 		String requestId = request.getRequestId();
 		Collection<IOperationVariable> inOutArguments = request.getInOutArguments();
 		Object[] parameters = request.unwrapInputParameters();
-		invokeAsync(operation, operationId, requestId, parameters, inOutArguments, outputArguments, request.getTimeout());
+		invokeAsync(operation, operationId, requestId, parameters, inOutArguments, outputArguments, request.getTimeout(), admitted);
 	}
 
 	/**
 	 * Invokes an Operation without an invocation request
 	 */
 	public static void invokeAsync(Operation operation, String operationId, String requestId, Object[] inputs, Collection<IOperationVariable> outputArguments, int timeout) {
-		invokeAsync(operation, operationId, requestId, inputs, new ArrayList<>(), outputArguments, timeout);
+		invokeAsync(operation, operationId, requestId, inputs, outputArguments, timeout, Collections.emptyList());
+	}
+
+	/**
+	 * Invokes an Operation without an invocation request that has been admitted
+	 * to the given bulkheads by the {@link InvocationAdmissionManager}
+	 */
+	public static void invokeAsync(Operation operation, String operationId, String requestId, Object[] inputs, Collection<IOperationVariable> outputArguments, int timeout, List<OperationBulkhead> admitted) {
+		invokeAsync(operation, operationId, requestId, inputs, new ArrayList<>(), outputArguments, timeout, admitted);
 	}
 
 	/**
 	 * Invokes an Operation and returns its requestId
 	 */
-	private static void invokeAsync(Operation operation, String operationId, String requestId, Object[] inputs, Collection<IOperationVariable> inOutArguments, Collection<IOperationVariable> outputArguments, int timeout) {
+	private static void invokeAsync(Operation operation, String operationId, String requestId, Object[] inputs, Collection<IOperationVariable> inOutArguments, Collection<IOperationVariable> outputArguments, int timeout,
+			List<OperationBulkhead> admitted) {
 		synchronized (responses) {
 			InvocationResponse response = new InvocationResponse(requestId, inOutArguments, outputArguments, ExecutionState.INITIATED);
 
 			responses.put(requestId, response);
 			responseOperationMap.put(requestId, operationId);
 
-			CompletableFuture.supplyAsync(
-					// Run Operation asynchronously
-					() -> operation.invokeSimple(inputs))
+			CompletableFuture<Object> invocation;
+			if (admitted.isEmpty()) {
+				// Run Operation asynchronously
+				invocation = CompletableFuture.supplyAsync(() -> operation.invokeSimple(inputs));
+			} else {
+				// Wait for running slots of the bulkheads at most until the timeout
+				invocation = CompletableFuture.supplyAsync(() -> InvocationAdmissionManager.run(admitted, timeout, () -> operation.invokeSimple(inputs)), bulkheadExecutor);
+			}
+
+			invocation
 					// Accept either result or throw exception on timeout
 					.acceptEither(setTimeout(timeout, requestId), result -> {
 						// result accepted? => Write execution state if there is an output
@@ -0,0 +1,264 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.submodel.restapi.operation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import org.eclipse.basyx.submodel.metamodel.api.qualifier.qualifiable.IConstraint;
+import org.eclipse.basyx.submodel.metamodel.map.qualifier.qualifiable.Qualifier;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.valuetype.ValueType;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.Operation;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+import org.eclipse.basyx.vab.exception.provider.ServiceUnavailableException;
+
+/**
+ * Admission control for operation invocations. Operations opt into one or more
+ * named {@link OperationBulkhead}s by carrying {@link #BULKHEAD_TYPE}
+ * qualifiers, e.g. one bulkhead for the operation itself and one shared by all
+ * operations of its submodel. Bulkheads that have not been registered
+ * explicitly are created on first use with the default limits.<br>
+ * <br>
+ * Additionally, the invocation timeout of an operation can be configured with a
+ * {@link #TIMEOUT_TYPE} qualifier.
+ * 
+ */
+public class InvocationAdmissionManager {
+	public static final String BULKHEAD_TYPE = "invocationBulkhead";
+	public static final String TIMEOUT_TYPE = "invocationTimeout";
+
+	public static final int DEFAULT_TIMEOUT = 10000;
+	public static final int DEFAULT_MAX_CONCURRENCY = 16;
+	public static final int DEFAULT_MAX_QUEUE_DEPTH = 64;
+
+	private static Map<String, OperationBulkhead> bulkheads = new TreeMap<>();
+	private static int defaultMaxConcurrency = DEFAULT_MAX_CONCURRENCY;
+	private static int defaultMaxQueueDepth = DEFAULT_MAX_QUEUE_DEPTH;
+
+	/**
+	 * Registers a bulkhead with specific limits. Replaces an existing bulkhead
+	 * with the same name, invocations already admitted to it are not affected.
+	 * 
+	 * @param name
+	 *            the name referenced by the {@link #BULKHEAD_TYPE} qualifiers
+	 * @param maxConcurrency
+	 *            maximum number of concurrently running invocations
+	 * @param maxQueueDepth
+	 *            maximum number of invocations waiting for a running slot
+	 * @return the registered bulkhead
+	 */
+	public static OperationBulkhead registerBulkhead(String name, int maxConcurrency, int maxQueueDepth) {
+		OperationBulkhead bulkhead = new OperationBulkhead(name, maxConcurrency, maxQueueDepth);
+		synchronized (bulkheads) {
+			bulkheads.put(name, bulkhead);
+		}
+		return bulkhead;
+	}
+
+	/**
+	 * Sets the limits of bulkheads that are created on first use
+	 */
+	public static void setDefaultLimits(int maxConcurrency, int maxQueueDepth) {
+		synchronized (bulkheads) {
+			defaultMaxConcurrency = maxConcurrency;
+			defaultMaxQueueDepth = maxQueueDepth;
+		}
+	}
+
+	/**
+	 * Removes all bulkheads and restores the default limits
+	 */
+	public static void reset() {
+		synchronized (bulkheads) {
+			bulkheads.clear();
+			defaultMaxConcurrency = DEFAULT_MAX_CONCURRENCY;
+			defaultMaxQueueDepth = DEFAULT_MAX_QUEUE_DEPTH;
+		}
+	}
+
+	/**
+	 * Retrieves the queued, running, rejected and completed invocation counts of
+	 * all bulkheads
+	 * 
+	 * @return map from bulkhead name to its metrics
+	 */
+	public static Map<String, Map<String, Object>> getMetrics() {
+		Map<String, Map<String, Object>> metrics = new LinkedHashMap<>();
+		for (OperationBulkhead bulkhead : getAllBulkheads()) {
+			metrics.put(bulkhead.getName(), bulkhead.getMetrics());
+		}
+		return metrics;
+	}
+
+	/**
+	 * Creates the Qualifier assigning an Operation to a bulkhead
+	 * 
+	 * @param bulkheadName
+	 *            the name of the bulkhead
+	 * @return the bulkhead Qualifier
+	 */
+	public static Qualifier createBulkheadQualifier(String bulkheadName) {
+		return new Qualifier(BULKHEAD_TYPE, bulkheadName, ValueType.String, null);
+	}
+
+	/**
+	 * Creates the Qualifier configuring the invocation timeout of an Operation
+	 * 
+	 * @param timeout
+	 *            the timeout in milliseconds
+	 * @return the timeout Qualifier
+	 */
+	public static Qualifier createTimeoutQualifier(int timeout) {
+		return new Qualifier(TIMEOUT_TYPE, Integer.toString(timeout), ValueType.Int32, null);
+	}
+
+	/**
+	 * Retrieves the configured invocation timeout of an Operation
+	 * 
+	 * @param operation
+	 * @return the timeout in milliseconds, or {@link #DEFAULT_TIMEOUT} if none is
+	 *         configured
+	 */
+	public static int getTimeout(Operation operation) {
+		for (Qualifier qualifier : getQualifiers(operation, TIMEOUT_TYPE)) {
+			try {
+				return Integer.parseInt(qualifier.getValue().toString());
+			} catch (NumberFormatException e) {
+				throw new MalformedRequestException("Invalid invocation timeout '" + qualifier.getValue() + "' of operation '" + operation.getIdShort() + "'");
+			}
+		}
+		return DEFAULT_TIMEOUT;
+	}
+
+	/**
+	 * Admits an invocation of the Operation to all of its bulkheads.
+	 * 
+	 * @param operation
+	 * @return the admitted invocation, which has to be run by
+	 *         {@link #run(List, long, Supplier)}
+	 * @throws ServiceUnavailableException
+	 *             if one of the bulkheads is saturated
+	 */
+	public static List<OperationBulkhead> admit(Operation operation) throws ServiceUnavailableException {
+		List<OperationBulkhead> admitted = new ArrayList<>();
+		try {
+			for (OperationBulkhead bulkhead : getBulkheads(operation)) {
+				bulkhead.enter();
+				admitted.add(bulkhead);
+			}
+		} catch (ServiceUnavailableException e) {
+			admitted.forEach(OperationBulkhead::abandon);
+			throw e;
+		}
+		return admitted;
+	}
+
+	/**
+	 * Runs an invocation previously admitted by {@link #admit(Operation)}.
+	 * Running slots are always acquired in the order of the bulkhead names to
+	 * prevent deadlocks between operations sharing bulkheads.
+	 * 
+	 * @param admitted
+	 *            the bulkheads the invocation was admitted to
+	 * @param maxWaitMillis
+	 *            maximum time to wait for running slots
+	 * @param invocation
+	 *            the actual invocation
+	 * @return the result of the invocation
+	 */
+	public static <T> T run(List<OperationBulkhead> admitted, long maxWaitMillis, Supplier<T> invocation) {
+		long deadline = System.currentTimeMillis() + maxWaitMillis;
+		List<OperationBulkhead> started = new ArrayList<>();
+		try {
+			for (OperationBulkhead bulkhead : admitted) {
+				bulkhead.start(Math.max(0, deadline - System.currentTimeMillis()));
+				started.add(bulkhead);
+			}
+		} catch (RuntimeException e) {
+			started.forEach(OperationBulkhead::leave);
+			admitted.subList(started.size() + 1, admitted.size()).forEach(OperationBulkhead::abandon);
+			throw e;
+		}
+
+		try {
+			return invocation.get();
+		} finally {
+			started.forEach(OperationBulkhead::leave);
+		}
+	}
+
+	/**
+	 * Admits and runs an invocation on the calling thread
+	 */
+	public static <T> T invoke(Operation operation, Supplier<T> invocation) {
+		// Read before admitting, an invalid timeout must not occupy the bulkheads
+		int timeout = getTimeout(operation);
+		List<OperationBulkhead> admitted = admit(operation);
+		return run(admitted, timeout, invocation);
+	}
+
+	private static List<OperationBulkhead> getBulkheads(Operation operation) {
+		List<OperationBulkhead> result = new ArrayList<>();
+		synchronized (bulkheads) {
+			for (Qualifier qualifier : getQualifiers(operation, BULKHEAD_TYPE)) {
+				String name = qualifier.getValue().toString();
+				OperationBulkhead bulkhead = bulkheads.computeIfAbsent(name, n -> new OperationBulkhead(n, defaultMaxConcurrency, defaultMaxQueueDepth));
+				if (!result.contains(bulkhead)) {
+					result.add(bulkhead);
+				}
+			}
+		}
+		result.sort(Comparator.comparing(OperationBulkhead::getName));
+		return result;
+	}
+
+	private static Collection<OperationBulkhead> getAllBulkheads() {
+		synchronized (bulkheads) {
+			return new ArrayList<>(bulkheads.values());
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Qualifier> getQualifiers(Operation operation, String type) {
+		List<Qualifier> result = new ArrayList<>();
+		Collection<IConstraint> constraints = operation.getQualifiers();
+		if (constraints == null) {
+			return result;
+		}
+		for (IConstraint constraint : constraints) {
+			Qualifier qualifier = Qualifier.createAsFacade((Map<String, Object>) constraint);
+			if (qualifier.getType() != null && qualifier.getType().equalsIgnoreCase(type) && qualifier.getValue() != null) {
+				result.add(qualifier);
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.submodel.restapi.operation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.OperationExecutionTimeoutException;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.exception.provider.ServiceUnavailableException;
+
+/**
+ * Limits the number of concurrently running and queued invocations sharing
+ * this bulkhead. An invocation first has to be admitted by {@link #enter()},
+ * which fails fast if both the running and the queued slots are exhausted.
+ * Afterwards, {@link #start(long)} waits for a running slot and
+ * {@link #leave()} frees it again.
+ * 
+ */
+public class OperationBulkhead {
+	public static final String QUEUED = "queued";
+	public static final String RUNNING = "running";
+	public static final String REJECTED = "rejected";
+	public static final String COMPLETED = "completed";
+
+	private final String name;
+	private final int maxConcurrency;
+	private final int maxQueueDepth;
+
+	private int running = 0;
+	private int queued = 0;
+	private long rejected = 0;
+	private long completed = 0;
+
+	/**
+	 * Creates a bulkhead
+	 * 
+	 * @param name
+	 *            the name of the bulkhead
+	 * @param maxConcurrency
+	 *            maximum number of concurrently running invocations
+	 * @param maxQueueDepth
+	 *            maximum number of invocations waiting for a running slot
+	 */
+	public OperationBulkhead(String name, int maxConcurrency, int maxQueueDepth) {
+		if (maxConcurrency < 1 || maxQueueDepth < 0) {
+			throw new IllegalArgumentException("Bulkhead '" + name + "' needs a concurrency of at least 1 and a non-negative queue depth");
+		}
+		this.name = name;
+		this.maxConcurrency = maxConcurrency;
+		this.maxQueueDepth = maxQueueDepth;
+	}
+
+	/**
+	 * Admits an invocation to the queue of this bulkhead
+	 * 
+	 * @throws ServiceUnavailableException
+	 *             if all running and queued slots are taken
+	 */
+	public synchronized void enter() throws ServiceUnavailableException {
+		if (running + queued >= maxConcurrency + maxQueueDepth) {
+			rejected++;
+			throw new ServiceUnavailableException("Bulkhead '" + name + "' is saturated, rejecting invocation");
+		}
+		queued++;
+	}
+
+	/**
+	 * Waits for a running slot for an invocation previously admitted by
+	 * {@link #enter()}
+	 * 
+	 * @param maxWaitMillis
+	 *            maximum time to wait for a running slot
+	 * @throws OperationExecutionTimeoutException
+	 *             if no slot became available in time
+	 */
+	public synchronized void start(long maxWaitMillis) throws OperationExecutionTimeoutException {
+		long deadline = System.currentTimeMillis() + maxWaitMillis;
+		try {
+			while (running >= maxConcurrency) {
+				long remaining = deadline - System.currentTimeMillis();
+				if (remaining <= 0) {
+					throw new OperationExecutionTimeoutException("Invocation timed out waiting in bulkhead '" + name + "'");
+				}
+				wait(remaining);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			abandon();
+			throw new ProviderException(e);
+		} catch (OperationExecutionTimeoutException e) {
+			abandon();
+			throw e;
+		}
+		queued--;
+		running++;
+	}
+
+	/**
+	 * Frees the running slot of a finished invocation
+	 */
+	public synchronized void leave() {
+		running--;
+		completed++;
+		notifyAll();
+	}
+
+	/**
+	 * Removes an admitted invocation from the queue without running it
+	 */
+	public synchronized void abandon() {
+		queued--;
+		notifyAll();
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getMaxConcurrency() {
+		return maxConcurrency;
+	}
+
+	public int getMaxQueueDepth() {
+		return maxQueueDepth;
+	}
+
+	public synchronized int getRunning() {
+		return running;
+	}
+
+	public synchronized int getQueued() {
+		return queued;
+	}
+
+	public synchronized long getRejected() {
+		return rejected;
+	}
+
+	public synchronized long getCompleted() {
+		return completed;
+	}
+
+	/**
+	 * Returns a consistent snapshot of the queued, running, rejected and
+	 * completed invocation counts
+	 * 
+	 * @return the metrics of this bulkhead
+	 */
+	public synchronized Map<String, Object> getMetrics() {
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		metrics.put(QUEUED, queued);
+		metrics.put(RUNNING, running);
+		metrics.put(REJECTED, rejected);
+		metrics.put(COMPLETED, completed);
+		return metrics;
+	}
+}
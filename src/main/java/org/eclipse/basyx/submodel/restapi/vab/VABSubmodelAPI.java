@@ -27,8 +27,11 @@ package org.eclipse.basyx.submodel.restapi.vab;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -40,14 +43,25 @@ import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOperation;
 import org.eclipse.basyx.submodel.metamodel.map.Submodel;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElement;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.File;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
 import org.eclipse.basyx.submodel.restapi.MultiSubmodelElementProvider;
+import org.eclipse.basyx.submodel.restapi.OperationProvider;
 import org.eclipse.basyx.submodel.restapi.SubmodelAPIHelper;
 import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelElementPage;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelElementQuery;
+import org.eclipse.basyx.submodel.restapi.file.ContentAddressedFileStore;
 import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
 import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.lambda.VABSnapshotProvider;
+import org.eclipse.basyx.vab.protocol.api.IConnectorFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.common.io.Files;
 
@@ -58,12 +72,26 @@ import com.google.common.io.Files;
  *
  */
 public class VABSubmodelAPI implements ISubmodelAPI {
+	private static Logger logger = LoggerFactory.getLogger(VABSubmodelAPI.class);
 
 	// The VAB model provider containing the model this API implementation is based
 	// on
 	private IModelProvider modelProvider;
 
-	private String tmpDirectory = Files.createTempDir().getAbsolutePath();
+	// Only created if files are uploaded without a file store
+	private String tmpDirectory;
+
+	// Optional store shared between multiple APIs for uploaded files. The Files
+	// reference their blob by their value.
+	private ContentAddressedFileStore fileStore;
+
+	// Used for invoking delegated operations
+	private IConnectorFactory delegationConnectorFactory = OperationProvider.DEFAULT_DELEGATION_CONNECTOR_FACTORY;
+
+	// Guards reading the blobs referenced by an element, modifying it and
+	// updating the reference counts, so that concurrent modifications do not
+	// release the same reference twice
+	private final Object blobReferenceLock = new Object();
 
 	/**
 	 * Creates a VABSubmodelAPI that wraps an IModelProvider
@@ -75,6 +103,46 @@ public class VABSubmodelAPI implements ISubmodelAPI {
 		this.modelProvider = modelProvider;
 	}
 
+	/**
+	 * Creates a VABSubmodelAPI that wraps an IModelProvider and keeps uploaded
+	 * files in the given store. The blobs already referenced by Files of the
+	 * Submodel are retained.
+	 * 
+	 * @param modelProvider providing the Submodel
+	 * @param fileStore     for uploaded files, may be shared with other APIs
+	 */
+	@SuppressWarnings("unchecked")
+	public VABSubmodelAPI(IModelProvider modelProvider, ContentAddressedFileStore fileStore) {
+		this(modelProvider);
+		this.fileStore = fileStore;
+		if (fileStore == null) {
+			return;
+		}
+
+		Map<String, Object> submodel = (Map<String, Object>) modelProvider.getValue(SubmodelAPIHelper.getSubmodelPath());
+		for (String blobId : getReferencedBlobs(submodel.get(Submodel.SUBMODELELEMENT))) {
+			try {
+				fileStore.retain(blobId);
+			} catch (ResourceNotFoundException e) {
+				logger.warn("File references missing blob " + blobId);
+			}
+		}
+	}
+
+	/**
+	 * Creates a VABSubmodelAPI like
+	 * {@link #VABSubmodelAPI(IModelProvider, ContentAddressedFileStore)} that
+	 * invokes delegated operations with the given connector factory
+	 * 
+	 * @param modelProvider              providing the Submodel
+	 * @param fileStore                  for uploaded files, may be null
+	 * @param delegationConnectorFactory used for invoking delegated operations
+	 */
+	public VABSubmodelAPI(IModelProvider modelProvider, ContentAddressedFileStore fileStore, IConnectorFactory delegationConnectorFactory) {
+		this(modelProvider, fileStore);
+		this.delegationConnectorFactory = delegationConnectorFactory;
+	}
+
 	/**
 	 * Creates an IModelProvider for handling accesses to the elements within the
 	 * submodel
@@ -83,8 +151,12 @@ public class VABSubmodelAPI implements ISubmodelAPI {
 	 *         submodelelements
 	 */
 	private MultiSubmodelElementProvider getElementProvider() {
+		return getElementProvider(modelProvider);
+	}
+
+	private MultiSubmodelElementProvider getElementProvider(IModelProvider modelProvider) {
 		IModelProvider elementProxy = new VABElementProxy(SubmodelAPIHelper.getSubmodelElementsPath(), modelProvider);
-		return new MultiSubmodelElementProvider(elementProxy);
+		return new MultiSubmodelElementProvider(elementProxy, delegationConnectorFactory);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -101,17 +173,24 @@ public class VABSubmodelAPI implements ISubmodelAPI {
 
 	@Override
 	public void addSubmodelElement(ISubmodelElement elem) {
-		getElementProvider().createValue(SubmodelAPIHelper.getSubmodelElementPath(elem.getIdShort()), elem);
+		addSubmodelElement(elem.getIdShort(), elem);
 	}
 
 	@Override
 	public void addSubmodelElement(String idShortPath, ISubmodelElement elem) {
-		getElementProvider().createValue(SubmodelAPIHelper.getSubmodelElementPath(idShortPath), elem);
+		// An existing element is replaced
+		modifyReferencingElements(Collections.singleton(idShortPath), () -> getElementProvider().createValue(SubmodelAPIHelper.getSubmodelElementPath(idShortPath), elem));
 	}
 
 	@SuppressWarnings("unchecked")
 	@Override
 	public void deleteSubmodelElement(String idShortPath) {
+		if (fileStore != null) {
+			// Also releases the blobs of Files contained in deleted collections
+			modifyReferencingElements(Collections.singleton(idShortPath), () -> getElementProvider().deleteValue(SubmodelAPIHelper.getSubmodelElementPath(idShortPath)));
+			return;
+		}
+
 		ISubmodelElement submodelElement = getSubmodelElement(idShortPath);
 		if (File.isFile((Map<String, Object>) submodelElement)) {
 			File file = File.createAsFacade((Map<String, Object>) submodelElement);
@@ -121,6 +200,76 @@ public class VABSubmodelAPI implements ISubmodelAPI {
 		getElementProvider().deleteValue(SubmodelAPIHelper.getSubmodelElementPath(idShortPath));
 	}
 
+	/**
+	 * Applies a modification of elements and updates the reference counts of the
+	 * blobs the elements referenced before and after the modification
+	 * 
+	 * @param idShortPaths paths of the modified elements
+	 * @param modification
+	 */
+	private void modifyReferencingElements(Collection<String> idShortPaths, Runnable modification) {
+		if (fileStore == null) {
+			modification.run();
+			return;
+		}
+
+		synchronized (blobReferenceLock) {
+			List<String> previous = getReferencedBlobs(idShortPaths);
+			modification.run();
+			List<String> current = getReferencedBlobs(idShortPaths);
+
+			List<String> added = new ArrayList<>(current);
+			previous.forEach(added::remove);
+			List<String> removed = new ArrayList<>(previous);
+			current.forEach(removed::remove);
+
+			// Retain first, so that a blob moved between elements is not released in between
+			for (String blobId : added) {
+				try {
+					fileStore.retain(blobId);
+				} catch (ResourceNotFoundException e) {
+					logger.warn("File references missing blob " + blobId);
+				}
+			}
+			removed.forEach(fileStore::release);
+		}
+	}
+
+	private List<String> getReferencedBlobs(Collection<String> idShortPaths) {
+		List<String> blobIds = new ArrayList<>();
+		for (String idShortPath : idShortPaths) {
+			try {
+				blobIds.addAll(getReferencedBlobs(getSubmodelElement(idShortPath)));
+			} catch (ResourceNotFoundException e) {
+				// Not yet created or already deleted
+			}
+		}
+		return blobIds;
+	}
+
+	/**
+	 * Collects the blobs referenced by the Files contained in an element or a
+	 * collection of elements
+	 */
+	@SuppressWarnings("unchecked")
+	private static List<String> getReferencedBlobs(Object elements) {
+		List<String> blobIds = new ArrayList<>();
+		if (elements instanceof Map && File.isFile((Map<String, Object>) elements)) {
+			String blobId = ContentAddressedFileStore.getBlobId((String) ((Map<String, Object>) elements).get(Property.VALUE));
+			if (blobId != null) {
+				blobIds.add(blobId);
+			}
+		} else if (elements instanceof Map && SubmodelElementCollection.isSubmodelElementCollection((Map<String, Object>) elements)) {
+			blobIds.addAll(getReferencedBlobs(((Map<String, Object>) elements).get(Property.VALUE)));
+		} else if (elements instanceof Map) {
+			// Elements by their idShort
+			((Map<String, Object>) elements).values().forEach(e -> blobIds.addAll(getReferencedBlobs(e)));
+		} else if (elements instanceof Collection) {
+			((Collection<Object>) elements).forEach(e -> blobIds.addAll(getReferencedBlobs(e)));
+		}
+		return blobIds;
+	}
+
 	@Override
 	public Collection<IOperation> getOperations() {
 		return getSubmodelElements().stream().filter(e -> e instanceof IOperation).map(e -> (IOperation) e)
@@ -135,9 +284,32 @@ public class VABSubmodelAPI implements ISubmodelAPI {
 		return elements.stream().map(SubmodelElement::createAsFacade).collect(Collectors.toList());
 	}
 
+	@SuppressWarnings("unchecked")
+	@Override
+	public SubmodelElementPage getSubmodelElements(SubmodelElementQuery query) {
+		Map<String, Object> page = (Map<String, Object>) getElementProvider()
+				.getValue(SubmodelAPIHelper.getSubmodelElementsPath() + query.toQueryString());
+		return SubmodelElementPage.createAsFacade(page);
+	}
+
 	@Override
 	public void updateSubmodelElement(String idShortPath, Object newValue) {
-		getElementProvider().setValue(SubmodelAPIHelper.getSubmodelElementValuePath(idShortPath), newValue);
+		// Overwriting the value of a File replaces its blob reference
+		modifyReferencingElements(Collections.singleton(idShortPath), () -> getElementProvider().setValue(SubmodelAPIHelper.getSubmodelElementValuePath(idShortPath), newValue));
+	}
+
+	@Override
+	public void updateSubmodelElements(Map<String, Object> values) {
+		if (!(modelProvider instanceof VABSnapshotProvider)) {
+			ISubmodelAPI.super.updateSubmodelElements(values);
+			return;
+		}
+
+		// All values are published as a single new version of the submodel
+		modifyReferencingElements(values.keySet(), () -> ((VABSnapshotProvider) modelProvider).modifyAll(batch -> {
+			MultiSubmodelElementProvider elementProvider = getElementProvider(batch);
+			values.forEach((idShortPath, newValue) -> elementProvider.setValue(SubmodelAPIHelper.getSubmodelElementValuePath(idShortPath), newValue));
+		}));
 	}
 
 	@SuppressWarnings("unchecked")
@@ -146,7 +318,11 @@ public class VABSubmodelAPI implements ISubmodelAPI {
 		ISubmodelElement submodelElement = getSubmodelElement(idShortPath);
 		if (File.isFile((Map<String, Object>) submodelElement)) {
 			try {
-				createFile(idShortPath, fileStream, submodelElement);
+				if (fileStore != null) {
+					storeFile(idShortPath, fileStream, submodelElement);
+				} else {
+					createFile(idShortPath, fileStream, submodelElement);
+				}
 			} catch (IOException e) {
 				throw new ProviderException(e);
 			}
@@ -156,6 +332,19 @@ public class VABSubmodelAPI implements ISubmodelAPI {
 		}
 	}
 
+	@SuppressWarnings("unchecked")
+	private void storeFile(String idShortPath, InputStream fileStream, ISubmodelElement submodelElement) {
+		File file = File.createAsFacade((Map<String, Object>) submodelElement);
+		// The stored blob is referenced until the File references it
+		String blobId = fileStore.store(fileStream, getFileExtension(file));
+		try {
+			// The reference is persisted with the Submodel
+			updateSubmodelElement(idShortPath, ContentAddressedFileStore.toFileValue(blobId));
+		} finally {
+			fileStore.release(blobId);
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	private void createFile(String idShortPath, Object newValue, ISubmodelElement submodelElement) throws IOException {
 		File file = File.createAsFacade((Map<String, Object>) submodelElement);
@@ -174,7 +363,14 @@ public class VABSubmodelAPI implements ISubmodelAPI {
 
 		String extension = getFileExtension(file);
 
-		return tmpDirectory + "/" + fileName + extension;
+		return getTmpDirectory() + "/" + fileName + extension;
+	}
+
+	private synchronized String getTmpDirectory() {
+		if (tmpDirectory == null) {
+			tmpDirectory = Files.createTempDir().getAbsolutePath();
+		}
+		return tmpDirectory;
 	}
 
 	private String getFileExtension(File file) {
@@ -221,11 +417,15 @@ public class VABSubmodelAPI implements ISubmodelAPI {
 	@SuppressWarnings("unchecked")
 	@Override
 	public java.io.File getSubmodelElementFile(String idShortPath) {
-
 		Map<String, Object> submodelElement = (Map<String, Object>) getSubmodelElement(idShortPath);
 
 		File fileSubmodelElement = File.createAsFacade(submodelElement);
 
+		String blobId = ContentAddressedFileStore.getBlobId(fileSubmodelElement.getValue());
+		if (fileStore != null && blobId != null) {
+			return fileStore.getFile(blobId);
+		}
+
 		String filePath = getFilePath(idShortPath, fileSubmodelElement);
 
 		return new java.io.File(filePath);
@@ -25,9 +25,13 @@
 package org.eclipse.basyx.submodel.restapi.vab;
 
 import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.restapi.OperationProvider;
 import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
 import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPIFactory;
+import org.eclipse.basyx.submodel.restapi.file.ContentAddressedFileStore;
 import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaProvider;
+import org.eclipse.basyx.vab.protocol.api.ConnectorFactory;
+import org.eclipse.basyx.vab.protocol.api.IConnectorFactory;
 
 /**
  * Submodel API provider that provides the default VAB Submodel API
@@ -36,8 +40,47 @@ import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaProvider;
  *
  */
 public class VABSubmodelAPIFactory implements ISubmodelAPIFactory {
+	private ContentAddressedFileStore fileStore;
+	private IConnectorFactory delegationConnectorFactory = OperationProvider.DEFAULT_DELEGATION_CONNECTOR_FACTORY;
+
+	public VABSubmodelAPIFactory() {
+	}
+
+	/**
+	 * Creates a factory whose APIs share the given store for uploaded files
+	 * 
+	 * @param fileStore
+	 */
+	public VABSubmodelAPIFactory(ContentAddressedFileStore fileStore) {
+		this.fileStore = fileStore;
+	}
+
+	/**
+	 * Creates a factory whose APIs invoke delegated operations with the given
+	 * connector factory, e.g. one creating HTTPS or authenticating connectors
+	 * 
+	 * @param fileStore
+	 *            for uploaded files, may be null
+	 * @param delegationConnectorFactory
+	 *            used for invoking delegated operations
+	 */
+	public VABSubmodelAPIFactory(ContentAddressedFileStore fileStore, IConnectorFactory delegationConnectorFactory) {
+		this(fileStore);
+		this.delegationConnectorFactory = delegationConnectorFactory;
+	}
+
 	@Override
 	public ISubmodelAPI getSubmodelAPI(Submodel submodel) {
-		return new VABSubmodelAPI(new VABLambdaProvider(submodel));
+		return new VABSubmodelAPI(new VABLambdaProvider(submodel), fileStore, delegationConnectorFactory);
+	}
+
+	/**
+	 * Closes the connectors cached for invoking delegated operations. The shared
+	 * default connector factory is left untouched.
+	 */
+	public void close() {
+		if (delegationConnectorFactory != OperationProvider.DEFAULT_DELEGATION_CONNECTOR_FACTORY && delegationConnectorFactory instanceof ConnectorFactory) {
+			((ConnectorFactory) delegationConnectorFactory).clear();
+		}
 	}
 }
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.coder.cbor;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.eclipse.basyx.submodel.restapi.operation.InvocationRequest;
+import org.eclipse.basyx.vab.coder.json.connector.JSONConnector;
+import org.eclipse.basyx.vab.coder.json.metaprotocol.MetaprotocolHandler;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.modelprovider.VABPathTools;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.protocol.api.IBinaryBaSyxConnector;
+
+/**
+ * Connector serializing requests as CBOR. Counterpart of the
+ * {@link JSONConnector} for {@link IBinaryBaSyxConnector}s.
+ * 
+ */
+public class CBORConnector implements IModelProvider, Closeable {
+	protected IBinaryBaSyxConnector provider;
+	protected CBORTools serializer;
+	protected MetaprotocolHandler metaProtocolHandler = new MetaprotocolHandler();
+
+	public CBORConnector(IBinaryBaSyxConnector provider) {
+		this(provider, new CBORTools());
+	}
+
+	public CBORConnector(IBinaryBaSyxConnector provider, CBORTools serializer) {
+		this.provider = provider;
+		this.serializer = serializer;
+	}
+
+	@Override
+	public Object getValue(String path) throws ProviderException {
+		VABPathTools.checkPathForNull(path);
+		return verify(provider.getBinaryValue(path));
+	}
+
+	@Override
+	public void setValue(String path, Object newValue) throws ProviderException {
+		VABPathTools.checkPathForNull(path);
+		verify(provider.setBinaryValue(path, serializer.serialize(newValue)));
+	}
+
+	@Override
+	public void createValue(String path, Object newEntity) throws ProviderException {
+		VABPathTools.checkPathForNull(path);
+		verify(provider.createBinaryValue(path, serializer.serialize(newEntity)));
+	}
+
+	@Override
+	public void deleteValue(String path) throws ProviderException {
+		VABPathTools.checkPathForNull(path);
+		verify(provider.deleteBinaryValue(path));
+	}
+
+	@Override
+	public void deleteValue(String path, Object obj) throws ProviderException {
+		VABPathTools.checkPathForNull(path);
+		verify(provider.deleteBinaryValue(path, serializer.serialize(obj)));
+	}
+
+	@Override
+	public Object invokeOperation(String path, Object... parameter) throws ProviderException {
+		VABPathTools.checkPathForNull(path);
+
+		byte[] encoded;
+		if (parameter.length == 1 && parameter[0] instanceof InvocationRequest) {
+			encoded = serializer.serialize(parameter[0]);
+		} else {
+			encoded = serializer.serialize(Arrays.asList(parameter));
+		}
+
+		return verify(provider.invokeBinaryOperation(path, encoded));
+	}
+
+	private Object verify(byte[] message) throws ProviderException {
+		return metaProtocolHandler.verify(serializer.deserialize(message));
+	}
+
+	/**
+	 * Releases the resources held by the connector backend, if it holds any
+	 */
+	@Override
+	public void close() throws IOException {
+		if (provider instanceof Closeable) {
+			((Closeable) provider).close();
+		}
+	}
+}
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.coder.cbor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.eclipse.basyx.vab.coder.json.metaprotocol.Result;
+import org.eclipse.basyx.vab.coder.json.provider.JSONProvider;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.metrics.BaSyxMetrics;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Provider class that supports CBOR serialized communication. Counterpart of
+ * the {@link JSONProvider} with the same request and error semantics, i.e.
+ * exceptions are sent as serialized {@link Result} and rethrown afterwards.
+ * 
+ */
+public class CBORProvider<ModelProvider extends IModelProvider> {
+	private static Logger logger = LoggerFactory.getLogger(CBORProvider.class);
+
+	private final ModelProvider providerBackend;
+	private final CBORTools serializer;
+
+	public CBORProvider(ModelProvider modelProviderBackend) {
+		this(modelProviderBackend, new CBORTools());
+	}
+
+	public CBORProvider(ModelProvider modelProviderBackend, CBORTools serializer) {
+		this.providerBackend = modelProviderBackend;
+		this.serializer = serializer;
+	}
+
+	/**
+	 * Get backend reference
+	 */
+	public ModelProvider getBackendReference() {
+		return providerBackend;
+	}
+
+	/**
+	 * Process a BaSys get operation, return CBOR serialized result
+	 */
+	public void processBaSysGet(String path, OutputStream outputStream) throws ProviderException {
+		try {
+			Object value = providerBackend.getValue(path);
+			writeResponse(outputStream, serializer.serialize(value));
+		} catch (Exception e) {
+			sendException(outputStream, e);
+		}
+	}
+
+	/**
+	 * Process a BaSys set operation
+	 */
+	public void processBaSysSet(String path, byte[] serializedValue, OutputStream outputStream) throws ProviderException {
+		try {
+			Object parameter = extractParameter(serializedValue);
+			providerBackend.setValue(path, parameter);
+		} catch (Exception e) {
+			sendException(outputStream, e);
+		}
+	}
+
+	/**
+	 * Creates a resource under the given path
+	 */
+	public void processBaSysCreate(String path, byte[] serializedValue, OutputStream outputStream) throws ProviderException {
+		try {
+			Object parameter = extractParameter(serializedValue);
+			providerBackend.createValue(path, parameter);
+		} catch (Exception e) {
+			sendException(outputStream, e);
+		}
+	}
+
+	/**
+	 * Deletes the resource under the given path. If a value is passed, it is
+	 * removed from the collection or map under the path.
+	 */
+	public void processBaSysDelete(String path, byte[] serializedValue, OutputStream outputStream) throws ProviderException {
+		try {
+			Object parameter = extractParameter(serializedValue);
+			if (parameter == null) {
+				providerBackend.deleteValue(path);
+			} else {
+				providerBackend.deleteValue(path, parameter);
+			}
+		} catch (Exception e) {
+			sendException(outputStream, e);
+		}
+	}
+
+	/**
+	 * Process a BaSys invoke operation
+	 */
+	public void processBaSysInvoke(String path, byte[] serializedValue, OutputStream outputStream) throws ProviderException {
+		try {
+			Object[] parameters = JSONProvider.toParameterArray(extractParameter(serializedValue));
+			Object result = providerBackend.invokeOperation(path, parameters);
+			writeResponse(outputStream, serializer.serialize(result));
+		} catch (Exception e) {
+			sendException(outputStream, e);
+		}
+	}
+
+	private Object extractParameter(byte[] serializedValue) throws MalformedRequestException {
+		if (serializedValue != null) {
+			BaSyxMetrics.recordSize(BaSyxMetrics.PAYLOAD, "request cbor", serializedValue.length);
+		}
+		return serializer.deserialize(serializedValue);
+	}
+
+	private void writeResponse(OutputStream outputStream, byte[] payload) throws IOException {
+		BaSyxMetrics.recordSize(BaSyxMetrics.PAYLOAD, "response cbor", payload.length);
+		outputStream.write(payload);
+	}
+
+	private void sendException(OutputStream outputStream, Exception e) throws ProviderException {
+		try {
+			outputStream.write(serializer.serialize(new Result(e)));
+		} catch (IOException innerE) {
+			throw new ProviderException("Failed to send Exception '" + e.getMessage() + "' to client", innerE);
+		}
+
+		if (e instanceof ProviderException) {
+			throw (ProviderException) e;
+		}
+
+		logger.error("Unknown Exception in CBORProvider", e);
+		throw new ProviderException(e);
+	}
+}
@@ -0,0 +1,455 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.coder.cbor;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Map.Entry;
+
+import org.eclipse.basyx.vab.coder.json.serialization.DefaultTypeFactory;
+import org.eclipse.basyx.vab.coder.json.serialization.GSONTools;
+import org.eclipse.basyx.vab.coder.json.serialization.GSONToolsFactory;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+import org.eclipse.basyx.vab.metrics.BaSyxMetrics;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * Binary serializer encoding the VAB data model as CBOR (RFC 8949). The mapping
+ * of Java objects to the data model is shared with {@link GSONTools}, so that
+ * values deserialize to the same types regardless of the wire format. Only the
+ * text parsing and number formatting of JSON are replaced.
+ * 
+ */
+public class CBORTools {
+	public static final String MEDIA_TYPE = "application/cbor";
+
+	/**
+	 * Maximum nesting of arrays, maps and tags accepted by {@link #deserialize}
+	 */
+	public static final int MAX_NESTING_DEPTH = 256;
+
+	private static final int MAJOR_UNSIGNED = 0;
+	private static final int MAJOR_NEGATIVE = 1;
+	private static final int MAJOR_BYTES = 2;
+	private static final int MAJOR_TEXT = 3;
+	private static final int MAJOR_ARRAY = 4;
+	private static final int MAJOR_MAP = 5;
+	private static final int MAJOR_TAG = 6;
+	private static final int MAJOR_SIMPLE = 7;
+
+	private static final int TAG_POSITIVE_BIGNUM = 2;
+	private static final int TAG_NEGATIVE_BIGNUM = 3;
+
+	private static final int FALSE = 0xF4;
+	private static final int TRUE = 0xF5;
+	private static final int NULL = 0xF6;
+	private static final int HALF_FLOAT = 0xF9;
+	private static final int SINGLE_FLOAT = 0xFA;
+	private static final int DOUBLE_FLOAT = 0xFB;
+
+	private static final BigInteger UNSIGNED_LONG_MAX = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+
+	private final GSONTools gsonTools;
+
+	public CBORTools() {
+		this(new DefaultTypeFactory());
+	}
+
+	public CBORTools(GSONToolsFactory factory) {
+		this.gsonTools = new GSONTools(factory);
+	}
+
+	/**
+	 * Serializes a primitive or complex value to CBOR
+	 */
+	public byte[] serialize(Object value) {
+		long start = BaSyxMetrics.start();
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			encode(gsonTools.serializeObject(value), out);
+			return out.toByteArray();
+		} finally {
+			BaSyxMetrics.recordDuration(BaSyxMetrics.SERIALIZATION, "serialize cbor", start);
+		}
+	}
+
+	/**
+	 * Deserializes a primitive or complex value from CBOR. An empty array is
+	 * deserialized to null.
+	 * 
+	 * @throws MalformedRequestException
+	 *             if the data is not well-formed CBOR or nested deeper than
+	 *             {@link #MAX_NESTING_DEPTH}
+	 */
+	public Object deserialize(byte[] data) throws MalformedRequestException {
+		long start = BaSyxMetrics.start();
+		try {
+			if (data == null || data.length == 0) {
+				return null;
+			}
+			Decoder decoder = new Decoder(data);
+			JsonElement elem = decoder.decode();
+			if (decoder.position != data.length) {
+				throw new MalformedRequestException("Unexpected trailing bytes after CBOR data item");
+			}
+			return gsonTools.deserializeJsonElement(elem);
+		} catch (IndexOutOfBoundsException e) {
+			throw new MalformedRequestException("Truncated CBOR data");
+		} finally {
+			BaSyxMetrics.recordDuration(BaSyxMetrics.SERIALIZATION, "deserialize cbor", start);
+		}
+	}
+
+	private void encode(JsonElement elem, ByteArrayOutputStream out) {
+		if (elem == null || elem.isJsonNull()) {
+			out.write(NULL);
+		} else if (elem.isJsonPrimitive()) {
+			encodePrimitive(elem.getAsJsonPrimitive(), out);
+		} else if (elem.isJsonArray()) {
+			JsonArray array = elem.getAsJsonArray();
+			writeHead(MAJOR_ARRAY, array.size(), out);
+			for (JsonElement child : array) {
+				encode(child, out);
+			}
+		} else {
+			// Null entries are omitted, as done by Gson#toJson
+			JsonObject object = elem.getAsJsonObject();
+			long size = object.entrySet().stream().filter(e -> !e.getValue().isJsonNull()).count();
+			writeHead(MAJOR_MAP, size, out);
+			for (Entry<String, JsonElement> entry : object.entrySet()) {
+				if (entry.getValue().isJsonNull()) {
+					continue;
+				}
+				writeText(entry.getKey(), out);
+				encode(entry.getValue(), out);
+			}
+		}
+	}
+
+	private void encodePrimitive(JsonPrimitive primitive, ByteArrayOutputStream out) {
+		if (primitive.isBoolean()) {
+			out.write(primitive.getAsBoolean() ? TRUE : FALSE);
+		} else if (primitive.isString()) {
+			writeText(primitive.getAsString(), out);
+		} else {
+			encodeNumber(primitive.getAsNumber(), out);
+		}
+	}
+
+	private void encodeNumber(Number number, ByteArrayOutputStream out) {
+		if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+			writeInteger(number.longValue(), out);
+		} else if (number instanceof Double) {
+			writeDouble(number.doubleValue(), out);
+		} else if (number instanceof Float) {
+			// JSON transfers the shortest decimal representation of the float, which is
+			// deserialized as double
+			writeDouble(Double.parseDouble(number.toString()), out);
+		} else if (number instanceof BigInteger) {
+			writeBigInteger((BigInteger) number, out);
+		} else {
+			// e.g. BigDecimal or lazily parsed numbers. Same decision as in GSONTools
+			String text = number.toString();
+			if (text.contains(".") || text.contains("e") || text.contains("E")) {
+				writeDouble(number.doubleValue(), out);
+			} else {
+				writeBigInteger(new BigDecimal(text).toBigIntegerExact(), out);
+			}
+		}
+	}
+
+	private void writeInteger(long value, ByteArrayOutputStream out) {
+		if (value >= 0) {
+			writeHead(MAJOR_UNSIGNED, value, out);
+		} else {
+			writeHead(MAJOR_NEGATIVE, -1 - value, out);
+		}
+	}
+
+	private void writeBigInteger(BigInteger value, ByteArrayOutputStream out) {
+		if (value.bitLength() < 64) {
+			writeInteger(value.longValue(), out);
+			return;
+		}
+
+		boolean negative = value.signum() < 0;
+		BigInteger magnitude = negative ? value.negate().subtract(BigInteger.ONE) : value;
+		if (magnitude.compareTo(UNSIGNED_LONG_MAX) <= 0) {
+			writeHead(negative ? MAJOR_NEGATIVE : MAJOR_UNSIGNED, magnitude.longValue(), out);
+			return;
+		}
+
+		byte[] bytes = magnitude.toByteArray();
+		int offset = bytes[0] == 0 ? 1 : 0;
+		writeHead(MAJOR_TAG, negative ? TAG_NEGATIVE_BIGNUM : TAG_POSITIVE_BIGNUM, out);
+		writeHead(MAJOR_BYTES, bytes.length - offset, out);
+		out.write(bytes, offset, bytes.length - offset);
+	}
+
+	private void writeDouble(double value, ByteArrayOutputStream out) {
+		out.write(DOUBLE_FLOAT);
+		writeBytes(Double.doubleToLongBits(value), 8, out);
+	}
+
+	private void writeText(String text, ByteArrayOutputStream out) {
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		writeHead(MAJOR_TEXT, bytes.length, out);
+		out.write(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * Writes the initial byte and the argument of a data item. The argument is
+	 * treated as unsigned.
+	 */
+	private void writeHead(int majorType, long argument, ByteArrayOutputStream out) {
+		int major = majorType << 5;
+		if (argument >= 0 && argument < 24) {
+			out.write(major | (int) argument);
+		} else if (argument >= 0 && argument <= 0xFFL) {
+			out.write(major | 24);
+			writeBytes(argument, 1, out);
+		} else if (argument >= 0 && argument <= 0xFFFFL) {
+			out.write(major | 25);
+			writeBytes(argument, 2, out);
+		} else if (argument >= 0 && argument <= 0xFFFFFFFFL) {
+			out.write(major | 26);
+			writeBytes(argument, 4, out);
+		} else {
+			out.write(major | 27);
+			writeBytes(argument, 8, out);
+		}
+	}
+
+	private void writeBytes(long value, int count, ByteArrayOutputStream out) {
+		for (int shift = (count - 1) * 8; shift >= 0; shift -= 8) {
+			out.write((int) (value >>> shift) & 0xFF);
+		}
+	}
+
+	/**
+	 * Decodes a single CBOR data item into the JSON data model
+	 */
+	private static class Decoder {
+		private final byte[] data;
+		private int position = 0;
+		private int depth = 0;
+
+		private Decoder(byte[] data) {
+			this.data = data;
+		}
+
+		private JsonElement decode() {
+			if (++depth > MAX_NESTING_DEPTH) {
+				throw new MalformedRequestException("CBOR data is nested deeper than " + MAX_NESTING_DEPTH + " levels");
+			}
+			try {
+				return decodeItem();
+			} finally {
+				depth--;
+			}
+		}
+
+		private JsonElement decodeItem() {
+			int initial = data[position++] & 0xFF;
+			int major = initial >>> 5;
+			int info = initial & 0x1F;
+
+			switch (major) {
+			case MAJOR_UNSIGNED:
+				return new JsonPrimitive(toNumber(readUnsigned(info), false));
+			case MAJOR_NEGATIVE:
+				return new JsonPrimitive(toNumber(readUnsigned(info), true));
+			case MAJOR_TEXT:
+				return new JsonPrimitive(readText(info));
+			case MAJOR_ARRAY:
+				return decodeArray(info);
+			case MAJOR_MAP:
+				return decodeMap(info);
+			case MAJOR_TAG:
+				return decodeTag(readArgument(info));
+			case MAJOR_SIMPLE:
+				return decodeSimple(initial);
+			default:
+				throw new MalformedRequestException("Unsupported CBOR major type " + major);
+			}
+		}
+
+		private JsonArray decodeArray(int info) {
+			JsonArray array = new JsonArray();
+			if (info == 31) {
+				while ((data[position] & 0xFF) != 0xFF) {
+					array.add(decode());
+				}
+				position++;
+			} else {
+				long size = readArgument(info);
+				for (long i = 0; i < size; i++) {
+					array.add(decode());
+				}
+			}
+			return array;
+		}
+
+		private JsonObject decodeMap(int info) {
+			JsonObject object = new JsonObject();
+			if (info == 31) {
+				while ((data[position] & 0xFF) != 0xFF) {
+					decodeEntry(object);
+				}
+				position++;
+			} else {
+				long size = readArgument(info);
+				for (long i = 0; i < size; i++) {
+					decodeEntry(object);
+				}
+			}
+			return object;
+		}
+
+		private void decodeEntry(JsonObject object) {
+			int initial = data[position++] & 0xFF;
+			if (initial >>> 5 != MAJOR_TEXT) {
+				throw new MalformedRequestException("Only text keys are supported in CBOR maps");
+			}
+			String key = readText(initial & 0x1F);
+			object.add(key, decode());
+		}
+
+		private JsonElement decodeTag(long tag) {
+			if (tag != TAG_POSITIVE_BIGNUM && tag != TAG_NEGATIVE_BIGNUM) {
+				// Unknown tags carry no meaning in the VAB data model
+				return decode();
+			}
+			int initial = data[position++] & 0xFF;
+			if (initial >>> 5 != MAJOR_BYTES) {
+				throw new MalformedRequestException("Bignum tag requires a byte string");
+			}
+			int length = toLength(readArgument(initial & 0x1F));
+			byte[] magnitude = new byte[length];
+			System.arraycopy(data, position, magnitude, 0, length);
+			position += length;
+			BigInteger value = new BigInteger(1, magnitude);
+			return new JsonPrimitive(tag == TAG_NEGATIVE_BIGNUM ? value.negate().subtract(BigInteger.ONE) : value);
+		}
+
+		private JsonElement decodeSimple(int initial) {
+			switch (initial) {
+			case FALSE:
+				return new JsonPrimitive(false);
+			case TRUE:
+				return new JsonPrimitive(true);
+			case NULL:
+			case NULL + 1: // undefined
+				return JsonNull.INSTANCE;
+			case HALF_FLOAT:
+				return new JsonPrimitive((double) halfToFloat((int) readBytes(2)));
+			case SINGLE_FLOAT:
+				return new JsonPrimitive((double) Float.intBitsToFloat((int) readBytes(4)));
+			case DOUBLE_FLOAT:
+				return new JsonPrimitive(Double.longBitsToDouble(readBytes(8)));
+			default:
+				throw new MalformedRequestException("Unsupported CBOR simple value " + initial);
+			}
+		}
+
+		private Number toNumber(long unsigned, boolean negative) {
+			if (unsigned >= 0) {
+				long value = negative ? -1 - unsigned : unsigned;
+				if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+					return (int) value;
+				}
+				return value;
+			}
+			// Exceeds the range of long
+			BigInteger value = new BigInteger(Long.toUnsignedString(unsigned));
+			return negative ? value.negate().subtract(BigInteger.ONE) : value;
+		}
+
+		private String readText(int info) {
+			int length = toLength(readArgument(info));
+			String text = new String(data, position, length, StandardCharsets.UTF_8);
+			position += length;
+			return text;
+		}
+
+		private long readUnsigned(int info) {
+			return readArgument(info);
+		}
+
+		private long readArgument(int info) {
+			if (info < 24) {
+				return info;
+			}
+			switch (info) {
+			case 24:
+				return readBytes(1);
+			case 25:
+				return readBytes(2);
+			case 26:
+				return readBytes(4);
+			case 27:
+				return readBytes(8);
+			default:
+				throw new MalformedRequestException("Unsupported CBOR additional information " + info);
+			}
+		}
+
+		private long readBytes(int count) {
+			long value = 0;
+			for (int i = 0; i < count; i++) {
+				value = (value << 8) | (data[position++] & 0xFF);
+			}
+			return value;
+		}
+
+		private int toLength(long length) {
+			if (length < 0 || length > data.length - position) {
+				throw new MalformedRequestException("Invalid CBOR length " + length);
+			}
+			return (int) length;
+		}
+
+		private static float halfToFloat(int half) {
+			int exponent = (half >>> 10) & 0x1F;
+			int mantissa = half & 0x3FF;
+			float value;
+			if (exponent == 0) {
+				value = (float) (mantissa * Math.pow(2, -24));
+			} else if (exponent == 31) {
+				value = mantissa == 0 ? Float.POSITIVE_INFINITY : Float.NaN;
+			} else {
+				value = (float) ((mantissa + 1024) * Math.pow(2, exponent - 25));
+			}
+			return (half & 0x8000) != 0 ? -value : value;
+		}
+	}
+}
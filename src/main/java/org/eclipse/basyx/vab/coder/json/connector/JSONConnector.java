@@ -24,6 +24,8 @@
  ******************************************************************************/
 package org.eclipse.basyx.vab.coder.json.connector;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.UUID;
 
@@ -48,7 +50,7 @@ import org.slf4j.LoggerFactory;
  * @author pschorn
  *
  */
-public class JSONConnector implements IModelProvider {
+public class JSONConnector implements IModelProvider, Closeable {
 
 	private static final Logger LOGGER_DEFAULT = LoggerFactory.getLogger(JSONConnector.class);
 	private static final Logger LOGGER_COMMUNICATION = LoggerFactory.getLogger(LOGGER_DEFAULT.getName() + ".MALFORMED");
@@ -97,6 +99,13 @@ public class JSONConnector implements IModelProvider {
 		serializer = new GSONTools(factory);
 	}
 
+	/**
+	 * Returns the connector exchanging the serialized messages
+	 */
+	public IBaSyxConnector getConnector() {
+		return provider;
+	}
+
 	@Override
 	public Object getValue(String path) throws ProviderException {
 		VABPathTools.checkPathForNull(path);
@@ -184,4 +193,14 @@ public class JSONConnector implements IModelProvider {
 		// De-serialize and verify
 		return metaProtocolHandler.deserialize(message);
 	}
+
+	/**
+	 * Releases the resources held by the connector backend, if it holds any
+	 */
+	@Override
+	public void close() throws IOException {
+		if (provider instanceof Closeable) {
+			((Closeable) provider).close();
+		}
+	}
 }
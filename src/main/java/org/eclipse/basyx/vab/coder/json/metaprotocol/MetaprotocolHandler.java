@@ -59,13 +59,27 @@ public class MetaprotocolHandler implements IMetaProtocolHandler {
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public Object deserialize(String message) throws ProviderException {
 
 		// First get the GSON object from the JSON string
 		Object gsonObj = serializer.deserialize(message);
 
 		// Then interpret and verify the result object
+		return verify(gsonObj);
+	}
+
+	/**
+	 * Interprets and verifies an already deserialized response, e.g. of a binary
+	 * encoding
+	 * 
+	 * @param gsonObj
+	 *            the deserialized response
+	 * @return the response entity
+	 * @throws ProviderException
+	 *             if the response contains an exception
+	 */
+	@SuppressWarnings("unchecked")
+	public Object verify(Object gsonObj) throws ProviderException {
 		Object result = null;
 
 		// If it is a map, see if it does contain an exception
@@ -24,14 +24,15 @@
  ******************************************************************************/
 package org.eclipse.basyx.vab.coder.json.provider;
 
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.function.Supplier;
 
 import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.basyx.vab.coder.json.metaprotocol.Result;
@@ -42,7 +43,9 @@ import org.eclipse.basyx.vab.exception.LostHTTPRequestParameterException;
 import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.metrics.BaSyxMetrics;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.protocol.http.server.FileDownloadHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -129,6 +132,15 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 		return serializer.serialize(string);
 	}
 
+	/**
+	 * Writes a serialized response and records its payload size
+	 */
+	private void writeResponse(OutputStream outputStream, String jsonString) throws IOException {
+		byte[] payload = jsonString.getBytes(StandardCharsets.UTF_8);
+		BaSyxMetrics.recordSize(BaSyxMetrics.PAYLOAD, "response", payload.length);
+		outputStream.write(payload);
+	}
+
 	/**
 	 * Send Error
 	 * 
@@ -171,6 +183,11 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 		// Return value
 		Object result = null;
 
+		// Encoding the body only to measure it is skipped if nothing is recorded
+		if (serializedJSONValue != null && BaSyxMetrics.getRecorder().isEnabled()) {
+			BaSyxMetrics.recordSize(BaSyxMetrics.PAYLOAD, "request", serializedJSONValue.getBytes(StandardCharsets.UTF_8).length);
+		}
+
 		try {
 			// Deserialize json body
 			result = serializer.deserialize(serializedJSONValue);
@@ -197,30 +214,60 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 			String jsonString = serializer.serialize(value);
 
 			// Send response
-			outputStream.write(jsonString.getBytes(StandardCharsets.UTF_8));
+			writeResponse(outputStream, jsonString);
 		} catch (Exception e) {
 			sendException(outputStream, e);
 		}
 	}
 
+	/**
+	 * Sends the already serialized response of a forwarded request without
+	 * parsing it
+	 * 
+	 * @param forwardedRequest
+	 *            performs the request and returns its serialized response
+	 * @param outputStream
+	 * @throws ProviderException
+	 */
+	public void processBaSysPassThrough(Supplier<String> forwardedRequest, OutputStream outputStream) throws ProviderException {
+		try {
+			writeResponse(outputStream, forwardedRequest.get());
+		} catch (Exception e) {
+			sendException(outputStream, e);
+		}
+	}
+
+	/**
+	 * Sends the file referenced by the path as a whole
+	 * 
+	 * @param path
+	 * @param resp
+	 * @throws ResourceNotFoundException
+	 * @throws IOException
+	 */
 	public void processBaSysFileGet(String path, HttpServletResponse resp)
 			throws ResourceNotFoundException, IOException {
+		processBaSysFileGet(path, null, resp);
+	}
+
+	/**
+	 * Streams the file referenced by the path. Range and conditional requests are
+	 * supported, see {@link FileDownloadHandler}
+	 * 
+	 * @param path
+	 * @param req
+	 * @param resp
+	 * @throws ResourceNotFoundException
+	 * @throws IOException
+	 */
+	public void processBaSysFileGet(String path, HttpServletRequest req, HttpServletResponse resp)
+			throws ResourceNotFoundException, IOException {
 		java.io.File file = (java.io.File) providerBackend.getValue(path);
 		if (!file.exists()) {
 			throw new ResourceNotFoundException("The File Submodel Element does not contain a File");
 		}
-		byte[] fileBytes = new byte[(int) file.length()];
-		FileInputStream fileInputStream = new FileInputStream(file);
-		fileInputStream.read(fileBytes);
-		fileInputStream.close();
-
-
-		// Set the response headers
-		resp.setContentType("application/octet-stream");
-		resp.setContentLength((int) file.length());
-		resp.setHeader("Content-Disposition", "attachment; filename=" + file.getName());
-		resp.getOutputStream().write(fileBytes);
-		resp.getOutputStream().close();
+
+		FileDownloadHandler.sendFile(file, req, resp);
 	}
 
 	/**
@@ -255,7 +302,6 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 	 * 
 	 * @throws ProviderException
 	 */
-	@SuppressWarnings("unchecked")
 	public void processBaSysInvoke(String path, String serializedJSONValue, OutputStream outputStream) throws ProviderException {
 
 		try {
@@ -263,39 +309,41 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 			// Deserialize json body.
 			Object parameter = extractParameter(path, serializedJSONValue, outputStream);
 
-			// If only a single parameter has been sent, pack it into an array so it can be
-			// casted safely
-			if (parameter instanceof Collection<?>) {
-				Collection<Object> list = (Collection<Object>) parameter;
-				Object[] parameterArray = new Object[list.size()];
-				int i = 0;
-				for (Object o : list) {
-					parameterArray[i] = o;
-					i++;
-				}
-				parameter = parameterArray;
-			}
-
-			if (!(parameter instanceof Object[])) {
-				Object[] parameterArray = new Object[1];
-				Object tmp = parameter;
-				parameterArray[0] = tmp;
-				parameter = parameterArray;
-			}
-
-			Object result = providerBackend.invokeOperation(path, (Object[]) parameter);
+			Object result = providerBackend.invokeOperation(path, toParameterArray(parameter));
 
 			// Serialize result as json string
 			String jsonString = serializer.serialize(result);
 
 			// Send response
-			outputStream.write(jsonString.getBytes(StandardCharsets.UTF_8));
+			writeResponse(outputStream, jsonString);
 
 		} catch (Exception e) {
 			sendException(outputStream, e);
 		}
 	}
 
+	/**
+	 * Converts a deserialized invocation parameter to the parameter array passed
+	 * to the backend. If only a single parameter has been sent, it is packed into
+	 * an array so it can be casted safely
+	 * 
+	 * @param parameter
+	 * @return the parameter array
+	 */
+	@SuppressWarnings("unchecked")
+	public static Object[] toParameterArray(Object parameter) {
+		if (parameter instanceof Collection<?>) {
+			Collection<Object> list = (Collection<Object>) parameter;
+			return list.toArray();
+		}
+
+		if (parameter instanceof Object[]) {
+			return (Object[]) parameter;
+		}
+
+		return new Object[] { parameter };
+	}
+
 	/**
 	 * Implement "Delete" operation. Deletes any resource under the given path.
 	 *
@@ -0,0 +1,314 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.coder.json.serialization;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Insertion ordered map that stores its keys and values in a single array.
+ * Compared to a LinkedHashMap, no entry objects are allocated, which
+ * considerably reduces the footprint of the many small maps making up a
+ * deserialized model. Keys and the values of selected keys can be interned
+ * using a {@link StringDictionary}.<br>
+ * <br>
+ * Lookups are linear for small maps. Larger maps additionally build a hash
+ * index on demand.
+ * 
+ */
+public class CompactMap extends AbstractMap<String, Object> implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private static final Object[] EMPTY = {};
+	private static final int INDEX_THRESHOLD = 16;
+
+	private transient StringDictionary dictionary;
+	private transient Set<String> internedValueKeys;
+
+	// Alternating keys and values
+	private Object[] table;
+	private int size;
+
+	private transient Map<Object, Integer> index;
+	private transient int modCount;
+
+	public CompactMap() {
+		this(0);
+	}
+
+	public CompactMap(int initialCapacity) {
+		this(initialCapacity, null, Collections.emptySet());
+	}
+
+	/**
+	 * Creates a map interning its keys and the values of the given keys
+	 * 
+	 * @param initialCapacity
+	 *            number of entries to allocate
+	 * @param dictionary
+	 *            for interning, may be null
+	 * @param internedValueKeys
+	 *            keys whose string values are interned
+	 */
+	public CompactMap(int initialCapacity, StringDictionary dictionary, Set<String> internedValueKeys) {
+		this.table = initialCapacity == 0 ? EMPTY : new Object[initialCapacity * 2];
+		this.dictionary = dictionary;
+		this.internedValueKeys = internedValueKeys;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return indexOf(key) >= 0;
+	}
+
+	@Override
+	public Object get(Object key) {
+		int i = indexOf(key);
+		return i < 0 ? null : table[2 * i + 1];
+	}
+
+	@Override
+	public Object put(String key, Object value) {
+		value = internValue(key, value);
+		int i = indexOf(key);
+		if (i >= 0) {
+			Object old = table[2 * i + 1];
+			table[2 * i + 1] = value;
+			return old;
+		}
+
+		if (2 * size == table.length) {
+			int capacity = Math.max(2, size + (size >> 1) + 1);
+			table = Arrays.copyOf(table, capacity * 2);
+		}
+
+		key = intern(key);
+		table[2 * size] = key;
+		table[2 * size + 1] = value;
+		if (index != null) {
+			index.put(key, size);
+		}
+		size++;
+		modCount++;
+		return null;
+	}
+
+	@Override
+	public Object remove(Object key) {
+		int i = indexOf(key);
+		return i < 0 ? null : removeAt(i);
+	}
+
+	@Override
+	public void clear() {
+		table = EMPTY;
+		size = 0;
+		index = null;
+		modCount++;
+	}
+
+	/**
+	 * Shrinks the backing array to the number of contained entries
+	 */
+	public void trimToSize() {
+		if (2 * size < table.length) {
+			table = size == 0 ? EMPTY : Arrays.copyOf(table, 2 * size);
+		}
+	}
+
+	@Override
+	public Set<Entry<String, Object>> entrySet() {
+		return new EntrySet();
+	}
+
+	private int indexOf(Object key) {
+		if (size > INDEX_THRESHOLD) {
+			if (index == null) {
+				buildIndex();
+			}
+			Integer i = index.get(key);
+			return i == null ? -1 : i;
+		}
+
+		for (int i = 0; i < size; i++) {
+			Object k = table[2 * i];
+			if (k == key || Objects.equals(k, key)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private void buildIndex() {
+		index = new HashMap<>(size * 2);
+		for (int i = 0; i < size; i++) {
+			index.put(table[2 * i], i);
+		}
+	}
+
+	private Object removeAt(int i) {
+		Object old = table[2 * i + 1];
+		int moved = size - i - 1;
+		if (moved > 0) {
+			System.arraycopy(table, 2 * i + 2, table, 2 * i, moved * 2);
+		}
+		size--;
+		table[2 * size] = null;
+		table[2 * size + 1] = null;
+
+		// Indices behind the removed entry have changed
+		index = null;
+		modCount++;
+		return old;
+	}
+
+	private String intern(String value) {
+		return dictionary == null ? value : dictionary.intern(value);
+	}
+
+	private Object internValue(String key, Object value) {
+		if (dictionary != null && value instanceof String && internedValueKeys.contains(key)) {
+			return dictionary.intern((String) value);
+		}
+		return value;
+	}
+
+	private class EntrySet extends AbstractSet<Entry<String, Object>> {
+		@Override
+		public Iterator<Entry<String, Object>> iterator() {
+			return new EntryIterator();
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public void clear() {
+			CompactMap.this.clear();
+		}
+	}
+
+	private class EntryIterator implements Iterator<Entry<String, Object>> {
+		private int cursor = 0;
+		private int lastReturned = -1;
+		private int expectedModCount = modCount;
+
+		@Override
+		public boolean hasNext() {
+			return cursor < size;
+		}
+
+		@Override
+		public Entry<String, Object> next() {
+			if (expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (cursor >= size) {
+				throw new NoSuchElementException();
+			}
+			lastReturned = cursor++;
+			return new CompactEntry(lastReturned);
+		}
+
+		@Override
+		public void remove() {
+			if (lastReturned < 0) {
+				throw new IllegalStateException();
+			}
+			if (expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			removeAt(lastReturned);
+			cursor = lastReturned;
+			lastReturned = -1;
+			expectedModCount = modCount;
+		}
+	}
+
+	/**
+	 * Entry reading through to the backing array. It stays valid as long as the
+	 * map is not structurally modified.
+	 */
+	private class CompactEntry implements Entry<String, Object> {
+		private final int i;
+
+		private CompactEntry(int i) {
+			this.i = i;
+		}
+
+		@Override
+		public String getKey() {
+			return (String) table[2 * i];
+		}
+
+		@Override
+		public Object getValue() {
+			return table[2 * i + 1];
+		}
+
+		@Override
+		public Object setValue(Object value) {
+			Object old = table[2 * i + 1];
+			table[2 * i + 1] = internValue(getKey(), value);
+			return old;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Entry<?, ?>)) {
+				return false;
+			}
+			Entry<?, ?> e = (Entry<?, ?>) o;
+			return Objects.equals(getKey(), e.getKey()) && Objects.equals(getValue(), e.getValue());
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+		}
+
+		@Override
+		public String toString() {
+			return getKey() + "=" + getValue();
+		}
+	}
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.coder.json.serialization;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Type factory for deserializing large models with a small memory footprint.
+ * Objects are created as {@link CompactMap}s sized to their number of entries.
+ * All keys and the values of enumeration-like keys, e.g. the name of the
+ * modelType, are shared through a {@link StringDictionary}.<br>
+ * <br>
+ * The factory can be shared between GSONTools instances to also share the
+ * dictionary.
+ * 
+ */
+public class CompactTypeFactory implements GSONToolsFactory {
+	/**
+	 * Keys whose values are interned by default. They are used for
+	 * modelType/name, keys of references, kinds and langStrings.
+	 */
+	public static final Set<String> DEFAULT_INTERNED_VALUE_KEYS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList("name", "type", "idType", "kind", "category", "language", "mimeType")));
+
+	private final StringDictionary dictionary;
+	private final Set<String> internedValueKeys;
+
+	public CompactTypeFactory() {
+		this(new StringDictionary());
+	}
+
+	public CompactTypeFactory(StringDictionary dictionary) {
+		this(dictionary, DEFAULT_INTERNED_VALUE_KEYS);
+	}
+
+	/**
+	 * @param dictionary
+	 *            used for interning keys and values
+	 * @param internedValueKeys
+	 *            keys whose string values are interned. Pass an empty set to only
+	 *            intern keys.
+	 */
+	public CompactTypeFactory(StringDictionary dictionary, Set<String> internedValueKeys) {
+		this.dictionary = dictionary;
+		this.internedValueKeys = internedValueKeys;
+	}
+
+	@Override
+	public Map<String, Object> createMap() {
+		return createMap(0);
+	}
+
+	@Override
+	public Map<String, Object> createMap(int expectedSize) {
+		return new CompactMap(expectedSize, dictionary, internedValueKeys);
+	}
+
+	@Override
+	public Collection<Object> createCollection() {
+		return new ArrayList<>();
+	}
+
+	@Override
+	public Collection<Object> createCollection(int expectedSize) {
+		return new ArrayList<>(expectedSize);
+	}
+
+	public StringDictionary getDictionary() {
+		return dictionary;
+	}
+}
@@ -43,6 +43,7 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import org.eclipse.basyx.vab.metrics.BaSyxMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -127,31 +128,42 @@ public class GSONTools implements Serializer {
 	@SuppressWarnings("deprecation")
 	@Override
 	public Object deserialize(String str) {
-		JsonElement elem = parser.parse(str);
-		return deserializeJsonElement(elem);
+		long start = BaSyxMetrics.start();
+		try {
+			JsonElement elem = parser.parse(str);
+			return deserializeJsonElement(elem);
+		} finally {
+			BaSyxMetrics.recordDuration(BaSyxMetrics.SERIALIZATION, "deserialize", start);
+		}
 	}
 
 	@Override
 	public String serialize(Object obj) {
-		JsonElement elem = serializeObject(obj);
-		// Removing null value if the removeNull flag is on
-		if (removeNull) {
-			// Gson#toJson removes null automatically
-			Gson gson = new Gson();
-			return gson.toJson(elem);
-		} else {
-			return elem.toString();
+		long start = BaSyxMetrics.start();
+		try {
+			JsonElement elem = serializeObject(obj);
+			// Removing null value if the removeNull flag is on
+			if (removeNull) {
+				// Gson#toJson removes null automatically
+				Gson gson = new Gson();
+				return gson.toJson(elem);
+			} else {
+				return elem.toString();
+			}
+		} finally {
+			BaSyxMetrics.recordDuration(BaSyxMetrics.SERIALIZATION, "serialize", start);
 		}
 	}
 
 	/**
-	 * Serialized an arbitrary object to a JsonElement
+	 * Serialized an arbitrary object to a JsonElement. Also used by binary
+	 * encodings of the JSON data model.
 	 * 
 	 * @param obj
 	 * @return
 	 */
 	@SuppressWarnings("unchecked")
-	private JsonElement serializeObject(Object obj) {
+	public JsonElement serializeObject(Object obj) {
 		if (obj == null) {
 			return JsonNull.INSTANCE;
 		} else if (obj.getClass().isPrimitive() || isWrapperType(obj.getClass()) || obj instanceof String || obj instanceof Number) {
@@ -169,12 +181,13 @@ public class GSONTools implements Serializer {
 	}
 
 	/**
-	 * Deserializes a JsonElement to an object
+	 * Deserializes a JsonElement to an object. Also used by binary encodings of
+	 * the JSON data model.
 	 * 
 	 * @param elem
 	 * @return
 	 */
-	private Object deserializeJsonElement(JsonElement elem) {
+	public Object deserializeJsonElement(JsonElement elem) {
 		if (elem.isJsonPrimitive()) {
 			return deserializeJsonPrimitive(elem.getAsJsonPrimitive());
 		} else if (elem.isJsonObject()) {
@@ -273,7 +286,7 @@ public class GSONTools implements Serializer {
 	 * @return
 	 */
 	private Map<String, Object> deserializeObject(JsonObject map) {
-		Map<String, Object> ret = toolsFactory.createMap();
+		Map<String, Object> ret = toolsFactory.createMap(map.size());
 		for (String k : map.keySet()) {
 			ret.put(k, deserializeJsonElement(map.get(k)));
 		}
@@ -308,7 +321,7 @@ public class GSONTools implements Serializer {
 	 * @return
 	 */
 	private Collection<Object> deserializeJsonArray(JsonArray array) {
-		Collection<Object> list = toolsFactory.createCollection();
+		Collection<Object> list = toolsFactory.createCollection(array.size());
 		for (JsonElement element : array) {
 			list.add(deserializeJsonElement(element));
 		}
@@ -45,4 +45,18 @@ public interface GSONToolsFactory {
 	 * Create a Collection
 	 */
 	public Collection<Object> createCollection();
+
+	/**
+	 * Create a Map that is going to hold the given number of entries
+	 */
+	public default Map<String, Object> createMap(int expectedSize) {
+		return createMap();
+	}
+
+	/**
+	 * Create a Collection that is going to hold the given number of elements
+	 */
+	public default Collection<Object> createCollection(int expectedSize) {
+		return createCollection();
+	}
 }
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.coder.json.serialization;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded dictionary that maps equal strings to a single instance. Once the
+ * dictionary is full, strings are no longer added and returned unchanged, so
+ * that arbitrary user data can not grow it without limit.
+ * 
+ */
+public class StringDictionary {
+	public static final int DEFAULT_MAX_SIZE = 1 << 16;
+
+	private final ConcurrentHashMap<String, String> entries = new ConcurrentHashMap<>();
+	private final int maxSize;
+
+	public StringDictionary() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	public StringDictionary(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Returns the canonical instance of the string
+	 * 
+	 * @param value
+	 * @return the instance contained in the dictionary or the passed string, if
+	 *         the dictionary is full
+	 */
+	public String intern(String value) {
+		if (value == null) {
+			return null;
+		}
+
+		String existing = entries.get(value);
+		if (existing != null) {
+			return existing;
+		}
+
+		if (entries.size() >= maxSize) {
+			return value;
+		}
+
+		existing = entries.putIfAbsent(value, value);
+		return existing != null ? existing : value;
+	}
+
+	public int size() {
+		return entries.size();
+	}
+}
@@ -24,26 +24,51 @@
  ******************************************************************************/
 package org.eclipse.basyx.vab.gateway;
 
+import org.eclipse.basyx.vab.coder.json.connector.JSONConnector;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.factory.java.ModelProxyFactory;
+import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.protocol.api.IBaSyxConnector;
 import org.eclipse.basyx.vab.protocol.api.IConnectorFactory;
+import org.eclipse.basyx.vab.protocol.api.IPassThroughProvider;
+import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnector;
 
 /**
  * IModelProvider that delegates all calls to a Connector to enable gateway
- * functionality
+ * functionality<br>
+ * In pass-through mode, requests to HTTP endpoints are forwarded by the
+ * server without deserializing and serializing them again, see
+ * {@link IPassThroughProvider}.
  * 
  * @author schnicke
  *
  */
-public class DelegatingModelProvider implements IModelProvider {
+public class DelegatingModelProvider implements IModelProvider, IPassThroughProvider {
 
 	// Provider that provides the connectors
 	private ModelProxyFactory proxyFactory;
 
+	private IConnectorFactory connectorFactory;
+
+	private boolean passThrough;
+
 	public DelegatingModelProvider(IConnectorFactory connectorFactory) {
+		this(connectorFactory, false);
+	}
+
+	/**
+	 * @param connectorFactory
+	 *            creates the connectors to the endpoints
+	 * @param passThrough
+	 *            forward the serialized requests to HTTP endpoints without
+	 *            parsing them
+	 */
+	public DelegatingModelProvider(IConnectorFactory connectorFactory, boolean passThrough) {
 		super();
 		this.proxyFactory = new ModelProxyFactory(connectorFactory);
+		this.connectorFactory = connectorFactory;
+		this.passThrough = passThrough;
 	}
 
 	@Override
@@ -76,6 +101,26 @@ public class DelegatingModelProvider implements IModelProvider {
 		return getProvider(path).invokeOperation("", parameter);
 	}
 
+	@Override
+	public IBaSyxConnector getPassThroughConnector(String path) {
+		if (!passThrough) {
+			return null;
+		}
+
+		IModelProvider provider = connectorFactory.create(VABPathTools.getFirstEndpoint(path));
+		if (!(provider instanceof JSONConnector)) {
+			return null;
+		}
+
+		// Only HTTP reports errors by status code, other protocols encode them in
+		// the message that would have to be parsed
+		IBaSyxConnector connector = ((JSONConnector) provider).getConnector();
+		if (!(connector instanceof HTTPConnector)) {
+			return null;
+		}
+		return new PassThroughConnector(connector);
+	}
+
 	/**
 	 * Returns the appropriate connector based on address
 	 * 
@@ -85,4 +130,55 @@ public class DelegatingModelProvider implements IModelProvider {
 	private IModelProvider getProvider(String path) {
 		return proxyFactory.createProxy(path);
 	}
+
+	/**
+	 * Maps the paths of the gateway to the paths of the connected endpoint
+	 */
+	private static class PassThroughConnector implements IBaSyxConnector {
+		private IBaSyxConnector connector;
+
+		public PassThroughConnector(IBaSyxConnector connector) {
+			this.connector = connector;
+		}
+
+		@Override
+		public String getValue(String path) throws ProviderException {
+			return connector.getValue(getSubPath(path));
+		}
+
+		@Override
+		public String setValue(String path, String newValue) throws ProviderException {
+			return connector.setValue(getSubPath(path), newValue);
+		}
+
+		@Override
+		public String createValue(String path, String newEntity) throws ProviderException {
+			return connector.createValue(getSubPath(path), newEntity);
+		}
+
+		@Override
+		public String deleteValue(String path) throws ProviderException {
+			return connector.deleteValue(getSubPath(path));
+		}
+
+		@Override
+		public String deleteValue(String path, String obj) throws ProviderException {
+			return connector.deleteValue(getSubPath(path), obj);
+		}
+
+		@Override
+		public String invokeOperation(String path, String jsonObject) throws ProviderException {
+			return connector.invokeOperation(getSubPath(path), jsonObject);
+		}
+
+		@Override
+		public String getEndpointRepresentation(String path) {
+			return connector.getEndpointRepresentation(getSubPath(path));
+		}
+
+		private String getSubPath(String path) {
+			// Same path as built by the proxy of the parsing mode
+			return VABPathTools.stripSlashes(VABPathTools.removeFirstEndpoint(path));
+		}
+	}
 }
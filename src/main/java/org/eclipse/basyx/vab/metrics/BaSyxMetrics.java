@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.metrics;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Global access point for the {@link IMetricsRecorder} used by the VAB stacks.
+ * By default, a {@link NoOpMetricsRecorder} is installed, so that the
+ * instrumentation only costs a volatile read and a branch.
+ * 
+ */
+public class BaSyxMetrics {
+	/**
+	 * Latency of requests handled by the HTTP server, labeled by method and
+	 * normalized path template
+	 */
+	public static final String HTTP_SERVER_REQUEST = "basyx_http_server_request";
+
+	/**
+	 * Latency of requests sent by the HTTP and BaSyx TCP connectors, labeled by
+	 * protocol, method and normalized path template
+	 */
+	public static final String CLIENT_REQUEST = "basyx_client_request";
+
+	/**
+	 * Time spent in JSON serialization and deserialization
+	 */
+	public static final String SERIALIZATION = "basyx_serialization";
+
+	/**
+	 * Size of the JSON payloads received and sent by the JSONProvider
+	 */
+	public static final String PAYLOAD = "basyx_payload";
+
+	/**
+	 * Latency of requests forwarded to remote submodels
+	 */
+	public static final String REMOTE_FORWARDING = "basyx_remote_forwarding";
+
+	/**
+	 * Latency of MQTT publishes
+	 */
+	public static final String MQTT_PUBLISH = "basyx_mqtt_publish";
+
+	public static final String ID_PLACEHOLDER = "{id}";
+
+	// Path elements that are part of the API and thus kept in path templates
+	private static final Set<String> API_PATH_ELEMENTS = new HashSet<>(Arrays.asList("aas", "shells", "submodels", "submodel", "submodelElements", "value", "values", "invoke", "invocationList", "operations", "File", "upload",
+			"history", "descriptors", "api", "v1", "registry", "aasList", "health", "metrics"));
+
+	private static volatile IMetricsRecorder recorder = new NoOpMetricsRecorder();
+
+	public static IMetricsRecorder getRecorder() {
+		return recorder;
+	}
+
+	/**
+	 * Installs a recorder. Passing null restores the {@link NoOpMetricsRecorder}.
+	 * 
+	 * @param newRecorder
+	 */
+	public static void setRecorder(IMetricsRecorder newRecorder) {
+		recorder = newRecorder == null ? new NoOpMetricsRecorder() : newRecorder;
+	}
+
+	/**
+	 * Returns the start timestamp of a measurement, or 0 if nothing is recorded
+	 * 
+	 * @return the timestamp in nanoseconds
+	 */
+	public static long start() {
+		return recorder.isEnabled() ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Records the duration since a timestamp returned by {@link #start()}
+	 */
+	public static void recordDuration(String metric, String label, long start) {
+		if (start != 0) {
+			recorder.recordDuration(metric, label, System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Records the duration of a request since a timestamp returned by
+	 * {@link #start()}, labeled by method and normalized path template
+	 */
+	public static void recordRequest(String metric, String method, String path, long start) {
+		if (start != 0) {
+			recorder.recordDuration(metric, method + " " + normalizePath(path), System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Records the size of a payload
+	 */
+	public static void recordSize(String metric, String label, long bytes) {
+		IMetricsRecorder current = recorder;
+		if (current.isEnabled()) {
+			current.recordSize(metric, label, bytes);
+		}
+	}
+
+	/**
+	 * Normalizes a VAB path to a template with bounded cardinality by replacing
+	 * identifiers with {@link #ID_PLACEHOLDER}, e.g.
+	 * <i>/aas/submodels/sm1/submodel/submodelElements/col/prop/value?x=y</i> to
+	 * <i>/aas/submodels/{id}/submodel/submodelElements/{id}/value</i>
+	 * 
+	 * @param path
+	 * @return the path template
+	 */
+	public static String normalizePath(String path) {
+		if (path == null) {
+			return "/";
+		}
+
+		int queryStart = path.indexOf('?');
+		if (queryStart >= 0) {
+			path = path.substring(0, queryStart);
+		}
+
+		StringBuilder template = new StringBuilder();
+		boolean lastWasId = false;
+		for (String element : path.split("/")) {
+			if (element.isEmpty()) {
+				continue;
+			}
+			if (API_PATH_ELEMENTS.contains(element)) {
+				template.append('/').append(element);
+				lastWasId = false;
+			} else if (!lastWasId) {
+				template.append('/').append(ID_PLACEHOLDER);
+				lastWasId = true;
+			}
+		}
+		return template.length() == 0 ? "/" : template.toString();
+	}
+}
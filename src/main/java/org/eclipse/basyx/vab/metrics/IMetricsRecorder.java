@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.metrics;
+
+/**
+ * SPI for recording hot-path metrics of the VAB server and client stacks.
+ * Implementations have to be thread safe and should be cheap to call, since
+ * they are invoked on every request.
+ * 
+ */
+public interface IMetricsRecorder {
+
+	/**
+	 * Indicates whether this recorder actually records anything. Callers may skip
+	 * measuring and computing labels if it does not.
+	 * 
+	 * @return true, if metrics are recorded
+	 */
+	public boolean isEnabled();
+
+	/**
+	 * Records the duration of an event
+	 * 
+	 * @param metric
+	 *            the name of the metric, see {@link BaSyxMetrics}
+	 * @param label
+	 *            a label with bounded cardinality, e.g. a normalized path template
+	 * @param nanos
+	 *            the duration in nanoseconds
+	 */
+	public void recordDuration(String metric, String label, long nanos);
+
+	/**
+	 * Records a size, e.g. of a payload
+	 * 
+	 * @param metric
+	 *            the name of the metric, see {@link BaSyxMetrics}
+	 * @param label
+	 *            a label with bounded cardinality
+	 * @param bytes
+	 *            the size in bytes
+	 */
+	public void recordSize(String metric, String label, long bytes);
+
+	/**
+	 * Exports the recorded metrics in the Prometheus text exposition format
+	 * 
+	 * @return the exported metrics
+	 */
+	public String export();
+}
@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.metrics;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link IMetricsRecorder} keeping counters and fixed-bucket histograms in
+ * memory. Recording is lock free, so it can be used on hot paths.
+ * 
+ */
+public class InMemoryMetricsRecorder implements IMetricsRecorder {
+	private static final String DURATION_SUFFIX = "_seconds";
+	private static final String SIZE_SUFFIX = "_bytes";
+
+	// Upper bucket bounds in nanoseconds, from 50us to 10s
+	private static final long[] DURATION_BOUNDS = { 50_000L, 100_000L, 250_000L, 500_000L, 1_000_000L, 2_500_000L, 5_000_000L, 10_000_000L, 25_000_000L, 50_000_000L, 100_000_000L, 250_000_000L, 500_000_000L, 1_000_000_000L,
+			2_500_000_000L, 5_000_000_000L, 10_000_000_000L };
+
+	// Upper bucket bounds in bytes, from 64B to 16MiB
+	private static final long[] SIZE_BOUNDS = { 64L, 256L, 1024L, 4096L, 16384L, 65536L, 262144L, 1048576L, 4194304L, 16777216L };
+
+	private final ConcurrentMap<String, ConcurrentMap<String, Histogram>> histograms = new ConcurrentHashMap<>();
+
+	@Override
+	public boolean isEnabled() {
+		return true;
+	}
+
+	@Override
+	public void recordDuration(String metric, String label, long nanos) {
+		getHistogram(metric + DURATION_SUFFIX, label, DURATION_BOUNDS).record(nanos);
+	}
+
+	@Override
+	public void recordSize(String metric, String label, long bytes) {
+		getHistogram(metric + SIZE_SUFFIX, label, SIZE_BOUNDS).record(bytes);
+	}
+
+	/**
+	 * Returns the number of recorded events
+	 * 
+	 * @param metric
+	 *            the metric name including its unit suffix, e.g.
+	 *            <i>basyx_http_server_request_seconds</i>
+	 * @param label
+	 * @return the number of events, 0 if nothing has been recorded
+	 */
+	public long getCount(String metric, String label) {
+		Histogram histogram = histograms.getOrDefault(metric, new ConcurrentHashMap<>()).get(label);
+		return histogram == null ? 0 : histogram.count.sum();
+	}
+
+	/**
+	 * Removes all recorded metrics
+	 */
+	public void clear() {
+		histograms.clear();
+	}
+
+	@Override
+	public String export() {
+		StringBuilder builder = new StringBuilder();
+		for (Entry<String, Map<String, Histogram>> metric : getSortedHistograms().entrySet()) {
+			String name = metric.getKey();
+			boolean isDuration = name.endsWith(DURATION_SUFFIX);
+			builder.append("# TYPE ").append(name).append(" histogram\n");
+			for (Entry<String, Histogram> labeled : metric.getValue().entrySet()) {
+				String label = "label=\"" + escape(labeled.getKey()) + "\"";
+				labeled.getValue().export(builder, name, label, isDuration);
+			}
+		}
+		return builder.toString();
+	}
+
+	private Map<String, Map<String, Histogram>> getSortedHistograms() {
+		Map<String, Map<String, Histogram>> sorted = new TreeMap<>();
+		histograms.forEach((metric, labeled) -> sorted.put(metric, new TreeMap<>(labeled)));
+		return sorted;
+	}
+
+	private Histogram getHistogram(String metric, String label, long[] bounds) {
+		ConcurrentMap<String, Histogram> labeled = histograms.computeIfAbsent(metric, m -> new ConcurrentHashMap<>());
+		Histogram histogram = labeled.get(label);
+		if (histogram == null) {
+			histogram = labeled.computeIfAbsent(label, l -> new Histogram(bounds));
+		}
+		return histogram;
+	}
+
+	private static String escape(String label) {
+		return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+
+	private static String formatBound(long bound, boolean isDuration) {
+		return isDuration ? Double.toString(bound / 1e9) : Long.toString(bound);
+	}
+
+	/**
+	 * Histogram with fixed upper bucket bounds
+	 */
+	private static class Histogram {
+		private final long[] bounds;
+		private final LongAdder[] buckets;
+		private final LongAdder count = new LongAdder();
+		private final LongAdder sum = new LongAdder();
+
+		private Histogram(long[] bounds) {
+			this.bounds = bounds;
+			this.buckets = new LongAdder[bounds.length + 1];
+			for (int i = 0; i < buckets.length; i++) {
+				buckets[i] = new LongAdder();
+			}
+		}
+
+		private void record(long value) {
+			int i = 0;
+			while (i < bounds.length && value > bounds[i]) {
+				i++;
+			}
+			buckets[i].increment();
+			count.increment();
+			sum.add(value);
+		}
+
+		private void export(StringBuilder builder, String name, String label, boolean isDuration) {
+			long cumulative = 0;
+			for (int i = 0; i < buckets.length; i++) {
+				cumulative += buckets[i].sum();
+				String le = i < bounds.length ? formatBound(bounds[i], isDuration) : "+Inf";
+				builder.append(name).append("_bucket{").append(label).append(",le=\"").append(le).append("\"} ").append(cumulative).append('\n');
+			}
+			String total = isDuration ? Double.toString(sum.sum() / 1e9) : Long.toString(sum.sum());
+			builder.append(name).append("_sum{").append(label).append("} ").append(total).append('\n');
+			builder.append(name).append("_count{").append(label).append("} ").append(count.sum()).append('\n');
+		}
+	}
+}
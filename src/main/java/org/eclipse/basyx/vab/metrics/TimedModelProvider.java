@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.metrics;
+
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+
+/**
+ * Decorates an {@link IModelProvider} and records the latency of each access
+ * with {@link BaSyxMetrics}
+ * 
+ */
+public class TimedModelProvider implements IModelProvider {
+	private final IModelProvider provider;
+	private final String metric;
+
+	/**
+	 * @param provider
+	 *            the decorated provider
+	 * @param metric
+	 *            the metric the latencies are recorded to
+	 */
+	public TimedModelProvider(IModelProvider provider, String metric) {
+		this.provider = provider;
+		this.metric = metric;
+	}
+
+	@Override
+	public Object getValue(String path) throws ProviderException {
+		long start = BaSyxMetrics.start();
+		try {
+			return provider.getValue(path);
+		} finally {
+			BaSyxMetrics.recordRequest(metric, "GET", path, start);
+		}
+	}
+
+	@Override
+	public void setValue(String path, Object newValue) throws ProviderException {
+		long start = BaSyxMetrics.start();
+		try {
+			provider.setValue(path, newValue);
+		} finally {
+			BaSyxMetrics.recordRequest(metric, "SET", path, start);
+		}
+	}
+
+	@Override
+	public void createValue(String path, Object newEntity) throws ProviderException {
+		long start = BaSyxMetrics.start();
+		try {
+			provider.createValue(path, newEntity);
+		} finally {
+			BaSyxMetrics.recordRequest(metric, "CREATE", path, start);
+		}
+	}
+
+	@Override
+	public void deleteValue(String path) throws ProviderException {
+		long start = BaSyxMetrics.start();
+		try {
+			provider.deleteValue(path);
+		} finally {
+			BaSyxMetrics.recordRequest(metric, "DELETE", path, start);
+		}
+	}
+
+	@Override
+	public void deleteValue(String path, Object obj) throws ProviderException {
+		long start = BaSyxMetrics.start();
+		try {
+			provider.deleteValue(path, obj);
+		} finally {
+			BaSyxMetrics.recordRequest(metric, "DELETE", path, start);
+		}
+	}
+
+	@Override
+	public Object invokeOperation(String path, Object... parameter) throws ProviderException {
+		long start = BaSyxMetrics.start();
+		try {
+			return provider.invokeOperation(path, parameter);
+		} finally {
+			BaSyxMetrics.recordRequest(metric, "INVOKE", path, start);
+		}
+	}
+}
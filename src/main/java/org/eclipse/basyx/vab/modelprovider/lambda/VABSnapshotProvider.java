@@ -0,0 +1,294 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.modelprovider.lambda;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.modelprovider.VABPathTools;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+
+/**
+ * Copy-on-write variant of the {@link VABLambdaProvider}. <br>
+ * The model is never modified in place. Instead, each modification copies the
+ * maps and collections on the path to the modified element and publishes the
+ * resulting new root atomically. All other elements are shared between the old
+ * and the new version. <br>
+ * Thus, readers never block and always operate on a consistent version of the
+ * model, while writers are serialized. {@link #getSnapshot()} returns the
+ * current version in O(1).<br>
+ * <br>
+ * Snapshots are shared and therefore have to be treated as read-only. Copies
+ * keep the class of the copied maps and collections (e.g. Property), if it can
+ * be instantiated by a public no-argument constructor. Values returned by
+ * {@link #getValue(String)} are copies that can be modified by the caller.
+ *
+ */
+public class VABSnapshotProvider implements IModelProvider {
+	private final Object writeLock = new Object();
+
+	private volatile Map<String, Object> root;
+
+	/**
+	 * Creates the provider. The passed elements must not be modified
+	 * afterwards, except through this provider.
+	 * 
+	 * @param elements
+	 */
+	public VABSnapshotProvider(Map<String, Object> elements) {
+		this.root = elements;
+	}
+
+	/**
+	 * Returns the current version of the model. The returned map must not be
+	 * modified.
+	 * 
+	 * @return
+	 */
+	public Map<String, Object> getSnapshot() {
+		return root;
+	}
+
+	/**
+	 * Returns the value under the path. Maps and collections are copied while
+	 * resolving the lambdas, so the caller can not modify the snapshot through
+	 * the returned value.
+	 */
+	@Override
+	public Object getValue(String path) throws ProviderException {
+		return new VABLambdaProvider(root).getValue(path);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void setValue(String path, Object newValue) throws ProviderException {
+		VABPathTools.checkPathForNull(path);
+		if (VABPathTools.isEmptyPath(path)) {
+			if (!(newValue instanceof Map<?, ?>)) {
+				throw new MalformedRequestException("The root element can only be replaced by a map.");
+			}
+			synchronized (writeLock) {
+				root = (Map<String, Object>) newValue;
+			}
+			return;
+		}
+
+		modify(path, provider -> provider.setValue(path, newValue));
+	}
+
+	@Override
+	public void createValue(String path, Object newEntity) throws ProviderException {
+		modify(path, provider -> provider.createValue(path, newEntity));
+	}
+
+	@Override
+	public void deleteValue(String path) throws ProviderException {
+		modify(path, provider -> provider.deleteValue(path));
+	}
+
+	@Override
+	public void deleteValue(String path, Object obj) throws ProviderException {
+		modify(path, provider -> provider.deleteValue(path, obj));
+	}
+
+	@Override
+	public Object invokeOperation(String path, Object... parameters) throws ProviderException {
+		return new VABLambdaProvider(root).invokeOperation(path, parameters);
+	}
+
+	/**
+	 * Applies multiple modifications to a single new version of the model and
+	 * publishes it once. Elements modified by several of the modifications are
+	 * only copied once. Readers observe either none or all of the modifications;
+	 * if the modifications throw an exception, none of them is published.
+	 * 
+	 * @param modifications
+	 *            modifies the model through the passed provider
+	 */
+	public void modifyAll(Consumer<IModelProvider> modifications) {
+		synchronized (writeLock) {
+			ModificationBatch batch = new ModificationBatch(root);
+			modifications.accept(batch);
+			root = batch.root;
+		}
+	}
+
+	/**
+	 * Applies the modification to a new version of the model and publishes it, if
+	 * the modification succeeded
+	 */
+	private void modify(String path, Consumer<IModelProvider> modification) {
+		VABPathTools.checkPathForNull(path);
+		synchronized (writeLock) {
+			Map<String, Object> newRoot = copyPath(root, VABPathTools.splitPath(path), createCopySet());
+			modification.accept(new VABLambdaProvider(newRoot));
+			root = newRoot;
+		}
+	}
+
+	private static Set<Object> createCopySet() {
+		return Collections.newSetFromMap(new IdentityHashMap<>());
+	}
+
+	/**
+	 * Copies the root and all maps and collections along the path, including the
+	 * target element itself. Stops at the first element that can not be
+	 * navigated, e.g. a hidden lambda getter, since modifications are not applied
+	 * to the model itself beyond this point. Elements contained in the passed
+	 * copies are not copied again, the new copies are added to them.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> copyPath(Map<String, Object> root, String[] pathElements, Set<Object> copies) {
+		Map<String, Object> newRoot = (Map<String, Object>) copyOnce(root, copies);
+
+		Map<String, Object> parent = newRoot;
+		for (String pathElement : pathElements) {
+			Object copy = copyOnce(parent.get(pathElement), copies);
+			if (copy == null) {
+				break;
+			}
+			parent.put(pathElement, copy);
+
+			if (!(copy instanceof Map<?, ?>)) {
+				// Elements of collections are not addressable by path
+				break;
+			}
+			parent = (Map<String, Object>) copy;
+		}
+
+		return newRoot;
+	}
+
+	private static Object copyOnce(Object element, Set<Object> copies) {
+		if (copies.contains(element)) {
+			return element;
+		}
+
+		Object copy = copyElement(element);
+		if (copy != null) {
+			copies.add(copy);
+		}
+		return copy;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Object copyElement(Object element) {
+		if (element instanceof Map<?, ?>) {
+			Map<String, Object> copy = (Map<String, Object>) instantiate(element).orElseGet(LinkedHashMap::new);
+			copy.clear();
+			copy.putAll((Map<String, Object>) element);
+			return copy;
+		} else if (element instanceof Collection<?>) {
+			Collection<Object> copy = (Collection<Object>) instantiate(element).orElseGet(() -> element instanceof Set<?> ? new LinkedHashSet<>() : new ArrayList<>());
+			copy.clear();
+			copy.addAll((Collection<Object>) element);
+			return copy;
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * Creates an empty instance of the class of the element, e.g. for retaining
+	 * the model classes
+	 */
+	private static Optional<Object> instantiate(Object element) {
+		try {
+			return Optional.of(element.getClass().getConstructor().newInstance());
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			// E.g. immutable or anonymous classes
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Collects the modifications of {@link #modifyAll(Consumer)} in a new version
+	 * of the model
+	 */
+	private static class ModificationBatch implements IModelProvider {
+		private Map<String, Object> root;
+		private final Set<Object> copies = createCopySet();
+
+		private ModificationBatch(Map<String, Object> root) {
+			this.root = root;
+		}
+
+		@Override
+		public Object getValue(String path) throws ProviderException {
+			return new VABLambdaProvider(root).getValue(path);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void setValue(String path, Object newValue) throws ProviderException {
+			VABPathTools.checkPathForNull(path);
+			if (VABPathTools.isEmptyPath(path)) {
+				if (!(newValue instanceof Map<?, ?>)) {
+					throw new MalformedRequestException("The root element can only be replaced by a map.");
+				}
+				root = (Map<String, Object>) newValue;
+				return;
+			}
+
+			modify(path, provider -> provider.setValue(path, newValue));
+		}
+
+		@Override
+		public void createValue(String path, Object newEntity) throws ProviderException {
+			modify(path, provider -> provider.createValue(path, newEntity));
+		}
+
+		@Override
+		public void deleteValue(String path) throws ProviderException {
+			modify(path, provider -> provider.deleteValue(path));
+		}
+
+		@Override
+		public void deleteValue(String path, Object obj) throws ProviderException {
+			modify(path, provider -> provider.deleteValue(path, obj));
+		}
+
+		@Override
+		public Object invokeOperation(String path, Object... parameters) throws ProviderException {
+			return new VABLambdaProvider(root).invokeOperation(path, parameters);
+		}
+
+		private void modify(String path, Consumer<IModelProvider> modification) {
+			VABPathTools.checkPathForNull(path);
+			root = copyPath(root, VABPathTools.splitPath(path), copies);
+			modification.accept(new VABLambdaProvider(root));
+		}
+	}
+}
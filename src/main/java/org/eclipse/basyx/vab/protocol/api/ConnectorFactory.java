@@ -24,27 +24,168 @@
  ******************************************************************************/
 package org.eclipse.basyx.vab.protocol.api;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.List;
+import java.util.Map.Entry;
 
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * ConnectorProvider that caches connectors for addresses to save resources
+ * ConnectorProvider that caches connectors for addresses to save resources.
+ * 
+ * The cache is thread-safe and bounded. If more than the configured number of
+ * connectors are cached, the least recently used one is evicted. Additionally,
+ * connectors not used for longer than the idle timeout are evicted. Evicted
+ * connectors implementing {@link Closeable} are closed. As other threads may
+ * still use an evicted connector, closing must not abort running requests, e.g.
+ * the HTTPConnector closes its client only after its running requests finished
+ * and reopens it when used again.
  * 
  * @author schnicke
  *
  */
 public abstract class ConnectorFactory implements IConnectorFactory {
+	private static Logger logger = LoggerFactory.getLogger(ConnectorFactory.class);
+
+	public static final int DEFAULT_MAX_CACHED_CONNECTORS = 1000;
+	public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 10 * 60 * 1000;
+
+	private final int maxCachedConnectors;
+	private final long idleTimeoutMillis;
+
+	// Access ordered, i.e. the eldest entry is the least recently used one
+	private final LinkedHashMap<String, CachedConnector> providerMap = new LinkedHashMap<>(16, 0.75f, true);
 
-	private Map<String, IModelProvider> providerMap = new LinkedHashMap<>();
+	/**
+	 * Creates a factory caching up to {@value #DEFAULT_MAX_CACHED_CONNECTORS}
+	 * connectors with an idle timeout of {@value #DEFAULT_IDLE_TIMEOUT_MILLIS} ms
+	 */
+	public ConnectorFactory() {
+		this(DEFAULT_MAX_CACHED_CONNECTORS, DEFAULT_IDLE_TIMEOUT_MILLIS);
+	}
+
+	/**
+	 * Creates a factory with a custom cache configuration
+	 * 
+	 * @param maxCachedConnectors
+	 *            maximum number of cached connectors
+	 * @param idleTimeoutMillis
+	 *            time after which an unused connector is evicted; values &lt;= 0
+	 *            disable idle eviction
+	 */
+	public ConnectorFactory(int maxCachedConnectors, long idleTimeoutMillis) {
+		if (maxCachedConnectors <= 0) {
+			throw new IllegalArgumentException("At least one connector has to be cached, but was " + maxCachedConnectors);
+		}
+		this.maxCachedConnectors = maxCachedConnectors;
+		this.idleTimeoutMillis = idleTimeoutMillis;
+	}
 
 	@Override
 	public IModelProvider getConnector(String addr) {
-		if (!providerMap.containsKey(addr)) {
-			providerMap.put(addr, createProvider(addr));
+		List<IModelProvider> evicted = new ArrayList<>();
+		try {
+			return getOrCreateConnector(addr, evicted);
+		} finally {
+			// Close outside of the lock, closing might block
+			evicted.forEach(ConnectorFactory::closeConnector);
+		}
+	}
+
+	private IModelProvider getOrCreateConnector(String addr, List<IModelProvider> evicted) {
+		long now = System.currentTimeMillis();
+		synchronized (providerMap) {
+			evictIdleConnectors(now, evicted);
+			CachedConnector cached = providerMap.get(addr);
+			if (cached != null) {
+				cached.lastAccess = now;
+				return cached.provider;
+			}
+		}
+
+		// Create outside of the lock so that slow connector creation does not block
+		// accesses to other addresses
+		IModelProvider created = createProvider(addr);
+
+		synchronized (providerMap) {
+			CachedConnector cached = providerMap.get(addr);
+			if (cached != null) {
+				// Concurrently created by another thread
+				evicted.add(created);
+				cached.lastAccess = now;
+				return cached.provider;
+			}
+
+			providerMap.put(addr, new CachedConnector(created, now));
+			evictLeastRecentlyUsedConnectors(evicted);
+			return created;
+		}
+	}
+
+	private void evictIdleConnectors(long now, List<IModelProvider> evicted) {
+		if (idleTimeoutMillis <= 0) {
+			return;
+		}
+
+		Iterator<Entry<String, CachedConnector>> it = providerMap.entrySet().iterator();
+		while (it.hasNext()) {
+			CachedConnector cached = it.next().getValue();
+			if (now - cached.lastAccess <= idleTimeoutMillis) {
+				// Entries are ordered by access, thus all following ones are younger
+				return;
+			}
+			evicted.add(cached.provider);
+			it.remove();
+		}
+	}
+
+	private void evictLeastRecentlyUsedConnectors(List<IModelProvider> evicted) {
+		Iterator<Entry<String, CachedConnector>> it = providerMap.entrySet().iterator();
+		while (providerMap.size() > maxCachedConnectors && it.hasNext()) {
+			evicted.add(it.next().getValue().provider);
+			it.remove();
+		}
+	}
+
+	/**
+	 * Removes all cached connectors and closes them
+	 */
+	public void clear() {
+		List<IModelProvider> evicted = new ArrayList<>();
+		synchronized (providerMap) {
+			providerMap.values().forEach(c -> evicted.add(c.provider));
+			providerMap.clear();
+		}
+		evicted.forEach(ConnectorFactory::closeConnector);
+	}
+
+	/**
+	 * Returns the number of currently cached connectors
+	 * 
+	 * @return
+	 */
+	public int getCachedConnectorCount() {
+		synchronized (providerMap) {
+			return providerMap.size();
+		}
+	}
+
+	private static void closeConnector(IModelProvider provider) {
+		if (!(provider instanceof Closeable)) {
+			return;
+		}
+
+		try {
+			((Closeable) provider).close();
+		} catch (IOException e) {
+			logger.warn("Could not close evicted connector", e);
 		}
-		return providerMap.get(addr);
 	}
 
 	/**
@@ -54,4 +195,14 @@ public abstract class ConnectorFactory implements IConnectorFactory {
 	 * @return
 	 */
 	protected abstract IModelProvider createProvider(String addr);
+
+	private static class CachedConnector {
+		private final IModelProvider provider;
+		private long lastAccess;
+
+		private CachedConnector(IModelProvider provider, long lastAccess) {
+			this.provider = provider;
+			this.lastAccess = lastAccess;
+		}
+	}
 }
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.protocol.api;
+
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+
+/**
+ * Connector interface for technology specific communication with a binary
+ * payload encoding. Binary counterpart of {@link IBaSyxConnector}, returning the
+ * encoded response including meta information
+ * 
+ */
+public interface IBinaryBaSyxConnector {
+
+	/**
+	 * Get a sub model property value
+	 * 
+	 * @param path
+	 *            Path to the requested value
+	 * @return the encoded value
+	 */
+	public byte[] getBinaryValue(String path) throws ProviderException;
+
+	/**
+	 * Sets or overrides existing property, operation or event.
+	 * 
+	 * @param path
+	 *            Path to the requested value
+	 * @param newValue
+	 *            Encoded updated value
+	 */
+	public byte[] setBinaryValue(String path, byte[] newValue) throws ProviderException;
+
+	/**
+	 * Create a new property, operation, event submodel or aas under the given path
+	 * 
+	 * @param path
+	 *            Path to the entity where the element should be created
+	 * @param newEntity
+	 *            Encoded element to be created on the server
+	 */
+	public byte[] createBinaryValue(String path, byte[] newEntity) throws ProviderException;
+
+	/**
+	 * Delete a property, operation, event, submodel or aas under the given path
+	 * 
+	 * @param path
+	 *            Path to the entity that should be deleted
+	 */
+	public byte[] deleteBinaryValue(String path) throws ProviderException;
+
+	/**
+	 * Deletes an entry from a map or collection by the given key
+	 * 
+	 * @param path
+	 *            Path to the entity that should be deleted
+	 * @param obj
+	 *            Encoded entity that should be removed from the collection
+	 */
+	public byte[] deleteBinaryValue(String path, byte[] obj) throws ProviderException;
+
+	/**
+	 * Invoke an operation
+	 * 
+	 * @param path
+	 *            Path to operation
+	 * @param parameter
+	 *            Encoded operation parameter
+	 * @return the encoded return value
+	 */
+	public byte[] invokeBinaryOperation(String path, byte[] parameter) throws ProviderException;
+
+	/**
+	 * Return string representation of the connector endpoint for the given path
+	 * 
+	 * @param path
+	 *            Requested path
+	 * @return String representing the endpoint
+	 */
+	public String getEndpointRepresentation(String path);
+}
@@ -29,8 +29,10 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.Arrays;
 
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.metrics.BaSyxMetrics;
 import org.eclipse.basyx.vab.protocol.api.IBaSyxConnector;
 import org.eclipse.basyx.vab.protocol.basyx.CoderTools;
 import org.eclipse.basyx.vab.protocol.basyx.server.VABBaSyxTCPInterface;
@@ -85,7 +87,19 @@ public class BaSyxConnector implements IBaSyxConnector {
 	/**
 	 * Invoke a BaSyx operation in a remote provider
 	 */
-	protected synchronized String invokeBaSyx(byte[] call) {
+	protected String invokeBaSyx(byte[] call) {
+		byte[] result = invokeBaSyxRaw(call);
+		if (result == null) {
+			return null;
+		}
+		return new String(result);
+	}
+
+	/**
+	 * Invoke a BaSyx operation in a remote provider and return the encoded result
+	 */
+	protected synchronized byte[] invokeBaSyxRaw(byte[] call) {
+		long start = BaSyxMetrics.start();
 		// Catch exceptions
 		try {
 			// Send byte array (BaSyx operation) via channel to provider
@@ -123,17 +137,21 @@ public class BaSyxConnector implements IBaSyxConnector {
 			// - FIXME: Check result on position 0
 
 			// Extract response
-			int jsonResultLen = CoderTools.getInt32(rxFrame, 1);
-			String jsonResult = new String(rxFrame, 1 + 4, jsonResultLen);
+			int resultLen = CoderTools.getInt32(rxFrame, 1);
+			byte[] result = Arrays.copyOfRange(rxFrame, 1 + 4, 1 + 4 + resultLen);
 
 			// Close connection to prevent unused open channels
 			closeConnection();
 
 			// Return result
-			return jsonResult.toString();
+			return result;
 		} catch (IOException e) {
 			// Print stack trace
 			logger.error("Exception in invokeBaSyx", e);
+		} finally {
+			if (start != 0) {
+				BaSyxMetrics.recordDuration(BaSyxMetrics.CLIENT_REQUEST, getCallLabel(call), start);
+			}
 		}
 
 		// Indicate error
@@ -243,6 +261,32 @@ public class BaSyxConnector implements IBaSyxConnector {
 		return invokeBaSyx(call);
 	}
 
+	/**
+	 * Creates the metrics label of a call from its type and path template
+	 */
+	private String getCallLabel(byte[] call) {
+		int pathLength = CoderTools.getInt32(call, 5);
+		String servicePath = new String(call, 9, pathLength);
+		return "TCP " + getCallTypeName(call[4]) + " " + BaSyxMetrics.normalizePath(servicePath);
+	}
+
+	private String getCallTypeName(byte callType) {
+		switch ((byte) (callType & ~VABBaSyxTCPInterface.BASYX_BINARY_FLAG)) {
+		case VABBaSyxTCPInterface.BASYX_GET:
+			return "GET";
+		case VABBaSyxTCPInterface.BASYX_SET:
+			return "SET";
+		case VABBaSyxTCPInterface.BASYX_CREATE:
+			return "CREATE";
+		case VABBaSyxTCPInterface.BASYX_DELETE:
+			return "DELETE";
+		case VABBaSyxTCPInterface.BASYX_INVOKE:
+			return "INVOKE";
+		default:
+			return Byte.toString(callType);
+		}
+	}
+
 	/**
 	 * Create non-parameterized call that can be used as an argument to the
 	 * invokeBaSyx function
@@ -251,7 +295,7 @@ public class BaSyxConnector implements IBaSyxConnector {
 	 * @param jsonObject
 	 * @return
 	 */
-	private byte[] createCall(String servicePath, byte callType) {
+	protected byte[] createCall(String servicePath, byte callType) {
 		// Create call
 		byte[] call = new byte[4 + 1 + 4 + servicePath.length()];
 		// - Encode size does not include leading four bytes
@@ -292,6 +336,26 @@ public class BaSyxConnector implements IBaSyxConnector {
 		return call;
 	}
 
+	/**
+	 * Create parameterized byte call with an already encoded value
+	 * 
+	 * @param servicePath
+	 * @param newValue
+	 * @param callType
+	 * @return
+	 */
+	protected byte[] createCall(String servicePath, byte[] newValue, byte callType) {
+		byte[] call = new byte[4 + 1 + 4 + servicePath.length() + 4 + newValue.length];
+		CoderTools.setInt32(call, 0, call.length - 4);
+		CoderTools.setInt8(call, 4, callType);
+		CoderTools.setInt32(call, 5, servicePath.length());
+		CoderTools.setString(call, 9, servicePath);
+		CoderTools.setInt32(call, 9 + servicePath.length(), newValue.length);
+		System.arraycopy(newValue, 0, call, 9 + servicePath.length() + 4, newValue.length);
+
+		return call;
+	}
+
 	/**
 	 * Get string representation of endpoint for given path for debugging.
 	 * 
@@ -51,7 +51,7 @@ public class BaSyxConnectorFactory extends ConnectorFactory {
 		int hostPort = Integer.parseInt(splitted[0].substring(address.indexOf(':') + 1));
 
 		// Create connector, connect
-		IModelProvider provider = new JSONConnector(new BaSyxConnector(hostName, hostPort));
+		IModelProvider provider = createConnector(hostName, hostPort);
 
 		// Create a proxy, if necessary
 		String path = address.replaceFirst(hostName + ":" + hostPort, "");
@@ -62,4 +62,11 @@ public class BaSyxConnectorFactory extends ConnectorFactory {
 		return provider;
 	}
 
+	/**
+	 * Creates the connector to the resolved host
+	 */
+	protected IModelProvider createConnector(String hostName, int hostPort) {
+		return new JSONConnector(new BaSyxConnector(hostName, hostPort));
+	}
+
 }
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.protocol.basyx.connector;
+
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.protocol.api.IBinaryBaSyxConnector;
+import org.eclipse.basyx.vab.protocol.basyx.server.VABBaSyxTCPInterface;
+
+/**
+ * BaSyx connector exchanging CBOR encoded values. Commands are flagged with
+ * {@link VABBaSyxTCPInterface#BASYX_BINARY_FLAG}, the frame layout is the same
+ * as for JSON encoded values.
+ * 
+ */
+public class CBORBaSyxConnector extends BaSyxConnector implements IBinaryBaSyxConnector {
+
+	public CBORBaSyxConnector(String hostName, int port) {
+		super(hostName, port);
+	}
+
+	@Override
+	public byte[] getBinaryValue(String path) throws ProviderException {
+		return invokeBaSyxRaw(createCall(path, binary(VABBaSyxTCPInterface.BASYX_GET)));
+	}
+
+	@Override
+	public byte[] setBinaryValue(String path, byte[] newValue) throws ProviderException {
+		return invokeBaSyxRaw(createCall(path, newValue, binary(VABBaSyxTCPInterface.BASYX_SET)));
+	}
+
+	@Override
+	public byte[] createBinaryValue(String path, byte[] newEntity) throws ProviderException {
+		return invokeBaSyxRaw(createCall(path, newEntity, binary(VABBaSyxTCPInterface.BASYX_CREATE)));
+	}
+
+	@Override
+	public byte[] deleteBinaryValue(String path) throws ProviderException {
+		return invokeBaSyxRaw(createCall(path, binary(VABBaSyxTCPInterface.BASYX_DELETE)));
+	}
+
+	@Override
+	public byte[] deleteBinaryValue(String path, byte[] obj) throws ProviderException {
+		return invokeBaSyxRaw(createCall(path, obj, binary(VABBaSyxTCPInterface.BASYX_DELETE)));
+	}
+
+	@Override
+	public byte[] invokeBinaryOperation(String path, byte[] parameter) throws ProviderException {
+		return invokeBaSyxRaw(createCall(path, parameter, binary(VABBaSyxTCPInterface.BASYX_INVOKE)));
+	}
+
+	private static byte binary(byte callType) {
+		return (byte) (callType | VABBaSyxTCPInterface.BASYX_BINARY_FLAG);
+	}
+}
@@ -29,7 +29,9 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SocketChannel;
+import java.util.Arrays;
 
+import org.eclipse.basyx.vab.coder.cbor.CBORProvider;
 import org.eclipse.basyx.vab.coder.json.provider.JSONProvider;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
@@ -78,11 +80,22 @@ public class VABBaSyxTCPInterface<ModelProvider extends IModelProvider> extends
 	 */
 	public static final byte BASYX_RESULT_OK = 0x00;
 
+	/**
+	 * Flag combined with the command to indicate CBOR instead of JSON encoded
+	 * values
+	 */
+	public static final byte BASYX_BINARY_FLAG = (byte) 0x80;
+
 	/**
 	 * Reference to IModelProvider backend
 	 */
 	protected JSONProvider<ModelProvider> providerBackend = null;
 
+	/**
+	 * Backend for CBOR encoded commands
+	 */
+	protected CBORProvider<ModelProvider> binaryBackend = null;
+
 	/**
 	 * Socket communication channel
 	 */
@@ -94,6 +107,7 @@ public class VABBaSyxTCPInterface<ModelProvider extends IModelProvider> extends
 	public VABBaSyxTCPInterface(ModelProvider modelProviderBackend, SocketChannel channel) {
 		// Store reference to channel and backend
 		providerBackend = new JSONProvider<ModelProvider>(modelProviderBackend);
+		binaryBackend = new CBORProvider<ModelProvider>(modelProviderBackend);
 		commChannel = channel;
 		setName(VABBaSyxTCPInterface.class.getName() + " " + System.currentTimeMillis());
 		logger.debug("Socket created");
@@ -103,6 +117,11 @@ public class VABBaSyxTCPInterface<ModelProvider extends IModelProvider> extends
 	 * Process input frame
 	 */
 	public void processInputFrame(byte[] rxFrame) throws IOException {
+		if ((rxFrame[0] & BASYX_BINARY_FLAG) != 0) {
+			processBinaryFrame(rxFrame);
+			return;
+		}
+
 		// Create output streams
 		ByteArrayOutputStream output = new ByteArrayOutputStream();
 
@@ -251,6 +270,55 @@ public class VABBaSyxTCPInterface<ModelProvider extends IModelProvider> extends
 		}
 	}
 
+	/**
+	 * Process input frame with CBOR encoded value. The frame layout is the same as
+	 * for JSON encoded values.
+	 */
+	private void processBinaryFrame(byte[] rxFrame) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		// Get path string
+		int pathLen = CoderTools.getInt32(rxFrame, 1);
+		String path = new String(rxFrame, 1 + 4, pathLen);
+
+		// Get value if available; a missing value is passed as empty array
+		byte[] value = new byte[0];
+		int valueOffset = 1 + 4 + pathLen;
+		if (rxFrame.length >= valueOffset + 4) {
+			int valueLen = CoderTools.getInt32(rxFrame, valueOffset);
+			value = Arrays.copyOfRange(rxFrame, valueOffset + 4, valueOffset + 4 + valueLen);
+		}
+
+		byte command = (byte) (rxFrame[0] & ~BASYX_BINARY_FLAG);
+		try {
+			switch (command) {
+			case BASYX_GET:
+				binaryBackend.processBaSysGet(path, output);
+				break;
+			case BASYX_SET:
+				binaryBackend.processBaSysSet(path, value, output);
+				break;
+			case BASYX_CREATE:
+				binaryBackend.processBaSysCreate(path, value, output);
+				break;
+			case BASYX_DELETE:
+				binaryBackend.processBaSysDelete(path, value, output);
+				break;
+			case BASYX_INVOKE:
+				binaryBackend.processBaSysInvoke(path, value, output);
+				break;
+			default:
+				throw new RuntimeException("Unknown BaSyx TCP command received");
+			}
+		} catch (ProviderException e) {
+			// Same as for JSON, the exception is encoded in the response
+			logger.debug("Exception in binary command " + command, e);
+		}
+
+		output.flush();
+		sendResponseFrame(output);
+	}
+
 	/**
 	 * Sends a response to the client that carries the JSON response
 	 * 
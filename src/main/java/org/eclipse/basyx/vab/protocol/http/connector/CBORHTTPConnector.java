@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.protocol.http.connector;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.Invocation.Builder;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import org.eclipse.basyx.vab.coder.cbor.CBORTools;
+import org.eclipse.basyx.vab.coder.json.metaprotocol.Result;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.metrics.BaSyxMetrics;
+import org.eclipse.basyx.vab.protocol.api.IBinaryBaSyxConnector;
+import org.eclipse.basyx.vab.protocol.http.server.ExceptionToHTTPCodeMapper;
+import org.glassfish.jersey.client.HttpUrlConnectorProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * HTTP connector exchanging CBOR encoded payloads. The server decodes the
+ * request body based on the Content-Type and encodes the response based on the
+ * Accept header, so the JSON methods inherited from {@link HTTPConnector} stay
+ * usable.
+ * 
+ */
+public class CBORHTTPConnector extends HTTPConnector implements IBinaryBaSyxConnector {
+	private static Logger logger = LoggerFactory.getLogger(CBORHTTPConnector.class);
+
+	private CBORTools serializer = new CBORTools();
+
+	public CBORHTTPConnector(String address) {
+		this(address, null);
+	}
+
+	public CBORHTTPConnector(String address, IAuthorizationSupplier authorizationSupplier) {
+		super(address, MediaType.APPLICATION_JSON + ";charset=UTF-8", authorizationSupplier);
+	}
+
+	@Override
+	public byte[] getBinaryValue(String path) throws ProviderException {
+		return request("GET", path, Builder::get);
+	}
+
+	@Override
+	public byte[] setBinaryValue(String path, byte[] newValue) throws ProviderException {
+		return request("PUT", path, r -> r.put(toEntity(newValue)));
+	}
+
+	@Override
+	public byte[] createBinaryValue(String path, byte[] newEntity) throws ProviderException {
+		return request("POST", path, r -> r.post(toEntity(newEntity)));
+	}
+
+	@Override
+	public byte[] deleteBinaryValue(String path) throws ProviderException {
+		return request("DELETE", path, Builder::delete);
+	}
+
+	@Override
+	public byte[] deleteBinaryValue(String path, byte[] obj) throws ProviderException {
+		return request("PATCH", path, r -> r.build("PATCH", toEntity(obj)).property(HttpUrlConnectorProvider.SET_METHOD_WORKAROUND, true).invoke());
+	}
+
+	@Override
+	public byte[] invokeBinaryOperation(String path, byte[] parameter) throws ProviderException {
+		return request("POST", path, r -> r.post(toEntity(parameter)));
+	}
+
+	private Entity<byte[]> toEntity(byte[] payload) {
+		return Entity.entity(payload, CBORTools.MEDIA_TYPE);
+	}
+
+	private byte[] request(String method, String path, Function<Builder, Response> call) throws ProviderException {
+		logger.trace("[HTTP {} CBOR] {}", method, getEndpointRepresentation(path));
+
+		return runWithClient(requestClient -> {
+			long start = BaSyxMetrics.start();
+			Response rsp = null;
+			try {
+				// Replaces the JSON Accept header of the inherited methods
+				rsp = call.apply(retrieveBuilder(requestClient, path).header(HttpHeaders.ACCEPT, null).accept(CBORTools.MEDIA_TYPE));
+			} finally {
+				if (rsp == null || rsp.getStatusInfo().getFamily() != Status.Family.SUCCESSFUL) {
+					throw handleProcessingException(method, path, rsp);
+				}
+			}
+
+			try {
+				return rsp.readEntity(byte[].class);
+			} finally {
+				BaSyxMetrics.recordRequest(BaSyxMetrics.CLIENT_REQUEST, "HTTP " + method, path, start);
+			}
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private ProviderException handleProcessingException(String method, String path, Response rsp) {
+		String message = "[HTTP " + method + "] Failed to request " + getEndpointRepresentation(path) + " with mediatype " + CBORTools.MEDIA_TYPE;
+		if (rsp == null) {
+			return ExceptionToHTTPCodeMapper.mapToException(404, message);
+		}
+
+		Object decoded;
+		try {
+			decoded = serializer.deserialize(rsp.readEntity(byte[].class));
+		} catch (ProviderException e) {
+			decoded = null;
+		}
+
+		if (!(decoded instanceof Map<?, ?>)) {
+			return ExceptionToHTTPCodeMapper.mapToException(rsp.getStatus(), message);
+		}
+
+		Result result = Result.createAsFacade((Map<String, Object>) decoded);
+		return ExceptionToHTTPCodeMapper.mapToException(rsp.getStatus(), result.getMessages());
+	}
+}
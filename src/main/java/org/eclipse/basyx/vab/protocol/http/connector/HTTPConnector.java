@@ -26,9 +26,14 @@ package org.eclipse.basyx.vab.protocol.http.connector;
 
 import com.google.gson.Gson;
 import io.netty.handler.codec.http.HttpMethod;
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.Invocation.Builder;
@@ -41,6 +46,7 @@ import org.eclipse.basyx.vab.coder.json.metaprotocol.Message;
 import org.eclipse.basyx.vab.coder.json.metaprotocol.MessageType;
 import org.eclipse.basyx.vab.coder.json.metaprotocol.Result;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.metrics.BaSyxMetrics;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 import org.eclipse.basyx.vab.protocol.api.IBaSyxConnector;
 import org.eclipse.basyx.vab.protocol.http.server.ExceptionToHTTPCodeMapper;
@@ -56,7 +62,7 @@ import org.springframework.lang.Nullable;
  * @author kuhn, pschorn, schnicke
  *
  */
-public class HTTPConnector implements IBaSyxConnector {
+public class HTTPConnector implements IBaSyxConnector, Closeable {
 
 	private static Logger logger = LoggerFactory.getLogger(HTTPConnector.class);
 
@@ -66,6 +72,15 @@ public class HTTPConnector implements IBaSyxConnector {
 	private final IAuthorizationSupplier authorizationSupplier;
 	protected Client client;
 
+	// The client created by this connector. Clients assigned to the field by
+	// subclasses are neither closed nor replaced.
+	private Client ownedClient;
+	private boolean closed = false;
+
+	// Running requests per client and closed clients still used by requests
+	private final Map<Client, Integer> activeRequests = new IdentityHashMap<>();
+	private final Set<Client> retiredClients = Collections.newSetFromMap(new IdentityHashMap<>());
+
 	/**
 	 * Invoke a BaSys get operation via HTTP GET
 	 * 
@@ -96,6 +111,7 @@ public class HTTPConnector implements IBaSyxConnector {
 		this.authorizationSupplier = authorizationSupplier;
 
 		client = new JerseyClientBuilder().build();
+		ownedClient = client;
 
 		logger.trace("Create with addr: {}", address);
 	}
@@ -200,97 +216,131 @@ public class HTTPConnector implements IBaSyxConnector {
 	private String httpGet(String servicePath) throws ProviderException {
 		logger.trace("[HTTP Get] {}", VABPathTools.concatenatePaths(address, servicePath));
 
-		Builder request = retrieveBuilder(servicePath);
-
-		// Perform request
-		Response rsp = null;
-		try {
-			rsp = request.get();
-		} finally {
-			if (!isRequestSuccess(rsp)) {
-				throw this.handleProcessingException(HttpMethod.GET, rsp);
+		return runWithClient(requestClient -> {
+			Builder request = retrieveBuilder(requestClient, servicePath);
+
+			// Perform request
+			long start = BaSyxMetrics.start();
+			Response rsp = null;
+			try {
+				rsp = request.get();
+			} finally {
+				if (!isRequestSuccess(rsp)) {
+					throw this.handleProcessingException(HttpMethod.GET, rsp);
+				}
 			}
-		}
 
-		// Return response message (header)
-		return rsp.readEntity(String.class);
+			// Return response message (header)
+			try {
+				return rsp.readEntity(String.class);
+			} finally {
+				BaSyxMetrics.recordRequest(BaSyxMetrics.CLIENT_REQUEST, "HTTP GET", servicePath, start);
+			}
+		});
 	}
 
 	private String httpPut(String servicePath, String newValue) throws ProviderException {
 		logger.trace("[HTTP Put] {} [[ {} ]]", VABPathTools.concatenatePaths(address, servicePath), newValue);
 
-		Builder request = retrieveBuilder(servicePath);
-
-		// Perform request
-		Response rsp = null;
-		try {
-			rsp = request.put(Entity.entity(newValue, mediaType));
-		} finally {
-			if (!isRequestSuccess(rsp)) {
-				throw this.handleProcessingException(HttpMethod.PUT, rsp);
+		return runWithClient(requestClient -> {
+			Builder request = retrieveBuilder(requestClient, servicePath);
+
+			// Perform request
+			long start = BaSyxMetrics.start();
+			Response rsp = null;
+			try {
+				rsp = request.put(Entity.entity(newValue, mediaType));
+			} finally {
+				if (!isRequestSuccess(rsp)) {
+					throw this.handleProcessingException(HttpMethod.PUT, rsp);
+				}
 			}
-		}
-
-		// Return response message (header)
-		return rsp.readEntity(String.class);
 
+			// Return response message (header)
+			try {
+				return rsp.readEntity(String.class);
+			} finally {
+				BaSyxMetrics.recordRequest(BaSyxMetrics.CLIENT_REQUEST, "HTTP PUT", servicePath, start);
+			}
+		});
 	}
 
 	private String httpPatch(String servicePath, String newValue) throws ProviderException {
 		logger.trace("[HTTP Patch] {} {}", VABPathTools.concatenatePaths(address, servicePath), newValue);
 
-		// Create and invoke HTTP PATCH request
-		Response rsp = null;
-		try {
-			final Builder request = this.client.target(VABPathTools.concatenatePaths(address, servicePath)).request();
-			getAuthorization().ifPresent(authorization -> request.header(HttpHeaders.AUTHORIZATION, authorization));
-			rsp = request.build("PATCH", Entity.text(newValue)).property(HttpUrlConnectorProvider.SET_METHOD_WORKAROUND, true).invoke();
-		} finally {
-			if (!isRequestSuccess(rsp)) {
-				throw this.handleProcessingException(HttpMethod.PATCH, rsp);
+		return runWithClient(requestClient -> {
+			// Create and invoke HTTP PATCH request
+			long start = BaSyxMetrics.start();
+			Response rsp = null;
+			try {
+				final Builder request = requestClient.target(VABPathTools.concatenatePaths(address, servicePath)).request();
+				getAuthorization().ifPresent(authorization -> request.header(HttpHeaders.AUTHORIZATION, authorization));
+				rsp = request.build("PATCH", Entity.text(newValue)).property(HttpUrlConnectorProvider.SET_METHOD_WORKAROUND, true).invoke();
+			} finally {
+				if (!isRequestSuccess(rsp)) {
+					throw this.handleProcessingException(HttpMethod.PATCH, rsp);
+				}
 			}
-		}
 
-		// Return response message (header)
-		return rsp.readEntity(String.class);
+			// Return response message (header)
+			try {
+				return rsp.readEntity(String.class);
+			} finally {
+				BaSyxMetrics.recordRequest(BaSyxMetrics.CLIENT_REQUEST, "HTTP PATCH", servicePath, start);
+			}
+		});
 	}
 
 	private String httpPost(String servicePath, String parameter) throws ProviderException {
 		logger.trace("[HTTP Post] {} {}", VABPathTools.concatenatePaths(address, servicePath), parameter);
 
-		Builder request = retrieveBuilder(servicePath);
-
-		// Perform request
-		Response rsp = null;
-		try {
-			rsp = request.post(Entity.entity(parameter, mediaType));
-		} finally {
-			if (!isRequestSuccess(rsp)) {
-				throw this.handleProcessingException(HttpMethod.POST, rsp);
+		return runWithClient(requestClient -> {
+			Builder request = retrieveBuilder(requestClient, servicePath);
+
+			// Perform request
+			long start = BaSyxMetrics.start();
+			Response rsp = null;
+			try {
+				rsp = request.post(Entity.entity(parameter, mediaType));
+			} finally {
+				if (!isRequestSuccess(rsp)) {
+					throw this.handleProcessingException(HttpMethod.POST, rsp);
+				}
 			}
-		}
 
-		// Return response message (header)
-		return rsp.readEntity(String.class);
+			// Return response message (header)
+			try {
+				return rsp.readEntity(String.class);
+			} finally {
+				BaSyxMetrics.recordRequest(BaSyxMetrics.CLIENT_REQUEST, "HTTP POST", servicePath, start);
+			}
+		});
 	}
 
 	private String httpDelete(String servicePath) throws ProviderException {
 		logger.trace("[HTTP Delete] {}", VABPathTools.concatenatePaths(address, servicePath));
 
-		Builder request = retrieveBuilder(servicePath);
-
-		// Perform request
-		Response rsp = null;
-		try {
-			rsp = request.delete();
-		} finally {
-			if (!isRequestSuccess(rsp)) {
-				throw this.handleProcessingException(HttpMethod.DELETE, rsp);
+		return runWithClient(requestClient -> {
+			Builder request = retrieveBuilder(requestClient, servicePath);
+
+			// Perform request
+			long start = BaSyxMetrics.start();
+			Response rsp = null;
+			try {
+				rsp = request.delete();
+			} finally {
+				if (!isRequestSuccess(rsp)) {
+					throw this.handleProcessingException(HttpMethod.DELETE, rsp);
+				}
 			}
-		}
 
-		// Return response message (header)
-		return rsp.readEntity(String.class);
+			// Return response message (header)
+			try {
+				return rsp.readEntity(String.class);
+			} finally {
+				BaSyxMetrics.recordRequest(BaSyxMetrics.CLIENT_REQUEST, "HTTP DELETE", servicePath, start);
+			}
+		});
 	}
 
 	@Override
@@ -299,13 +349,108 @@ public class HTTPConnector implements IBaSyxConnector {
 		return httpPost(path, parameter);
 	}
 
+	/**
+	 * Releases the underlying HTTP client. Requests still running on it are
+	 * completed before it is closed. The connector stays usable, a new client is
+	 * created on the next request.<br>
+	 * A client assigned to {@link #client} by a subclass is kept open.
+	 */
+	@Override
+	public void close() {
+		Client closedClient;
+		synchronized (this) {
+			if (closed || client != ownedClient) {
+				return;
+			}
+			closed = true;
+
+			if (activeRequests.containsKey(client)) {
+				// Closed by the last running request
+				retiredClients.add(client);
+				return;
+			}
+			closedClient = client;
+		}
+		closedClient.close();
+	}
+
+	/**
+	 * Replaces the client of the connector. Contrary to assigning
+	 * {@link #client}, the client is closed by {@link #close()} and recreated
+	 * by {@link #createClient()} afterwards.
+	 * 
+	 * @param client
+	 */
+	protected synchronized void setClient(Client client) {
+		if (this.client == ownedClient && !closed) {
+			if (activeRequests.containsKey(ownedClient)) {
+				retiredClients.add(ownedClient);
+			} else {
+				ownedClient.close();
+			}
+		}
+		this.client = client;
+		this.ownedClient = client;
+		this.closed = false;
+	}
+
+	/**
+	 * Creates the client used for reopening the connector after it has been
+	 * closed
+	 * 
+	 * @return
+	 */
+	protected Client createClient() {
+		return new JerseyClientBuilder().build();
+	}
+
+	/**
+	 * Runs a request with the client of this connector. The client is not closed
+	 * before the request, including reading its response, has finished.
+	 * 
+	 * @param request
+	 * @return the result of the request
+	 */
+	protected <T> T runWithClient(Function<Client, T> request) {
+		Client usedClient = acquireClient();
+		try {
+			return request.apply(usedClient);
+		} finally {
+			releaseClient(usedClient);
+		}
+	}
+
+	private synchronized Client acquireClient() {
+		if (closed) {
+			client = createClient();
+			ownedClient = client;
+			closed = false;
+		}
+		activeRequests.merge(client, 1, Integer::sum);
+		return client;
+	}
+
+	private void releaseClient(Client usedClient) {
+		synchronized (this) {
+			if (activeRequests.merge(usedClient, -1, Integer::sum) > 0) {
+				return;
+			}
+			activeRequests.remove(usedClient);
+			if (!retiredClients.remove(usedClient)) {
+				return;
+			}
+		}
+		usedClient.close();
+	}
+
 	/**
 	 * Create the builder depending on the service path
 	 * 
+	 * @param client
 	 * @param servicePath
 	 * @return
 	 */
-	private Builder retrieveBuilder(String servicePath) {
+	protected Builder retrieveBuilder(Client client, String servicePath) {
 		return buildRequest(client, VABPathTools.concatenatePaths(address, servicePath));
 	}
 
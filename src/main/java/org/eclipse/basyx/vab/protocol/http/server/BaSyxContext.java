@@ -92,6 +92,9 @@ public class BaSyxContext extends LinkedHashMap<String, HttpServlet> {
 	@Nullable
 	private JwtBearerTokenAuthenticationConfiguration jwtBearerTokenAuthenticationConfiguration;
 	
+	@Nullable
+	private IMetricsEndpointAuthorizer metricsEndpointAuthorizer;
+
 	private String accessControlAllowOrigin;
 	
 	private List<BaSyxChildContext> baSyxChildContext = new ArrayList<>();
@@ -286,6 +289,22 @@ public class BaSyxContext extends LinkedHashMap<String, HttpServlet> {
 		this.jwtBearerTokenAuthenticationConfiguration = jwtBearerTokenAuthenticationConfiguration;
 	}
 
+	public Optional<IMetricsEndpointAuthorizer> getMetricsEndpointAuthorizer() {
+		return Optional.ofNullable(metricsEndpointAuthorizer);
+	}
+
+	/**
+	 * Restricts access to the metrics endpoint. Without an authorizer, the
+	 * metrics are served to every request carrying a valid bearer token if a
+	 * {@link JwtBearerTokenAuthenticationConfiguration} is set, and to every
+	 * request otherwise, once a recording metrics recorder is installed.
+	 * 
+	 * @param metricsEndpointAuthorizer
+	 */
+	public void setMetricsEndpointAuthorizer(@Nullable final IMetricsEndpointAuthorizer metricsEndpointAuthorizer) {
+		this.metricsEndpointAuthorizer = metricsEndpointAuthorizer;
+	}
+
 	public String getAccessControlAllowOrigin() {
 		return accessControlAllowOrigin;
 	}
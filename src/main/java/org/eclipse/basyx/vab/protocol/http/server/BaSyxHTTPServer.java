@@ -31,6 +31,7 @@ import java.util.Collection;
 import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.Map.Entry;
 import java.util.UUID;
 import java.util.function.Consumer;
@@ -44,11 +45,13 @@ import org.apache.catalina.LifecycleException;
 import org.apache.catalina.LifecycleListener;
 import org.apache.catalina.LifecycleState;
 import org.apache.catalina.Valve;
+import org.apache.catalina.Wrapper;
 import org.apache.catalina.connector.Connector;
 import org.apache.catalina.startup.Tomcat;
 import org.apache.catalina.valves.HealthCheckValve;
 import org.apache.tomcat.util.descriptor.web.FilterDef;
 import org.apache.tomcat.util.descriptor.web.FilterMap;
+import org.eclipse.basyx.extensions.shared.authorization.internal.AuthorizationRequestContextFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.lang.Nullable;
@@ -126,6 +129,7 @@ public class BaSyxHTTPServer {
 		tomcat.getHost().setAppBase(".");
 		
 		configureHealthEndpoint();
+		configureMetricsEndpoint(context);
 		
 		addChildContextsIfConfigured(context);
 	
@@ -166,13 +170,30 @@ public class BaSyxHTTPServer {
 		tomcat.getHost().getPipeline().addValve(valve);
 	}
 
+	private void configureMetricsEndpoint(BaSyxContext context) {
+		Valve valve = getMetricsEndpointAuthorizer(context).map(authorizer -> new MetricsExporterValve(MetricsExporterValve.DEFAULT_PATH, authorizer)).orElseGet(MetricsExporterValve::new);
+
+		tomcat.getHost().getPipeline().addValve(valve);
+	}
+
+	private Optional<IMetricsEndpointAuthorizer> getMetricsEndpointAuthorizer(BaSyxContext context) {
+		if (context.getMetricsEndpointAuthorizer().isPresent()) {
+			return context.getMetricsEndpointAuthorizer();
+		}
+
+		// The valve is not protected by the security filters, thus it requires a valid token itself
+		return context.getJwtBearerTokenAuthenticationConfiguration().map(configuration -> new BearerTokenMetricsEndpointAuthorizer(createAuthenticationManager(configuration)));
+	}
+
 	private void addNewServletAndMappingToTomcatEnvironment(BaSyxContext context, final Context rootCtx, Entry<String, HttpServlet> entry) {
 		String mapping = entry.getKey();
 		HttpServlet servlet = entry.getValue();
 		
 		configureCorsOrigin(context, servlet);
 
-		Tomcat.addServlet(rootCtx, Integer.toString(servlet.hashCode()), servlet);
+		// Async support allows servlets to stream responses without blocking a thread
+		Wrapper wrapper = Tomcat.addServlet(rootCtx, Integer.toString(servlet.hashCode()), servlet);
+		wrapper.setAsyncSupported(true);
 		rootCtx.addServletMappingDecoded(mapping, Integer.toString(servlet.hashCode()));
 	}
 
@@ -217,6 +238,7 @@ public class BaSyxHTTPServer {
 		filterChainProxyFilterDefinition.setFilterName(FilterChainProxy.class.getSimpleName());
 		filterChainProxyFilterDefinition.setFilterClass(FilterChainProxy.class.getName());
 		filterChainProxyFilterDefinition.setFilter(filterChainProxy);
+		filterChainProxyFilterDefinition.setAsyncSupported(Boolean.TRUE.toString());
 		return filterChainProxyFilterDefinition;
 	}
 
@@ -240,6 +262,7 @@ public class BaSyxHTTPServer {
 
 		sortedListOfFilters.add(createBearerTokenAuthenticationFilter(jwtBearerTokenAuthenticationConfiguration));
 		sortedListOfFilters.add(createExceptionTranslationFilter());
+		sortedListOfFilters.add(new AuthorizationRequestContextFilter());
 
 		return new DefaultSecurityFilterChain(AnyRequestMatcher.INSTANCE, sortedListOfFilters);
 	}
@@ -250,11 +273,14 @@ public class BaSyxHTTPServer {
 	}
 
 	private BearerTokenAuthenticationFilter createBearerTokenAuthenticationFilter(final JwtBearerTokenAuthenticationConfiguration jwtBearerTokenAuthenticationConfiguration) {
+		return new BearerTokenAuthenticationFilter(createAuthenticationManager(jwtBearerTokenAuthenticationConfiguration));
+	}
+
+	private AuthenticationManager createAuthenticationManager(final JwtBearerTokenAuthenticationConfiguration jwtBearerTokenAuthenticationConfiguration) {
 		final JwtDecoder jwtDecoder = createJwtDecoder(jwtBearerTokenAuthenticationConfiguration.getIssuerUri(), jwtBearerTokenAuthenticationConfiguration.getJwkSetUri(),
 				jwtBearerTokenAuthenticationConfiguration.getRequiredAud().orElse(null));
 		final JwtAuthenticationProvider jwtAuthenticationProvider = new JwtAuthenticationProvider(jwtDecoder);
-		final AuthenticationManager authenticationManager = new ProviderManager(jwtAuthenticationProvider);
-		return new BearerTokenAuthenticationFilter(authenticationManager);
+		return new ProviderManager(jwtAuthenticationProvider);
 	}
 
 	private JwtDecoder createJwtDecoder(final String issuerUri, final String jwkSetUri, @Nullable final String requiredAud) {
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.protocol.http.server;
+
+import java.io.IOException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.server.resource.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationEntryPoint;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
+
+/**
+ * Only serves the metrics to requests carrying a valid bearer token. Used by
+ * the {@link BaSyxHTTPServer} if a
+ * {@link JwtBearerTokenAuthenticationConfiguration} is set, since the metrics
+ * endpoint is answered before the security filters of the servlets run.
+ * Rejected requests are answered with 401 like by the security filters.
+ */
+public class BearerTokenMetricsEndpointAuthorizer implements IMetricsEndpointAuthorizer {
+	private final AuthenticationManager authenticationManager;
+	private final BearerTokenResolver tokenResolver = new DefaultBearerTokenResolver();
+	private final BearerTokenAuthenticationEntryPoint entryPoint = new BearerTokenAuthenticationEntryPoint();
+
+	/**
+	 * @param authenticationManager
+	 *            validates the bearer tokens
+	 */
+	public BearerTokenMetricsEndpointAuthorizer(AuthenticationManager authenticationManager) {
+		this.authenticationManager = authenticationManager;
+	}
+
+	@Override
+	public boolean isAuthorized(HttpServletRequest request) {
+		try {
+			String token = tokenResolver.resolve(request);
+			if (token == null) {
+				return false;
+			}
+			return authenticationManager.authenticate(new BearerTokenAuthenticationToken(token)).isAuthenticated();
+		} catch (AuthenticationException e) {
+			return false;
+		}
+	}
+
+	@Override
+	public void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		entryPoint.commence(request, response, null);
+	}
+}
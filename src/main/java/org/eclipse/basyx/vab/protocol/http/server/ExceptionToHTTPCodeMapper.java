@@ -32,6 +32,7 @@ import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.exception.provider.ResourceAlreadyExistsException;
 import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.exception.provider.ServiceUnavailableException;
 
 /**
  * Maps Exceptions from providers to HTTP-Codes
@@ -57,6 +58,8 @@ public class ExceptionToHTTPCodeMapper {
 			return 422;
 		} else if (e instanceof ResourceNotFoundException) {
 			return 404;
+		} else if (e instanceof ServiceUnavailableException) {
+			return 503;
 		}
 		return 500;
 
@@ -80,6 +83,8 @@ public class ExceptionToHTTPCodeMapper {
 			return new ResourceAlreadyExistsException(text);
 		case 404:
 			return new ResourceNotFoundException(text);
+		case 503:
+			return new ServiceUnavailableException(text);
 		default:
 			return new ProviderException(text);
 		}
@@ -104,6 +109,8 @@ public class ExceptionToHTTPCodeMapper {
 			return new ResourceAlreadyExistsException(messages);
 		case 404:
 			return new ResourceNotFoundException(messages);
+		case 503:
+			return new ServiceUnavailableException(messages);
 		default:
 			return new ProviderException(messages);
 		}
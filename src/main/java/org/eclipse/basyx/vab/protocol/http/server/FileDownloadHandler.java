@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.protocol.http.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Streams files to HTTP clients without loading them into memory.<br>
+ * <br>
+ * Supports
+ * <ul>
+ * <li>single byte ranges (<i>Range</i>, <i>If-Range</i>) for resumable
+ * downloads</li>
+ * <li>conditional requests (<i>If-None-Match</i>, <i>If-Modified-Since</i>)
+ * based on the <i>ETag</i> and <i>Last-Modified</i> headers</li>
+ * <li>sendfile, if supported by the servlet container. Otherwise, the file is
+ * copied with a bounded buffer</li>
+ * </ul>
+ *
+ */
+public class FileDownloadHandler {
+	public static final int BUFFER_SIZE = 64 * 1024;
+
+	// Tomcat specific request attributes for sendfile support
+	private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+	private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+	private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+	private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+	private static final String BYTES_UNIT = "bytes";
+
+	private FileDownloadHandler() {
+	}
+
+	/**
+	 * Writes the file, or the requested range of it, to the response
+	 * 
+	 * @param file
+	 * @param req
+	 *            the request; if null, the whole file is sent unconditionally
+	 * @param resp
+	 * @throws IOException
+	 */
+	public static void sendFile(File file, HttpServletRequest req, HttpServletResponse resp) throws IOException {
+		long length = file.length();
+		long lastModified = file.lastModified();
+		String eTag = createETag(length, lastModified);
+
+		resp.setContentType("application/octet-stream");
+		resp.setHeader("Content-Disposition", "attachment; filename=" + file.getName());
+		resp.setHeader("Accept-Ranges", BYTES_UNIT);
+		resp.setHeader("ETag", eTag);
+		resp.setDateHeader("Last-Modified", lastModified);
+
+		if (req != null && isNotModified(req, eTag, lastModified)) {
+			resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+
+		long start = 0;
+		long end = length - 1;
+		String range = req == null ? null : req.getHeader("Range");
+		if (range != null && isIfRangeFulfilled(req, eTag, lastModified)) {
+			long[] parsedRange;
+			try {
+				parsedRange = parseRange(range, length);
+			} catch (RangeNotSatisfiableException e) {
+				resp.setHeader("Content-Range", BYTES_UNIT + " */" + length);
+				resp.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+				return;
+			}
+
+			// Unsupported or malformed ranges are ignored, i.e. the whole file is sent
+			if (parsedRange != null) {
+				start = parsedRange[0];
+				end = parsedRange[1];
+				resp.setHeader("Content-Range", BYTES_UNIT + " " + start + "-" + end + "/" + length);
+				resp.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+			}
+		}
+
+		long count = end - start + 1;
+		resp.setContentLengthLong(count);
+		if (count <= 0) {
+			return;
+		}
+
+		if (req != null && Boolean.TRUE.equals(req.getAttribute(SENDFILE_SUPPORT))) {
+			// The container sends the file after the servlet returned
+			req.setAttribute(SENDFILE_FILENAME, file.getCanonicalPath());
+			req.setAttribute(SENDFILE_START, start);
+			req.setAttribute(SENDFILE_END, end + 1);
+			return;
+		}
+
+		copyRange(file, start, count, resp);
+	}
+
+	private static void copyRange(File file, long start, long count, HttpServletResponse resp) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			WritableByteChannel target = Channels.newChannel(resp.getOutputStream());
+			long position = start;
+			long remaining = count;
+			while (remaining > 0) {
+				long transferred = channel.transferTo(position, Math.min(remaining, BUFFER_SIZE), target);
+				if (transferred <= 0) {
+					// File has been truncated in the meantime
+					break;
+				}
+				position += transferred;
+				remaining -= transferred;
+			}
+		}
+		resp.getOutputStream().flush();
+	}
+
+	private static String createETag(long length, long lastModified) {
+		return "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+	}
+
+	private static boolean isNotModified(HttpServletRequest req, String eTag, long lastModified) {
+		String ifNoneMatch = req.getHeader("If-None-Match");
+		if (ifNoneMatch != null) {
+			return matchesAny(ifNoneMatch, eTag);
+		}
+
+		long ifModifiedSince = getDateHeader(req, "If-Modified-Since");
+		// HTTP dates have a resolution of seconds
+		return ifModifiedSince != -1 && lastModified / 1000 <= ifModifiedSince / 1000;
+	}
+
+	private static boolean isIfRangeFulfilled(HttpServletRequest req, String eTag, long lastModified) {
+		String ifRange = req.getHeader("If-Range");
+		if (ifRange == null) {
+			return true;
+		}
+
+		ifRange = ifRange.trim();
+		if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+			// Weak validators are not allowed for If-Range
+			return ifRange.equals(eTag);
+		}
+
+		long date = getDateHeader(req, "If-Range");
+		return date != -1 && lastModified / 1000 == date / 1000;
+	}
+
+	private static boolean matchesAny(String eTagList, String eTag) {
+		for (String candidate : eTagList.split(",")) {
+			candidate = candidate.trim();
+			if (candidate.startsWith("W/")) {
+				candidate = candidate.substring(2);
+			}
+			if (candidate.equals("*") || candidate.equals(eTag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static long getDateHeader(HttpServletRequest req, String name) {
+		try {
+			return req.getDateHeader(name);
+		} catch (IllegalArgumentException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Parses a single byte range
+	 * 
+	 * @return start and end (inclusive) or null, if the range is malformed or
+	 *         not supported (e.g. multiple ranges)
+	 * @throws RangeNotSatisfiableException
+	 *             if the range does not overlap with the file
+	 */
+	private static long[] parseRange(String range, long length) throws RangeNotSatisfiableException {
+		String prefix = BYTES_UNIT + "=";
+		if (!range.startsWith(prefix) || range.contains(",")) {
+			return null;
+		}
+
+		String spec = range.substring(prefix.length()).trim();
+		int dash = spec.indexOf('-');
+		if (dash < 0) {
+			return null;
+		}
+
+		try {
+			String first = spec.substring(0, dash).trim();
+			String last = spec.substring(dash + 1).trim();
+
+			if (first.isEmpty()) {
+				// Suffix range, i.e. the last n bytes
+				long suffixLength = Long.parseLong(last);
+				if (suffixLength <= 0 || length == 0) {
+					throw new RangeNotSatisfiableException();
+				}
+				return new long[] { Math.max(0, length - suffixLength), length - 1 };
+			}
+
+			long start = Long.parseLong(first);
+			long end = last.isEmpty() ? length - 1 : Long.parseLong(last);
+			if (start < 0 || (!last.isEmpty() && end < start)) {
+				return null;
+			}
+			if (start >= length) {
+				throw new RangeNotSatisfiableException();
+			}
+			return new long[] { start, Math.min(end, length - 1) };
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private static class RangeNotSatisfiableException extends Exception {
+		private static final long serialVersionUID = 1L;
+	}
+}
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.protocol.http.server;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import javax.servlet.ServletException;
+
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.valves.ValveBase;
+import org.eclipse.basyx.vab.metrics.BaSyxMetrics;
+import org.eclipse.basyx.vab.metrics.IMetricsRecorder;
+
+/**
+ * Tomcat valve exporting the metrics recorded by the installed
+ * {@link IMetricsRecorder} in the Prometheus text format. As long as no
+ * recording {@link IMetricsRecorder} is installed, requests are passed on.
+ * Access to the metrics can be restricted by an
+ * {@link IMetricsEndpointAuthorizer}.
+ * 
+ */
+public class MetricsExporterValve extends ValveBase {
+	public static final String DEFAULT_PATH = "/metrics";
+
+	private final String path;
+	private final IMetricsEndpointAuthorizer authorizer;
+
+	public MetricsExporterValve() {
+		this(DEFAULT_PATH);
+	}
+
+	public MetricsExporterValve(String path) {
+		this(path, request -> true);
+	}
+
+	public MetricsExporterValve(String path, IMetricsEndpointAuthorizer authorizer) {
+		super(true);
+		this.path = path;
+		this.authorizer = authorizer;
+	}
+
+	@Override
+	public void invoke(Request request, Response response) throws IOException, ServletException {
+		IMetricsRecorder recorder = BaSyxMetrics.getRecorder();
+		if (!recorder.isEnabled() || !path.equals(request.getDecodedRequestURI())) {
+			getNext().invoke(request, response);
+			return;
+		}
+
+		if (!authorizer.isAuthorized(request)) {
+			authorizer.reject(request, response);
+			return;
+		}
+
+		response.setStatus(200);
+		response.setContentType("text/plain; version=0.0.4");
+		response.setCharacterEncoding("UTF-8");
+		PrintWriter writer = response.getWriter();
+		writer.write(recorder.export());
+		writer.flush();
+	}
+}
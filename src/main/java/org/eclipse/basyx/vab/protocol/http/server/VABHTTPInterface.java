@@ -42,11 +42,16 @@ import org.apache.commons.fileupload.FileItem;
 import org.apache.commons.fileupload.FileUploadException;
 import org.apache.commons.fileupload.disk.DiskFileItemFactory;
 import org.apache.commons.fileupload.servlet.ServletFileUpload;
+import org.eclipse.basyx.vab.coder.cbor.CBORProvider;
+import org.eclipse.basyx.vab.coder.cbor.CBORTools;
 import org.eclipse.basyx.vab.coder.json.provider.JSONProvider;
 import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.metrics.BaSyxMetrics;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.protocol.api.IBaSyxConnector;
+import org.eclipse.basyx.vab.protocol.api.IPassThroughProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -86,12 +91,24 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 	 */
 	protected JSONProvider<ModelProvider> providerBackend = null;
 
+	/**
+	 * Backend for requests negotiating a CBOR payload
+	 */
+	protected CBORProvider<ModelProvider> binaryBackend = null;
+
+	/**
+	 * Transcodes CBOR request bodies of requests expecting a JSON response and
+	 * vice versa
+	 */
+	private final CBORTools binarySerializer = new CBORTools();
+
 	/**
 	 * Constructor
 	 */
 	public VABHTTPInterface(ModelProvider provider) {
 		// Store provider reference
 		providerBackend = new JSONProvider<ModelProvider>(provider);
+		binaryBackend = new CBORProvider<ModelProvider>(provider);
 	}
 
 	/**
@@ -110,6 +127,19 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 		outputStream.flush();
 	}
 
+	/**
+	 * Records the latency of each request per method and path template
+	 */
+	@Override
+	public void service(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+		long start = BaSyxMetrics.start();
+		try {
+			super.service(req, resp);
+		} finally {
+			BaSyxMetrics.recordRequest(BaSyxMetrics.HTTP_SERVER_REQUEST, req.getMethod(), req.getPathInfo(), start);
+		}
+	}
+
 	/**
 	 * Implement "Get" operation
 	 * 
@@ -120,7 +150,13 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 		try {
 			String path = extractPath(req);
 			if (isFileAccessPath(path)) {
-				providerBackend.processBaSysFileGet(path, resp);
+				providerBackend.processBaSysFileGet(path, req, resp);
+				return;
+			}
+			if (acceptsBinary(req)) {
+				resp.setContentType(CBORTools.MEDIA_TYPE);
+				resp.setStatus(200);
+				binaryBackend.processBaSysGet(path, resp.getOutputStream());
 				return;
 			}
 			// Setup HTML response header
@@ -130,7 +166,12 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 			resp.setStatus(200);
 
 			// Process get request
-			providerBackend.processBaSysGet(path, resp.getOutputStream());
+			IBaSyxConnector passThrough = getPassThroughConnector(path);
+			if (passThrough != null) {
+				providerBackend.processBaSysPassThrough(() -> passThrough.getValue(path), resp.getOutputStream());
+			} else {
+				providerBackend.processBaSysGet(path, resp.getOutputStream());
+			}
 		} catch (ProviderException e) {
 			int httpCode = ExceptionToHTTPCodeMapper.mapFromException(e);
 			resp.setStatus(httpCode);
@@ -139,6 +180,21 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 
 	}
 
+	/**
+	 * Returns the connector for forwarding a request without parsing it, if the
+	 * provider supports it
+	 * 
+	 * @param path
+	 * @return the connector or null
+	 */
+	private IBaSyxConnector getPassThroughConnector(String path) {
+		ModelProvider provider = getModelProvider();
+		if (provider instanceof IPassThroughProvider) {
+			return ((IPassThroughProvider) provider).getPassThroughConnector(path);
+		}
+		return null;
+	}
+
 	private boolean isFileAccessPath(String path) {
 		return VABPathTools.getLastElement(path).equals("File");
 	}
@@ -150,6 +206,13 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 	protected void doPut(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
 		try {
 			String path = extractPath(req);
+			if (acceptsBinary(req)) {
+				resp.setContentType(CBORTools.MEDIA_TYPE);
+				resp.setStatus(200);
+				binaryBackend.processBaSysSet(path, extractBinaryValue(req), resp.getOutputStream());
+				return;
+			}
+
 			String serValue = extractSerializedValue(req);
 			logger.trace("DoPut: {}", serValue);
 
@@ -157,7 +220,12 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 			resp.setCharacterEncoding("UTF-8");
 			resp.setStatus(200);
 
-			providerBackend.processBaSysSet(path, serValue.toString(), resp.getOutputStream());
+			IBaSyxConnector passThrough = getPassThroughConnector(path);
+			if (passThrough != null) {
+				providerBackend.processBaSysPassThrough(() -> passThrough.setValue(path, serValue), resp.getOutputStream());
+			} else {
+				providerBackend.processBaSysSet(path, serValue.toString(), resp.getOutputStream());
+			}
 		} catch (ProviderException e) {
 			int httpCode = ExceptionToHTTPCodeMapper.mapFromException(e);
 			resp.setStatus(httpCode);
@@ -178,6 +246,9 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 
 			if (ServletFileUpload.isMultipartContent(req)) {
 				handleMultipartFormDataRequest(req, path, resp);
+			} else if (acceptsBinary(req)) {
+				resp.setContentType(CBORTools.MEDIA_TYPE);
+				handleBinaryPostRequest(req, path, resp);
 			} else {
 				handleJSONPostRequest(req, path, resp);
 			}
@@ -196,12 +267,23 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 	protected void doPatch(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
 		try {
 			String path = extractPath(req);
+			resp.setStatus(200);
+
+			if (acceptsBinary(req)) {
+				resp.setContentType(CBORTools.MEDIA_TYPE);
+				binaryBackend.processBaSysDelete(path, extractBinaryValue(req), resp.getOutputStream());
+				return;
+			}
+
 			String serValue = extractSerializedValue(req);
 			logger.trace("DoPatch: {}", serValue);
 
-			resp.setStatus(200);
-
-			providerBackend.processBaSysDelete(path, serValue, resp.getOutputStream());
+			IBaSyxConnector passThrough = getPassThroughConnector(path);
+			if (passThrough != null) {
+				providerBackend.processBaSysPassThrough(() -> passThrough.deleteValue(path, serValue), resp.getOutputStream());
+			} else {
+				providerBackend.processBaSysDelete(path, serValue, resp.getOutputStream());
+			}
 		} catch (ProviderException e) {
 			int httpCode = ExceptionToHTTPCodeMapper.mapFromException(e);
 			resp.setStatus(httpCode);
@@ -216,13 +298,23 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 	protected void doDelete(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
 		try {
 			String path = extractPath(req);
+			resp.setStatus(200);
+
+			if (acceptsBinary(req)) {
+				resp.setContentType(CBORTools.MEDIA_TYPE);
+				binaryBackend.processBaSysDelete(path, new byte[0], resp.getOutputStream());
+				return;
+			}
 
 			// No parameter to read! Provide serialized null
 			String nullParam = "";
 
-			resp.setStatus(200);
-
-			providerBackend.processBaSysDelete(path, nullParam, resp.getOutputStream());
+			IBaSyxConnector passThrough = getPassThroughConnector(path);
+			if (passThrough != null) {
+				providerBackend.processBaSysPassThrough(() -> passThrough.deleteValue(path), resp.getOutputStream());
+			} else {
+				providerBackend.processBaSysDelete(path, nullParam, resp.getOutputStream());
+			}
 		} catch (ProviderException e) {
 			int httpCode = ExceptionToHTTPCodeMapper.mapFromException(e);
 			resp.setStatus(httpCode);
@@ -254,7 +346,10 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 	}
 
 	/**
-	 * Extracts request parameters from the request
+	 * Extracts request parameters from the request. The container has already
+	 * decoded them, so the characters that would change the meaning of the
+	 * rebuilt query are encoded again. Decoding the parameters once returns the
+	 * values as sent by the client.
 	 * 
 	 * @param req
 	 * @return
@@ -268,12 +363,12 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 
 			StringBuilder ret = new StringBuilder();
 			String paramName = parameterNames.nextElement();
-			ret.append(paramName);
+			ret.append(encodeParameter(paramName));
 			ret.append("=");
 
 			String[] paramValues = req.getParameterValues(paramName);
 			for (int i = 0; i < paramValues.length; i++) {
-				ret.append(paramValues[i]);
+				ret.append(encodeParameter(paramValues[i]));
 			}
 			parameters.add(ret.toString());
 
@@ -290,6 +385,10 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 		}
 	}
 
+	private static String encodeParameter(String parameter) {
+		return parameter.replace("%", "%25").replace("&", "%26").replace("=", "%3D").replace("+", "%2B");
+	}
+
 	private int getEnvironmentPathSize(HttpServletRequest req) {
 		return req.getContextPath().length() + req.getServletPath().length();
 	}
@@ -302,10 +401,66 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 	 * @throws IOException
 	 */
 	private String extractSerializedValue(HttpServletRequest req) throws IOException {
+		if (hasBinaryBody(req)) {
+			// CBOR body of a request expecting a JSON response
+			byte[] value = getByteSource(req).read();
+			return value.length == 0 ? "" : providerBackend.getSerializerReference().serialize(binarySerializer.deserialize(value));
+		}
+
 		// https://www.baeldung.com/convert-input-stream-to-string#guava
 		return getByteSource(req).asCharSource(Charsets.UTF_8).read();
 	}
 
+	/**
+	 * Read binary encoded value
+	 * 
+	 * @param req
+	 * @return
+	 * @throws IOException
+	 */
+	private byte[] extractBinaryValue(HttpServletRequest req) throws IOException {
+		byte[] value = getByteSource(req).read();
+		if (hasBinaryBody(req) || value.length == 0) {
+			return value;
+		}
+
+		// JSON body of a request expecting a CBOR response
+		Object parameter;
+		try {
+			parameter = providerBackend.getSerializerReference().deserialize(new String(value, Charsets.UTF_8));
+		} catch (Exception e) {
+			throw new MalformedRequestException(e);
+		}
+		return binarySerializer.serialize(parameter);
+	}
+
+	/**
+	 * Checks if the request body is CBOR encoded. Only the Content-Type decides
+	 * about the decoding of the body.
+	 * 
+	 * @param req
+	 * @return
+	 */
+	private boolean hasBinaryBody(HttpServletRequest req) {
+		String contentType = req.getContentType();
+		return contentType != null && contentType.startsWith(CBORTools.MEDIA_TYPE);
+	}
+
+	/**
+	 * Checks if the client expects a CBOR instead of a JSON response. Without an
+	 * explicit preference, the response is encoded like the request body.
+	 * 
+	 * @param req
+	 * @return
+	 */
+	private boolean acceptsBinary(HttpServletRequest req) {
+		String accept = req.getHeader("Accept");
+		if (accept != null && accept.contains(CBORTools.MEDIA_TYPE)) {
+			return true;
+		}
+		return hasBinaryBody(req) && (accept == null || !accept.contains("json"));
+	}
+
 	/**
 	 * Extracts input streams from request
 	 * 
@@ -383,8 +538,14 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 		String serValue = extractSerializedValue(req);
 		logger.trace("DoPost: {}", serValue);
 
+		IBaSyxConnector passThrough = getPassThroughConnector(path);
+
 		// Check if request is for property creation or operation invoke
-		if (VABPathTools.isOperationInvokationPath(path)) {
+		if (passThrough != null && VABPathTools.isOperationInvokationPath(path)) {
+			providerBackend.processBaSysPassThrough(() -> passThrough.invokeOperation(path, serValue), resp.getOutputStream());
+		} else if (passThrough != null) {
+			providerBackend.processBaSysPassThrough(() -> passThrough.createValue(path, serValue), resp.getOutputStream());
+		} else if (VABPathTools.isOperationInvokationPath(path)) {
 			// Invoke BaSys VAB 'invoke' primitive
 			providerBackend.processBaSysInvoke(path, serValue, resp.getOutputStream());
 		} else {
@@ -392,4 +553,22 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 			providerBackend.processBaSysCreate(path, serValue, resp.getOutputStream());
 		}
 	}
+
+	/**
+	 * Handles POST request with CBOR body
+	 * 
+	 * @param req
+	 * @param path
+	 * @param resp
+	 * @throws IOException
+	 */
+	private void handleBinaryPostRequest(HttpServletRequest req, String path, HttpServletResponse resp) throws IOException {
+		byte[] serValue = extractBinaryValue(req);
+
+		if (VABPathTools.isOperationInvokationPath(path)) {
+			binaryBackend.processBaSysInvoke(path, serValue, resp.getOutputStream());
+		} else {
+			binaryBackend.processBaSysCreate(path, serValue, resp.getOutputStream());
+		}
+	}
 }
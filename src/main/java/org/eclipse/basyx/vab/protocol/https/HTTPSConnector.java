@@ -27,6 +27,8 @@ package org.eclipse.basyx.vab.protocol.https;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 
+import javax.ws.rs.client.Client;
+
 import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnector;
 import org.eclipse.basyx.vab.protocol.http.connector.IAuthorizationSupplier;
 import org.slf4j.Logger;
@@ -42,6 +44,8 @@ import org.slf4j.LoggerFactory;
 public class HTTPSConnector extends HTTPConnector {
 	private static Logger logger = LoggerFactory.getLogger(HTTPSConnector.class);
 
+	private boolean validateFlag = true;
+
 	/**
 	 * Initiates an HTTPSConnector with given address
 	 * 
@@ -70,6 +74,7 @@ public class HTTPSConnector extends HTTPConnector {
 
 	public HTTPSConnector(String address, IAuthorizationSupplier authorizationSupplier, boolean validateFlag) {
 		super(address, authorizationSupplier);
+		this.validateFlag = validateFlag;
 		if (validateFlag) {
 			setHttpsClientWithValidation();
 		} else {
@@ -77,12 +82,25 @@ public class HTTPSConnector extends HTTPConnector {
 		}
 	}
 
+	@Override
+	protected Client createClient() {
+		try {
+			if (validateFlag) {
+				return JerseyHttpsClientFactory.getJerseyHTTPSClientWithValidation();
+			} else {
+				return JerseyHttpsClientFactory.getJerseyHTTPSClientWithoutValidation();
+			}
+		} catch (KeyManagementException | NoSuchAlgorithmException e) {
+			throw new IllegalStateException("Cannot create a https client", e);
+		}
+	}
+
 	/**
 	 * Configures the client so that it can run with HTTPS protocol
 	 */
 	private void setHttpsClientWithoutValidation() {
 		try {
-			this.client = JerseyHttpsClientFactory.getJerseyHTTPSClientWithoutValidation();
+			setClient(JerseyHttpsClientFactory.getJerseyHTTPSClientWithoutValidation());
 		} catch (KeyManagementException | NoSuchAlgorithmException e) {
 			logger.error("Cannot create a https client");
 		}
@@ -90,7 +108,7 @@ public class HTTPSConnector extends HTTPConnector {
 
 	private void setHttpsClientWithValidation() {
 		try {
-			this.client = JerseyHttpsClientFactory.getJerseyHTTPSClientWithValidation();
+			setClient(JerseyHttpsClientFactory.getJerseyHTTPSClientWithValidation());
 		} catch (KeyManagementException | NoSuchAlgorithmException e) {
 			logger.error("Cannot create a https client");
 		}
@@ -24,8 +24,23 @@
  ******************************************************************************/
 package org.eclipse.basyx.testsuite.regression.aas.aggregator;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+
 import org.eclipse.basyx.aas.aggregator.AASAggregator;
 import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
+import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
+import org.eclipse.basyx.aas.metamodel.map.descriptor.CustomId;
+import org.eclipse.basyx.aas.metamodel.map.parts.Asset;
+import org.eclipse.basyx.aas.restapi.MultiSubmodelProvider;
+import org.eclipse.basyx.aas.restapi.vab.VABAASAPIFactory;
+import org.eclipse.basyx.submodel.aggregator.SubmodelAggregatorFactory;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.map.VABMapProvider;
+import org.eclipse.basyx.vab.protocol.api.ConnectorFactory;
+import org.junit.Test;
 
 /**
  * Tests the AASAggregator implementation.
@@ -38,4 +53,24 @@ public class TestAASAggregator extends AASAggregatorSuite {
 	protected IAASAggregator getAggregator() {
 		return new AASAggregator();
 	}
+
+	@Test
+	public void connectorFactoryIsUsedAndClosed() {
+		ConnectorFactory connectorFactory = new ConnectorFactory() {
+			@Override
+			protected IModelProvider createProvider(String addr) {
+				return new VABMapProvider(new HashMap<>());
+			}
+		};
+		AASAggregator aggregator = new AASAggregator(new VABAASAPIFactory(), new SubmodelAggregatorFactory(), null, connectorFactory);
+		CustomId aasId = new CustomId("connectorAAS");
+		aggregator.createAAS(new AssetAdministrationShell("connectorAAS", aasId, new Asset()));
+
+		MultiSubmodelProvider provider = (MultiSubmodelProvider) aggregator.getAASProvider(aasId);
+		assertSame(connectorFactory, provider.getConnectorFactory());
+
+		connectorFactory.getConnector("http://remote/aas");
+		aggregator.close();
+		assertEquals(0, connectorFactory.getCachedConnectorCount());
+	}
 }
@@ -28,6 +28,10 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
 import org.eclipse.basyx.aas.aggregator.AASAggregator;
 import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
 import org.eclipse.basyx.aas.aggregator.proxy.AASAggregatorProxy;
@@ -56,6 +60,24 @@ public class TestAASAggregatorProxy extends AASAggregatorSuite {
 		return new AASAggregatorProxy(new VABElementProxy("", new AASAggregatorProvider(new AASAggregator())));
 	}
 
+	/**
+	 * The existence of AAS has to be checked independent of the AAS list, which
+	 * might be filtered, e.g. by authorization
+	 */
+	@Test
+	public void testExistingAASIdsAreCheckedPerId() {
+		AASAggregator filteringAggregator = new AASAggregator() {
+			@Override
+			public Collection<IAssetAdministrationShell> getAASList() {
+				return Collections.emptyList();
+			}
+		};
+		IAASAggregator aggregator = new AASAggregatorProxy(new VABElementProxy("", new AASAggregatorProvider(filteringAggregator)));
+		aggregator.createAAS(aas1);
+
+		assertEquals(Collections.singleton(aas1.getIdentification().getId()), aggregator.getExistingAASIds(Arrays.asList(aas1.getIdentification(), aas2.getIdentification())));
+	}
+
 	/**
 	 * Requests like /shells/${aasId}/aas need to be fed through correctly. This
 	 * behaviour is tested here.
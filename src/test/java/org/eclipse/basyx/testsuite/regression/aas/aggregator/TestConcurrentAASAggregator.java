@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.aas.aggregator;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.basyx.aas.aggregator.ConcurrentAASAggregator;
+import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
+import org.eclipse.basyx.aas.metamodel.api.parts.asset.AssetKind;
+import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
+import org.eclipse.basyx.aas.metamodel.map.parts.Asset;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
+import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.junit.Test;
+
+/**
+ * Tests the ConcurrentAASAggregator implementation, including concurrent
+ * accesses from multiple threads
+ *
+ */
+public class TestConcurrentAASAggregator extends AASAggregatorSuite {
+	private static final int THREADS = 8;
+	private static final int SHELLS_PER_THREAD = 25;
+	private static final int ROUNDS = 5;
+
+	private ConcurrentAASAggregator aggregator = new ConcurrentAASAggregator();
+
+	@Override
+	protected IAASAggregator getAggregator() {
+		return aggregator;
+	}
+
+	@Test
+	public void concurrentCreateUpdateGet() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<Void>> futures = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				futures.add(executor.submit(createWorker(t)));
+			}
+			for (Future<Void> future : futures) {
+				// Rethrows any exception raised in the workers
+				future.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(THREADS * SHELLS_PER_THREAD, aggregator.getAASList().size());
+		for (int t = 0; t < THREADS; t++) {
+			for (int i = 0; i < SHELLS_PER_THREAD; i++) {
+				String id = getShellId(t, i);
+				assertEquals(getCategory(ROUNDS - 1), aggregator.getAAS(new Identifier(IdentifierType.CUSTOM, id)).getCategory());
+			}
+		}
+	}
+
+	private Callable<Void> createWorker(int thread) {
+		return () -> {
+			for (int i = 0; i < SHELLS_PER_THREAD; i++) {
+				aggregator.createAAS(createShell(getShellId(thread, i), getCategory(0)));
+			}
+
+			for (int round = 1; round < ROUNDS; round++) {
+				for (int i = 0; i < SHELLS_PER_THREAD; i++) {
+					String id = getShellId(thread, i);
+					aggregator.updateAAS(createShell(id, getCategory(round)));
+
+					// Read shells of the other threads while they are updated
+					String otherId = getShellId((thread + 1) % THREADS, i);
+					aggregator.getAASList();
+					try {
+						aggregator.getAAS(new Identifier(IdentifierType.CUSTOM, otherId));
+					} catch (ResourceNotFoundException e) {
+						// Other thread has not created it yet
+					}
+				}
+			}
+			return null;
+		};
+	}
+
+	private static AssetAdministrationShell createShell(String id, String category) {
+		AssetAdministrationShell shell = new AssetAdministrationShell(id, new Identifier(IdentifierType.CUSTOM, id), new Asset(id + "Asset", new Identifier(IdentifierType.CUSTOM, id + "Asset"), AssetKind.INSTANCE));
+		shell.setCategory(category);
+		return shell;
+	}
+
+	private static String getShellId(int thread, int index) {
+		return "shell_" + thread + "_" + index;
+	}
+
+	private static String getCategory(int round) {
+		return "round" + round;
+	}
+}
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.aas.aggregator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.basyx.aas.aggregator.AASAggregator;
+import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
+import org.eclipse.basyx.aas.aggregator.index.SemanticIdIndexEntry;
+import org.eclipse.basyx.aas.aggregator.proxy.AASAggregatorProxy;
+import org.eclipse.basyx.aas.aggregator.restapi.AASAggregatorProvider;
+import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
+import org.eclipse.basyx.aas.metamodel.api.parts.asset.AssetKind;
+import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
+import org.eclipse.basyx.aas.metamodel.map.parts.Asset;
+import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
+import org.eclipse.basyx.submodel.metamodel.api.reference.enums.KeyElements;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
+import org.eclipse.basyx.submodel.metamodel.map.reference.Key;
+import org.eclipse.basyx.submodel.metamodel.map.reference.Reference;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the semanticId index of the AASAggregator and its query endpoint
+ */
+public class TestSemanticIdIndex {
+	private static final String AAS_ID = "indexedAAS/1";
+	private static final String SUBMODEL_ID = "indexedSubmodel";
+	private static final String TEMPERATURE = "urn:basyx:index:temperature";
+	private static final String OPERATING_DATA = "urn:basyx:index:operatingData";
+
+	private AASAggregator indexedAggregator;
+	private IAASAggregator proxy;
+	private IAASAggregator unindexedProxy;
+
+	@Before
+	public void setUp() {
+		indexedAggregator = new AASAggregator();
+		indexedAggregator.enableSemanticIdIndex();
+		proxy = new AASAggregatorProxy(new VABElementProxy("", new AASAggregatorProvider(indexedAggregator)));
+		unindexedProxy = new AASAggregatorProxy(new VABElementProxy("", new AASAggregatorProvider(new AASAggregator())));
+
+		for (IAASAggregator aggregator : Arrays.asList(proxy, unindexedProxy)) {
+			aggregator.createAAS(createAAS());
+			aggregator.getAAS(new Identifier(IdentifierType.CUSTOM, AAS_ID)).addSubmodel(createSubmodel());
+		}
+	}
+
+	@Test
+	public void submodelContentIsIndexed() {
+		Set<SemanticIdIndexEntry> expected = new HashSet<>(Arrays.asList(entry("temperature"), entry("data/innerTemperature")));
+		assertEquals(expected, new HashSet<>(proxy.lookupSemanticId(TEMPERATURE)));
+		assertEquals(Arrays.asList(entry("")), proxy.lookupSemanticId(OPERATING_DATA));
+
+		// Without an index, the submodels are searched
+		assertEquals(expected, new HashSet<>(unindexedProxy.lookupSemanticId(TEMPERATURE)));
+	}
+
+	@Test
+	public void indexFollowsElementChanges() {
+		ISubmodel submodel = getSubmodel(proxy);
+		submodel.addSubmodelElement(createProperty("newTemperature", TEMPERATURE));
+		assertTrue(proxy.lookupSemanticId(TEMPERATURE).contains(entry("newTemperature")));
+
+		submodel.deleteSubmodelElement("data");
+		Set<SemanticIdIndexEntry> expected = new HashSet<>(Arrays.asList(entry("temperature"), entry("newTemperature")));
+		assertEquals(expected, new HashSet<>(proxy.lookupSemanticId(TEMPERATURE)));
+	}
+
+	@Test
+	public void indexFollowsCollectionValueChanges() {
+		ISubmodel submodel = getSubmodel(proxy);
+		submodel.getSubmodelElement("data").setValue(Arrays.asList(createProperty("replacedTemperature", TEMPERATURE)));
+
+		Set<SemanticIdIndexEntry> expected = new HashSet<>(Arrays.asList(entry("temperature"), entry("data/replacedTemperature")));
+		assertEquals(expected, new HashSet<>(proxy.lookupSemanticId(TEMPERATURE)));
+	}
+
+	@Test
+	public void encodedSemanticIdIsLookedUp() {
+		String semanticId = "urn:basyx:index:a+b%20c&d=e";
+		getSubmodel(proxy).addSubmodelElement(createProperty("encoded", semanticId));
+		assertEquals(Arrays.asList(entry("encoded")), proxy.lookupSemanticId(semanticId));
+	}
+
+	@Test
+	public void indexFollowsSubmodelAndAASDeletion() {
+		IAssetAdministrationShell aas = proxy.getAAS(new Identifier(IdentifierType.CUSTOM, AAS_ID));
+		aas.removeSubmodel(new Identifier(IdentifierType.CUSTOM, SUBMODEL_ID));
+		assertTrue(proxy.lookupSemanticId(TEMPERATURE).isEmpty());
+
+		aas.addSubmodel(createSubmodel());
+		assertEquals(2, proxy.lookupSemanticId(TEMPERATURE).size());
+
+		proxy.deleteAAS(new Identifier(IdentifierType.CUSTOM, AAS_ID));
+		assertTrue(proxy.lookupSemanticId(TEMPERATURE).isEmpty());
+		assertTrue(proxy.lookupSemanticId(OPERATING_DATA).isEmpty());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void indexCannotBeEnabledLater() {
+		indexedAggregator.enableSemanticIdIndex();
+	}
+
+	private ISubmodel getSubmodel(IAASAggregator aggregator) {
+		Collection<ISubmodel> submodels = aggregator.getAAS(new Identifier(IdentifierType.CUSTOM, AAS_ID)).getSubmodels().values();
+		return submodels.iterator().next();
+	}
+
+	private SemanticIdIndexEntry entry(String idShortPath) {
+		return new SemanticIdIndexEntry(AAS_ID, SUBMODEL_ID, idShortPath);
+	}
+
+	private AssetAdministrationShell createAAS() {
+		return new AssetAdministrationShell("indexedAAS", new Identifier(IdentifierType.CUSTOM, AAS_ID), new Asset("indexedAsset", new Identifier(IdentifierType.CUSTOM, "indexedAssetId"), AssetKind.INSTANCE));
+	}
+
+	private Submodel createSubmodel() {
+		Submodel submodel = new Submodel("indexedSubmodelIdShort", new Identifier(IdentifierType.CUSTOM, SUBMODEL_ID));
+		submodel.setSemanticId(createSemanticId(OPERATING_DATA));
+		submodel.addSubmodelElement(createProperty("temperature", TEMPERATURE));
+		submodel.addSubmodelElement(new Property("unrelated", 1));
+
+		SubmodelElementCollection collection = new SubmodelElementCollection("data");
+		collection.addSubmodelElement(createProperty("innerTemperature", TEMPERATURE));
+		submodel.addSubmodelElement(collection);
+		return submodel;
+	}
+
+	private Property createProperty(String idShort, String semanticId) {
+		Property property = new Property(idShort, 20);
+		property.setSemanticId(createSemanticId(semanticId));
+		return property;
+	}
+
+	private Reference createSemanticId(String semanticId) {
+		return new Reference(new Key(KeyElements.CONCEPTDESCRIPTION, false, semanticId, IdentifierType.IRI));
+	}
+}
@@ -0,0 +1,283 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.aas.aggregator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.basyx.aas.aggregator.AASAggregator;
+import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
+import org.eclipse.basyx.aas.aggregator.proxy.AASAggregatorProxy;
+import org.eclipse.basyx.aas.aggregator.restapi.AASAggregatorProvider;
+import org.eclipse.basyx.aas.aggregator.sharding.ConsistentHashRing;
+import org.eclipse.basyx.aas.aggregator.sharding.ShardedAASAggregator;
+import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
+import org.eclipse.basyx.aas.metamodel.api.parts.asset.AssetKind;
+import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
+import org.eclipse.basyx.aas.metamodel.map.parts.Asset;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.protocol.http.server.BaSyxContext;
+import org.eclipse.basyx.vab.protocol.http.server.BaSyxHTTPServer;
+import org.eclipse.basyx.vab.protocol.http.server.VABHTTPInterface;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ShardedAASAggregator} served as a gateway in front of
+ * multiple servers
+ */
+public class TestShardedAASAggregator extends AASAggregatorSuite {
+	private static final int FIRST_SHARD_PORT = 5431;
+	private static final int SHARD_COUNT = 3;
+	private static final int ADDITIONAL_SHARD_PORT = FIRST_SHARD_PORT + SHARD_COUNT;
+	private static final int GATEWAY_PORT = FIRST_SHARD_PORT + SHARD_COUNT + 1;
+
+	private static List<BaSyxHTTPServer> servers = new ArrayList<>();
+	private static ShardedAASAggregator gatewayAggregator;
+
+	@BeforeClass
+	public static void startServers() {
+		for (int i = 0; i <= SHARD_COUNT; i++) {
+			startServer(FIRST_SHARD_PORT + i, new AASAggregatorProvider(new AASAggregator()));
+		}
+
+		gatewayAggregator = new ShardedAASAggregator(createShards());
+		startServer(GATEWAY_PORT, new AASAggregatorProvider(gatewayAggregator));
+	}
+
+	@AfterClass
+	public static void stopServers() {
+		servers.forEach(BaSyxHTTPServer::shutdown);
+		gatewayAggregator.close();
+	}
+
+	@Override
+	protected IAASAggregator getAggregator() {
+		return new AASAggregatorProxy(getURL(GATEWAY_PORT));
+	}
+
+	@Test
+	public void aasAreDistributedAcrossShards() {
+		IAASAggregator gateway = getAggregator();
+		for (int i = 0; i < 30; i++) {
+			gateway.createAAS(createAAS("distributed" + i));
+		}
+
+		Map<String, IAASAggregator> shards = createShards();
+		try {
+			assertEquals(30, gateway.getAASList().size());
+			for (Map.Entry<String, IAASAggregator> shard : shards.entrySet()) {
+				List<IAssetAdministrationShell> stored = new ArrayList<>(shard.getValue().getAASList());
+				assertTrue(stored.size() > 0);
+				for (IAssetAdministrationShell aas : stored) {
+					assertEquals(shard.getKey(), gatewayAggregator.getShardName(aas.getIdentification()));
+				}
+			}
+		} finally {
+			gateway.getAASList().forEach(aas -> gateway.deleteAAS(aas.getIdentification()));
+		}
+	}
+
+	@Test
+	public void addShardMovesAssignedAAS() {
+		try (ShardedAASAggregator aggregator = new ShardedAASAggregator(createShards())) {
+			for (int i = 0; i < 30; i++) {
+				AssetAdministrationShell aas = createAAS("moved" + i);
+				aggregator.createAAS(aas);
+				Submodel submodel = new Submodel("sm", new Identifier(IdentifierType.CUSTOM, "sm" + i));
+				submodel.addSubmodelElement(new Property("prop", i));
+				aggregator.getAASProvider(aas.getIdentification()).setValue("/aas/submodels/sm", submodel);
+			}
+
+			IAASAggregator additionalShard = new AASAggregatorProxy(getURL(ADDITIONAL_SHARD_PORT));
+			int moved = aggregator.addShard("additional", additionalShard);
+
+			assertTrue(moved > 0);
+			assertEquals(moved, additionalShard.getAASList().size());
+			assertEquals(30, aggregator.getAASList().size());
+			for (int i = 0; i < 30; i++) {
+				Identifier aasId = new Identifier(IdentifierType.CUSTOM, "moved" + i);
+				IModelProvider provider = aggregator.getAASProvider(aasId);
+				assertEquals(i, provider.getValue("/aas/submodels/sm/submodel/submodelElements/prop/value"));
+				assertEquals(1, aggregator.getAAS(aasId).getSubmodelReferences().size());
+			}
+
+			// Everything is already stored on its assigned shard
+			assertEquals(0, aggregator.rebalance());
+
+			aggregator.getAASList().forEach(aas -> aggregator.deleteAAS(aas.getIdentification()));
+		}
+	}
+
+	@Test
+	public void rebalanceDoesNotBlockUnmovedAAS() throws Exception {
+		CountDownLatch copying = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		IAASAggregator blockingShard = new AASAggregator() {
+			@Override
+			public void createAAS(AssetAdministrationShell aas) {
+				copying.countDown();
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				super.createAAS(aas);
+			}
+		};
+
+		Map<String, IAASAggregator> shards = new LinkedHashMap<>();
+		shards.put("first", new AASAggregator());
+		shards.put("second", new AASAggregator());
+		ConsistentHashRing<IAASAggregator> changedRing = new ConsistentHashRing<>();
+		shards.forEach(changedRing::add);
+		changedRing.add("blocking", blockingShard);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try (ShardedAASAggregator aggregator = new ShardedAASAggregator(shards)) {
+			Identifier unmovedId = null;
+			for (int i = 0; i < 30; i++) {
+				AssetAdministrationShell aas = createAAS("unblocked" + i);
+				aggregator.createAAS(aas);
+				if (!changedRing.getNodeName(aas.getIdentification().getId()).equals("blocking")) {
+					unmovedId = (Identifier) aas.getIdentification();
+				}
+			}
+			IIdentifier readId = unmovedId;
+
+			Future<Integer> rebalancing = executor.submit(() -> aggregator.addShard("blocking", blockingShard));
+			assertTrue(copying.await(5, TimeUnit.SECONDS));
+
+			// Fails with a timeout if the read waits for the copy
+			Future<IAssetAdministrationShell> read = executor.submit(() -> aggregator.getAAS(readId));
+			assertEquals(readId.getId(), read.get(1, TimeUnit.SECONDS).getIdentification().getId());
+
+			release.countDown();
+			assertTrue(rebalancing.get(5, TimeUnit.SECONDS) > 0);
+			assertEquals(30, aggregator.getAASList().size());
+		} finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void aasCreatedDuringAddShardIsStoredOnItsNewShard() throws Exception {
+		CountDownLatch copying = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AASAggregator blockingShard = new AASAggregator() {
+			@Override
+			public void createAAS(AssetAdministrationShell aas) {
+				copying.countDown();
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				super.createAAS(aas);
+			}
+		};
+
+		Map<String, IAASAggregator> shards = new LinkedHashMap<>();
+		shards.put("first", new AASAggregator());
+		shards.put("second", new AASAggregator());
+		ConsistentHashRing<IAASAggregator> changedRing = new ConsistentHashRing<>();
+		shards.forEach(changedRing::add);
+		changedRing.add("blocking", blockingShard);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try (ShardedAASAggregator aggregator = new ShardedAASAggregator(shards)) {
+			for (int i = 0; i < 30; i++) {
+				aggregator.createAAS(createAAS("existing" + i));
+			}
+			AssetAdministrationShell created = null;
+			for (int i = 0; created == null; i++) {
+				if (changedRing.getNodeName("created" + i).equals("blocking")) {
+					created = createAAS("created" + i);
+				}
+			}
+			AssetAdministrationShell createdAAS = created;
+
+			Future<Integer> rebalancing = executor.submit(() -> aggregator.addShard("blocking", blockingShard));
+			assertTrue(copying.await(5, TimeUnit.SECONDS));
+			Future<?> creation = executor.submit(() -> aggregator.createAAS(createdAAS));
+			// Gives the creation the time to be routed while the AASs are copied
+			Thread.sleep(200);
+
+			release.countDown();
+			rebalancing.get(5, TimeUnit.SECONDS);
+			creation.get(5, TimeUnit.SECONDS);
+
+			IIdentifier createdId = createdAAS.getIdentification();
+			assertEquals(createdId.getId(), aggregator.getAAS(createdId).getIdentification().getId());
+			assertEquals(1, blockingShard.getExistingAASIds(Collections.singleton(createdId)).size());
+			assertEquals(31, aggregator.getAASList().size());
+		} finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	private static Map<String, IAASAggregator> createShards() {
+		Map<String, IAASAggregator> shards = new LinkedHashMap<>();
+		for (int i = 0; i < SHARD_COUNT; i++) {
+			shards.put("shard" + i, new AASAggregatorProxy(getURL(FIRST_SHARD_PORT + i)));
+		}
+		return shards;
+	}
+
+	private static AssetAdministrationShell createAAS(String id) {
+		return new AssetAdministrationShell(id, new Identifier(IdentifierType.CUSTOM, id), new Asset(id + "Asset", new Identifier(IdentifierType.CUSTOM, id + "Asset"), AssetKind.INSTANCE));
+	}
+
+	private static void startServer(int port, IModelProvider provider) {
+		BaSyxContext context = new BaSyxContext("/aggregator", "", "localhost", port);
+		context.addServletMapping("/*", new VABHTTPInterface<IModelProvider>(provider));
+		BaSyxHTTPServer server = new BaSyxHTTPServer(context);
+		server.start();
+		servers.add(server);
+	}
+
+	private static String getURL(int port) {
+		return "http://localhost:" + port + "/aggregator";
+	}
+}
@@ -30,6 +30,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -45,6 +46,8 @@ import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
 import org.eclipse.basyx.aas.metamodel.map.descriptor.SubmodelDescriptor;
 import org.eclipse.basyx.aas.registration.api.IAASRegistry;
 import org.eclipse.basyx.aas.registration.memory.InMemoryRegistry;
+import org.eclipse.basyx.aas.registration.proxy.AASRegistryProxy;
+import org.eclipse.basyx.aas.registration.restapi.AASRegistryModelProvider;
 import org.eclipse.basyx.aas.restapi.MultiSubmodelProvider;
 import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
 import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
@@ -174,15 +177,86 @@ public class TestAASBundleHelper {
 		checkAggregatorContent();
 	}
 
-	@SuppressWarnings("unchecked")
+	/**
+	 * This test registers multiple bundles through a registry proxy, which sends
+	 * them with a single bulk registration to the registry.
+	 */
+	@Test
+	public void testAASBundleBulkRegisterViaProxy() {
+		for (int i = 0; i < 10; i++) {
+			bundles.add(getTestBundle(AAS_ID + i, SM_ID + i));
+		}
+		InMemoryRegistry registry = new InMemoryRegistry();
+		AASRegistryProxy registryProxy = new AASRegistryProxy(new AASRegistryModelProvider(registry));
+
+		AASBundleHelper.register(registryProxy, bundles, "http://localhost:4001/aasServer/");
+
+		assertEquals(10, registry.lookupAll().size());
+		SubmodelDescriptor smDescriptor = registry.lookupSubmodel(new Identifier(IdentifierType.CUSTOM, AAS_ID + 3), new Identifier(IdentifierType.CUSTOM, SM_ID + 3));
+		assertEquals(SM_ID + 3, smDescriptor.getIdentifier().getId());
+	}
+
+	/**
+	 * This test loads some of multiple AAS into the Aggregator, runs the parallel
+	 * integration, checks if all AAS and SMs are present in the Aggregator
+	 * afterwards.
+	 */
+	@Test
+	public void testParallelIntegrationOfMultipleBundles() {
+		for (int i = 0; i < 20; i++) {
+			AASBundle bundle = getTestBundle(AAS_ID + i, SM_ID + i);
+			bundles.add(bundle);
+			if (i % 2 == 0) {
+				pushAAS((AssetAdministrationShell) bundle.getAAS());
+			}
+		}
+
+		assertTrue(AASBundleHelper.integrate(aggregator, bundles, 4));
+		assertEquals(20, aggregator.getAASList().size());
+		for (int i = 0; i < 20; i++) {
+			checkAggregatorContent(AAS_ID + i, SM_ID + i);
+		}
+
+		assertFalse(AASBundleHelper.integrate(aggregator, bundles, 4));
+	}
+
+	/**
+	 * This test checks that the integration without explicit concurrency stays on
+	 * the calling thread, so thread bound state is available to the aggregator.
+	 */
+	@Test
+	public void testDefaultIntegrationIsSequential() {
+		Thread caller = Thread.currentThread();
+		Set<Thread> threads = new HashSet<>();
+		AASAggregator recording = new AASAggregator() {
+			@Override
+			public IModelProvider getAASProvider(IIdentifier aasId) {
+				threads.add(Thread.currentThread());
+				return super.getAASProvider(aasId);
+			}
+		};
+
+		for (int i = 0; i < 4; i++) {
+			bundles.add(getTestBundle(AAS_ID + i, SM_ID + i));
+		}
+
+		assertTrue(AASBundleHelper.integrate(recording, bundles));
+		assertEquals(Collections.singleton(caller), threads);
+	}
+
 	private void checkAggregatorContent() {
-		IAssetAdministrationShell aas = aggregator.getAAS(new Identifier(IdentifierType.CUSTOM, AAS_ID));
-		assertEquals(AAS_ID, aas.getIdShort());
-		IModelProvider provider = aggregator.getAASProvider(new Identifier(IdentifierType.CUSTOM, AAS_ID));
+		checkAggregatorContent(AAS_ID, SM_ID);
+	}
 
-		Submodel sm = SubmodelElementMapCollectionConverter.mapToSM((Map<String, Object>) provider.getValue("/aas/submodels/" + SM_ID + "/" + SubmodelProvider.SUBMODEL));
+	@SuppressWarnings("unchecked")
+	private void checkAggregatorContent(String aasId, String smId) {
+		IAssetAdministrationShell aas = aggregator.getAAS(new Identifier(IdentifierType.CUSTOM, aasId));
+		assertEquals(aasId, aas.getIdShort());
+		IModelProvider provider = aggregator.getAASProvider(new Identifier(IdentifierType.CUSTOM, aasId));
 
-		assertEquals(SM_ID, sm.getIdentification().getId());
+		Submodel sm = SubmodelElementMapCollectionConverter.mapToSM((Map<String, Object>) provider.getValue("/aas/submodels/" + smId + "/" + SubmodelProvider.SUBMODEL));
+
+		assertEquals(smId, sm.getIdentification().getId());
 	}
 
 	private void pushAAS(AssetAdministrationShell aas) {
@@ -194,13 +268,17 @@ public class TestAASBundleHelper {
 	}
 
 	private AASBundle getTestBundle() {
+		return getTestBundle(AAS_ID, SM_ID);
+	}
+
+	private AASBundle getTestBundle(String aasId, String smId) {
 		Submodel sm = new Submodel();
-		sm.setIdShort(SM_ID);
-		sm.setIdentification(IdentifierType.CUSTOM, SM_ID);
+		sm.setIdShort(smId);
+		sm.setIdentification(IdentifierType.CUSTOM, smId);
 
 		AssetAdministrationShell aas = new AssetAdministrationShell();
-		aas.setIdentification(IdentifierType.CUSTOM, AAS_ID);
-		aas.setIdShort(AAS_ID);
+		aas.setIdentification(IdentifierType.CUSTOM, aasId);
+		aas.setIdShort(aasId);
 		aas.addSubmodel(sm);
 
 		return new AASBundle(aas, new HashSet<>(Arrays.asList(sm)));
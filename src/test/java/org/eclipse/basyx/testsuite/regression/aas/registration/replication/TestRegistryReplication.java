@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.aas.registration.replication;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.basyx.aas.metamodel.map.descriptor.AASDescriptor;
+import org.eclipse.basyx.aas.metamodel.map.descriptor.CustomId;
+import org.eclipse.basyx.aas.metamodel.map.descriptor.SubmodelDescriptor;
+import org.eclipse.basyx.aas.registration.memory.InMemoryRegistry;
+import org.eclipse.basyx.aas.registration.proxy.AASRegistryProxy;
+import org.eclipse.basyx.aas.registration.replication.AASRegistryReplica;
+import org.eclipse.basyx.aas.registration.replication.RegistryChangeLog;
+import org.eclipse.basyx.aas.registration.replication.RegistryChanges;
+import org.eclipse.basyx.aas.registration.replication.ReplicatingAASRegistry;
+import org.eclipse.basyx.aas.registration.restapi.AASRegistryModelProvider;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.exception.provider.ServiceUnavailableException;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the replication of a registry to several in-process replicas
+ */
+public class TestRegistryReplication {
+	private static final IIdentifier AAS_ID = new CustomId("replicatedAAS");
+	private static final IIdentifier SM_ID = new CustomId("replicatedSM");
+
+	private ReplicatingAASRegistry primary;
+	private AASRegistryReplica firstReplica;
+	private AASRegistryReplica secondReplica;
+
+	@Before
+	public void setUp() {
+		primary = new ReplicatingAASRegistry(new InMemoryRegistry(), new RegistryChangeLog(2));
+		firstReplica = new AASRegistryReplica(primary);
+		secondReplica = new AASRegistryReplica(primary);
+	}
+
+	@Test
+	public void replicasFollowThePrimary() {
+		primary.register(createDescriptor(AAS_ID));
+		primary.register(AAS_ID, new SubmodelDescriptor("sm", SM_ID, "http://localhost/sm"));
+
+		firstReplica.sync();
+		secondReplica.sync();
+		assertEquals(SM_ID.getId(), firstReplica.lookupSubmodel(AAS_ID, SM_ID).getIdentifier().getId());
+		assertEquals(1, secondReplica.lookupAll().size());
+
+		primary.delete(AAS_ID, SM_ID);
+		firstReplica.sync();
+		assertTrue(firstReplica.lookupSubmodels(AAS_ID).isEmpty());
+
+		// The second replica is not synchronized yet
+		assertEquals(1, secondReplica.lookupSubmodels(AAS_ID).size());
+
+		primary.delete(AAS_ID);
+		firstReplica.sync();
+		secondReplica.sync();
+		assertTrue(firstReplica.lookupAll().isEmpty());
+		assertTrue(secondReplica.lookupAll().isEmpty());
+	}
+
+	@Test
+	public void changesOfReplicaAreVisibleImmediately() {
+		firstReplica.register(createDescriptor(AAS_ID));
+
+		assertEquals(AAS_ID.getId(), firstReplica.lookupAAS(AAS_ID).getIdentifier().getId());
+		assertEquals(AAS_ID.getId(), primary.lookupAAS(AAS_ID).getIdentifier().getId());
+	}
+
+	@Test
+	public void laggingReplicaReceivesSnapshot() {
+		primary.register(createDescriptor(AAS_ID));
+		firstReplica.sync();
+		long sequence = firstReplica.getSequence();
+
+		// Exceeds the capacity of the change log
+		IIdentifier otherId = new CustomId("otherAAS");
+		primary.delete(AAS_ID);
+		primary.register(createDescriptor(otherId));
+		primary.register(createDescriptor(new CustomId("thirdAAS")));
+
+		RegistryChanges changes = primary.getChangesSince(sequence);
+		assertTrue(changes.isSnapshot());
+		assertEquals(2, changes.getDescriptors().size());
+
+		firstReplica.sync();
+		assertEquals(2, firstReplica.lookupAll().size());
+		assertEquals(otherId.getId(), firstReplica.lookupAAS(otherId).getIdentifier().getId());
+		assertFalse(primary.getChangesSince(firstReplica.getSequence()).isSnapshot());
+	}
+
+	@Test
+	public void restartedPrimaryLeadsToSnapshot() {
+		primary.register(createDescriptor(AAS_ID));
+		AtomicReference<ReplicatingAASRegistry> currentPrimary = new AtomicReference<>(primary);
+		AASRegistryReplica replica = new AASRegistryReplica(primary, sequence -> currentPrimary.get().getChangesSince(sequence));
+		replica.sync();
+
+		// The restarted primary has a new history with more changes than before
+		IIdentifier otherId = new CustomId("otherAAS");
+		ReplicatingAASRegistry restarted = new ReplicatingAASRegistry(new InMemoryRegistry(), new RegistryChangeLog(2));
+		restarted.register(createDescriptor(otherId));
+		restarted.register(createDescriptor(new CustomId("thirdAAS")));
+		currentPrimary.set(restarted);
+
+		assertTrue(restarted.getChangesSince(replica.getSequence()).isSnapshot());
+		replica.sync();
+		assertEquals(2, replica.lookupAll().size());
+		assertEquals(otherId.getId(), replica.lookupAAS(otherId).getIdentifier().getId());
+	}
+
+	@Test(expected = ServiceUnavailableException.class)
+	public void unsynchronizedReplicaRejectsLookups() {
+		primary.register(createDescriptor(AAS_ID));
+		firstReplica.lookupAll();
+	}
+
+	@Test
+	public void proxyFallsBackForUnsynchronizedReplica() {
+		primary.register(createDescriptor(AAS_ID));
+
+		AASRegistryProxy proxy = new AASRegistryProxy(new AASRegistryModelProvider(primary), Arrays.asList(new AASRegistryModelProvider(firstReplica)));
+		assertEquals(1, proxy.lookupAll().size());
+	}
+
+	@Test(expected = ResourceNotFoundException.class)
+	public void deletedDescriptorIsNotFoundOnReplica() {
+		primary.register(createDescriptor(AAS_ID));
+		firstReplica.sync();
+		primary.delete(AAS_ID);
+		firstReplica.sync();
+
+		firstReplica.lookupAAS(AAS_ID);
+	}
+
+	@Test
+	public void proxyDistributesReadsOverReplicas() {
+		primary.register(createDescriptor(AAS_ID));
+		firstReplica.sync();
+		secondReplica.sync();
+
+		AtomicInteger firstReads = new AtomicInteger();
+		AtomicInteger secondReads = new AtomicInteger();
+		IModelProvider firstProvider = new CountingRegistryModelProvider(firstReplica, firstReads);
+		IModelProvider secondProvider = new CountingRegistryModelProvider(secondReplica, secondReads);
+		AASRegistryProxy proxy = new AASRegistryProxy(new AASRegistryModelProvider(primary), Arrays.asList(firstProvider, secondProvider));
+
+		for (int i = 0; i < 4; i++) {
+			assertEquals(AAS_ID.getId(), proxy.lookupAAS(AAS_ID).getIdentifier().getId());
+		}
+		assertEquals(2, firstReads.get());
+		assertEquals(2, secondReads.get());
+
+		// Lookups not yet replicated are answered by the primary
+		IIdentifier newId = new CustomId("newAAS");
+		proxy.register(createDescriptor(newId));
+		assertEquals(newId.getId(), proxy.lookupAAS(newId).getIdentifier().getId());
+	}
+
+	private AASDescriptor createDescriptor(IIdentifier id) {
+		return new AASDescriptor(id.getId(), id, "http://localhost/" + id.getId() + "/aas");
+	}
+
+	private static class CountingRegistryModelProvider extends AASRegistryModelProvider {
+		private AtomicInteger reads;
+
+		public CountingRegistryModelProvider(AASRegistryReplica replica, AtomicInteger reads) {
+			super(replica);
+			this.reads = reads;
+		}
+
+		@Override
+		public Object getValue(String path) {
+			reads.incrementAndGet();
+			return super.getValue(path);
+		}
+	}
+}
@@ -148,7 +148,6 @@ public class TestGrantedAuthorityAuthorizedAASAggregator {
 
 		final Collection<IAssetAdministrationShell> expectedAASDescriptorList = Collections.singletonList(shell);
 		Mockito.when(aggregatorMock.getAASList()).thenReturn(expectedAASDescriptorList);
-		Mockito.when(aggregatorMock.getAAS(SHELL_IDENTIFIER)).thenReturn(shell);
 
 		final Collection<IAssetAdministrationShell> shellList = testSubject.getAASList();
 
@@ -193,7 +193,6 @@ public class TestSimpleRbacAuthorizedAASAggregator {
 
 		final Collection<IAssetAdministrationShell> expectedAASDescriptorList = Collections.singletonList(shell);
 		Mockito.when(apiMock.getAASList()).thenReturn(Collections.singletonList(shell));
-		Mockito.when(apiMock.getAAS(SHELL_IDENTIFIER)).thenReturn(shell);
 
 		final Collection<IAssetAdministrationShell> shellList = testSubject.getAASList();
 
@@ -216,10 +215,23 @@ public class TestSimpleRbacAuthorizedAASAggregator {
 
 		final Collection<IAssetAdministrationShell> expectedAASDescriptorList = Collections.singletonList(shell);
 		Mockito.when(apiMock.getAASList()).thenReturn(new HashSet<>(Arrays.asList(shell, secondShell)));
-		Mockito.when(apiMock.getAAS(SHELL_IDENTIFIER)).thenReturn(shell);
 
 		final Collection<IAssetAdministrationShell> returnedShellList = testSubject.getAASList();
 
 		Assert.assertEquals(expectedAASDescriptorList, returnedShellList);
 	}
+
+	@Test
+	public void givenPrincipalHasReadAuthority_whenGetAASList_thenEntriesAreNotFetchedAgain() {
+		securityContextProvider.setSecurityContextWithRoles(readerRole);
+
+		final Collection<IAssetAdministrationShell> expectedShellList = Arrays.asList(shell, secondShell);
+		Mockito.when(apiMock.getAASList()).thenReturn(expectedShellList);
+
+		final Collection<IAssetAdministrationShell> returnedShellList = testSubject.getAASList();
+
+		Assert.assertEquals(expectedShellList, returnedShellList);
+		Mockito.verify(apiMock, Mockito.times(1)).getAASList();
+		Mockito.verify(apiMock, Mockito.never()).getAAS(Mockito.any());
+	}
 }
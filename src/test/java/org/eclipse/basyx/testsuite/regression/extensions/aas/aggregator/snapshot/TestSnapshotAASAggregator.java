@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.extensions.aas.aggregator.snapshot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.basyx.aas.aggregator.AASAggregator;
+import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
+import org.eclipse.basyx.aas.aggregator.index.SemanticIdIndexEntry;
+import org.eclipse.basyx.aas.metamodel.api.parts.asset.AssetKind;
+import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
+import org.eclipse.basyx.aas.metamodel.map.parts.Asset;
+import org.eclipse.basyx.extensions.aas.aggregator.snapshot.AASAggregatorSnapshot;
+import org.eclipse.basyx.extensions.aas.aggregator.snapshot.AASAggregatorSnapshotWriter;
+import org.eclipse.basyx.extensions.aas.aggregator.snapshot.SnapshotAASAggregator;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
+import org.eclipse.basyx.submodel.metamodel.api.reference.enums.KeyElements;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
+import org.eclipse.basyx.submodel.metamodel.map.reference.Key;
+import org.eclipse.basyx.submodel.metamodel.map.reference.Reference;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.testsuite.regression.aas.aggregator.AASAggregatorSuite;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests writing an aggregator snapshot and loading it into a
+ * SnapshotAASAggregator
+ *
+ */
+public class TestSnapshotAASAggregator extends AASAggregatorSuite {
+	private static final int SHELLS = 20;
+	private static final String PROPERTY_PATH = "/aas/submodels/sm/submodel/submodelElements/prop/value";
+	private static final String PROPERTY_SEMANTIC_ID = "urn:basyx:snapshot:prop";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private SnapshotAASAggregator aggregator;
+
+	@Override
+	protected IAASAggregator getAggregator() {
+		if (aggregator == null) {
+			// The suite deletes the AAS contained in the snapshot before each test
+			aggregator = new SnapshotAASAggregator(writeAndLoad(createAggregator(1)));
+		}
+		return aggregator;
+	}
+
+	@Test
+	public void testRestoreFromSnapshot() {
+		SnapshotAASAggregator restored = new SnapshotAASAggregator(writeAndLoad(createAggregator(SHELLS)));
+
+		assertEquals(Collections.singleton(getId(3).getId()), restored.getExistingAASIds(Arrays.asList(getId(3), getId(SHELLS))));
+		assertEquals(7, restored.getAASProvider(getId(7)).getValue(PROPERTY_PATH));
+		assertEquals(SHELLS, restored.getAASList().size());
+		for (int i = 0; i < SHELLS; i++) {
+			assertEquals("aas" + i, restored.getAAS(getId(i)).getIdShort());
+			assertEquals(i, restored.getAASProvider(getId(i)).getValue(PROPERTY_PATH));
+		}
+	}
+
+	@Test
+	public void testModifyRestoredAggregator() {
+		SnapshotAASAggregator restored = new SnapshotAASAggregator(writeAndLoad(createAggregator(SHELLS)));
+
+		IModelProvider provider = restored.getAASProvider(getId(1));
+		provider.setValue(PROPERTY_PATH, 100);
+		restored.deleteAAS(getId(2));
+
+		SnapshotAASAggregator reloaded = new SnapshotAASAggregator(writeAndLoad(restored));
+		assertEquals(SHELLS - 1, reloaded.getAASList().size());
+		assertEquals(100, reloaded.getAASProvider(getId(1)).getValue(PROPERTY_PATH));
+		assertEquals(3, reloaded.getAASProvider(getId(3)).getValue(PROPERTY_PATH));
+	}
+
+	@Test
+	public void testConcurrentFirstAccesses() throws Exception {
+		SnapshotAASAggregator restored = new SnapshotAASAggregator(writeAndLoad(createAggregator(SHELLS)));
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Object>> results = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				boolean update = t % 2 == 0;
+				results.add(executor.submit(() -> {
+					for (int i = 0; i < SHELLS; i++) {
+						if (update) {
+							restored.updateAAS(createAAS(i));
+						}
+						assertEquals(i, restored.getAASProvider(getId(i)).getValue(PROPERTY_PATH));
+					}
+					return null;
+				}));
+			}
+			for (Future<Object> result : results) {
+				result.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(SHELLS, restored.getAASList().size());
+	}
+
+	@Test
+	public void testSemanticIdIndexCoversPendingAAS() {
+		SnapshotAASAggregator restored = new SnapshotAASAggregator(writeAndLoad(createAggregator(SHELLS)));
+		restored.enableSemanticIdIndex();
+
+		// Only one AAS is built before the lookup
+		restored.getAASProvider(getId(0));
+		List<SemanticIdIndexEntry> entries = restored.lookupSemanticId(PROPERTY_SEMANTIC_ID);
+
+		assertEquals(SHELLS, entries.size());
+		assertTrue(entries.contains(new SemanticIdIndexEntry(getId(SHELLS - 1).getId(), "sm" + (SHELLS - 1), "prop")));
+	}
+
+	@Test
+	public void testWriterWritesSnapshotOnClose() throws IOException {
+		Path file = folder.getRoot().toPath().resolve("aggregator.snapshot");
+		AASAggregator source = createAggregator(2);
+
+		try (AASAggregatorSnapshotWriter writer = new AASAggregatorSnapshotWriter(source, file)) {
+			writer.start(1, TimeUnit.HOURS);
+			source.createAAS(createAAS(2));
+		}
+
+		assertTrue(Files.exists(file));
+		assertEquals(3, AASAggregatorSnapshot.load(file).getAASIds().size());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testReadBundle() {
+		AASAggregatorSnapshot snapshot = writeAndLoad(createAggregator(1));
+		Submodel sm = (Submodel) snapshot.read(getId(0).getId()).getSubmodels().iterator().next();
+		assertEquals(0, ((Map<String, Object>) sm.getSubmodelElement("prop")).get(Property.VALUE));
+	}
+
+	private AASAggregatorSnapshot writeAndLoad(IAASAggregator source) {
+		try {
+			Path file = folder.newFile().toPath();
+			AASAggregatorSnapshot.write(source, file);
+			return AASAggregatorSnapshot.load(file);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static AASAggregator createAggregator(int shells) {
+		AASAggregator aggregator = new AASAggregator();
+		for (int i = 0; i < shells; i++) {
+			aggregator.createAAS(createAAS(i));
+
+			Submodel sm = new Submodel("sm", new Identifier(IdentifierType.CUSTOM, "sm" + i));
+			Property prop = new Property("prop", i);
+			prop.setSemanticId(new Reference(new Key(KeyElements.CONCEPTDESCRIPTION, false, PROPERTY_SEMANTIC_ID, IdentifierType.IRI)));
+			sm.addSubmodelElement(prop);
+			aggregator.getAASProvider(getId(i)).setValue("/aas/submodels/sm", sm);
+		}
+		return aggregator;
+	}
+
+	private static AssetAdministrationShell createAAS(int i) {
+		return new AssetAdministrationShell("aas" + i, getId(i), new Asset("asset" + i, new Identifier(IdentifierType.CUSTOM, "asset" + i), AssetKind.INSTANCE));
+	}
+
+	private static Identifier getId(int i) {
+		return new Identifier(IdentifierType.CUSTOM, "aas" + i);
+	}
+}
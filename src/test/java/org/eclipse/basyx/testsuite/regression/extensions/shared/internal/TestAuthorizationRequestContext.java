@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.extensions.shared.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.eclipse.basyx.extensions.shared.authorization.internal.AuthorizationRequestContext;
+import org.eclipse.basyx.extensions.shared.authorization.internal.AuthorizationRequestContext.AuthorizationRequestContextHandler;
+import org.eclipse.basyx.extensions.shared.authorization.internal.BaSyxObjectTargetInformation;
+import org.eclipse.basyx.extensions.shared.authorization.internal.ElevatedCodeAuthentication;
+import org.eclipse.basyx.extensions.shared.authorization.internal.ElevatedCodeAuthentication.ElevatedCodeAuthenticationAreaHandler;
+import org.eclipse.basyx.extensions.shared.authorization.internal.IRbacRuleChecker;
+import org.eclipse.basyx.extensions.shared.authorization.internal.IRoleAuthenticator;
+import org.eclipse.basyx.extensions.shared.authorization.internal.JWTAuthenticationContextProvider;
+import org.eclipse.basyx.extensions.shared.authorization.internal.KeycloakRoleAuthenticator;
+import org.eclipse.basyx.extensions.shared.authorization.internal.SimpleRbacHelper;
+import org.eclipse.basyx.extensions.shared.authorization.internal.SimpleRbacInhibitException;
+import org.eclipse.basyx.extensions.shared.authorization.internal.TargetInformation;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Tests the memoization of authorization results per request and across
+ * requests
+ */
+public class TestAuthorizationRequestContext {
+	private static final String ACTION = "test.read";
+	private static final TargetInformation TARGET = new BaSyxObjectTargetInformation("aas", "sm", "semId", "prop");
+
+	private KeycloakAuthenticationContextProvider securityContextProvider = new KeycloakAuthenticationContextProvider();
+
+	@After
+	public void tearDown() {
+		securityContextProvider.clearContext();
+	}
+
+	@Test
+	public void rolesAndDecisionsAreComputedOncePerRequest() throws SimpleRbacInhibitException {
+		@SuppressWarnings("unchecked")
+		IRoleAuthenticator<Object> roleAuthenticator = mock(IRoleAuthenticator.class);
+		IRbacRuleChecker ruleChecker = mock(IRbacRuleChecker.class);
+		Object subject = new Object();
+		when(roleAuthenticator.getRoles(subject)).thenReturn(Collections.singletonList("reader"));
+		when(ruleChecker.checkRbacRuleIsSatisfied(anyList(), anyString(), any())).thenReturn(true);
+
+		try (AuthorizationRequestContextHandler handler = AuthorizationRequestContext.enterRequestContext()) {
+			for (int i = 0; i < 3; i++) {
+				SimpleRbacHelper.checkRule(ruleChecker, roleAuthenticator, subject, ACTION, TARGET);
+			}
+		}
+		verify(roleAuthenticator, times(1)).getRoles(subject);
+		verify(ruleChecker, times(1)).checkRbacRuleIsSatisfied(anyList(), anyString(), any());
+
+		// Without a request context, nothing is memoized
+		SimpleRbacHelper.checkRule(ruleChecker, roleAuthenticator, subject, ACTION, TARGET);
+		SimpleRbacHelper.checkRule(ruleChecker, roleAuthenticator, subject, ACTION, TARGET);
+		verify(roleAuthenticator, times(3)).getRoles(subject);
+	}
+
+	@Test
+	public void nestedContextsShareTheOutermostContext() {
+		try (AuthorizationRequestContextHandler outer = AuthorizationRequestContext.enterRequestContext()) {
+			Object value = AuthorizationRequestContext.memoize("key", Object::new);
+			try (AuthorizationRequestContextHandler inner = AuthorizationRequestContext.enterRequestContext()) {
+				assertSame(value, AuthorizationRequestContext.memoize("key", Object::new));
+			}
+			assertTrue(AuthorizationRequestContext.isInRequestContext());
+		}
+		assertFalse(AuthorizationRequestContext.isInRequestContext());
+	}
+
+	@Test
+	public void elevatedCodeAuthenticationInvalidatesSubject() {
+		securityContextProvider.setSecurityContextWithRoles("reader");
+		JWTAuthenticationContextProvider subjectProvider = new JWTAuthenticationContextProvider();
+
+		try (AuthorizationRequestContextHandler handler = AuthorizationRequestContext.enterRequestContext()) {
+			assertNotNull(subjectProvider.get());
+			try (ElevatedCodeAuthenticationAreaHandler elevated = ElevatedCodeAuthentication.enterElevatedCodeAuthenticationArea()) {
+				assertNull(subjectProvider.get());
+			}
+			assertNotNull(subjectProvider.get());
+		}
+	}
+
+	@Test
+	public void rolesAreCachedAcrossRequestsByTokenIdAndExpiry() {
+		KeycloakRoleAuthenticator roleAuthenticator = new KeycloakRoleAuthenticator();
+		String tokenId = UUID.randomUUID().toString();
+		Instant expiresAt = Instant.now().plusSeconds(60);
+
+		assertEquals(Arrays.asList("reader"), roleAuthenticator.getRoles(createJwt(tokenId, expiresAt, "reader")));
+
+		// A token with the same id and expiry is the same token, thus its roles are
+		// not extracted again
+		assertEquals(Arrays.asList("reader"), new KeycloakRoleAuthenticator().getRoles(createJwt(tokenId, expiresAt, "admin")));
+
+		assertEquals(Arrays.asList("admin"), roleAuthenticator.getRoles(createJwt(tokenId, expiresAt.plusSeconds(1), "admin")));
+		assertEquals(Arrays.asList("admin"), roleAuthenticator.getRoles(createJwt(UUID.randomUUID().toString(), expiresAt, "admin")));
+	}
+
+	@Test
+	public void expiredTokensAreNotCached() {
+		KeycloakRoleAuthenticator roleAuthenticator = new KeycloakRoleAuthenticator();
+		String tokenId = UUID.randomUUID().toString();
+		Instant expiresAt = Instant.now().minusSeconds(1);
+
+		assertEquals(Arrays.asList("reader"), roleAuthenticator.getRoles(createJwt(tokenId, expiresAt, "reader")));
+		assertEquals(Arrays.asList("admin"), roleAuthenticator.getRoles(createJwt(tokenId, expiresAt, "admin")));
+	}
+
+	private Jwt createJwt(String tokenId, Instant expiresAt, String... roles) {
+		List<String> roleList = Arrays.asList(roles);
+		return Jwt.withTokenValue("token").header("alg", "none").jti(tokenId).issuer("http://localhost/realm").issuedAt(expiresAt.minusSeconds(300)).expiresAt(expiresAt)
+				.claim("realm_access", Collections.singletonMap("roles", roleList)).build();
+	}
+}
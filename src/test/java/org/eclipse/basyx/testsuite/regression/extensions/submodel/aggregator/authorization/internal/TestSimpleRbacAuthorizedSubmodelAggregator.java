@@ -133,7 +133,6 @@ public class TestSimpleRbacAuthorizedSubmodelAggregator {
 		final Collection<ISubmodel> expectedList = new ArrayList<>();
 		expectedList.add(submodel);
 		Mockito.when(apiMock.getSubmodelList()).thenReturn(expectedList);
-		Mockito.when(apiMock.getSubmodel(submodel.getIdentification())).thenReturn(submodel);
 
 		final Collection<ISubmodel> smList = testSubject.getSubmodelList();
 		assertEquals(expectedList, smList);
@@ -347,10 +346,24 @@ public class TestSimpleRbacAuthorizedSubmodelAggregator {
 
 		final Collection<ISubmodel> expectedSubmodelList = Collections.singletonList(submodel);
 		Mockito.when(apiMock.getSubmodelList()).thenReturn(new HashSet<>(Arrays.asList(submodel, secondSubmodel)));
-		Mockito.when(apiMock.getSubmodel(SUBMODEL_IDENTIFIER)).thenReturn(submodel);
 
 		final Collection<ISubmodel> returnedSubmodelList = testSubject.getSubmodelList();
 
 		Assert.assertEquals(expectedSubmodelList, returnedSubmodelList);
 	}
+
+	@Test
+	public void givenPrincipalHasReadAuthority_whenGetSubmodelList_thenEntriesAreNotFetchedAgain() {
+		securityContextProvider.setSecurityContextWithRoles(readerRole);
+
+		final Collection<ISubmodel> expectedSubmodelList = Arrays.asList(submodel, secondSubmodel);
+		Mockito.when(apiMock.getSubmodelList()).thenReturn(expectedSubmodelList);
+
+		final Collection<ISubmodel> returnedSubmodelList = testSubject.getSubmodelList();
+
+		Assert.assertEquals(expectedSubmodelList, returnedSubmodelList);
+		Mockito.verify(apiMock, Mockito.times(1)).getSubmodelList();
+		Mockito.verify(apiMock, Mockito.never()).getSubmodel(Mockito.any());
+		Mockito.verifyNoMoreInteractions(apiMock);
+	}
 }
@@ -25,13 +25,24 @@
 package org.eclipse.basyx.testsuite.regression.extensions.submodel.delegation;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.basyx.extensions.submodel.delegation.DelegatingDecoratingSubmodelAPIFactory;
 import org.eclipse.basyx.extensions.submodel.delegation.DelegatingSubmodelAPI;
 import org.eclipse.basyx.extensions.submodel.delegation.PropertyDelegationManager;
+import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
 import org.eclipse.basyx.submodel.metamodel.api.qualifier.qualifiable.IConstraint;
 import org.eclipse.basyx.submodel.metamodel.connected.ConnectedSubmodel;
 import org.eclipse.basyx.submodel.metamodel.connected.submodelelement.ConnectedSubmodelElementCollection;
@@ -47,6 +58,7 @@ import org.eclipse.basyx.submodel.restapi.vab.VABSubmodelAPIFactory;
 import org.eclipse.basyx.vab.coder.json.connector.JSONConnector;
 import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
 import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.exception.provider.ServiceUnavailableException;
 import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
 import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaProvider;
 import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnector;
@@ -66,6 +78,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 public class TestPropertyDelegationManager {
 	private static final String SMEC_ID_SHORT = "smc";
 	private static final String INNER_SMEC_ID_SHORT = "innerSmc";
+	private static final int READERS = 8;
 
 	@Test
 	public void delegatedPropertyIsTransformed() {
@@ -215,6 +228,159 @@ public class TestPropertyDelegationManager {
 		assertEquals(DelegationTestHelper.EXPECTED_VALUE, submodelAPI.getSubmodelElementValue(property.getIdShort()));
 	}
 	
+	@Test
+	public void concurrentReadsShareOneRemoteRequest() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger remoteReads = new AtomicInteger();
+		HTTPConnector connector = Mockito.mock(HTTPConnector.class);
+		Mockito.when(connector.getValue(DelegationTestHelper.ENDPOINT)).thenAnswer(invocation -> {
+			// The first read is done when the delegation is configured
+			if (remoteReads.getAndIncrement() > 0) {
+				release.await(5, TimeUnit.SECONDS);
+			}
+			return String.valueOf(DelegationTestHelper.EXPECTED_VALUE);
+		});
+
+		Submodel submodel = DelegationTestHelper.createSubmodel();
+		submodel.addSubmodelElement(DelegationTestHelper.createDelegatedProperty());
+		new PropertyDelegationManager(createConnectorFactory(connector, DelegationTestHelper.SERVER_URL)).handleSubmodel(submodel);
+		remoteReads.set(1);
+		VABLambdaProvider provider = new VABLambdaProvider(submodel);
+
+		ExecutorService executor = Executors.newFixedThreadPool(READERS);
+		try {
+			List<Future<Object>> reads = new ArrayList<>();
+			for (int i = 0; i < READERS; i++) {
+				reads.add(executor.submit(() -> provider.getValue("/submodelElements/delegated/value")));
+			}
+			// Give all readers the time to join the request in flight
+			Thread.sleep(500);
+			release.countDown();
+
+			for (Future<Object> read : reads) {
+				assertEquals(DelegationTestHelper.EXPECTED_VALUE, read.get(5, TimeUnit.SECONDS));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(2, remoteReads.get());
+	}
+
+	@Test
+	public void delegatedValueIsCachedForMaxAge() {
+		Property cached = DelegationTestHelper.createDelegatedProperty();
+		cached.setQualifiers(Arrays.asList(DelegationTestHelper.createQualifier(DelegationTestHelper.SERVER_URL, DelegationTestHelper.ENDPOINT), PropertyDelegationManager.createDelegationMaxAgeQualifier(60000)));
+		HTTPConnector connector = createMockedConnector(DelegationTestHelper.ENDPOINT);
+
+		Submodel submodel = DelegationTestHelper.createSubmodel();
+		submodel.addSubmodelElement(cached);
+		new PropertyDelegationManager(createConnectorFactory(connector, DelegationTestHelper.SERVER_URL)).handleSubmodel(submodel);
+
+		assertPropertyValueIsAsExpected(DelegationTestHelper.EXPECTED_VALUE, submodel, cached);
+		assertPropertyValueIsAsExpected(DelegationTestHelper.EXPECTED_VALUE, submodel, cached);
+		Mockito.verify(connector, Mockito.times(1)).getValue(DelegationTestHelper.ENDPOINT);
+	}
+
+	@Test
+	public void invalidMaxAgeDisablesCaching() {
+		Qualifier invalidMaxAge = new Qualifier("delegationMaxAge", ValueType.String);
+		invalidMaxAge.setValue("soon");
+		Property delegated = DelegationTestHelper.createDelegatedProperty();
+		delegated.setQualifiers(Arrays.asList(DelegationTestHelper.createQualifier(DelegationTestHelper.SERVER_URL, DelegationTestHelper.ENDPOINT), invalidMaxAge));
+		HTTPConnector connector = createMockedConnector(DelegationTestHelper.ENDPOINT);
+
+		Submodel submodel = DelegationTestHelper.createSubmodel();
+		submodel.addSubmodelElement(delegated);
+		new PropertyDelegationManager(createConnectorFactory(connector, DelegationTestHelper.SERVER_URL)).handleSubmodel(submodel);
+
+		assertPropertyValueIsAsExpected(DelegationTestHelper.EXPECTED_VALUE, submodel, delegated);
+		assertPropertyValueIsAsExpected(DelegationTestHelper.EXPECTED_VALUE, submodel, delegated);
+		Mockito.verify(connector, Mockito.atLeast(2)).getValue(DelegationTestHelper.ENDPOINT);
+	}
+
+	@Test
+	public void waitForSharedRequestIsBounded() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		HTTPConnector connector = Mockito.mock(HTTPConnector.class);
+		Mockito.when(connector.getValue(DelegationTestHelper.ENDPOINT)).thenAnswer(invocation -> {
+			release.await(5, TimeUnit.SECONDS);
+			return String.valueOf(DelegationTestHelper.EXPECTED_VALUE);
+		});
+
+		Submodel submodel = DelegationTestHelper.createSubmodel();
+		submodel.addSubmodelElement(DelegationTestHelper.createDelegatedProperty());
+		new PropertyDelegationManager(createConnectorFactory(connector, DelegationTestHelper.SERVER_URL), 200).handleSubmodel(submodel);
+		VABLambdaProvider provider = new VABLambdaProvider(submodel);
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Object> slowRead = executor.submit(() -> provider.getValue("/submodelElements/delegated/value"));
+			// Give the first read the time to start the remote request
+			Thread.sleep(200);
+
+			try {
+				provider.getValue("/submodelElements/delegated/value");
+				fail();
+			} catch (ServiceUnavailableException e) {
+				// The second read gives up waiting for the slow request
+			}
+
+			release.countDown();
+			assertEquals(DelegationTestHelper.EXPECTED_VALUE, slowRead.get(5, TimeUnit.SECONDS));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void submodelReadFetchesDelegatedValuesGroupedByHost() {
+		String otherServerUrl = "http://localhost:" + DelegationTestHelper.SERVER_PORT;
+		HTTPConnector connector = createMockedConnector("/a", "/b");
+		HTTPConnector otherConnector = createMockedConnector("/c", "/d");
+		HTTPConnectorFactory factory = Mockito.mock(HTTPConnectorFactory.class);
+		Mockito.when(factory.create(DelegationTestHelper.SERVER_URL)).thenReturn(new JSONConnector(connector));
+		Mockito.when(factory.create(otherServerUrl)).thenReturn(new JSONConnector(otherConnector));
+
+		Submodel submodel = DelegationTestHelper.createSubmodel();
+		submodel.addSubmodelElement(createDelegatedProperty("a", DelegationTestHelper.SERVER_URL, "/a"));
+		submodel.addSubmodelElement(createDelegatedProperty("b", DelegationTestHelper.SERVER_URL, "/b"));
+		SubmodelElementCollection smc = createSubmodelElementCollection(SMEC_ID_SHORT);
+		smc.addSubmodelElement(createDelegatedProperty("c", otherServerUrl, "/c"));
+		smc.addSubmodelElement(createDelegatedProperty("d", otherServerUrl, "/d"));
+		submodel.addSubmodelElement(smc);
+
+		ISubmodelAPI submodelAPI = new DelegatingSubmodelAPI(new VABSubmodelAPIFactory().create(submodel), new PropertyDelegationManager(factory));
+		Mockito.clearInvocations(factory);
+
+		ISubmodel read = submodelAPI.getSubmodel();
+		assertEquals(DelegationTestHelper.EXPECTED_VALUE, read.getSubmodelElement("b").getValue());
+		assertEquals(DelegationTestHelper.EXPECTED_VALUE, ((SubmodelElementCollection) read.getSubmodelElement(SMEC_ID_SHORT)).getSubmodelElement("d").getValue());
+
+		// One connector per host is used to fetch all of its values
+		Mockito.verify(factory, Mockito.times(1)).create(DelegationTestHelper.SERVER_URL);
+		Mockito.verify(factory, Mockito.times(1)).create(otherServerUrl);
+	}
+
+	private Property createDelegatedProperty(String idShort, String serverUrl, String endpoint) {
+		Property delegated = new Property(idShort, ValueType.Int32);
+		delegated.setQualifiers(Collections.singleton(DelegationTestHelper.createQualifier(serverUrl, endpoint)));
+		return delegated;
+	}
+
+	private HTTPConnector createMockedConnector(String... endpoints) {
+		HTTPConnector connector = Mockito.mock(HTTPConnector.class);
+		for (String endpoint : endpoints) {
+			Mockito.when(connector.getValue(endpoint)).thenReturn(String.valueOf(DelegationTestHelper.EXPECTED_VALUE));
+		}
+		return connector;
+	}
+
+	private HTTPConnectorFactory createConnectorFactory(HTTPConnector connector, String serverUrl) {
+		HTTPConnectorFactory factory = Mockito.mock(HTTPConnectorFactory.class);
+		Mockito.when(factory.create(serverUrl)).thenReturn(new JSONConnector(connector));
+		return factory;
+	}
+
 	private void assertPropertyValueIsAsExpected(int expectedValue, Submodel submodel, Property delegated) {
 		ConnectedSubmodel connectedSm = createConnectedSubmodel(submodel);
 		
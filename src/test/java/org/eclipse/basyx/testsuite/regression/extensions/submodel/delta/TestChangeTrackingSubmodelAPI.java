@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.extensions.submodel.delta;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.eclipse.basyx.aas.metamodel.map.descriptor.CustomId;
+import org.eclipse.basyx.extensions.submodel.delta.ChangeTrackingSubmodelAPI;
+import org.eclipse.basyx.extensions.submodel.delta.SubmodelChangeLog;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.valuetype.ValueType;
+import org.eclipse.basyx.submodel.restapi.SubmodelProvider;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelValueDelta;
+import org.eclipse.basyx.submodel.restapi.vab.VABSubmodelAPIFactory;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the value deltas provided by {@link ChangeTrackingSubmodelAPI}
+ */
+public class TestChangeTrackingSubmodelAPI {
+	private static final String FIRST_ID = "first";
+	private static final String SECOND_ID = "second";
+	private static final String COLLECTION_ID = "collection";
+	private static final String NESTED_PATH = COLLECTION_ID + "/nested";
+
+	private ChangeTrackingSubmodelAPI changeTrackingAPI;
+
+	@Before
+	public void setUp() {
+		Submodel submodel = new Submodel("deltaSM", new CustomId("deltaSM"));
+		submodel.addSubmodelElement(createProperty(FIRST_ID));
+		submodel.addSubmodelElement(createProperty(SECOND_ID));
+
+		SubmodelElementCollection collection = new SubmodelElementCollection(COLLECTION_ID);
+		collection.addSubmodelElement(createProperty("nested"));
+		submodel.addSubmodelElement(collection);
+
+		changeTrackingAPI = new ChangeTrackingSubmodelAPI(new VABSubmodelAPIFactory().create(submodel), new SubmodelChangeLog(3));
+	}
+
+	@Test
+	public void deltaContainsOnlyChangedValues() {
+		SubmodelValueDelta initial = changeTrackingAPI.getSubmodelValuesSince(0);
+		assertTrue(initial.isFullResync());
+		long version = initial.getVersion();
+
+		changeTrackingAPI.updateSubmodelElement(FIRST_ID, 1);
+		changeTrackingAPI.updateSubmodelElement(FIRST_ID, 2);
+		changeTrackingAPI.updateSubmodelElement(NESTED_PATH, 3);
+
+		SubmodelValueDelta delta = changeTrackingAPI.getSubmodelValuesSince(version);
+		assertFalse(delta.isFullResync());
+		assertEquals(version + 3, delta.getVersion());
+		assertEquals(Map.of(FIRST_ID, 2, NESTED_PATH, 3), delta.getChanged());
+		assertTrue(delta.getDeleted().isEmpty());
+
+		// Nothing changed since the last delta
+		SubmodelValueDelta emptyDelta = changeTrackingAPI.getSubmodelValuesSince(delta.getVersion());
+		assertTrue(emptyDelta.getChanged().isEmpty());
+		assertEquals(delta.getVersion(), emptyDelta.getVersion());
+	}
+
+	@Test
+	public void deletionCoversChildChanges() {
+		long version = changeTrackingAPI.getSubmodelValuesSince(0).getVersion();
+		changeTrackingAPI.updateSubmodelElement(NESTED_PATH, 1);
+		changeTrackingAPI.deleteSubmodelElement(COLLECTION_ID);
+		changeTrackingAPI.addSubmodelElement(createProperty("added"));
+
+		SubmodelValueDelta delta = changeTrackingAPI.getSubmodelValuesSince(version);
+		assertEquals(Collections.singletonMap("added", 0), delta.getChanged());
+		assertEquals(Arrays.asList(COLLECTION_ID), delta.getDeleted());
+	}
+
+	@Test
+	public void truncatedLogRequiresFullResync() {
+		long initialVersion = changeTrackingAPI.getSubmodelValuesSince(0).getVersion();
+		for (int i = 1; i <= 4; i++) {
+			changeTrackingAPI.updateSubmodelElement(SECOND_ID, i);
+		}
+
+		SubmodelValueDelta resync = changeTrackingAPI.getSubmodelValuesSince(initialVersion);
+		assertTrue(resync.isFullResync());
+		assertEquals(initialVersion + 4, resync.getVersion());
+		assertEquals(4, resync.getValues().get(SECOND_ID));
+
+		// The retained changes are still available
+		assertFalse(changeTrackingAPI.getSubmodelValuesSince(initialVersion + 1).isFullResync());
+
+		// Unknown versions also require a full resync
+		assertTrue(changeTrackingAPI.getSubmodelValuesSince(-1).isFullResync());
+		assertTrue(changeTrackingAPI.getSubmodelValuesSince(initialVersion + 5).isFullResync());
+	}
+
+	@Test
+	public void versionOfReplacedSubmodelRequiresFullResync() {
+		changeTrackingAPI.updateSubmodelElement(FIRST_ID, 1);
+		long version = changeTrackingAPI.getSubmodelValuesSince(0).getVersion();
+
+		// Replacing the submodel, e.g. on a restart, starts a new history
+		ChangeTrackingSubmodelAPI replaced = new ChangeTrackingSubmodelAPI(new VABSubmodelAPIFactory().create(new Submodel("deltaSM", new CustomId("deltaSM"))));
+		for (int i = 0; i < 2; i++) {
+			replaced.addSubmodelElement(createProperty("replaced" + i));
+		}
+
+		SubmodelValueDelta delta = replaced.getSubmodelValuesSince(version);
+		assertTrue(delta.isFullResync());
+		assertEquals(2, delta.getValues().size());
+	}
+
+	@Test
+	public void deltaIsAccessibleViaSubmodelProvider() {
+		long version = changeTrackingAPI.getSubmodelValuesSince(0).getVersion();
+		changeTrackingAPI.updateSubmodelElement(SECOND_ID, 5);
+
+		SubmodelProvider provider = new SubmodelProvider(changeTrackingAPI);
+		@SuppressWarnings("unchecked")
+		SubmodelValueDelta delta = SubmodelValueDelta.createAsFacade((Map<String, Object>) provider.getValue("/submodel/values?since=" + version));
+
+		assertEquals(version + 1, delta.getVersion());
+		assertEquals(Collections.singletonMap(SECOND_ID, 5), delta.getChanged());
+	}
+
+	@Test(expected = MalformedRequestException.class)
+	public void missingVersionIsRejected() {
+		new SubmodelProvider(changeTrackingAPI).getValue("/submodel/values?from=0");
+	}
+
+	private Property createProperty(String idShort) {
+		Property property = new Property(idShort, ValueType.Int32);
+		property.setValue(0);
+		return property;
+	}
+}
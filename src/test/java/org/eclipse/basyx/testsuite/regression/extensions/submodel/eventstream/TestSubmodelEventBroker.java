@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.extensions.submodel.eventstream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.eclipse.basyx.aas.metamodel.map.descriptor.CustomId;
+import org.eclipse.basyx.extensions.shared.authorization.internal.BaSyxObjectTargetInformation;
+import org.eclipse.basyx.extensions.shared.authorization.internal.InhibitException;
+import org.eclipse.basyx.extensions.shared.authorization.internal.PredefinedSetRbacRuleChecker;
+import org.eclipse.basyx.extensions.shared.authorization.internal.RbacRule;
+import org.eclipse.basyx.extensions.shared.authorization.internal.RbacRuleSet;
+import org.eclipse.basyx.extensions.submodel.authorization.SubmodelAPIScopes;
+import org.eclipse.basyx.extensions.submodel.authorization.internal.SimpleRbacSubmodelAPIAuthorizer;
+import org.eclipse.basyx.extensions.submodel.eventstream.EventStreamDecoratingSubmodelAPIFactory;
+import org.eclipse.basyx.extensions.submodel.eventstream.SubmodelAPIEventStreamAuthorizer;
+import org.eclipse.basyx.extensions.submodel.eventstream.SubmodelChangeEvent;
+import org.eclipse.basyx.extensions.submodel.eventstream.SubmodelChangeEvent.Type;
+import org.eclipse.basyx.extensions.submodel.eventstream.SubmodelEventBroker;
+import org.eclipse.basyx.extensions.submodel.eventstream.SubmodelEventSubscription;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.vab.VABSubmodelAPIFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the distribution, conflation and buffering of submodel change events
+ */
+public class TestSubmodelEventBroker {
+	private static final String SUBMODEL_ID = "eventSM";
+
+	private SubmodelEventBroker broker;
+	private ISubmodelAPI api;
+
+	@Before
+	public void setUp() {
+		Submodel submodel = new Submodel("eventSM", new CustomId(SUBMODEL_ID));
+		submodel.addSubmodelElement(new Property("prop", 0));
+		SubmodelElementCollection collection = new SubmodelElementCollection("collection");
+		collection.addSubmodelElement(new Property("nested", 0));
+		submodel.addSubmodelElement(collection);
+
+		broker = new SubmodelEventBroker();
+		api = new EventStreamDecoratingSubmodelAPIFactory(new VABSubmodelAPIFactory(), broker).create(submodel);
+	}
+
+	@Test
+	public void changesArePublished() {
+		SubmodelEventSubscription subscription = broker.subscribe(SUBMODEL_ID, null);
+
+		api.addSubmodelElement(new Property("added", 1));
+		api.updateSubmodelElement("prop", 5);
+		api.deleteSubmodelElement("added");
+
+		List<SubmodelChangeEvent> events = subscription.drain();
+		assertEquals(3, events.size());
+		assertEvent(events.get(0), Type.ADDED, "added");
+		assertEvent(events.get(1), Type.VALUE, "prop");
+		assertEquals(5, events.get(1).getValue());
+		assertEvent(events.get(2), Type.DELETED, "added");
+
+		assertTrue(subscription.drain().isEmpty());
+	}
+
+	@Test
+	public void pathPrefixRestrictsEvents() {
+		SubmodelEventSubscription collectionSubscription = broker.subscribe(SUBMODEL_ID, "/collection/");
+		SubmodelEventSubscription otherSubmodel = broker.subscribe("other", null);
+
+		api.updateSubmodelElement("prop", 1);
+		api.updateSubmodelElement("collection/nested", 2);
+		broker.publish(new SubmodelChangeEvent(Type.VALUE, SUBMODEL_ID, "collectionOther/x", 3));
+
+		List<SubmodelChangeEvent> events = collectionSubscription.drain();
+		assertEquals(1, events.size());
+		assertEvent(events.get(0), Type.VALUE, "collection/nested");
+		assertFalse(otherSubmodel.hasPending());
+	}
+
+	@Test
+	public void valueUpdatesAreConflated() {
+		SubmodelEventSubscription subscription = broker.subscribe(SUBMODEL_ID, null);
+
+		for (int i = 0; i < 10; i++) {
+			api.updateSubmodelElement("prop", i);
+		}
+		api.updateSubmodelElement("collection/nested", 1);
+		api.updateSubmodelElement("prop", 10);
+
+		List<SubmodelChangeEvent> events = subscription.drain();
+		assertEquals(2, events.size());
+		assertEvent(events.get(0), Type.VALUE, "collection/nested");
+		assertEvent(events.get(1), Type.VALUE, "prop");
+		assertEquals(10, events.get(1).getValue());
+		assertEquals(10, subscription.getConflatedCount());
+	}
+
+	@Test
+	public void conflationKeepsOrderOfStructuralChanges() {
+		SubmodelEventSubscription subscription = broker.subscribe(SUBMODEL_ID, null);
+
+		broker.publish(new SubmodelChangeEvent(Type.VALUE, SUBMODEL_ID, "x", 1));
+		broker.publish(new SubmodelChangeEvent(Type.DELETED, SUBMODEL_ID, "x", null));
+		broker.publish(new SubmodelChangeEvent(Type.ADDED, SUBMODEL_ID, "x", null));
+		broker.publish(new SubmodelChangeEvent(Type.VALUE, SUBMODEL_ID, "x", 2));
+
+		List<Type> types = subscription.drain().stream().map(SubmodelChangeEvent::getType).collect(Collectors.toList());
+		assertEquals(Arrays.asList(Type.DELETED, Type.ADDED, Type.VALUE), types);
+	}
+
+	@Test
+	public void overflowDropsOldestEvents() {
+		SubmodelEventSubscription subscription = broker.subscribe(SUBMODEL_ID, null, 3);
+
+		for (int i = 0; i < 5; i++) {
+			broker.publish(new SubmodelChangeEvent(Type.ADDED, SUBMODEL_ID, "element" + i, null));
+		}
+
+		List<SubmodelChangeEvent> events = subscription.drain();
+		assertEquals(4, events.size());
+		assertEquals(Type.OVERFLOW, events.get(0).getType());
+		assertEquals(2L, events.get(0).getValue());
+		assertEvent(events.get(1), Type.ADDED, "element2");
+		assertEvent(events.get(3), Type.ADDED, "element4");
+	}
+
+	@Test
+	public void unsubscribedReceivesNoEvents() {
+		SubmodelEventSubscription subscription = broker.subscribe(SUBMODEL_ID, null);
+		broker.unsubscribe(subscription);
+
+		api.updateSubmodelElement("prop", 1);
+		assertFalse(subscription.hasPending());
+		assertEquals(0, broker.getSubscriptionCount());
+	}
+
+	@Test
+	public void authorizerFiltersEventsPerSubscriber() throws InhibitException {
+		RbacRuleSet rules = new RbacRuleSet();
+		rules.addRule(new RbacRule("admin", SubmodelAPIScopes.READ_SCOPE, new BaSyxObjectTargetInformation("*", "*", "*", "*")));
+		rules.addRule(new RbacRule("reader", SubmodelAPIScopes.READ_SCOPE, new BaSyxObjectTargetInformation("*", SUBMODEL_ID, "*", "prop")));
+		SubmodelAPIEventStreamAuthorizer<String> authorizer = new SubmodelAPIEventStreamAuthorizer<>(new SimpleRbacSubmodelAPIAuthorizer<>(new PredefinedSetRbacRuleChecker(rules), Collections::singletonList), submodelId -> null);
+
+		Predicate<SubmodelChangeEvent> readerFilter = authorizer.authorizeSubscribe("reader", SUBMODEL_ID, "");
+		Predicate<SubmodelChangeEvent> adminFilter = authorizer.authorizeSubscribe("admin", SUBMODEL_ID, "");
+		SubmodelEventSubscription reader = broker.subscribe(SUBMODEL_ID, null, SubmodelEventBroker.DEFAULT_CAPACITY, readerFilter);
+		SubmodelEventSubscription admin = broker.subscribe(SUBMODEL_ID, null, SubmodelEventBroker.DEFAULT_CAPACITY, adminFilter);
+
+		api.updateSubmodelElement("prop", 1);
+		api.updateSubmodelElement("collection/nested", 2);
+
+		List<SubmodelChangeEvent> readerEvents = reader.drain();
+		assertEquals(1, readerEvents.size());
+		assertEvent(readerEvents.get(0), Type.VALUE, "prop");
+		assertEquals(2, admin.drain().size());
+	}
+
+	@Test(expected = InhibitException.class)
+	public void authorizerRejectsSubscriptionToForbiddenSubmodel() throws InhibitException {
+		RbacRuleSet rules = new RbacRuleSet();
+		rules.addRule(new RbacRule("reader", SubmodelAPIScopes.READ_SCOPE, new BaSyxObjectTargetInformation("*", SUBMODEL_ID, "*", "*")));
+		SubmodelAPIEventStreamAuthorizer<String> authorizer = new SubmodelAPIEventStreamAuthorizer<>(new SimpleRbacSubmodelAPIAuthorizer<>(new PredefinedSetRbacRuleChecker(rules), Collections::singletonList), submodelId -> null);
+
+		authorizer.authorizeSubscribe("reader", "other", "");
+	}
+
+	private void assertEvent(SubmodelChangeEvent event, Type type, String idShortPath) {
+		assertEquals(type, event.getType());
+		assertEquals(SUBMODEL_ID, event.getSubmodelId());
+		assertEquals(idShortPath, event.getIdShortPath());
+	}
+}
@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.extensions.submodel.eventstream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.basyx.extensions.shared.authorization.internal.BaSyxObjectTargetInformation;
+import org.eclipse.basyx.extensions.shared.authorization.internal.PredefinedSetRbacRuleChecker;
+import org.eclipse.basyx.extensions.shared.authorization.internal.RbacRule;
+import org.eclipse.basyx.extensions.shared.authorization.internal.RbacRuleSet;
+import org.eclipse.basyx.extensions.submodel.authorization.SubmodelAPIScopes;
+import org.eclipse.basyx.extensions.submodel.authorization.internal.SimpleRbacSubmodelAPIAuthorizer;
+import org.eclipse.basyx.extensions.submodel.eventstream.SubmodelAPIEventStreamAuthorizer;
+import org.eclipse.basyx.extensions.submodel.eventstream.SubmodelChangeEvent;
+import org.eclipse.basyx.extensions.submodel.eventstream.SubmodelChangeEvent.Type;
+import org.eclipse.basyx.extensions.submodel.eventstream.SubmodelEventBroker;
+import org.eclipse.basyx.extensions.submodel.eventstream.SubmodelEventStreamServlet;
+import org.eclipse.basyx.vab.modelprovider.VABPathTools;
+import org.eclipse.basyx.vab.protocol.http.server.BaSyxContext;
+import org.eclipse.basyx.vab.protocol.http.server.BaSyxHTTPServer;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests streaming submodel changes as Server-Sent Events
+ */
+public class TestSubmodelEventStreamHTTP {
+	private static final int PORT = 4072;
+	private static final String SUBMODEL_ID = "urn:test/eventSM#1";
+	private static final String URL = "http://localhost:" + PORT + "/basys.sdk/events/";
+	private static final String SECURED_URL = "http://localhost:" + PORT + "/basys.sdk/secured/";
+
+	private static SubmodelEventBroker broker = new SubmodelEventBroker();
+	private static SubmodelEventStreamServlet servlet = new SubmodelEventStreamServlet(broker, 16, 20, 500, 500);
+	private static SubmodelEventStreamServlet securedServlet = new SubmodelEventStreamServlet(broker, 16, 20, 500, 500);
+	private static BaSyxHTTPServer server;
+
+	@BeforeClass
+	public static void startServer() {
+		// Every request is made by a reader that may only read the "public" element
+		RbacRuleSet rules = new RbacRuleSet();
+		rules.addRule(new RbacRule("reader", SubmodelAPIScopes.READ_SCOPE, new BaSyxObjectTargetInformation("*", "securedSM", "*", "public")));
+		securedServlet.setAuthorizer(new SubmodelAPIEventStreamAuthorizer<>(new SimpleRbacSubmodelAPIAuthorizer<String>(new PredefinedSetRbacRuleChecker(rules), Collections::singletonList), submodelId -> null), () -> "reader");
+
+		BaSyxContext context = new BaSyxContext("/basys.sdk", "", "localhost", PORT);
+		context.addServletMapping("/events/*", servlet);
+		context.addServletMapping("/secured/*", securedServlet);
+		server = new BaSyxHTTPServer(context);
+		server.start();
+	}
+
+	@AfterClass
+	public static void stopServer() {
+		server.shutdown();
+	}
+
+	@Test
+	public void eventsAreStreamed() throws Exception {
+		int subscribers = broker.getSubscriptionCount();
+		HttpURLConnection connection = open(URL + VABPathTools.encodePathElement(SUBMODEL_ID) + "?path=collection");
+		assertEquals(200, connection.getResponseCode());
+		assertTrue(connection.getContentType().startsWith(SubmodelEventStreamServlet.MEDIA_TYPE));
+
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+			waitForSubscriber(subscribers + 1);
+			broker.publish(new SubmodelChangeEvent(Type.VALUE, SUBMODEL_ID, "other", 1));
+			broker.publish(new SubmodelChangeEvent(Type.ADDED, SUBMODEL_ID, "collection/prop", null));
+			broker.publish(new SubmodelChangeEvent(Type.VALUE, SUBMODEL_ID, "collection/prop", 42));
+
+			List<String> first = readEvent(reader);
+			assertEquals("event: added", first.get(1));
+			assertTrue(first.get(2).contains("\"idShortPath\":\"collection/prop\""));
+
+			List<String> second = readEvent(reader);
+			assertEquals("event: value", second.get(1));
+			assertTrue(second.get(2).contains("\"value\":42"));
+		} finally {
+			connection.disconnect();
+		}
+	}
+
+	@Test
+	public void unauthorizedSubscriptionIsRejected() throws IOException {
+		HttpURLConnection connection = open(SECURED_URL + "otherSM");
+		assertEquals(403, connection.getResponseCode());
+		connection.disconnect();
+	}
+
+	@Test
+	public void unauthorizedEventsAreFiltered() throws Exception {
+		int subscribers = broker.getSubscriptionCount();
+		HttpURLConnection connection = open(SECURED_URL + "securedSM");
+		assertEquals(200, connection.getResponseCode());
+
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+			waitForSubscriber(subscribers + 1);
+			broker.publish(new SubmodelChangeEvent(Type.VALUE, "securedSM", "secret", 1));
+			broker.publish(new SubmodelChangeEvent(Type.VALUE, "securedSM", "public", 2));
+
+			List<String> event = readEvent(reader);
+			assertTrue(event.get(2).contains("\"idShortPath\":\"public\""));
+		} finally {
+			connection.disconnect();
+		}
+	}
+
+	@Test
+	public void subscriptionIsRemovedOnDisconnect() throws Exception {
+		int subscribers = broker.getSubscriptionCount();
+		HttpURLConnection connection = open(URL + "disconnecting");
+		assertEquals(200, connection.getResponseCode());
+		waitForSubscriber(subscribers + 1);
+		connection.getInputStream().close();
+		connection.disconnect();
+
+		// The disconnect is detected on the next write, at the latest with the heartbeat
+		long deadline = System.currentTimeMillis() + 5000;
+		while (servlet.getSubscriberCount() > subscribers && System.currentTimeMillis() < deadline) {
+			broker.publish(new SubmodelChangeEvent(Type.VALUE, "disconnecting", "x", 1));
+			Thread.sleep(50);
+		}
+		assertEquals(subscribers, servlet.getSubscriberCount());
+	}
+
+	@Test
+	public void slowSubscriberIsDropped() throws Exception {
+		int subscribers = broker.getSubscriptionCount();
+		HttpURLConnection slow = open(URL + "slow");
+		assertEquals(200, slow.getResponseCode());
+		waitForSubscriber(subscribers + 1);
+
+		try {
+			// The slow subscriber never reads, so its connection stalls once the socket
+			// buffers are full
+			String payload = String.join("", Collections.nCopies(64 * 1024, "x"));
+			long deadline = System.currentTimeMillis() + 20000;
+			int i = 0;
+			while (servlet.getSubscriberCount() > subscribers && System.currentTimeMillis() < deadline) {
+				broker.publish(new SubmodelChangeEvent(Type.VALUE, "slow", "x" + (i++), payload));
+				Thread.sleep(1);
+			}
+			assertEquals(subscribers, servlet.getSubscriberCount());
+		} finally {
+			slow.disconnect();
+		}
+	}
+
+	@Test
+	public void missingSubmodelIdIsRejected() throws IOException {
+		HttpURLConnection connection = open(URL);
+		assertEquals(400, connection.getResponseCode());
+	}
+
+	private HttpURLConnection open(String url) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+		connection.setReadTimeout(5000);
+		return connection;
+	}
+
+	private void waitForSubscriber(int count) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (broker.getSubscriptionCount() < count && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+	}
+
+	private List<String> readEvent(BufferedReader reader) throws IOException {
+		List<String> lines = new ArrayList<>();
+		String line;
+		while ((line = reader.readLine()) != null) {
+			if (line.startsWith(":")) {
+				continue;
+			}
+			if (line.isEmpty()) {
+				if (!lines.isEmpty()) {
+					return lines;
+				}
+				continue;
+			}
+			lines.add(line);
+		}
+		return lines;
+	}
+}
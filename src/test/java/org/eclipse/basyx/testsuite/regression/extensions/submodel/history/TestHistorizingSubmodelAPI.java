@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.extensions.submodel.history;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.basyx.aas.metamodel.map.descriptor.CustomId;
+import org.eclipse.basyx.extensions.submodel.history.HistorizingSubmodelAPI;
+import org.eclipse.basyx.extensions.submodel.history.PropertyValueHistory;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.valuetype.ValueType;
+import org.eclipse.basyx.submodel.restapi.SubmodelProvider;
+import org.eclipse.basyx.submodel.restapi.vab.VABSubmodelAPIFactory;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaProviderHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the value history recorded by {@link HistorizingSubmodelAPI}
+ */
+public class TestHistorizingSubmodelAPI {
+	private static final String HISTORIZED_ID = "historized";
+	private static final String PLAIN_ID = "plain";
+	private static final String COLLECTION_ID = "collection";
+
+	private HistorizingSubmodelAPI historizingAPI;
+
+	@Before
+	public void setUp() {
+		Submodel submodel = new Submodel("historySM", new CustomId("historySM"));
+
+		Property historized = new Property(HISTORIZED_ID, ValueType.Double);
+		historized.setValue(0.0);
+		historized.setQualifiers(Collections.singleton(HistorizingSubmodelAPI.createHistoryQualifier(3)));
+		submodel.addSubmodelElement(historized);
+
+		Property plain = new Property(PLAIN_ID, ValueType.Int32);
+		plain.setValue(0);
+		submodel.addSubmodelElement(plain);
+
+		SubmodelElementCollection collection = new SubmodelElementCollection(COLLECTION_ID);
+		Property nested = new Property(HISTORIZED_ID, ValueType.Int32);
+		nested.setValue(0);
+		nested.setQualifiers(Collections.singleton(HistorizingSubmodelAPI.createHistoryQualifier(10)));
+		collection.addSubmodelElement(nested);
+		submodel.addSubmodelElement(collection);
+
+		historizingAPI = new HistorizingSubmodelAPI(new VABSubmodelAPIFactory().create(submodel));
+	}
+
+	@Test
+	public void updatedValuesAreRecordedUpToCapacity() {
+		for (int i = 1; i <= 5; i++) {
+			historizingAPI.updateSubmodelElement(HISTORIZED_ID, (double) i);
+		}
+
+		Map<String, Object> history = getRawHistory(HISTORIZED_ID);
+
+		assertArrayEquals(new double[] { 3, 4, 5 }, (double[]) history.get(PropertyValueHistory.VALUES), 0);
+		assertEquals(3, ((long[]) history.get(PropertyValueHistory.TIMESTAMPS)).length);
+	}
+
+	@Test
+	public void nestedPropertyIsRecorded() {
+		String nestedPath = COLLECTION_ID + "/" + HISTORIZED_ID;
+		historizingAPI.updateSubmodelElement(nestedPath, 7);
+
+		assertArrayEquals(new double[] { 7 }, (double[]) getRawHistory(nestedPath).get(PropertyValueHistory.VALUES), 0);
+	}
+
+	@Test(expected = ResourceNotFoundException.class)
+	public void propertyWithoutQualifierHasNoHistory() {
+		historizingAPI.updateSubmodelElement(PLAIN_ID, 1);
+		getRawHistory(PLAIN_ID);
+	}
+
+	@Test(expected = ResourceNotFoundException.class)
+	public void historyIsDroppedOnDelete() {
+		historizingAPI.deleteSubmodelElement(HISTORIZED_ID);
+		getRawHistory(HISTORIZED_ID);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void historyIsAccessibleViaSubmodelProvider() {
+		historizingAPI.updateSubmodelElement(HISTORIZED_ID, 2.0);
+		historizingAPI.updateSubmodelElement(HISTORIZED_ID, 4.0);
+
+		SubmodelProvider provider = new SubmodelProvider(historizingAPI);
+		Map<String, Object> aggregates = (Map<String, Object>) provider.getValue("/submodel/submodelElements/" + HISTORIZED_ID + "/history?buckets=1");
+
+		assertArrayEquals(new double[] { 2 }, (double[]) aggregates.get(PropertyValueHistory.MIN), 0);
+		assertArrayEquals(new double[] { 4 }, (double[]) aggregates.get(PropertyValueHistory.MAX), 0);
+		assertArrayEquals(new double[] { 3 }, (double[]) aggregates.get(PropertyValueHistory.AVERAGE), 0);
+		assertArrayEquals(new int[] { 2 }, (int[]) aggregates.get(PropertyValueHistory.COUNT));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void elementNamedHistoryIsReachable() {
+		historizingAPI.addSubmodelElement(COLLECTION_ID + "/history", new Property("history", 5));
+
+		SubmodelProvider provider = new SubmodelProvider(historizingAPI);
+		Map<String, Object> element = (Map<String, Object>) provider.getValue("/submodel/submodelElements/" + COLLECTION_ID + "/history");
+		assertEquals(5, element.get(Property.VALUE));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void dynamicValueIsSampled() {
+		AtomicInteger dynamicValue = new AtomicInteger();
+		HistorizingSubmodelAPI api = new HistorizingSubmodelAPI(new VABSubmodelAPIFactory().create(createDynamicSubmodel(dynamicValue)));
+
+		dynamicValue.set(4);
+		api.sampleValues();
+		dynamicValue.set(6);
+		api.sampleValues();
+
+		Map<String, Object> history = (Map<String, Object>) api.getSubmodelElementHistory(HISTORIZED_ID, Long.MIN_VALUE, Long.MAX_VALUE, 0);
+		assertArrayEquals(new double[] { 4, 6 }, (double[]) history.get(PropertyValueHistory.VALUES), 0);
+	}
+
+	@Test
+	public void dynamicValueIsSampledPeriodically() throws InterruptedException {
+		AtomicInteger dynamicValue = new AtomicInteger(3);
+		ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+		HistorizingSubmodelAPI api = new HistorizingSubmodelAPI(new VABSubmodelAPIFactory().create(createDynamicSubmodel(dynamicValue)), sampler, 10);
+
+		try {
+			long deadline = System.currentTimeMillis() + 5000;
+			while (getValueCount(api) < 2 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+			assertEquals(2, getValueCount(api));
+		} finally {
+			api.close();
+			sampler.shutdownNow();
+		}
+	}
+
+	@Test
+	public void aggregatesAreComputedPerBucket() {
+		PropertyValueHistory history = new PropertyValueHistory(10);
+		history.add(0, 1);
+		history.add(1, 3);
+		history.add(10, 5);
+		history.add(11, 7);
+
+		Map<String, Object> aggregates = history.getAggregates(Long.MIN_VALUE, Long.MAX_VALUE, 2);
+
+		assertArrayEquals(new long[] { 0, 6 }, (long[]) aggregates.get(PropertyValueHistory.TIMESTAMPS));
+		assertArrayEquals(new double[] { 2, 6 }, (double[]) aggregates.get(PropertyValueHistory.AVERAGE), 0);
+	}
+
+	@Test
+	public void rangeIsFiltered() {
+		PropertyValueHistory history = new PropertyValueHistory(10);
+		history.add(0, 1);
+		history.add(5, 2);
+		history.add(10, 3);
+
+		Map<String, Object> range = history.getRange(1, 10);
+
+		assertArrayEquals(new long[] { 5, 10 }, (long[]) range.get(PropertyValueHistory.TIMESTAMPS));
+		assertArrayEquals(new double[] { 2, 3 }, (double[]) range.get(PropertyValueHistory.VALUES), 0);
+	}
+
+	private Submodel createDynamicSubmodel(AtomicInteger dynamicValue) {
+		Submodel submodel = new Submodel("dynamicSM", new CustomId("dynamicSM"));
+		Property dynamic = new Property(HISTORIZED_ID, ValueType.Int32);
+		dynamic.set(VABLambdaProviderHelper.createSimple(dynamicValue::get, null), ValueType.Int32);
+		dynamic.setQualifiers(Collections.singleton(HistorizingSubmodelAPI.createHistoryQualifier(2)));
+		submodel.addSubmodelElement(dynamic);
+		return submodel;
+	}
+
+	@SuppressWarnings("unchecked")
+	private int getValueCount(HistorizingSubmodelAPI api) {
+		Map<String, Object> history = (Map<String, Object>) api.getSubmodelElementHistory(HISTORIZED_ID, Long.MIN_VALUE, Long.MAX_VALUE, 0);
+		return ((double[]) history.get(PropertyValueHistory.VALUES)).length;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> getRawHistory(String idShortPath) {
+		return (Map<String, Object>) historizingAPI.getSubmodelElementHistory(idShortPath, Long.MIN_VALUE, Long.MAX_VALUE, 0);
+	}
+}
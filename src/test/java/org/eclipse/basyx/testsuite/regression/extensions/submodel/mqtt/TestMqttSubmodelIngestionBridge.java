@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.extensions.submodel.mqtt;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.basyx.extensions.submodel.mqtt.MqttSubmodelIngestionBridge;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.vab.VABSubmodelAPIFactory;
+import org.eclipse.paho.client.mqttv3.MqttClient;
+import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.eclipse.paho.client.mqttv3.MqttMessage;
+import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import io.moquette.broker.Server;
+import io.moquette.broker.config.ClasspathResourceLoader;
+import io.moquette.broker.config.IConfig;
+import io.moquette.broker.config.IResourceLoader;
+import io.moquette.broker.config.ResourceLoaderConfig;
+
+/**
+ * Tests the {@link MqttSubmodelIngestionBridge}
+ */
+public class TestMqttSubmodelIngestionBridge {
+	private static final String SERVER_URI = "tcp://localhost:1884";
+
+	private static Server mqttBroker;
+
+	private ISubmodelAPI submodelAPI;
+	private MqttClient bridgeClient;
+	private MqttClient publisher;
+	private MqttSubmodelIngestionBridge bridge;
+
+	@BeforeClass
+	public static void startMqttBroker() throws IOException {
+		mqttBroker = new Server();
+		IResourceLoader classpathLoader = new ClasspathResourceLoader();
+		final IConfig classPathConfig = new ResourceLoaderConfig(classpathLoader);
+		mqttBroker.startServer(classPathConfig);
+	}
+
+	@AfterClass
+	public static void stopMqttBroker() {
+		mqttBroker.stopServer();
+	}
+
+	@Before
+	public void setUp() throws MqttException {
+		Submodel submodel = new Submodel("sensors", new Identifier(IdentifierType.CUSTOM, "sensorsId"));
+		submodel.addSubmodelElement(new Property("status", "unknown"));
+		SubmodelElementCollection temperatures = new SubmodelElementCollection("temperatures");
+		temperatures.addSubmodelElement(new Property("m1", 0.0));
+		temperatures.addSubmodelElement(new Property("m2", 0.0));
+		submodel.addSubmodelElement(temperatures);
+		submodelAPI = new VABSubmodelAPIFactory().getSubmodelAPI(submodel);
+
+		bridgeClient = new MqttClient(SERVER_URI, "ingestionBridge", new MemoryPersistence());
+		publisher = new MqttClient(SERVER_URI, "ingestionPublisher", new MemoryPersistence());
+		publisher.connect();
+
+		bridge = new MqttSubmodelIngestionBridge(submodelAPI, bridgeClient);
+		bridge.addTopicMapping("plant/+/temperature", "temperatures");
+		bridge.addTopicMapping("plant/status", "/status/");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		bridge.close();
+		publisher.disconnect();
+		bridgeClient.disconnect();
+	}
+
+	@Test
+	public void publishedValuesAreWritten() throws Exception {
+		bridge.start();
+
+		publisher.publish("plant/m1/temperature", new MqttMessage("21.5".getBytes()));
+		publisher.publish("plant/m2/temperature", new MqttMessage("23.0".getBytes()));
+		publisher.publish("plant/status", new MqttMessage("\"running\"".getBytes()));
+
+		awaitAppliedCount(3);
+		assertEquals(21.5, submodelAPI.getSubmodelElementValue("temperatures/m1"));
+		assertEquals(23.0, submodelAPI.getSubmodelElementValue("temperatures/m2"));
+		assertEquals("running", submodelAPI.getSubmodelElementValue("status"));
+	}
+
+	@Test
+	public void valuesOfTheSamePathAreConflated() throws Exception {
+		// Values received before the bridge is started are buffered
+		for (int i = 0; i < 100; i++) {
+			bridge.messageArrived("plant/m1/temperature", new MqttMessage(Integer.toString(i).getBytes()));
+		}
+		bridge.messageArrived("plant/status", new MqttMessage("idle".getBytes()));
+
+		bridge.start();
+		bridge.flush();
+
+		assertEquals(101, bridge.getReceivedCount());
+		assertEquals(2, bridge.getAppliedCount());
+		assertEquals(99.0, submodelAPI.getSubmodelElementValue("temperatures/m1"));
+		assertEquals("idle", submodelAPI.getSubmodelElementValue("status"));
+	}
+
+	@Test
+	public void unknownValuesDoNotStopIngestion() throws Exception {
+		bridge.start();
+
+		bridge.messageArrived("plant/unmapped", new MqttMessage("1".getBytes()));
+		bridge.messageArrived("plant/m3/temperature", new MqttMessage("1".getBytes()));
+		bridge.messageArrived("plant/m1/temperature", new MqttMessage("42".getBytes()));
+		bridge.flush();
+
+		assertEquals(2, bridge.getReceivedCount());
+		assertEquals(1, bridge.getAppliedCount());
+		assertEquals(42.0, submodelAPI.getSubmodelElementValue("temperatures/m1"));
+	}
+
+	@Test
+	public void customPayloadDecoder() throws Exception {
+		bridge.setPayloadDecoder(payload -> "decoded-" + new String(payload));
+		bridge.start();
+
+		bridge.messageArrived("plant/status", new MqttMessage("raw".getBytes()));
+		bridge.flush();
+
+		assertEquals("decoded-raw", submodelAPI.getSubmodelElementValue("status"));
+	}
+
+	@Test
+	public void bufferedValuesAreAppliedAsOneBatch() throws Exception {
+		ISubmodelAPI spiedAPI = Mockito.spy(submodelAPI);
+		bridge = new MqttSubmodelIngestionBridge(spiedAPI, bridgeClient);
+		bridge.addTopicMapping("plant/+/temperature", "temperatures");
+		bridge.addTopicMapping("plant/status", "/status/");
+
+		bridge.messageArrived("plant/m1/temperature", new MqttMessage("1".getBytes()));
+		bridge.messageArrived("plant/m2/temperature", new MqttMessage("2".getBytes()));
+		bridge.messageArrived("plant/status", new MqttMessage("\"batched\"".getBytes()));
+		bridge.start();
+		bridge.flush();
+
+		assertEquals(3, bridge.getAppliedCount());
+		assertEquals("batched", submodelAPI.getSubmodelElementValue("status"));
+		Mockito.verify(spiedAPI, Mockito.times(1)).updateSubmodelElements(Mockito.anyMap());
+	}
+
+	@Test
+	public void subscriptionsAreRestoredAfterReconnect() throws Exception {
+		publisher.disconnect();
+		MqttConnectOptions options = new MqttConnectOptions();
+		options.setAutomaticReconnect(true);
+		options.setCleanSession(true);
+		bridgeClient.connect(options);
+		bridge.start();
+
+		mqttBroker.stopServer();
+		startMqttBroker();
+		publisher.connect();
+
+		// Publishes until the bridge subscribed again
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (bridge.getAppliedCount() == 0 && System.nanoTime() < deadline) {
+			publisher.publish("plant/status", new MqttMessage("\"reconnected\"".getBytes()));
+			Thread.sleep(100);
+		}
+		bridge.flush();
+
+		assertEquals("reconnected", submodelAPI.getSubmodelElementValue("status"));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void addMappingAfterStart() throws MqttException {
+		bridge.start();
+		bridge.addTopicMapping("plant/pressure", "pressure");
+	}
+
+	private void awaitAppliedCount(long count) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (bridge.getAppliedCount() < count && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		bridge.flush();
+	}
+}
@@ -26,12 +26,18 @@ package org.eclipse.basyx.testsuite.regression.submodel.metamodel.facade;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.basyx.aas.metamodel.map.descriptor.ModelUrn;
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
@@ -102,6 +108,30 @@ public class TestSubmodelElementMapCollectionConverter {
 		assertTrue(convertedSMCValue instanceof List<?>);
 	}
 
+	@SuppressWarnings("unchecked")
+	@Test
+	public void nestedSMCFacadesCreatedOnAccess() {
+		SubmodelElementCollection inner = new SubmodelElementCollection("inner");
+		inner.addSubmodelElement(new Property(ID_SHORT, ValueType.String));
+		SubmodelElementCollection outer = new SubmodelElementCollection("outer");
+		outer.addSubmodelElement(inner);
+
+		// Make a Map from the SMC, as if it was transferred over the VAB
+		Map<String, Object> map = TypeDestroyer.destroyType(SubmodelElementMapCollectionConverter.smElementToMap(outer));
+		Map<String, Object> innerMap = ((List<Map<String, Object>>) map.get(Property.VALUE)).get(0);
+
+		SubmodelElementCollection smc = SubmodelElementCollection.createAsFacade(map);
+
+		// The inner collection is not converted before it is accessed
+		assertTrue(innerMap.get(Property.VALUE) instanceof List<?>);
+
+		ISubmodelElement innerFacade = smc.getSubmodelElement("inner");
+		assertTrue(innerFacade instanceof SubmodelElementCollection);
+		assertTrue(innerMap.get(Property.VALUE) instanceof Map<?, ?>);
+		assertTrue(((SubmodelElementCollection) innerFacade).getSubmodelElement(ID_SHORT) instanceof Property);
+		assertEquals(1, smc.getValue().size());
+	}
+
 	private Entity createTestEntityWithSMCAsStatement() {
 		Entity entity = new Entity("entity", EntityType.COMANAGEDENTITY);
 
@@ -117,6 +147,45 @@ public class TestSubmodelElementMapCollectionConverter {
 		return entity;
 	}
 
+	@Test
+	public void concurrentAccessReturnsFacades() throws Exception {
+		SubmodelElementCollection outer = new SubmodelElementCollection("outer");
+		for (int i = 0; i < 100; i++) {
+			outer.addSubmodelElement(new Property(ID_SHORT + i, ValueType.String));
+		}
+		Map<String, Object> map = TypeDestroyer.destroyType(SubmodelElementMapCollectionConverter.smElementToMap(outer));
+		SubmodelElementCollection smc = SubmodelElementCollection.createAsFacade(map);
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Object>> results = new ArrayList<>();
+			for (int i = 0; i < 800; i++) {
+				String idShort = ID_SHORT + (i % 100);
+				results.add(executor.submit(() -> smc.getSubmodelElements().get(idShort)));
+			}
+			for (Future<Object> result : results) {
+				assertTrue(result.get() instanceof Property);
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void putAllReplacesUnwrappedElements() {
+		SubmodelElementCollection outer = new SubmodelElementCollection("outer");
+		outer.addSubmodelElement(new Property(ID_SHORT, ValueType.String));
+		Map<String, Object> map = TypeDestroyer.destroyType(SubmodelElementMapCollectionConverter.smElementToMap(outer));
+		SubmodelElementCollection smc = SubmodelElementCollection.createAsFacade(map);
+
+		Property replacement = new Property(ID_SHORT, ValueType.Integer);
+		Map<String, ISubmodelElement> replacements = new HashMap<>();
+		replacements.put(ID_SHORT, replacement);
+		smc.getSubmodelElements().putAll(replacements);
+
+		assertSame(replacement, smc.getSubmodelElements().get(ID_SHORT));
+	}
+
 	private Submodel getSM() {
 		Submodel sm = new Submodel("submodelIdShort", new ModelUrn("submodelUrn"));
 		Property property = new Property(ID_SHORT, ValueType.String);
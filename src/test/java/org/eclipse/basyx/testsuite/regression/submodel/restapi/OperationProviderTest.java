@@ -27,6 +27,10 @@ package org.eclipse.basyx.testsuite.regression.submodel.restapi;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -35,20 +39,27 @@ import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
 import org.eclipse.basyx.submodel.metamodel.api.qualifier.haskind.ModelingKind;
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOperationVariable;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
 import org.eclipse.basyx.submodel.metamodel.map.qualifier.qualifiable.Qualifier;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.Operation;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.OperationVariable;
 import org.eclipse.basyx.submodel.restapi.OperationProvider;
+import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
 import org.eclipse.basyx.submodel.restapi.operation.CallbackResponse;
 import org.eclipse.basyx.submodel.restapi.operation.DelegatedInvocationManager;
 import org.eclipse.basyx.submodel.restapi.operation.InvocationRequest;
 import org.eclipse.basyx.submodel.restapi.operation.InvocationResponse;
+import org.eclipse.basyx.submodel.restapi.vab.VABSubmodelAPIFactory;
 import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
 import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaProvider;
+import org.eclipse.basyx.vab.protocol.api.ConnectorFactory;
 import org.eclipse.basyx.vab.protocol.http.server.BaSyxContext;
 import org.eclipse.basyx.vab.protocol.http.server.BaSyxHTTPServer;
 import org.eclipse.basyx.vab.protocol.http.server.VABHTTPInterface;
@@ -274,6 +285,34 @@ public class OperationProviderTest {
 		server.shutdown();
 	}
 
+	@Test
+	public void invocationDelegationUsesGivenConnectorFactory() {
+		IModelProvider delegationTarget = mock(IModelProvider.class);
+		when(delegationTarget.invokeOperation(eq(""), any(Object[].class))).thenReturn(42);
+		ConnectorFactory connectorFactory = new ConnectorFactory() {
+			@Override
+			protected IModelProvider createProvider(String addr) {
+				return delegationTarget;
+			}
+		};
+
+		Operation delegatedOperation = createOperation("delegatedOperation", null, null, null);
+		delegatedOperation.setQualifiers(Arrays.asList(DelegatedInvocationManager.createDelegationQualifier(API_INVOKE_URL)));
+		SubmodelElementCollection collection = new SubmodelElementCollection("collection");
+		collection.addSubmodelElement(delegatedOperation);
+		Submodel submodel = new Submodel("delegationSM", new Identifier(IdentifierType.CUSTOM, "delegationSM"));
+		submodel.addSubmodelElement(collection);
+
+		VABSubmodelAPIFactory apiFactory = new VABSubmodelAPIFactory(null, connectorFactory);
+		ISubmodelAPI api = apiFactory.create(submodel);
+
+		assertEquals(42, api.invokeOperation("collection/delegatedOperation"));
+		assertEquals(1, connectorFactory.getCachedConnectorCount());
+
+		apiFactory.close();
+		assertEquals(0, connectorFactory.getCachedConnectorCount());
+	}
+
 	@SuppressWarnings("unchecked")
 	private Collection<IOperationVariable> invokeSync(OperationProvider provider, InvocationRequest request) {
 		InvocationResponse response = InvocationResponse.createAsFacade((Map<String, Object>) provider.invokeOperation("invoke", request));
@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.submodel.restapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.eclipse.basyx.submodel.metamodel.api.qualifier.haskind.ModelingKind;
+import org.eclipse.basyx.submodel.metamodel.map.qualifier.qualifiable.Qualifier;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.valuetype.ValueType;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.Operation;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.OperationVariable;
+import org.eclipse.basyx.submodel.restapi.OperationProvider;
+import org.eclipse.basyx.submodel.restapi.operation.CallbackResponse;
+import org.eclipse.basyx.submodel.restapi.operation.ExecutionState;
+import org.eclipse.basyx.submodel.restapi.operation.InvocationAdmissionManager;
+import org.eclipse.basyx.submodel.restapi.operation.InvocationResponse;
+import org.eclipse.basyx.submodel.restapi.operation.OperationBulkhead;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+import org.eclipse.basyx.vab.exception.provider.ServiceUnavailableException;
+import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaProvider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the bulkheading of operation invocations by the
+ * {@link InvocationAdmissionManager}
+ * 
+ */
+public class TestInvocationAdmission {
+	private static final String BULKHEAD = "testBulkhead";
+
+	private CountDownLatch started;
+	private CountDownLatch release;
+
+	@Before
+	public void setUp() {
+		InvocationAdmissionManager.reset();
+		started = new CountDownLatch(1);
+		release = new CountDownLatch(1);
+	}
+
+	@After
+	public void tearDown() {
+		release.countDown();
+		InvocationAdmissionManager.reset();
+	}
+
+	@Test
+	public void saturatedBulkheadRejects() throws Exception {
+		InvocationAdmissionManager.registerBulkhead(BULKHEAD, 1, 0);
+		OperationProvider provider = createProvider(createBlockingOperation("blocking"));
+
+		CompletableFuture<Object> running = CompletableFuture.supplyAsync(() -> provider.invokeOperation("invoke"));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		try {
+			provider.invokeOperation("invoke");
+			fail();
+		} catch (ServiceUnavailableException expected) {
+		}
+
+		release.countDown();
+		assertEquals(5, running.get(5, TimeUnit.SECONDS));
+
+		Map<String, Object> metrics = InvocationAdmissionManager.getMetrics().get(BULKHEAD);
+		assertEquals(1L, metrics.get(OperationBulkhead.REJECTED));
+		assertEquals(1L, metrics.get(OperationBulkhead.COMPLETED));
+		assertEquals(0, metrics.get(OperationBulkhead.RUNNING));
+	}
+
+	@Test
+	public void queuedInvocationRunsAfterRelease() throws Exception {
+		OperationBulkhead bulkhead = InvocationAdmissionManager.registerBulkhead(BULKHEAD, 1, 1);
+		OperationProvider provider = createProvider(createBlockingOperation("blocking"));
+
+		CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> provider.invokeOperation("invoke"));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		CompletableFuture<Object> second = CompletableFuture.supplyAsync(() -> provider.invokeOperation("invoke"));
+
+		waitForQueued(bulkhead, 1);
+		assertEquals(1, bulkhead.getRunning());
+
+		release.countDown();
+		assertEquals(5, first.get(5, TimeUnit.SECONDS));
+		assertEquals(5, second.get(5, TimeUnit.SECONDS));
+		assertEquals(2, bulkhead.getCompleted());
+		assertEquals(0, bulkhead.getQueued());
+	}
+
+	@Test
+	public void operationsShareSubmodelBulkhead() throws Exception {
+		InvocationAdmissionManager.registerBulkhead("submodel", 1, 0);
+		Operation blocking = createBlockingOperation("blocking");
+		blocking.setQualifiers(Collections.singleton(InvocationAdmissionManager.createBulkheadQualifier("submodel")));
+		Operation other = createBlockingOperation("other");
+		other.setQualifiers(Collections.singleton(InvocationAdmissionManager.createBulkheadQualifier("submodel")));
+
+		OperationProvider blockingProvider = createProvider(blocking);
+		CompletableFuture.supplyAsync(() -> blockingProvider.invokeOperation("invoke"));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		try {
+			createProvider(other).invokeOperation("invoke");
+			fail();
+		} catch (ServiceUnavailableException expected) {
+		}
+	}
+
+	@Test
+	public void asyncInvocationUsesTimeoutQualifier() throws Exception {
+		Operation operation = createBlockingOperation("blocking");
+		operation.setQualifiers(Collections.singleton(InvocationAdmissionManager.createTimeoutQualifier(100)));
+		operation.setOutputVariables(Collections.singleton(new OperationVariable(createOutputProperty())));
+		OperationProvider provider = createProvider(operation);
+
+		CallbackResponse callback = (CallbackResponse) provider.invokeOperation("invoke?async=true");
+		InvocationResponse response = waitForResult(provider, callback.getRequestId());
+		assertEquals(ExecutionState.TIMEOUT, response.getExecutionState());
+	}
+
+	@Test
+	public void asyncInvocationIsBulkheaded() throws Exception {
+		OperationBulkhead bulkhead = InvocationAdmissionManager.registerBulkhead(BULKHEAD, 1, 1);
+		Operation operation = createBlockingOperation("blocking");
+		operation.setOutputVariables(Collections.singleton(new OperationVariable(createOutputProperty())));
+		OperationProvider provider = createProvider(operation);
+
+		CallbackResponse first = (CallbackResponse) provider.invokeOperation("invoke?async=true");
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		CallbackResponse second = (CallbackResponse) provider.invokeOperation("invoke?async=true");
+		waitForQueued(bulkhead, 1);
+
+		try {
+			provider.invokeOperation("invoke?async=true");
+			fail();
+		} catch (ServiceUnavailableException expected) {
+		}
+
+		release.countDown();
+		assertEquals(ExecutionState.COMPLETED, waitForResult(provider, first.getRequestId()).getExecutionState());
+		assertEquals(ExecutionState.COMPLETED, waitForResult(provider, second.getRequestId()).getExecutionState());
+		assertEquals(1, bulkhead.getRejected());
+	}
+
+	@Test
+	public void invalidTimeoutDoesNotOccupyBulkhead() {
+		OperationBulkhead bulkhead = InvocationAdmissionManager.registerBulkhead(BULKHEAD, 1, 0);
+		Operation operation = new Operation("invalidTimeout");
+		operation.setInvokable((Function<Object[], Object>) v -> 3);
+		operation.setQualifiers(Arrays.asList(InvocationAdmissionManager.createBulkheadQualifier(BULKHEAD), new Qualifier(InvocationAdmissionManager.TIMEOUT_TYPE, "soon", ValueType.String, null)));
+
+		OperationProvider provider = createProvider(operation);
+		for (String path : Arrays.asList("invoke", "invoke?async=true")) {
+			try {
+				provider.invokeOperation(path);
+				fail();
+			} catch (MalformedRequestException e) {
+				// expected
+			}
+		}
+
+		assertEquals(0, bulkhead.getQueued());
+		assertEquals(0, bulkhead.getRunning());
+	}
+
+	@Test
+	public void operationWithoutBulkheadIsNotLimited() {
+		Operation operation = new Operation("simple");
+		operation.setInvokable((Function<Object[], Object>) v -> 3);
+
+		assertEquals(3, createProvider(operation).invokeOperation("invoke"));
+		assertTrue(InvocationAdmissionManager.getMetrics().isEmpty());
+	}
+
+	private Operation createBlockingOperation(String idShort) {
+		Operation operation = new Operation(idShort);
+		operation.setInvokable((Function<Object[], Object>) v -> {
+			started.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return 5;
+		});
+		operation.setQualifiers(Collections.singleton(InvocationAdmissionManager.createBulkheadQualifier(BULKHEAD)));
+		return operation;
+	}
+
+	private Property createOutputProperty() {
+		Property output = new Property("output", ValueType.Int32);
+		output.setKind(ModelingKind.TEMPLATE);
+		return output;
+	}
+
+	private OperationProvider createProvider(Operation operation) {
+		return new OperationProvider(new VABLambdaProvider(operation));
+	}
+
+	private void waitForQueued(OperationBulkhead bulkhead, int expected) throws InterruptedException {
+		for (int i = 0; i < 500 && bulkhead.getQueued() != expected; i++) {
+			Thread.sleep(10);
+		}
+		assertEquals(expected, bulkhead.getQueued());
+	}
+
+	@SuppressWarnings("unchecked")
+	private InvocationResponse waitForResult(OperationProvider provider, String requestId) throws InterruptedException {
+		for (int i = 0; i < 500; i++) {
+			InvocationResponse response = InvocationResponse.createAsFacade((Map<String, Object>) provider.getValue("/invocationList/" + requestId));
+			if (response.getExecutionState() != ExecutionState.INITIATED && response.getExecutionState() != ExecutionState.RUNNING) {
+				return response;
+			}
+			Thread.sleep(10);
+		}
+		fail("Invocation " + requestId + " did not finish");
+		return null;
+	}
+}
@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.submodel.restapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.eclipse.basyx.aas.metamodel.map.descriptor.CustomId;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
+import org.eclipse.basyx.submodel.metamodel.api.reference.enums.KeyElements;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
+import org.eclipse.basyx.submodel.metamodel.connected.ConnectedSubmodel;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.reference.Key;
+import org.eclipse.basyx.submodel.metamodel.map.reference.Reference;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.restapi.MultiSubmodelElementProvider;
+import org.eclipse.basyx.submodel.restapi.SubmodelProvider;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelElementPage;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelElementQuery;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests paginated, filtered and projected submodel element queries
+ */
+public class TestSubmodelElementQuery {
+	private static final int PROPERTY_COUNT = 25;
+	private static final String SEMANTIC_ID = "urn:basyx:query:temperature";
+	private static final String SMC_ID_SHORT = "collection";
+
+	private SubmodelProvider provider;
+	private ConnectedSubmodel connectedSubmodel;
+
+	@Before
+	public void setUp() {
+		Submodel submodel = new Submodel("querySubmodel", new CustomId("querySubmodelId"));
+		for (int i = 0; i < PROPERTY_COUNT; i++) {
+			Property property = new Property("prop" + i, i);
+			if (i % 5 == 0) {
+				property.setSemanticId(new Reference(new Key(KeyElements.CONCEPTDESCRIPTION, false, SEMANTIC_ID, IdentifierType.IRI)));
+			}
+			submodel.addSubmodelElement(property);
+		}
+
+		SubmodelElementCollection inner = new SubmodelElementCollection("inner");
+		inner.addSubmodelElement(new Property("innerProp", 2));
+		SubmodelElementCollection collection = new SubmodelElementCollection(SMC_ID_SHORT);
+		collection.addSubmodelElement(new Property("outerProp", 1));
+		collection.addSubmodelElement(inner);
+		submodel.addSubmodelElement(collection);
+
+		provider = new SubmodelProvider(submodel);
+		connectedSubmodel = new ConnectedSubmodel(new VABElementProxy("/" + SubmodelProvider.SUBMODEL, provider));
+	}
+
+	@Test
+	public void pagesCoverAllElementsInOrder() {
+		SubmodelElementQuery query = new SubmodelElementQuery();
+		query.setLimit(10);
+
+		List<String> idShorts = new ArrayList<>();
+		int pages = 0;
+		SubmodelElementPage page;
+		do {
+			page = connectedSubmodel.getSubmodelElements(query);
+			idShorts.addAll(getIdShorts(page.getElements()));
+			query.setCursor(page.getCursor());
+			pages++;
+		} while (page.hasMore());
+
+		assertEquals(3, pages);
+		List<String> expected = connectedSubmodel.getSubmodelElements().keySet().stream().collect(Collectors.toList());
+		assertEquals(expected, idShorts);
+	}
+
+	@Test
+	public void filtersAreEvaluated() {
+		SubmodelElementQuery query = new SubmodelElementQuery();
+		query.setIdShortPrefix("prop1");
+		assertEquals(Arrays.asList("prop1", "prop10", "prop11", "prop12", "prop13", "prop14", "prop15", "prop16", "prop17", "prop18", "prop19"), getIdShorts(connectedSubmodel.getSubmodelElements(query).getElements()));
+
+		query.setSemanticId(SEMANTIC_ID);
+		assertEquals(Arrays.asList("prop10", "prop15"), getIdShorts(connectedSubmodel.getSubmodelElements(query).getElements()));
+	}
+
+	@Test
+	public void depthLimitsNestedCollections() {
+		SubmodelElementQuery query = new SubmodelElementQuery();
+		query.setIdShortPrefix(SMC_ID_SHORT);
+		query.setDepth(2);
+
+		SubmodelElementCollection collection = (SubmodelElementCollection) connectedSubmodel.getSubmodelElements(query).getElements().iterator().next();
+		assertEquals(2, collection.getSubmodelElements().size());
+		SubmodelElementCollection inner = (SubmodelElementCollection) collection.getSubmodelElement("inner");
+		assertTrue(inner.getSubmodelElements().isEmpty());
+
+		// The stored collection is not modified
+		query.setDepth(0);
+		collection = (SubmodelElementCollection) connectedSubmodel.getSubmodelElements(query).getElements().iterator().next();
+		inner = (SubmodelElementCollection) collection.getSubmodelElement("inner");
+		assertEquals(1, inner.getSubmodelElements().size());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void valueOnlyProjection() {
+		SubmodelElementQuery query = new SubmodelElementQuery();
+		query.setValueOnly(true);
+		query.setLimit(2);
+		query.setCursor(connectedSubmodel.getSubmodelElements(createLimitQuery(24)).getCursor());
+
+		SubmodelElementPage page = connectedSubmodel.getSubmodelElements(query);
+		Map<String, Object> values = page.getValues();
+		assertEquals(24, values.get("prop24"));
+		assertEquals(1, ((Map<String, Object>) values.get(SMC_ID_SHORT)).get("outerProp"));
+		assertTrue(page.getElements().isEmpty());
+		assertFalse(page.hasMore());
+	}
+
+	@Test
+	public void queryIsParsedFromPath() {
+		String path = "/" + SubmodelProvider.SUBMODEL + "/" + MultiSubmodelElementProvider.ELEMENTS + "?limit=5&idShort=prop2";
+
+		SubmodelElementPage page = SubmodelElementPage.createAsFacade(getMap(provider.getValue(path)));
+		assertEquals(Arrays.asList("prop2", "prop20", "prop21", "prop22", "prop23"), getIdShorts(page.getElements()));
+		assertTrue(page.hasMore());
+	}
+
+	@Test
+	public void lastPageHasNoCursor() {
+		SubmodelElementPage page = connectedSubmodel.getSubmodelElements(createLimitQuery(PROPERTY_COUNT + 1));
+		assertEquals(PROPERTY_COUNT + 1, page.getElements().size());
+		assertNull(page.getCursor());
+	}
+
+	@Test
+	public void pageResumesAfterDeletedCursorElement() {
+		String cursor = connectedSubmodel.getSubmodelElements(createLimitQuery(10)).getCursor();
+		connectedSubmodel.deleteSubmodelElement("prop9");
+
+		SubmodelElementQuery query = createLimitQuery(2);
+		query.setCursor(cursor);
+		assertEquals(Arrays.asList("prop10", "prop11"), getIdShorts(connectedSubmodel.getSubmodelElements(query).getElements()));
+
+		connectedSubmodel.deleteSubmodelElement("prop10");
+		assertEquals(Arrays.asList("prop11", "prop12"), getIdShorts(connectedSubmodel.getSubmodelElements(query).getElements()));
+	}
+
+	@Test
+	public void encodedValuesAreDecodedOnce() {
+		String semanticId = "urn:basyx:a+b%20c&d=e";
+		Property property = new Property("encoded", 1);
+		property.setSemanticId(new Reference(new Key(KeyElements.CONCEPTDESCRIPTION, false, semanticId, IdentifierType.IRI)));
+		connectedSubmodel.addSubmodelElement(property);
+
+		SubmodelElementQuery query = new SubmodelElementQuery();
+		query.setSemanticId(semanticId);
+		assertEquals(semanticId, SubmodelElementQuery.fromQueryString(query.toQueryString()).getSemanticId());
+		assertEquals(Arrays.asList("encoded"), getIdShorts(connectedSubmodel.getSubmodelElements(query).getElements()));
+	}
+
+	@Test(expected = MalformedRequestException.class)
+	public void unknownCursor() {
+		SubmodelElementQuery query = new SubmodelElementQuery();
+		query.setCursor("dW5rbm93bg");
+		connectedSubmodel.getSubmodelElements(query);
+	}
+
+	private SubmodelElementQuery createLimitQuery(int limit) {
+		SubmodelElementQuery query = new SubmodelElementQuery();
+		query.setLimit(limit);
+		return query;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> getMap(Object value) {
+		return (Map<String, Object>) value;
+	}
+
+	private List<String> getIdShorts(Collection<ISubmodelElement> elements) {
+		return elements.stream().map(ISubmodelElement::getIdShort).collect(Collectors.toList());
+	}
+}
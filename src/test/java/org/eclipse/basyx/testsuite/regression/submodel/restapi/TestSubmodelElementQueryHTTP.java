@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.submodel.restapi;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.basyx.aas.metamodel.map.descriptor.CustomId;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
+import org.eclipse.basyx.submodel.metamodel.api.reference.enums.KeyElements;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
+import org.eclipse.basyx.submodel.metamodel.connected.ConnectedSubmodel;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.reference.Key;
+import org.eclipse.basyx.submodel.metamodel.map.reference.Reference;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.restapi.SubmodelProvider;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelElementPage;
+import org.eclipse.basyx.submodel.restapi.api.SubmodelElementQuery;
+import org.eclipse.basyx.vab.coder.json.connector.JSONConnector;
+import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnector;
+import org.eclipse.basyx.vab.protocol.http.server.BaSyxContext;
+import org.eclipse.basyx.vab.protocol.http.server.BaSyxHTTPServer;
+import org.eclipse.basyx.vab.protocol.http.server.VABHTTPInterface;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests submodel element queries over HTTP, where the query parameters are
+ * decoded by the servlet container
+ */
+public class TestSubmodelElementQueryHTTP {
+	private static final int PORT = 4073;
+	private static final String SEMANTIC_ID = "urn:basyx:query:a+b%20c&d=e";
+
+	private static BaSyxHTTPServer server;
+	private static ConnectedSubmodel connectedSubmodel;
+
+	@BeforeClass
+	public static void startServer() {
+		Submodel submodel = new Submodel("querySubmodel", new CustomId("querySubmodelId"));
+		for (int i = 0; i < 12; i++) {
+			Property property = new Property("prop" + i, i);
+			if (i % 4 == 0) {
+				property.setSemanticId(new Reference(new Key(KeyElements.CONCEPTDESCRIPTION, false, SEMANTIC_ID, IdentifierType.IRI)));
+			}
+			submodel.addSubmodelElement(property);
+		}
+
+		BaSyxContext context = new BaSyxContext("/basys.sdk", "", "localhost", PORT);
+		context.addServletMapping("/query/*", new VABHTTPInterface<IModelProvider>(new SubmodelProvider(submodel)));
+		server = new BaSyxHTTPServer(context);
+		server.start();
+
+		HTTPConnector connector = new HTTPConnector("http://localhost:" + PORT + "/basys.sdk/query");
+		connectedSubmodel = new ConnectedSubmodel(new VABElementProxy("/" + SubmodelProvider.SUBMODEL, new JSONConnector(connector)));
+	}
+
+	@AfterClass
+	public static void stopServer() {
+		server.shutdown();
+	}
+
+	@Test
+	public void pagesCoverAllElements() {
+		SubmodelElementQuery query = new SubmodelElementQuery();
+		query.setLimit(5);
+
+		List<String> idShorts = new ArrayList<>();
+		SubmodelElementPage page;
+		do {
+			page = connectedSubmodel.getSubmodelElements(query);
+			idShorts.addAll(getIdShorts(page));
+			query.setCursor(page.getCursor());
+		} while (page.hasMore());
+
+		assertEquals(new ArrayList<>(connectedSubmodel.getSubmodelElements().keySet()), idShorts);
+	}
+
+	@Test
+	public void encodedFilterValuesAreKept() {
+		SubmodelElementQuery query = new SubmodelElementQuery();
+		query.setSemanticId(SEMANTIC_ID);
+		query.setLimit(2);
+
+		SubmodelElementPage page = connectedSubmodel.getSubmodelElements(query);
+		assertEquals(Arrays.asList("prop0", "prop4"), getIdShorts(page));
+
+		query.setCursor(page.getCursor());
+		assertEquals(Arrays.asList("prop8"), getIdShorts(connectedSubmodel.getSubmodelElements(query)));
+	}
+
+	private List<String> getIdShorts(SubmodelElementPage page) {
+		return page.getElements().stream().map(ISubmodelElement::getIdShort).collect(Collectors.toList());
+	}
+}
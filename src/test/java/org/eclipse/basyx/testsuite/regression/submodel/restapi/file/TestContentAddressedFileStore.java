@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.submodel.restapi.file;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.File;
+import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.file.ContentAddressedFileStore;
+import org.eclipse.basyx.submodel.restapi.vab.VABSubmodelAPIFactory;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+import org.eclipse.basyx.vab.support.TypeDestroyer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ContentAddressedFileStore} and its usage by the
+ * VABSubmodelAPI
+ *
+ */
+public class TestContentAddressedFileStore {
+	private static final byte[] CONTENT = "<manual/>".getBytes(StandardCharsets.UTF_8);
+	private static final String FILE_ID_SHORT = "manual";
+
+	private Path rootDirectory;
+	private ContentAddressedFileStore store;
+
+	@Before
+	public void setUp() throws IOException {
+		rootDirectory = Files.createTempDirectory("filestoretest");
+		store = new ContentAddressedFileStore(rootDirectory);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(rootDirectory.toFile());
+	}
+
+	@Test
+	public void identicalContentIsStoredOnce() throws IOException {
+		String first = store.store(new ByteArrayInputStream(CONTENT), ".xml");
+		String second = store.store(new ByteArrayInputStream(CONTENT), ".xml");
+
+		assertEquals(first, second);
+		assertEquals(2, store.getReferenceCount(first));
+		assertArrayEquals(CONTENT, Files.readAllBytes(store.getFile(first).toPath()));
+		assertTrue(first.endsWith(".xml"));
+	}
+
+	@Test
+	public void differentContentIsStoredSeparately() {
+		String first = store.store(new ByteArrayInputStream(CONTENT), ".xml");
+		String second = store.store(new ByteArrayInputStream(new byte[] { 1, 2, 3 }), ".xml");
+
+		assertNotEquals(first, second);
+	}
+
+	@Test
+	public void onlyUnreferencedBlobsAreCollected() {
+		String first = store.store(new ByteArrayInputStream(CONTENT), "");
+		String second = store.store(new ByteArrayInputStream(new byte[] { 1, 2, 3 }), "");
+
+		store.release(first);
+		assertEquals(1, store.collectGarbage());
+		assertFalse(store.getFile(second).getAbsolutePath().isEmpty());
+		assertEquals(0, store.getReferenceCount(first));
+	}
+
+	@Test
+	public void blobsOfPreviousRunsAreCollectedIfNotRetained() {
+		String retained = store.store(new ByteArrayInputStream(CONTENT), "");
+		String orphaned = store.store(new ByteArrayInputStream(new byte[] { 1, 2, 3 }), "");
+
+		// Simulates a restart
+		ContentAddressedFileStore restarted = new ContentAddressedFileStore(rootDirectory);
+		restarted.retain(retained);
+
+		assertEquals(1, restarted.collectGarbage());
+		assertTrue(restarted.getFile(retained).exists());
+		assertFalse(store.getFile(retained).toPath().resolveSibling(orphaned).toFile().exists());
+	}
+
+	@Test(expected = MalformedRequestException.class)
+	public void invalidBlobIdIsRejected() {
+		store.getFile("../../etc/passwd");
+	}
+
+	@Test
+	public void submodelAPIsShareStore() {
+		ISubmodelAPI first = createAPI("sm1");
+		ISubmodelAPI second = createAPI("sm2");
+
+		first.uploadSubmodelElementFile(FILE_ID_SHORT, new ByteArrayInputStream(CONTENT));
+		second.uploadSubmodelElementFile(FILE_ID_SHORT, new ByteArrayInputStream(CONTENT));
+
+		java.io.File file = first.getSubmodelElementFile(FILE_ID_SHORT);
+		assertEquals(file, second.getSubmodelElementFile(FILE_ID_SHORT));
+		String blobId = file.getName();
+		assertEquals(2, store.getReferenceCount(blobId));
+
+		// Replacing the file releases the old blob
+		first.uploadSubmodelElementFile(FILE_ID_SHORT, new ByteArrayInputStream(new byte[] { 1 }));
+		assertEquals(1, store.getReferenceCount(blobId));
+
+		second.deleteSubmodelElement(FILE_ID_SHORT);
+		assertEquals(0, store.getReferenceCount(blobId));
+		assertEquals(1, store.collectGarbage());
+	}
+
+	@Test
+	public void overwritingValueReleasesBlob() {
+		ISubmodelAPI api = createAPI("sm");
+		api.uploadSubmodelElementFile(FILE_ID_SHORT, new ByteArrayInputStream(CONTENT));
+		String blobId = api.getSubmodelElementFile(FILE_ID_SHORT).getName();
+
+		api.updateSubmodelElement(FILE_ID_SHORT, "/aasx/manual.xml");
+		assertEquals(0, store.getReferenceCount(blobId));
+	}
+
+	@Test
+	public void replacingFileReleasesBlob() {
+		ISubmodelAPI api = createAPI("sm");
+		api.uploadSubmodelElementFile(FILE_ID_SHORT, new ByteArrayInputStream(CONTENT));
+		String blobId = api.getSubmodelElementFile(FILE_ID_SHORT).getName();
+
+		api.addSubmodelElement(createFileElement());
+		assertEquals(0, store.getReferenceCount(blobId));
+	}
+
+	@Test
+	public void concurrentUploadsReleasePreviousBlobOnce() throws InterruptedException {
+		ISubmodelAPI first = createAPI("sm1");
+		ISubmodelAPI second = createAPI("sm2");
+		first.uploadSubmodelElementFile(FILE_ID_SHORT, new ByteArrayInputStream(CONTENT));
+		second.uploadSubmodelElementFile(FILE_ID_SHORT, new ByteArrayInputStream(CONTENT));
+		String sharedBlobId = second.getSubmodelElementFile(FILE_ID_SHORT).getName();
+
+		// All uploads replace the shared blob of the first File at the same time
+		int threadCount = 8;
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < threadCount; i++) {
+			byte[] content = new byte[] { (byte) i };
+			Thread thread = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				first.uploadSubmodelElementFile(FILE_ID_SHORT, new ByteArrayInputStream(content));
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		// The blob is still referenced by the second File
+		assertEquals(1, store.getReferenceCount(sharedBlobId));
+		assertEquals(1, store.getReferenceCount(first.getSubmodelElementFile(FILE_ID_SHORT).getName()));
+		assertEquals(threadCount - 1, store.collectGarbage());
+	}
+
+	@Test
+	public void deletingCollectionReleasesContainedFiles() {
+		ISubmodelAPI api = new VABSubmodelAPIFactory(store).create(new Submodel("sm", new Identifier(IdentifierType.CUSTOM, "sm")));
+		SubmodelElementCollection collection = new SubmodelElementCollection("collection");
+		collection.addSubmodelElement(createFileElement());
+		api.addSubmodelElement(collection);
+
+		String path = "collection/" + FILE_ID_SHORT;
+		api.uploadSubmodelElementFile(path, new ByteArrayInputStream(CONTENT));
+		String blobId = api.getSubmodelElementFile(path).getName();
+
+		api.deleteSubmodelElement("collection");
+		assertEquals(0, store.getReferenceCount(blobId));
+	}
+
+	@Test
+	public void referencesAreRestoredFromSubmodel() {
+		ISubmodelAPI api = createAPI("sm");
+		api.uploadSubmodelElementFile(FILE_ID_SHORT, new ByteArrayInputStream(CONTENT));
+		String blobId = api.getSubmodelElementFile(FILE_ID_SHORT).getName();
+		Submodel submodel = Submodel.createAsFacade(TypeDestroyer.destroyType((Submodel) api.getSubmodel()));
+
+		// Simulates a restart
+		ContentAddressedFileStore restarted = new ContentAddressedFileStore(rootDirectory);
+		ISubmodelAPI restored = new VABSubmodelAPIFactory(restarted).create(submodel);
+
+		assertEquals(1, restarted.getReferenceCount(blobId));
+		assertEquals(0, restarted.collectGarbage());
+		assertArrayEquals(CONTENT, readFile(restored.getSubmodelElementFile(FILE_ID_SHORT)));
+	}
+
+	private byte[] readFile(java.io.File file) {
+		try {
+			return Files.readAllBytes(file.toPath());
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	private ISubmodelAPI createAPI(String id) {
+		ISubmodelAPI api = new VABSubmodelAPIFactory(store).create(new Submodel(id, new Identifier(IdentifierType.CUSTOM, id)));
+		api.addSubmodelElement(createFileElement());
+		return api;
+	}
+
+	private File createFileElement() {
+		File file = new File("application/xml");
+		file.setIdShort(FILE_ID_SHORT);
+		return file;
+	}
+}
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.coder.cbor;
+
+import java.io.ByteArrayOutputStream;
+
+import org.eclipse.basyx.vab.coder.cbor.CBORProvider;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.protocol.api.IBinaryBaSyxConnector;
+
+/**
+ * Makes the CBORProvider directly usable for the CBORConnector without a
+ * transport in between
+ * 
+ * @param <T>
+ *            should be VABMapProvider or stub
+ */
+public class IBinaryBasyxConnectorFacade<T extends IModelProvider> implements IBinaryBaSyxConnector {
+
+	private CBORProvider<T> provider;
+
+	public IBinaryBasyxConnectorFacade(CBORProvider<T> provider) {
+		this.provider = provider;
+	}
+
+	@Override
+	public byte[] getBinaryValue(String path) throws ProviderException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try {
+			provider.processBaSysGet(path, outputStream);
+		} catch (ProviderException e) {
+			// The exception is encoded in the response, as it would be by a server
+		}
+		return outputStream.toByteArray();
+	}
+
+	@Override
+	public byte[] setBinaryValue(String path, byte[] newValue) throws ProviderException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try {
+			provider.processBaSysSet(path, newValue, outputStream);
+		} catch (ProviderException e) {
+			// The exception is encoded in the response, as it would be by a server
+		}
+		return outputStream.toByteArray();
+	}
+
+	@Override
+	public byte[] createBinaryValue(String path, byte[] newEntity) throws ProviderException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try {
+			provider.processBaSysCreate(path, newEntity, outputStream);
+		} catch (ProviderException e) {
+			// The exception is encoded in the response, as it would be by a server
+		}
+		return outputStream.toByteArray();
+	}
+
+	@Override
+	public byte[] deleteBinaryValue(String path) throws ProviderException {
+		return deleteBinaryValue(path, new byte[0]);
+	}
+
+	@Override
+	public byte[] deleteBinaryValue(String path, byte[] obj) throws ProviderException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try {
+			provider.processBaSysDelete(path, obj, outputStream);
+		} catch (ProviderException e) {
+			// The exception is encoded in the response, as it would be by a server
+		}
+		return outputStream.toByteArray();
+	}
+
+	@Override
+	public byte[] invokeBinaryOperation(String path, byte[] parameter) throws ProviderException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try {
+			provider.processBaSysInvoke(path, parameter, outputStream);
+		} catch (ProviderException e) {
+			// The exception is encoded in the response, as it would be by a server
+		}
+		return outputStream.toByteArray();
+	}
+
+	@Override
+	public String getEndpointRepresentation(String path) {
+		return "test://" + path;
+	}
+}
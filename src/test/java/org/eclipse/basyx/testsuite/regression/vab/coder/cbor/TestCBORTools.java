@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.coder.cbor;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.vab.coder.cbor.CBORTools;
+import org.eclipse.basyx.vab.coder.json.serialization.DefaultTypeFactory;
+import org.eclipse.basyx.vab.coder.json.serialization.GSONTools;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+import org.junit.Test;
+
+import com.google.common.collect.Sets;
+
+/**
+ * Tests if the CBOR serialization yields the same values as the JSON
+ * serialization
+ * 
+ */
+public class TestCBORTools {
+	private CBORTools tools = new CBORTools();
+	private GSONTools jsonTools = new GSONTools(new DefaultTypeFactory());
+
+	@Test
+	public void testPrimitives() {
+		assertRoundTrip(12);
+		assertRoundTrip(-12);
+		assertRoundTrip(Integer.MAX_VALUE);
+		assertRoundTrip(Integer.MIN_VALUE);
+		assertRoundTrip(5000000000L);
+		assertRoundTrip(-5000000000L);
+		assertRoundTrip(12.3);
+		assertRoundTrip(12.3f);
+		assertRoundTrip(true);
+		assertRoundTrip(false);
+		assertRoundTrip("HelloWorld");
+		assertRoundTrip("Ünicode ✓");
+		assertRoundTrip("");
+	}
+
+	@Test
+	public void testBigInteger() {
+		assertRoundTrip(new BigInteger("10000000000000000000000000000000000000"));
+		assertRoundTrip(new BigInteger("-10000000000000000000000000000000000000"));
+	}
+
+	@Test
+	public void testNull() {
+		assertNull(tools.deserialize(tools.serialize(null)));
+		assertNull(tools.deserialize(new byte[0]));
+	}
+
+	@Test
+	public void testCollections() {
+		List<Object> list = new ArrayList<>();
+		list.add(1);
+		list.add("a");
+		list.add(null);
+		list.add(Arrays.asList(2.5, false));
+		assertRoundTrip(list);
+
+		assertRoundTrip(Sets.newHashSet(1, 2, 3));
+	}
+
+	@Test
+	public void testNestedMap() {
+		Map<String, Object> inner = new LinkedHashMap<>();
+		inner.put("x", 123);
+		inner.put("y", Arrays.asList(1, 2, 3));
+
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("a", inner);
+		map.put("b", "123");
+		map.put("c", null);
+		assertRoundTrip(map);
+	}
+
+	@Test
+	public void testSubmodelElement() {
+		Property prop = new Property("prop", 42);
+		assertRoundTrip(prop);
+	}
+
+	@Test
+	public void testEncoding() {
+		// Values taken from RFC 8949, Appendix A
+		assertArrayEquals(new byte[] { 0x0a }, tools.serialize(10));
+		assertArrayEquals(new byte[] { 0x18, 0x64 }, tools.serialize(100));
+		assertArrayEquals(new byte[] { 0x38, 0x63 }, tools.serialize(-100));
+		assertArrayEquals(new byte[] { (byte) 0xf5 }, tools.serialize(true));
+		assertArrayEquals(new byte[] { 0x61, 0x61 }, tools.serialize("a"));
+		assertArrayEquals(new byte[] { (byte) 0x83, 0x01, 0x02, 0x03 }, tools.serialize(Arrays.asList(1, 2, 3)));
+	}
+
+	@Test
+	public void testSmallerThanJSON() {
+		List<Object> samples = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			samples.add(i * 1000);
+		}
+		assertTrue(tools.serialize(samples).length < jsonTools.serialize(samples).length());
+	}
+
+	@Test(expected = MalformedRequestException.class)
+	public void testTruncated() {
+		byte[] data = tools.serialize("HelloWorld");
+		tools.deserialize(Arrays.copyOf(data, data.length - 1));
+	}
+
+	@Test(expected = MalformedRequestException.class)
+	public void testTrailingBytes() {
+		tools.deserialize(new byte[] { 0x01, 0x02 });
+	}
+
+	@Test(expected = MalformedRequestException.class)
+	public void testNestingDepthLimit() {
+		byte[] data = new byte[CBORTools.MAX_NESTING_DEPTH + 1];
+		// Arrays containing a single array, ending with an integer
+		Arrays.fill(data, (byte) 0x81);
+		data[data.length - 1] = 0x01;
+		tools.deserialize(data);
+	}
+
+	@Test
+	public void testMaximumNestingDepth() {
+		byte[] data = new byte[CBORTools.MAX_NESTING_DEPTH];
+		Arrays.fill(data, (byte) 0x81);
+		data[data.length - 1] = 0x01;
+		tools.deserialize(data);
+	}
+
+	private void assertRoundTrip(Object value) {
+		Object expected = jsonTools.deserialize(jsonTools.serialize(value));
+		assertEquals(expected, tools.deserialize(tools.serialize(value)));
+	}
+}
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.coder.json;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.basyx.aas.factory.json.JSONToMetamodelConverter;
+import org.eclipse.basyx.aas.metamodel.map.AasEnv;
+import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
+import org.eclipse.basyx.submodel.metamodel.map.qualifier.Referable;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.vab.coder.json.serialization.CompactMap;
+import org.eclipse.basyx.vab.coder.json.serialization.CompactTypeFactory;
+import org.eclipse.basyx.vab.coder.json.serialization.DefaultTypeFactory;
+import org.eclipse.basyx.vab.coder.json.serialization.GSONTools;
+import org.eclipse.basyx.vab.coder.json.serialization.StringDictionary;
+import org.junit.Test;
+
+/**
+ * Tests the compact map representation created by the
+ * {@link CompactTypeFactory}
+ * 
+ */
+public class TestCompactTypeFactory {
+	private static final String JSON_PATH = "src/test/resources/aas/factory/json/aasJsonSchemaV2.0.1_Example.json";
+
+	@Test
+	public void testDeserializationEquality() throws IOException {
+		String json = new String(Files.readAllBytes(Paths.get(JSON_PATH)));
+
+		Object expected = new GSONTools(new DefaultTypeFactory()).deserialize(json);
+		Object compact = new GSONTools(new CompactTypeFactory()).deserialize(json);
+		assertEquals(expected, compact);
+		assertEquals(expected.hashCode(), compact.hashCode());
+
+		// Serialization preserves the order of the entries
+		GSONTools tools = new GSONTools(new DefaultTypeFactory());
+		assertEquals(tools.serialize(expected), tools.serialize(compact));
+	}
+
+	@Test
+	public void testMetamodelFacades() throws IOException {
+		String json = new String(Files.readAllBytes(Paths.get(JSON_PATH)));
+		AasEnv expected = new JSONToMetamodelConverter(json).parseAasEnv();
+		AasEnv compact = new JSONToMetamodelConverter(json, new CompactTypeFactory()).parseAasEnv();
+
+		List<ISubmodel> expectedSubmodels = new ArrayList<>(expected.getSubmodels());
+		List<ISubmodel> compactSubmodels = new ArrayList<>(compact.getSubmodels());
+		assertEquals(expectedSubmodels.size(), compactSubmodels.size());
+		for (int i = 0; i < expectedSubmodels.size(); i++) {
+			assertEquals(expectedSubmodels.get(i).getIdentification().getId(), compactSubmodels.get(i).getIdentification().getId());
+			assertEquals(expectedSubmodels.get(i).getSubmodelElements().keySet(), compactSubmodels.get(i).getSubmodelElements().keySet());
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testInterning() {
+		GSONTools tools = new GSONTools(new CompactTypeFactory());
+		List<Property> properties = Arrays.asList(new Property("prop1", 1), new Property("prop2", 2));
+		List<Map<String, Object>> deserialized = (List<Map<String, Object>>) tools.deserialize(tools.serialize(properties));
+		Map<String, Object> prop1 = deserialized.get(0);
+		Map<String, Object> prop2 = deserialized.get(1);
+
+		// Keys are shared between maps
+		assertSame(findKey(prop1, Referable.IDSHORT), findKey(prop2, Referable.IDSHORT));
+
+		// Values of enumeration-like keys are shared, too
+		Map<String, Object> modelType1 = (Map<String, Object>) prop1.get("modelType");
+		Map<String, Object> modelType2 = (Map<String, Object>) prop2.get("modelType");
+		assertSame(modelType1.get("name"), modelType2.get("name"));
+
+		// Other values are not interned
+		assertFalse(prop1.get(Referable.IDSHORT) == prop2.get(Referable.IDSHORT));
+	}
+
+	@Test
+	public void testMapSemantics() {
+		CompactMap map = new CompactMap(0, new StringDictionary(), CompactTypeFactory.DEFAULT_INTERNED_VALUE_KEYS);
+		Map<String, Object> expected = new LinkedHashMap<>();
+
+		for (int i = 0; i < 40; i++) {
+			map.put("key" + i, i);
+			expected.put("key" + i, i);
+		}
+		assertEquals(expected, map);
+		assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(map.keySet()));
+
+		// Overwrite keeps position
+		assertEquals(5, map.put("key5", "five"));
+		expected.put("key5", "five");
+		assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(map.values()));
+
+		// Removal via map and iterator
+		assertEquals(7, map.remove("key7"));
+		expected.remove("key7");
+		Iterator<Entry<String, Object>> it = map.entrySet().iterator();
+		while (it.hasNext()) {
+			if (it.next().getKey().endsWith("3")) {
+				it.remove();
+			}
+		}
+		expected.keySet().removeIf(k -> k.endsWith("3"));
+		assertEquals(expected, map);
+		assertEquals(expected.size(), map.size());
+		assertFalse(map.containsKey("key13"));
+		assertTrue(map.containsKey("key39"));
+		assertNull(map.get("key7"));
+
+		// Null keys and values are supported like in a LinkedHashMap
+		map.put(null, null);
+		assertTrue(map.containsKey(null));
+		assertNull(map.get(null));
+
+		// Entries write through
+		map.entrySet().iterator().next().setValue("zero");
+		assertEquals("zero", map.get("key0"));
+
+		map.clear();
+		assertTrue(map.isEmpty());
+	}
+
+	@Test
+	public void testDictionaryLimit() {
+		StringDictionary dictionary = new StringDictionary(2);
+		String a = dictionary.intern(new String("a"));
+		assertSame(a, dictionary.intern(new String("a")));
+		dictionary.intern("b");
+
+		String c = new String("c");
+		assertSame(c, dictionary.intern(c));
+		assertEquals(2, dictionary.size());
+	}
+
+	@Test
+	public void testCollectionSizes() {
+		GSONTools tools = new GSONTools(new CompactTypeFactory());
+		Object deserialized = tools.deserialize(tools.serialize(Arrays.asList(1, 2, 3)));
+		assertEquals(Arrays.asList(1, 2, 3), deserialized);
+	}
+
+	private String findKey(Map<String, Object> map, String key) {
+		return map.keySet().stream().filter(key::equals).findFirst().get();
+	}
+}
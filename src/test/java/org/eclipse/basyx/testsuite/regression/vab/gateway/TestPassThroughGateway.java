@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.gateway;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.Operation;
+import org.eclipse.basyx.vab.coder.json.connector.JSONConnector;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.gateway.ConnectorProviderMapper;
+import org.eclipse.basyx.vab.gateway.DelegatingModelProvider;
+import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.map.VABMapProvider;
+import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnector;
+import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnectorFactory;
+import org.eclipse.basyx.vab.protocol.http.server.BaSyxContext;
+import org.eclipse.basyx.vab.protocol.http.server.BaSyxHTTPServer;
+import org.eclipse.basyx.vab.protocol.http.server.VABHTTPInterface;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the pass-through mode of the DelegatingModelProvider served as HTTP
+ * gateway
+ */
+public class TestPassThroughGateway {
+	private static final String BACKEND_URL = "http://localhost:5441/vab/backend";
+
+	private BaSyxHTTPServer server;
+	private CountingDelegatingModelProvider passThroughGateway;
+	private CountingDelegatingModelProvider parsingGateway;
+	private CountingDelegatingModelProvider decoratedGateway;
+
+	@Before
+	public void build() {
+		Map<String, Object> operations = new LinkedHashMap<>();
+		operations.put("add", (Function<Object[], Object>) params -> (int) params[0] + (int) params[1]);
+
+		Map<String, Object> element = new LinkedHashMap<>();
+		element.put("integer", 10);
+		element.put("list", new ArrayList<>(Arrays.asList(1, 2)));
+		element.put("operations", operations);
+
+		ConnectorProviderMapper mapper = new ConnectorProviderMapper();
+		mapper.addConnectorProvider("http", new HTTPConnectorFactory());
+		passThroughGateway = new CountingDelegatingModelProvider(mapper, true);
+		parsingGateway = new CountingDelegatingModelProvider(mapper, false);
+		decoratedGateway = new CountingDelegatingModelProvider(mapper, true);
+
+		BaSyxContext context = new BaSyxContext("/vab", "", "localhost", 5441);
+		context.addServletMapping("/backend/*", new VABHTTPInterface<IModelProvider>(new VABMapProvider(element)));
+		context.addServletMapping("/passthrough/*", new VABHTTPInterface<IModelProvider>(passThroughGateway));
+		context.addServletMapping("/parsing/*", new VABHTTPInterface<IModelProvider>(parsingGateway));
+		context.addServletMapping("/decorated/*", new VABHTTPInterface<IModelProvider>(new VABElementProxy("", decoratedGateway)));
+		server = new BaSyxHTTPServer(context);
+		server.start();
+	}
+
+	@After
+	public void breakdown() {
+		server.shutdown();
+	}
+
+	@Test
+	public void requestsAreForwarded() {
+		VABElementProxy proxy = connect("passthrough");
+
+		assertEquals(10, proxy.getValue("integer"));
+
+		proxy.setValue("integer", 20);
+		assertEquals(20, proxy.getValue("integer"));
+
+		proxy.createValue("text", "created");
+		assertEquals("created", proxy.getValue("text"));
+
+		proxy.deleteValue("text");
+		assertFalse(((Map<?, ?>) proxy.getValue("")).containsKey("text"));
+
+		assertEquals(5, proxy.invokeOperation("operations/add/" + Operation.INVOKE, 2, 3));
+
+		// None of the requests has been parsed by the gateway
+		assertEquals(0, passThroughGateway.parsedRequests.get());
+	}
+
+	@Test(expected = ResourceNotFoundException.class)
+	public void errorsAreForwarded() {
+		connect("passthrough").getValue("doesNotExist");
+	}
+
+	@Test
+	public void parsedWithoutPassThrough() {
+		VABElementProxy proxy = connect("parsing");
+
+		assertEquals(10, proxy.getValue("integer"));
+		assertEquals(5, proxy.invokeOperation("operations/add/" + Operation.INVOKE, 2, 3));
+		assertEquals(2, parsingGateway.parsedRequests.get());
+	}
+
+	@Test
+	public void decoratedGatewayIsParsed() {
+		// A decorator, e.g. transforming the values, has to see the parsed values
+		assertEquals(10, connect("decorated").getValue("integer"));
+		assertEquals(1, decoratedGateway.parsedRequests.get());
+	}
+
+	private VABElementProxy connect(String gateway) {
+		String address = "http://localhost:5441/vab/" + gateway + "//" + BACKEND_URL;
+		return new VABElementProxy("", new JSONConnector(new HTTPConnector(address)));
+	}
+
+	/**
+	 * Counts the requests that were parsed instead of passed through
+	 */
+	private static class CountingDelegatingModelProvider extends DelegatingModelProvider {
+		private AtomicInteger parsedRequests = new AtomicInteger();
+
+		public CountingDelegatingModelProvider(ConnectorProviderMapper mapper, boolean passThrough) {
+			super(mapper, passThrough);
+		}
+
+		@Override
+		public Object getValue(String path) throws ProviderException {
+			parsedRequests.incrementAndGet();
+			return super.getValue(path);
+		}
+
+		@Override
+		public Object invokeOperation(String path, Object... parameter) throws ProviderException {
+			parsedRequests.incrementAndGet();
+			return super.invokeOperation(path, parameter);
+		}
+	}
+}
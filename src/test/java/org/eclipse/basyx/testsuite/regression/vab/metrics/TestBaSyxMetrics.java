@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.eclipse.basyx.vab.coder.json.serialization.DefaultTypeFactory;
+import org.eclipse.basyx.vab.coder.json.serialization.GSONTools;
+import org.eclipse.basyx.vab.metrics.BaSyxMetrics;
+import org.eclipse.basyx.vab.metrics.InMemoryMetricsRecorder;
+import org.eclipse.basyx.vab.metrics.NoOpMetricsRecorder;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.map.VABMapProvider;
+import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnectorFactory;
+import org.eclipse.basyx.vab.protocol.http.server.BaSyxContext;
+import org.eclipse.basyx.vab.protocol.http.server.BaSyxHTTPServer;
+import org.eclipse.basyx.vab.protocol.http.server.JwtBearerTokenAuthenticationConfiguration;
+import org.eclipse.basyx.vab.protocol.http.server.MetricsExporterValve;
+import org.eclipse.basyx.vab.protocol.http.server.VABHTTPInterface;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the metrics SPI and its exporter endpoint
+ *
+ */
+public class TestBaSyxMetrics {
+	private static final int PORT = 4071;
+	private static final String CONTEXT_PATH = "/metricstest";
+
+	private InMemoryMetricsRecorder recorder;
+
+	@Before
+	public void setUp() {
+		recorder = new InMemoryMetricsRecorder();
+		BaSyxMetrics.setRecorder(recorder);
+	}
+
+	@After
+	public void tearDown() {
+		BaSyxMetrics.setRecorder(null);
+	}
+
+	@Test
+	public void normalizePath() {
+		assertEquals("/aas/submodels/{id}/submodel/submodelElements/{id}/value", BaSyxMetrics.normalizePath("/aas/submodels/sm1/submodel/submodelElements/col/prop/value?x=y"));
+		assertEquals("/shells/{id}/aas", BaSyxMetrics.normalizePath("shells/urn:de.test%2F1/aas/"));
+		assertEquals("/", BaSyxMetrics.normalizePath(""));
+		assertEquals("/", BaSyxMetrics.normalizePath(null));
+	}
+
+	@Test
+	public void noOpRecorderIsDefault() {
+		BaSyxMetrics.setRecorder(null);
+		assertTrue(BaSyxMetrics.getRecorder() instanceof NoOpMetricsRecorder);
+		assertEquals(0, BaSyxMetrics.start());
+	}
+
+	@Test
+	public void exportHistogram() {
+		recorder.recordDuration("test", "GET /aas", 2_000_000L);
+		recorder.recordDuration("test", "GET /aas", 20_000_000L);
+		recorder.recordSize("payload", "response", 100);
+
+		String export = recorder.export();
+		assertTrue(export.contains("# TYPE test_seconds histogram"));
+		assertTrue(export.contains("test_seconds_bucket{label=\"GET /aas\",le=\"0.0025\"} 1"));
+		assertTrue(export.contains("test_seconds_bucket{label=\"GET /aas\",le=\"+Inf\"} 2"));
+		assertTrue(export.contains("test_seconds_count{label=\"GET /aas\"} 2"));
+		assertTrue(export.contains("payload_bytes_bucket{label=\"response\",le=\"64\"} 0"));
+		assertTrue(export.contains("payload_bytes_sum{label=\"response\"} 100"));
+	}
+
+	@Test
+	public void instrumentedRoundTrip() throws IOException {
+		Map<String, Object> model = new LinkedHashMap<>();
+		model.put("prop", 5);
+		BaSyxContext context = new BaSyxContext(CONTEXT_PATH, "", "localhost", PORT);
+		context.addServletMapping("/*", new VABHTTPInterface<IModelProvider>(new VABMapProvider(model)));
+		BaSyxHTTPServer server = new BaSyxHTTPServer(context);
+		server.start();
+		try {
+			IModelProvider connector = new HTTPConnectorFactory().getConnector("http://localhost:" + PORT + CONTEXT_PATH);
+			assertEquals(5, connector.getValue("/prop"));
+
+			assertEquals(1, recorder.getCount(BaSyxMetrics.HTTP_SERVER_REQUEST + "_seconds", "GET /{id}"));
+			assertEquals(1, recorder.getCount(BaSyxMetrics.CLIENT_REQUEST + "_seconds", "HTTP GET /{id}"));
+			assertTrue(recorder.getCount(BaSyxMetrics.SERIALIZATION + "_seconds", "serialize") > 0);
+			assertEquals(1, recorder.getCount(BaSyxMetrics.PAYLOAD + "_bytes", "response"));
+
+			String export = httpGet("http://localhost:" + PORT + MetricsExporterValve.DEFAULT_PATH);
+			assertTrue(export.contains("basyx_http_server_request_seconds_count{label=\"GET /{id}\"} 1"));
+
+			// Without a recording recorder, the endpoint is not served
+			BaSyxMetrics.setRecorder(null);
+			HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + PORT + MetricsExporterValve.DEFAULT_PATH).openConnection();
+			assertFalse(connection.getResponseCode() == 200);
+		} finally {
+			server.shutdown();
+		}
+	}
+
+	@Test
+	public void requestPayloadIsRecordedInBytes() {
+		Map<String, Object> model = new LinkedHashMap<>();
+		model.put("prop", "");
+		BaSyxContext context = new BaSyxContext(CONTEXT_PATH, "", "localhost", PORT);
+		context.addServletMapping("/*", new VABHTTPInterface<IModelProvider>(new VABMapProvider(model)));
+		BaSyxHTTPServer server = new BaSyxHTTPServer(context);
+		server.start();
+		try {
+			String value = "\u00e4\u00f6\u00fc";
+			new HTTPConnectorFactory().getConnector("http://localhost:" + PORT + CONTEXT_PATH).setValue("/prop", value);
+
+			int expectedBytes = new GSONTools(new DefaultTypeFactory()).serialize(value).getBytes(StandardCharsets.UTF_8).length;
+			assertTrue(recorder.export().contains(BaSyxMetrics.PAYLOAD + "_bytes_sum{label=\"request\"} " + expectedBytes));
+		} finally {
+			server.shutdown();
+		}
+	}
+
+	@Test
+	public void metricsEndpointAuthorizer() throws IOException {
+		BaSyxContext context = new BaSyxContext(CONTEXT_PATH, "", "localhost", PORT);
+		context.addServletMapping("/*", new VABHTTPInterface<IModelProvider>(new VABMapProvider(new LinkedHashMap<>())));
+		context.setMetricsEndpointAuthorizer(request -> "secret".equals(request.getHeader("X-Metrics-Token")));
+		BaSyxHTTPServer server = new BaSyxHTTPServer(context);
+		server.start();
+		try {
+			URL url = new URL("http://localhost:" + PORT + MetricsExporterValve.DEFAULT_PATH);
+			HttpURLConnection unauthorized = (HttpURLConnection) url.openConnection();
+			assertEquals(403, unauthorized.getResponseCode());
+
+			HttpURLConnection authorized = (HttpURLConnection) url.openConnection();
+			authorized.setRequestProperty("X-Metrics-Token", "secret");
+			assertEquals(200, authorized.getResponseCode());
+		} finally {
+			server.shutdown();
+		}
+	}
+
+	@Test
+	public void metricsRequireTokenWithJwtAuthentication() throws IOException {
+		BaSyxContext context = new BaSyxContext(CONTEXT_PATH, "", "localhost", PORT);
+		context.addServletMapping("/*", new VABHTTPInterface<IModelProvider>(new VABMapProvider(new LinkedHashMap<>())));
+		context.setJwtBearerTokenAuthenticationConfiguration(JwtBearerTokenAuthenticationConfiguration.of("http://localhost/issuer", "http://localhost:1/jwks", null));
+		BaSyxHTTPServer server = new BaSyxHTTPServer(context);
+		server.start();
+		try {
+			URL url = new URL("http://localhost:" + PORT + MetricsExporterValve.DEFAULT_PATH);
+			HttpURLConnection anonymous = (HttpURLConnection) url.openConnection();
+			assertEquals(401, anonymous.getResponseCode());
+			assertTrue(anonymous.getHeaderField("WWW-Authenticate").startsWith("Bearer"));
+
+			HttpURLConnection invalidToken = (HttpURLConnection) url.openConnection();
+			invalidToken.setRequestProperty("Authorization", "Bearer invalid");
+			assertEquals(401, invalidToken.getResponseCode());
+		} finally {
+			server.shutdown();
+		}
+	}
+
+	private String httpGet(String url) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+		assertEquals(200, connection.getResponseCode());
+		try (InputStream in = connection.getInputStream()) {
+			return IOUtils.toString(in, StandardCharsets.UTF_8);
+		}
+	}
+}
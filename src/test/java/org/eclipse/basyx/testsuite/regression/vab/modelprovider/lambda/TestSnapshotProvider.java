@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.modelprovider.lambda;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.testsuite.regression.vab.modelprovider.SimpleVABElement;
+import org.eclipse.basyx.testsuite.regression.vab.modelprovider.TestProvider;
+import org.eclipse.basyx.testsuite.regression.vab.protocol.http.TestsuiteDirectory;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.manager.VABConnectionManager;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.lambda.VABSnapshotProvider;
+import org.eclipse.basyx.vab.protocol.api.ConnectorFactory;
+import org.junit.Test;
+
+/**
+ * Tests the functionality of the VABSnapshotProvider according to the test
+ * cases in the snippet package and its copy-on-write behavior
+ *
+ */
+public class TestSnapshotProvider extends TestProvider {
+	private VABConnectionManager connManager;
+
+	@Override
+	protected VABConnectionManager getConnectionManager() {
+		if (connManager == null) {
+			connManager = new VABConnectionManager(new TestsuiteDirectory(), new ConnectorFactory() {
+				@Override
+				protected IModelProvider createProvider(String addr) {
+					return new VABSnapshotProvider(new SimpleVABElement());
+				}
+			});
+		}
+		return connManager;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testSnapshotIsolation() {
+		VABSnapshotProvider provider = new VABSnapshotProvider(new SimpleVABElement());
+		Map<String, Object> before = provider.getSnapshot();
+		Map<String, Object> primitivesBefore = (Map<String, Object>) before.get("primitives");
+		Object structureBefore = before.get("structure");
+
+		provider.setValue("primitives/integer", 42);
+
+		// The old version is unchanged
+		assertEquals(123, primitivesBefore.get("integer"));
+
+		// The new version only copies the modified path
+		Map<String, Object> after = provider.getSnapshot();
+		assertNotSame(before, after);
+		assertNotSame(primitivesBefore, after.get("primitives"));
+		assertSame(structureBefore, after.get("structure"));
+		assertEquals(42, provider.getValue("primitives/integer"));
+	}
+
+	@Test
+	public void testFailedModificationIsNotPublished() {
+		VABSnapshotProvider provider = new VABSnapshotProvider(new SimpleVABElement());
+		Map<String, Object> before = provider.getSnapshot();
+
+		try {
+			provider.deleteValue("primitives/unknown");
+			fail();
+		} catch (ResourceNotFoundException e) {
+			// expected
+		}
+
+		assertSame(before, provider.getSnapshot());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testModificationsArePublishedTogether() {
+		VABSnapshotProvider provider = new VABSnapshotProvider(new SimpleVABElement());
+		Map<String, Object> before = provider.getSnapshot();
+
+		provider.modifyAll(batch -> {
+			batch.setValue("primitives/integer", 42);
+			batch.setValue("primitives/string", "changed");
+			// Later modifications see the earlier ones
+			assertEquals(42, batch.getValue("primitives/integer"));
+			// The current version is not changed until all modifications are applied
+			assertSame(before, provider.getSnapshot());
+		});
+
+		Map<String, Object> primitives = (Map<String, Object>) provider.getSnapshot().get("primitives");
+		assertEquals(42, primitives.get("integer"));
+		assertEquals("changed", primitives.get("string"));
+		assertEquals(123, ((Map<String, Object>) before.get("primitives")).get("integer"));
+	}
+
+	@Test
+	public void testFailedBatchIsNotPublished() {
+		VABSnapshotProvider provider = new VABSnapshotProvider(new SimpleVABElement());
+		Map<String, Object> before = provider.getSnapshot();
+
+		try {
+			provider.modifyAll(batch -> {
+				batch.setValue("primitives/integer", 42);
+				batch.deleteValue("primitives/unknown");
+			});
+			fail();
+		} catch (ResourceNotFoundException e) {
+			// expected
+		}
+
+		assertSame(before, provider.getSnapshot());
+		assertEquals(123, provider.getValue("primitives/integer"));
+	}
+
+	@Test
+	public void testCopiesKeepTheirClass() {
+		Map<String, Object> root = new TreeMap<>();
+		root.put("property", new Property("prop", 1));
+		VABSnapshotProvider provider = new VABSnapshotProvider(root);
+
+		provider.setValue("property/" + Property.VALUE, 2);
+
+		Map<String, Object> snapshot = provider.getSnapshot();
+		assertTrue(snapshot instanceof TreeMap<?, ?>);
+		assertTrue(snapshot.get("property") instanceof Property);
+		assertEquals(2, ((Property) snapshot.get("property")).getValue());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testReturnedValuesAreNotShared() {
+		VABSnapshotProvider provider = new VABSnapshotProvider(new SimpleVABElement());
+
+		Map<String, Object> primitives = (Map<String, Object>) provider.getValue("primitives");
+		primitives.put("integer", 42);
+
+		assertEquals(123, provider.getValue("primitives/integer"));
+	}
+}
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.protocol.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.function.Function;
+
+import javax.ws.rs.client.Client;
+
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.map.VABMapProvider;
+import org.eclipse.basyx.vab.protocol.api.ConnectorFactory;
+import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnector;
+import org.junit.Test;
+
+/**
+ * Tests the caching behavior of {@link ConnectorFactory}
+ *
+ */
+public class TestConnectorFactory {
+
+	@Test
+	public void connectorIsCached() {
+		TestFactory factory = new TestFactory(10, 0);
+		assertSame(factory.getConnector("a"), factory.getConnector("a"));
+		assertEquals(1, factory.getCachedConnectorCount());
+	}
+
+	@Test
+	public void leastRecentlyUsedConnectorIsEvicted() {
+		TestFactory factory = new TestFactory(2, 0);
+		CloseableProvider a = (CloseableProvider) factory.getConnector("a");
+		CloseableProvider b = (CloseableProvider) factory.getConnector("b");
+
+		// Touch a so that b becomes the least recently used one
+		factory.getConnector("a");
+		factory.getConnector("c");
+
+		assertEquals(2, factory.getCachedConnectorCount());
+		assertFalse(a.closed);
+		assertTrue(b.closed);
+		assertSame(a, factory.getConnector("a"));
+		assertNotSame(b, factory.getConnector("b"));
+	}
+
+	@Test
+	public void idleConnectorIsEvicted() throws InterruptedException {
+		TestFactory factory = new TestFactory(10, 20);
+		CloseableProvider a = (CloseableProvider) factory.getConnector("a");
+		Thread.sleep(50);
+		factory.getConnector("b");
+
+		assertTrue(a.closed);
+		assertEquals(1, factory.getCachedConnectorCount());
+	}
+
+	@Test
+	public void clearClosesConnectors() {
+		TestFactory factory = new TestFactory(10, 0);
+		CloseableProvider a = (CloseableProvider) factory.getConnector("a");
+		factory.clear();
+
+		assertTrue(a.closed);
+		assertEquals(0, factory.getCachedConnectorCount());
+	}
+
+	@Test
+	public void closedConnectorCompletesRunningRequest() {
+		Client first = mock(Client.class);
+		Client second = mock(Client.class);
+		TestHTTPConnector connector = new TestHTTPConnector(first, second);
+
+		// Simulates the eviction of the connector while a request is running
+		Client used = connector.runWithClient(client -> {
+			connector.close();
+			verify(client, never()).close();
+			return client;
+		});
+
+		assertSame(first, used);
+		verify(first, times(1)).close();
+
+		// The connector is reopened on its next request
+		assertSame(second, connector.runWithClient(client -> client));
+	}
+
+	@Test
+	public void customClientIsNotClosed() {
+		Client custom = mock(Client.class);
+		TestHTTPConnector connector = new TestHTTPConnector(mock(Client.class), mock(Client.class));
+		connector.assignClient(custom);
+
+		connector.close();
+
+		verify(custom, never()).close();
+		assertSame(custom, connector.runWithClient(client -> client));
+	}
+
+	private static class TestHTTPConnector extends HTTPConnector {
+		private Client reopenedClient;
+
+		public TestHTTPConnector(Client client, Client reopenedClient) {
+			super("http://localhost");
+			setClient(client);
+			this.reopenedClient = reopenedClient;
+		}
+
+		public void assignClient(Client client) {
+			this.client = client;
+		}
+
+		@Override
+		protected Client createClient() {
+			return reopenedClient;
+		}
+
+		@Override
+		public <T> T runWithClient(Function<Client, T> request) {
+			return super.runWithClient(request);
+		}
+	}
+
+	private static class TestFactory extends ConnectorFactory {
+		public TestFactory(int maxCachedConnectors, long idleTimeoutMillis) {
+			super(maxCachedConnectors, idleTimeoutMillis);
+		}
+
+		@Override
+		protected IModelProvider createProvider(String addr) {
+			return new CloseableProvider();
+		}
+	}
+
+	private static class CloseableProvider extends VABMapProvider implements Closeable {
+		private boolean closed = false;
+
+		public CloseableProvider() {
+			super(new HashMap<>());
+		}
+
+		@Override
+		public void close() {
+			closed = true;
+		}
+	}
+}
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.protocol.http;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.basyx.vab.protocol.http.server.FileDownloadHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Tests the range and conditional request handling of the
+ * {@link FileDownloadHandler}
+ *
+ */
+public class TestFileDownloadHandler {
+	private File file;
+	private byte[] content;
+
+	private HttpServletRequest req;
+	private HttpServletResponse resp;
+	private ByteArrayOutputStream output;
+
+	@Before
+	public void setUp() throws IOException {
+		// Larger than the buffer to test chunked copying
+		content = new byte[FileDownloadHandler.BUFFER_SIZE * 2 + 17];
+		for (int i = 0; i < content.length; i++) {
+			content[i] = (byte) i;
+		}
+		file = File.createTempFile("download", ".bin");
+		Files.write(file.toPath(), content);
+
+		req = mock(HttpServletRequest.class);
+		resp = mock(HttpServletResponse.class);
+		output = new ByteArrayOutputStream();
+		when(resp.getOutputStream()).thenReturn(new ServletOutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				output.write(b);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				output.write(b, off, len);
+			}
+
+			@Override
+			public boolean isReady() {
+				return true;
+			}
+
+			@Override
+			public void setWriteListener(WriteListener writeListener) {
+			}
+		});
+		when(req.getDateHeader("If-Modified-Since")).thenReturn(-1L);
+	}
+
+	@After
+	public void tearDown() {
+		file.delete();
+	}
+
+	@Test
+	public void sendWholeFile() throws IOException {
+		FileDownloadHandler.sendFile(file, req, resp);
+
+		assertArrayEquals(content, output.toByteArray());
+		verify(resp).setContentLengthLong(content.length);
+		verify(resp, never()).setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+	}
+
+	@Test
+	public void sendRange() throws IOException {
+		when(req.getHeader("Range")).thenReturn("bytes=10-19");
+		FileDownloadHandler.sendFile(file, req, resp);
+
+		assertArrayEquals(Arrays.copyOfRange(content, 10, 20), output.toByteArray());
+		verify(resp).setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+		verify(resp).setHeader("Content-Range", "bytes 10-19/" + content.length);
+		verify(resp).setContentLengthLong(10);
+	}
+
+	@Test
+	public void sendOpenEndedRange() throws IOException {
+		int start = FileDownloadHandler.BUFFER_SIZE + 3;
+		when(req.getHeader("Range")).thenReturn("bytes=" + start + "-");
+		FileDownloadHandler.sendFile(file, req, resp);
+
+		assertArrayEquals(Arrays.copyOfRange(content, start, content.length), output.toByteArray());
+	}
+
+	@Test
+	public void sendSuffixRange() throws IOException {
+		when(req.getHeader("Range")).thenReturn("bytes=-5");
+		FileDownloadHandler.sendFile(file, req, resp);
+
+		assertArrayEquals(Arrays.copyOfRange(content, content.length - 5, content.length), output.toByteArray());
+	}
+
+	@Test
+	public void unsatisfiableRange() throws IOException {
+		when(req.getHeader("Range")).thenReturn("bytes=" + content.length + "-");
+		FileDownloadHandler.sendFile(file, req, resp);
+
+		assertEquals(0, output.size());
+		verify(resp).setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+		verify(resp).setHeader("Content-Range", "bytes */" + content.length);
+	}
+
+	@Test
+	public void outdatedIfRangeSendsWholeFile() throws IOException {
+		when(req.getHeader("Range")).thenReturn("bytes=10-19");
+		when(req.getHeader("If-Range")).thenReturn("\"outdated\"");
+		FileDownloadHandler.sendFile(file, req, resp);
+
+		assertArrayEquals(content, output.toByteArray());
+	}
+
+	@Test
+	public void matchingIfNoneMatchIsNotModified() throws IOException {
+		FileDownloadHandler.sendFile(file, req, resp);
+		ArgumentCaptor<String> eTag = ArgumentCaptor.forClass(String.class);
+		verify(resp).setHeader(eq("ETag"), eTag.capture());
+
+		HttpServletResponse secondResp = mock(HttpServletResponse.class);
+		when(req.getHeader("If-None-Match")).thenReturn(eTag.getValue());
+		FileDownloadHandler.sendFile(file, req, secondResp);
+
+		verify(secondResp).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+		verify(secondResp, never()).getOutputStream();
+	}
+
+	@Test
+	public void sendfileIsDelegatedToContainer() throws IOException {
+		when(req.getAttribute("org.apache.tomcat.sendfile.support")).thenReturn(Boolean.TRUE);
+		when(req.getHeader("Range")).thenReturn("bytes=10-19");
+		FileDownloadHandler.sendFile(file, req, resp);
+
+		assertEquals(0, output.size());
+		verify(req).setAttribute("org.apache.tomcat.sendfile.start", 10L);
+		verify(req).setAttribute("org.apache.tomcat.sendfile.end", 20L);
+	}
+}
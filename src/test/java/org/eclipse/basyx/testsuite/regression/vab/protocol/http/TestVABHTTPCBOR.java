@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.protocol.http;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.eclipse.basyx.testsuite.regression.vab.modelprovider.TestProvider;
+import org.eclipse.basyx.vab.coder.cbor.CBORTools;
+import org.eclipse.basyx.vab.manager.VABConnectionManager;
+import org.eclipse.basyx.vab.protocol.http.connector.CBORHTTPConnectorFactory;
+import org.eclipse.basyx.vab.protocol.http.server.BaSyxContext;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Test VAB using HTTP protocol with CBOR encoded payloads. This is an
+ * integration test
+ * 
+ */
+public class TestVABHTTPCBOR extends TestProvider {
+	protected VABConnectionManager connManager = new VABConnectionManager(new TestsuiteDirectory(), new CBORHTTPConnectorFactory());
+
+	@Rule
+	public AASHTTPServerResource res = new AASHTTPServerResource(new BaSyxContext("/basys.sdk", System.getProperty("java.io.tmpdir")).addServletMapping("/Testsuite/SimpleVAB/*", new SimpleVABElementServlet()));
+
+	@Override
+	protected VABConnectionManager getConnectionManager() {
+		return connManager;
+	}
+
+	@Test
+	public void jsonBodyWithBinaryAcceptIsDecodedAsJSON() throws IOException {
+		HttpURLConnection connection = send("PUT", "application/json", "456".getBytes(StandardCharsets.UTF_8));
+		assertEquals(200, connection.getResponseCode());
+		assertEquals(456, connManager.connectToVABElement("urn:fhg:es.iese:vab:1:1:simplevabelement").getValue("primitives/integer"));
+	}
+
+	@Test
+	public void deeplyNestedBodyIsRejected() throws IOException {
+		// Arrays containing a single array, nested far beyond the supported depth
+		byte[] body = new byte[100000];
+		Arrays.fill(body, (byte) 0x81);
+		body[body.length - 1] = 0x01;
+
+		HttpURLConnection connection = send("PUT", CBORTools.MEDIA_TYPE, body);
+		assertEquals(400, connection.getResponseCode());
+	}
+
+	private HttpURLConnection send(String method, String contentType, byte[] body) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:8080/basys.sdk/Testsuite/SimpleVAB/primitives/integer").openConnection();
+		connection.setRequestMethod(method);
+		connection.setRequestProperty("Content-Type", contentType);
+		connection.setRequestProperty("Accept", CBORTools.MEDIA_TYPE);
+		connection.setDoOutput(true);
+		try (OutputStream out = connection.getOutputStream()) {
+			out.write(body);
+		}
+		return connection;
+	}
+}